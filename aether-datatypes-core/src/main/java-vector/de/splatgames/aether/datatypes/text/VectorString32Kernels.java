@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link String32Kernels} implemented with the incubating Vector API.
+ * <p>
+ * Every kernel processes whole vectors of the preferred species, <code>8</code> code points at a time with AVX2
+ * and <code>16</code> code points at a time with AVX-512, and leaves the remaining tail to the scalar implementation.
+ * Latin-1 and UCS-2 lanes are widened to <code>int</code> lanes where they are compared with or hashed as code points.
+ * </p>
+ * <p>
+ * This class is compiled from the <code>src/main/java-vector</code> source root with
+ * <code>--add-modules jdk.incubator.vector</code> and is only instantiated reflectively by {@link String32Kernels#INSTANCE}
+ * once the module is known to be resolved, so nothing else in this module links against the Vector API.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote The constructor throws {@link UnsupportedOperationException} if the preferred species has fewer than
+ * <code>8</code> <code>int</code> lanes, in which case the scalar kernels are used.
+ * @since 1.0.0
+ */
+final class VectorString32Kernels extends String32Kernels {
+
+    /**
+     * The species of the code point lanes.
+     */
+    private static final VectorSpecies<Integer> INT = IntVector.SPECIES_PREFERRED;
+    /**
+     * The species of Latin-1 lanes for searching and palindromes.
+     */
+    private static final VectorSpecies<Byte> BYTE = ByteVector.SPECIES_PREFERRED;
+    /**
+     * The species of UCS-2 lanes for searching and palindromes.
+     */
+    private static final VectorSpecies<Short> SHORT = ShortVector.SPECIES_PREFERRED;
+    /**
+     * The species of Latin-1 lanes that widen to exactly one {@link #INT} vector.
+     */
+    private static final VectorSpecies<Byte> BYTE_AS_INT = VectorSpecies.of(byte.class, VectorShape.forBitSize(INT.length() * Byte.SIZE));
+    /**
+     * The species of UCS-2 lanes that widen to exactly one {@link #INT} vector.
+     */
+    private static final VectorSpecies<Short> SHORT_AS_INT = VectorSpecies.of(short.class, VectorShape.forBitSize(INT.length() * Short.SIZE));
+    /**
+     * The species of Latin-1 lanes that widen to exactly one {@link #SHORT} vector.
+     */
+    private static final VectorSpecies<Byte> BYTE_AS_SHORT = VectorSpecies.of(byte.class, VectorShape.forBitSize(SHORT.length() * Byte.SIZE));
+
+    /**
+     * The powers <code>31^(n-1), ..., 31^1, 31^0</code> that weigh the lanes of one {@link #INT} vector in the polynomial hash.
+     */
+    private static final int[] HASH_WEIGHTS = hashWeights(INT.length());
+    /**
+     * <code>31^n</code>, the factor of the polynomial hash per {@link #INT} vector.
+     */
+    private static final int HASH_STRIDE = 31 * HASH_WEIGHTS[0];
+
+    /**
+     * Constructs the vector kernels.
+     *
+     * @throws UnsupportedOperationException if the preferred vectors are narrower than <code>256</code> bits.
+     */
+    VectorString32Kernels() {
+        if (INT.length() < 8) {
+            throw new UnsupportedOperationException("Vector kernels need at least 8 int lanes, but only " + INT.length() + " are available");
+        }
+    }
+
+    /**
+     * Returns the powers of 31 from <code>31^(n-1)</code> down to <code>31^0</code>.
+     *
+     * @param n The number of powers.
+     * @return The powers.
+     */
+    private static int[] hashWeights(final int n) {
+        int[] weights = new int[n];
+        int weight = 1;
+        for (int i = n - 1; i >= 0; i--) {
+            weights[i] = weight;
+            weight *= 31;
+        }
+        return weights;
+    }
+
+    @Override
+    boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    int indexOf(final byte[] a, final int from, final int to, final byte value) {
+        int i = from;
+        for (int bound = from + BYTE.loopBound(to - from); i < bound; i += BYTE.length()) {
+            VectorMask<Byte> hits = ByteVector.fromArray(BYTE, a, i).eq(value);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        return super.indexOf(a, i, to, value);
+    }
+
+    @Override
+    int indexOf(final char[] a, final int from, final int to, final char value) {
+        int i = from;
+        for (int bound = from + SHORT.loopBound(to - from); i < bound; i += SHORT.length()) {
+            VectorMask<Short> hits = ShortVector.fromCharArray(SHORT, a, i).eq((short) value);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        return super.indexOf(a, i, to, value);
+    }
+
+    @Override
+    int indexOf(final int[] a, final int from, final int to, final int value) {
+        int i = from;
+        for (int bound = from + INT.loopBound(to - from); i < bound; i += INT.length()) {
+            VectorMask<Integer> hits = IntVector.fromArray(INT, a, i).eq(value);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        return super.indexOf(a, i, to, value);
+    }
+
+    @Override
+    int mismatch(final byte[] a, final int aFrom, final char[] b, final int bFrom, final int length) {
+        int i = 0;
+        for (int bound = SHORT.loopBound(length); i < bound; i += SHORT.length()) {
+            ShortVector x = widenToShorts(ByteVector.fromArray(BYTE_AS_SHORT, a, aFrom + i));
+            ShortVector y = ShortVector.fromCharArray(SHORT, b, bFrom + i);
+            VectorMask<Short> differs = x.compare(VectorOperators.NE, y);
+            if (differs.anyTrue()) {
+                return i + differs.firstTrue();
+            }
+        }
+        return tail(i, super.mismatch(a, aFrom + i, b, bFrom + i, length - i));
+    }
+
+    @Override
+    int mismatch(final byte[] a, final int aFrom, final int[] b, final int bFrom, final int length) {
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            IntVector x = widenToInts(ByteVector.fromArray(BYTE_AS_INT, a, aFrom + i));
+            IntVector y = IntVector.fromArray(INT, b, bFrom + i);
+            VectorMask<Integer> differs = x.compare(VectorOperators.NE, y);
+            if (differs.anyTrue()) {
+                return i + differs.firstTrue();
+            }
+        }
+        return tail(i, super.mismatch(a, aFrom + i, b, bFrom + i, length - i));
+    }
+
+    @Override
+    int mismatch(final char[] a, final int aFrom, final int[] b, final int bFrom, final int length) {
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            IntVector x = widenToInts(ShortVector.fromCharArray(SHORT_AS_INT, a, aFrom + i));
+            IntVector y = IntVector.fromArray(INT, b, bFrom + i);
+            VectorMask<Integer> differs = x.compare(VectorOperators.NE, y);
+            if (differs.anyTrue()) {
+                return i + differs.firstTrue();
+            }
+        }
+        return tail(i, super.mismatch(a, aFrom + i, b, bFrom + i, length - i));
+    }
+
+    @Override
+    boolean isPalindrome(final byte[] a, final int from, final int length) {
+        int n = BYTE.length();
+        VectorShuffle<Byte> reverse = VectorShuffle.iota(BYTE, n - 1, -1, true);
+        int i = 0;
+        for (; i + n <= length / 2; i += n) {
+            ByteVector front = ByteVector.fromArray(BYTE, a, from + i);
+            ByteVector back = ByteVector.fromArray(BYTE, a, from + length - i - n).rearrange(reverse);
+            if (!front.eq(back).allTrue()) {
+                return false;
+            }
+        }
+        return super.isPalindrome(a, from + i, length - 2 * i);
+    }
+
+    @Override
+    boolean isPalindrome(final char[] a, final int from, final int length) {
+        int n = SHORT.length();
+        VectorShuffle<Short> reverse = VectorShuffle.iota(SHORT, n - 1, -1, true);
+        int i = 0;
+        for (; i + n <= length / 2; i += n) {
+            ShortVector front = ShortVector.fromCharArray(SHORT, a, from + i);
+            ShortVector back = ShortVector.fromCharArray(SHORT, a, from + length - i - n).rearrange(reverse);
+            if (!front.eq(back).allTrue()) {
+                return false;
+            }
+        }
+        return super.isPalindrome(a, from + i, length - 2 * i);
+    }
+
+    @Override
+    boolean isPalindrome(final int[] a, final int from, final int length) {
+        int n = INT.length();
+        VectorShuffle<Integer> reverse = VectorShuffle.iota(INT, n - 1, -1, true);
+        int i = 0;
+        for (; i + n <= length / 2; i += n) {
+            IntVector front = IntVector.fromArray(INT, a, from + i);
+            IntVector back = IntVector.fromArray(INT, a, from + length - i - n).rearrange(reverse);
+            if (!front.eq(back).allTrue()) {
+                return false;
+            }
+        }
+        return super.isPalindrome(a, from + i, length - 2 * i);
+    }
+
+    /*
+     * The polynomial hash h = 31^n * h + sum(cp[i] * 31^(n-1-i)) is split into one accumulator per lane:
+     * every vector step multiplies all accumulators by 31^lanes and adds the next code points,
+     * and the final accumulators are weighted by 31^(lanes-1-lane) and summed.
+     * All arithmetic wraps modulo 2^32, exactly like the scalar loop.
+     */
+
+    @Override
+    int hash(final int result, final byte[] a, final int from, final int length) {
+        IntVector acc = IntVector.zero(INT);
+        int scale = 1;
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            acc = acc.mul(HASH_STRIDE).add(widenToInts(ByteVector.fromArray(BYTE_AS_INT, a, from + i)));
+            scale *= HASH_STRIDE;
+        }
+        return super.hash(result * scale + weigh(acc), a, from + i, length - i);
+    }
+
+    @Override
+    int hash(final int result, final char[] a, final int from, final int length) {
+        IntVector acc = IntVector.zero(INT);
+        int scale = 1;
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            acc = acc.mul(HASH_STRIDE).add(widenToInts(ShortVector.fromCharArray(SHORT_AS_INT, a, from + i)));
+            scale *= HASH_STRIDE;
+        }
+        return super.hash(result * scale + weigh(acc), a, from + i, length - i);
+    }
+
+    @Override
+    int hash(final int result, final int[] a, final int from, final int length) {
+        IntVector acc = IntVector.zero(INT);
+        int scale = 1;
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            acc = acc.mul(HASH_STRIDE).add(IntVector.fromArray(INT, a, from + i));
+            scale *= HASH_STRIDE;
+        }
+        return super.hash(result * scale + weigh(acc), a, from + i, length - i);
+    }
+
+    @Override
+    int mapUnary(final int op, final int operand, final int[] src, final int srcFrom, final int[] dst, final int dstFrom, final int length) {
+        IntVector max = IntVector.broadcast(INT, -1);
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            IntVector v = IntVector.fromArray(INT, src, srcFrom + i);
+            switch (op) {
+                case NOT:
+                    v = v.not();
+                    break;
+                case SHIFT_LEFT:
+                    v = v.lanewise(VectorOperators.LSHL, operand);
+                    break;
+                case SHIFT_RIGHT:
+                    v = v.lanewise(VectorOperators.ASHR, operand);
+                    break;
+                case SHIFT_RIGHT_UNSIGNED:
+                    v = v.lanewise(VectorOperators.LSHR, operand);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown unary operation: " + op);
+            }
+            v = sanitize(v);
+            v.intoArray(dst, dstFrom + i);
+            max = max.max(v);
+        }
+        int tail = super.mapUnary(op, operand, src, srcFrom + i, dst, dstFrom + i, length - i);
+        return Math.max(max.reduceLanes(VectorOperators.MAX), tail);
+    }
+
+    @Override
+    int mapBinary(final int op, final int[] a, final int aFrom, final int[] b, final int bFrom,
+                  final int[] dst, final int dstFrom, final int length) {
+        VectorOperators.Binary operator;
+        switch (op) {
+            case AND:
+                operator = VectorOperators.AND;
+                break;
+            case OR:
+                operator = VectorOperators.OR;
+                break;
+            case XOR:
+                operator = VectorOperators.XOR;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown binary operation: " + op);
+        }
+        IntVector max = IntVector.broadcast(INT, -1);
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            IntVector v = IntVector.fromArray(INT, a, aFrom + i)
+                    .lanewise(operator, IntVector.fromArray(INT, b, bFrom + i));
+            v = sanitize(v);
+            v.intoArray(dst, dstFrom + i);
+            max = max.max(v);
+        }
+        int tail = super.mapBinary(op, a, aFrom + i, b, bFrom + i, dst, dstFrom + i, length - i);
+        return Math.max(max.reduceLanes(VectorOperators.MAX), tail);
+    }
+
+    /**
+     * Replaces every lane that is not a valid code point, or that is a surrogate, with {@link #REPLACEMENT_CHARACTER}.
+     *
+     * @param v The lanes.
+     * @return The sanitized lanes.
+     */
+    private static IntVector sanitize(final IntVector v) {
+        VectorMask<Integer> invalid = v.compare(VectorOperators.LT, 0)
+                .or(v.compare(VectorOperators.GT, Character.MAX_CODE_POINT))
+                .or(v.and(0xFFFFF800).compare(VectorOperators.EQ, 0xD800));
+        return v.blend(REPLACEMENT_CHARACTER, invalid);
+    }
+
+    /**
+     * Zero-extends Latin-1 lanes to UCS-2 lanes.
+     *
+     * @param v The Latin-1 lanes.
+     * @return The widened lanes.
+     */
+    private static ShortVector widenToShorts(final ByteVector v) {
+        return ((ShortVector) v.convertShape(VectorOperators.B2S, SHORT, 0)).and((short) 0xFF);
+    }
+
+    /**
+     * Zero-extends Latin-1 lanes to code point lanes.
+     *
+     * @param v The Latin-1 lanes.
+     * @return The widened lanes.
+     */
+    private static IntVector widenToInts(final ByteVector v) {
+        return ((IntVector) v.convertShape(VectorOperators.B2I, INT, 0)).and(0xFF);
+    }
+
+    /**
+     * Zero-extends UCS-2 lanes to code point lanes.
+     *
+     * @param v The UCS-2 lanes.
+     * @return The widened lanes.
+     */
+    private static IntVector widenToInts(final ShortVector v) {
+        return ((IntVector) v.convertShape(VectorOperators.S2I, INT, 0)).and(0xFFFF);
+    }
+
+    /**
+     * Sums the hash accumulators of all lanes, weighted by their distance from the last lane.
+     *
+     * @param acc The accumulators.
+     * @return The weighted sum.
+     */
+    private static int weigh(final IntVector acc) {
+        return acc.mul(IntVector.fromArray(INT, HASH_WEIGHTS, 0)).reduceLanes(VectorOperators.ADD);
+    }
+
+    /**
+     * Offsets the result of a scalar tail kernel by the number of elements already processed.
+     *
+     * @param processed The number of elements processed by the vector loop.
+     * @param result    The relative index returned by the scalar kernel, or <code>-1</code>.
+     * @return The relative index from the start of the whole range, or <code>-1</code>.
+     */
+    private static int tail(final int processed, final int result) {
+        return result < 0 ? -1 : processed + result;
+    }
+}
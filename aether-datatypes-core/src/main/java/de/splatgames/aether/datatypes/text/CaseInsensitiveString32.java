@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.splatgames.aether.datatypes.text;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The <code>CaseInsensitiveString32</code> class is a map key that wraps a {@link String32} and compares it ignoring case.
+ * <p>
+ * Two keys are equal if their <code>String32</code> objects are {@link String32#equalsIgnoreCase(String32) equal ignoring case},
+ * and keys are ordered by {@link String32#compareToIgnoreCase(String32)}. The {@link String32#caseFoldedHashCode() folded hash code}
+ * is computed once when the key is created, so hash lookups neither allocate nor rehash the code points, and the original
+ * <code>String32</code> object is kept as it is instead of storing a lower case copy next to it.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         Map&lt;CaseInsensitiveString32, Integer&gt; counts = new HashMap&lt;&gt;();
+ *         counts.merge(CaseInsensitiveString32.valueOf("Hello"), 1, Integer::sum);
+ *         counts.merge(CaseInsensitiveString32.valueOf("HELLO"), 1, Integer::sum);
+ *         System.out.println(counts);
+ *         // Output: "{Hello=2}"
+ * </pre></blockquote>
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote Case is ignored with the locale-independent one-to-one mappings of {@link Character}, the same as
+ * {@link String#equalsIgnoreCase(String)}, so for example <code>"ß"</code> and <code>"SS"</code> are different keys.
+ * @see String32#equalsIgnoreCase(String32)
+ * @see String32#caseFoldedHashCode()
+ * @see String32#CASE_INSENSITIVE_ORDER
+ * @since 1.0.0
+ */
+public final class CaseInsensitiveString32 implements Serializable, Comparable<CaseInsensitiveString32> {
+
+    /**
+     * The <code>serialVersionUID</code> of the <code>CaseInsensitiveString32</code> class.
+     */
+    @Serial
+    private static final long serialVersionUID = -3061537394402758210L;
+
+    /**
+     * The wrapped <code>String32</code> object.
+     */
+    private final String32 value;
+    /**
+     * The folded hash code of the wrapped <code>String32</code> object.
+     * <p>
+     * It is not serialized, because the case mappings may differ between Java versions.
+     * </p>
+     */
+    private final transient int hash;
+
+    /**
+     * Constructs a new <code>CaseInsensitiveString32</code> key.
+     *
+     * @param value The <code>String32</code> object to wrap.
+     */
+    private CaseInsensitiveString32(final String32 value) {
+        this.value = value;
+        this.hash = value.caseFoldedHashCode();
+    }
+
+    /**
+     * Returns a <code>CaseInsensitiveString32</code> key for the given <code>String32</code> object.
+     *
+     * @param value The <code>String32</code> object to wrap.
+     * @return The <code>CaseInsensitiveString32</code> key.
+     * @throws NullPointerException if the <code>String32</code> object is null.
+     */
+    public static CaseInsensitiveString32 valueOf(final String32 value) {
+        Objects.requireNonNull(value, "String32 cannot be null");
+        return new CaseInsensitiveString32(value);
+    }
+
+    /**
+     * Returns a <code>CaseInsensitiveString32</code> key for the given {@link String}.
+     *
+     * @param value The string to wrap.
+     * @return The <code>CaseInsensitiveString32</code> key.
+     * @throws NullPointerException if the string is null.
+     */
+    public static CaseInsensitiveString32 valueOf(final String value) {
+        Objects.requireNonNull(value, "String cannot be null");
+        return new CaseInsensitiveString32(String32.valueOf(value));
+    }
+
+    /**
+     * Returns the wrapped <code>String32</code> object, with its original case.
+     *
+     * @return The wrapped <code>String32</code> object.
+     */
+    public String32 toString32() {
+        return this.value;
+    }
+
+    /**
+     * Returns <code>true</code> if the given <code>String32</code> object is equal to the wrapped one, ignoring case considerations.
+     * <p>
+     * This lets a key be matched against a <code>String32</code> object without wrapping it.
+     * </p>
+     *
+     * @param other The <code>String32</code> object to compare with.
+     * @return <code>true</code> if both are equal ignoring case considerations, <code>false</code> otherwise.
+     */
+    public boolean matches(final String32 other) {
+        return other != null && String32Case.equalsIgnoreCase(this.value, other);
+    }
+
+    @Override
+    public int compareTo(final CaseInsensitiveString32 o) {
+        Objects.requireNonNull(o, "CaseInsensitiveString32 cannot be null");
+        return String32Case.compareIgnoreCase(this.value, o.value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof CaseInsensitiveString32 other) {
+            return this.hash == other.hash && String32Case.equalsIgnoreCase(this.value, other.value);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        return this.value.toString();
+    }
+
+    /**
+     * Rejects a serialized form without a <code>String32</code> object.
+     *
+     * @param in The stream to read from.
+     * @throws IOException            if an I/O error occurs.
+     * @throws ClassNotFoundException if the class of a serialized object cannot be found.
+     */
+    @Serial
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (this.value == null) {
+            throw new InvalidObjectException("CaseInsensitiveString32 without a String32");
+        }
+    }
+
+    /**
+     * Recomputes the folded hash code of a deserialized key.
+     *
+     * @return A new key for the deserialized <code>String32</code> object.
+     */
+    @Serial
+    private Object readResolve() {
+        return new CaseInsensitiveString32(this.value);
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.splatgames.aether.datatypes.text;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The <code>CodePointClass</code> class classifies code points by a fixed set of Unicode properties with a single table lookup.
+ * <p>
+ * The properties of every code point below <code>0x20000</code> are precomputed from {@link Character} into a two-stage table:
+ * the first stage maps each block of 256 code points to a deduplicated block of property bytes, so that a query costs two
+ * indexed loads instead of the property searches of {@link Character}. Code points above the table are classified by
+ * {@link Character} directly.
+ * </p>
+ * <p>
+ * The properties are:
+ * </p>
+ * <ul>
+ *     <li>{@link #WHITESPACE}: {@link Character#isWhitespace(int)}.</li>
+ *     <li>{@link #BLANK}: whitespace, or one of the non-breaking and typographic spaces that {@link Character#isWhitespace(int)}
+ *     excludes, such as <code>U+00A0</code>, <code>U+2007</code> and <code>U+202F</code>. This is what {@link String32#strip()}
+ *     removes.</li>
+ *     <li>{@link #LETTER}: {@link Character#isLetter(int)}.</li>
+ *     <li>{@link #DIGIT}: {@link Character#isDigit(int)}.</li>
+ *     <li>{@link #UPPER_CASE}: {@link Character#isUpperCase(int)}.</li>
+ *     <li>{@link #LOWER_CASE}: {@link Character#isLowerCase(int)}.</li>
+ * </ul>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32 string32 = String32.valueOf("  42 ");
+ *         System.out.println(string32.trimWhile(CodePointClass::isBlank));
+ *         // Output: "42"
+ * </pre></blockquote>
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote The table is built from {@link Character} when this class is initialized, so it always matches the Unicode
+ * version of the running Java version.
+ * @see String32#strip()
+ * @see String32#trimWhile(java.util.function.IntPredicate)
+ * @since 1.0.0
+ */
+public final class CodePointClass {
+
+    /**
+     * The property bit of whitespace code points, see {@link Character#isWhitespace(int)}.
+     */
+    public static final int WHITESPACE = 1;
+    /**
+     * The property bit of blank code points: whitespace and the non-breaking and typographic spaces.
+     */
+    public static final int BLANK = 1 << 1;
+    /**
+     * The property bit of letters, see {@link Character#isLetter(int)}.
+     */
+    public static final int LETTER = 1 << 2;
+    /**
+     * The property bit of digits, see {@link Character#isDigit(int)}.
+     */
+    public static final int DIGIT = 1 << 3;
+    /**
+     * The property bit of upper case code points, see {@link Character#isUpperCase(int)}.
+     */
+    public static final int UPPER_CASE = 1 << 4;
+    /**
+     * The property bit of lower case code points, see {@link Character#isLowerCase(int)}.
+     */
+    public static final int LOWER_CASE = 1 << 5;
+
+    /**
+     * The first code point that is not covered by the table.
+     */
+    private static final int LIMIT = 0x20000;
+    /**
+     * The number of low code point bits that select an entry within a block.
+     */
+    private static final int BLOCK_SHIFT = 8;
+    /**
+     * The number of entries in a block.
+     */
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    /**
+     * The first stage: the start of the block of property bytes for each block of code points.
+     */
+    private static final int[] INDEX = new int[LIMIT >>> BLOCK_SHIFT];
+    /**
+     * The second stage: the deduplicated blocks of property bytes.
+     */
+    private static final byte[] BLOCKS;
+
+    static {
+        Map<String, Integer> blocks = new HashMap<>();
+        byte[] data = new byte[BLOCK_SIZE * 64];
+        byte[] block = new byte[BLOCK_SIZE];
+        for (int b = 0; b < INDEX.length; b++) {
+            for (int j = 0; j < BLOCK_SIZE; j++) {
+                block[j] = (byte) compute(b << BLOCK_SHIFT | j);
+            }
+            String content = new String(block, StandardCharsets.ISO_8859_1);
+            Integer start = blocks.get(content);
+            if (start == null) {
+                start = blocks.size() * BLOCK_SIZE;
+                if (start == data.length) {
+                    data = Arrays.copyOf(data, start * 2);
+                }
+                System.arraycopy(block, 0, data, start, BLOCK_SIZE);
+                blocks.put(content, start);
+            }
+            INDEX[b] = start;
+        }
+        BLOCKS = Arrays.copyOf(data, blocks.size() * BLOCK_SIZE);
+    }
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private CodePointClass() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Returns the property bits of the given code point.
+     * <p>
+     * Invalid code points have no properties.
+     * </p>
+     *
+     * @param codePoint The code point.
+     * @return The property bits of the code point, a combination of {@link #WHITESPACE}, {@link #BLANK}, {@link #LETTER},
+     * {@link #DIGIT}, {@link #UPPER_CASE} and {@link #LOWER_CASE}.
+     */
+    public static int of(final int codePoint) {
+        if ((codePoint >>> 17) != 0) {
+            return compute(codePoint);
+        }
+        return BLOCKS[INDEX[codePoint >>> BLOCK_SHIFT] | codePoint & (BLOCK_SIZE - 1)];
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point has any of the given property bits.
+     *
+     * @param codePoint The code point.
+     * @param mask      The property bits.
+     * @return <code>true</code> if the code point has any of the property bits, <code>false</code> otherwise.
+     */
+    public static boolean is(final int codePoint, final int mask) {
+        return (of(codePoint) & mask) != 0;
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is whitespace, the same as {@link Character#isWhitespace(int)}.
+     *
+     * @param codePoint The code point.
+     * @return <code>true</code> if the code point is whitespace, <code>false</code> otherwise.
+     */
+    public static boolean isWhitespace(final int codePoint) {
+        return is(codePoint, WHITESPACE);
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is whitespace or a non-breaking or typographic space.
+     *
+     * @param codePoint The code point.
+     * @return <code>true</code> if the code point is blank, <code>false</code> otherwise.
+     */
+    public static boolean isBlank(final int codePoint) {
+        return is(codePoint, BLANK);
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is a letter, the same as {@link Character#isLetter(int)}.
+     *
+     * @param codePoint The code point.
+     * @return <code>true</code> if the code point is a letter, <code>false</code> otherwise.
+     */
+    public static boolean isLetter(final int codePoint) {
+        return is(codePoint, LETTER);
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is a digit, the same as {@link Character#isDigit(int)}.
+     *
+     * @param codePoint The code point.
+     * @return <code>true</code> if the code point is a digit, <code>false</code> otherwise.
+     */
+    public static boolean isDigit(final int codePoint) {
+        return is(codePoint, DIGIT);
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is a letter or a digit, the same as {@link Character#isLetterOrDigit(int)}.
+     *
+     * @param codePoint The code point.
+     * @return <code>true</code> if the code point is a letter or a digit, <code>false</code> otherwise.
+     */
+    public static boolean isLetterOrDigit(final int codePoint) {
+        return is(codePoint, LETTER | DIGIT);
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is upper case, the same as {@link Character#isUpperCase(int)}.
+     *
+     * @param codePoint The code point.
+     * @return <code>true</code> if the code point is upper case, <code>false</code> otherwise.
+     */
+    public static boolean isUpperCase(final int codePoint) {
+        return is(codePoint, UPPER_CASE);
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is lower case, the same as {@link Character#isLowerCase(int)}.
+     *
+     * @param codePoint The code point.
+     * @return <code>true</code> if the code point is lower case, <code>false</code> otherwise.
+     */
+    public static boolean isLowerCase(final int codePoint) {
+        return is(codePoint, LOWER_CASE);
+    }
+
+    /**
+     * Computes the property bits of the given code point from {@link Character}.
+     *
+     * @param codePoint The code point.
+     * @return The property bits of the code point.
+     */
+    private static int compute(final int codePoint) {
+        int bits = 0;
+        if (Character.isWhitespace(codePoint)) {
+            bits |= WHITESPACE | BLANK;
+        }
+        if (isAdditionalBlank(codePoint)) {
+            bits |= BLANK;
+        }
+        if (Character.isLetter(codePoint)) {
+            bits |= LETTER;
+        }
+        if (Character.isDigit(codePoint)) {
+            bits |= DIGIT;
+        }
+        if (Character.isUpperCase(codePoint)) {
+            bits |= UPPER_CASE;
+        }
+        if (Character.isLowerCase(codePoint)) {
+            bits |= LOWER_CASE;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is a space that {@link Character#isWhitespace(int)} excludes.
+     *
+     * @param codePoint The code point.
+     * @return <code>true</code> if the code point is an additional blank, <code>false</code> otherwise.
+     */
+    private static boolean isAdditionalBlank(final int codePoint) {
+        return codePoint == 0x00A0 || // NO-BREAK SPACE
+                codePoint == 0x1680 || // OGHAM SPACE MARK
+                (codePoint >= 0x2000 && codePoint <= 0x200A) || // EN QUAD to HAIR SPACE
+                codePoint == 0x202F || // NARROW NO-BREAK SPACE
+                codePoint == 0x205F || // MEDIUM MATHEMATICAL SPACE
+                codePoint == 0x3000;   // IDEOGRAPHIC SPACE
+    }
+}
@@ -0,0 +1,484 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.splatgames.aether.datatypes.text;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The <code>CodePointSet</code> class is an immutable set of code points for bulk filtering of {@link String32} objects.
+ * <p>
+ * The set stores its members in a hybrid representation. Members in the Basic Multilingual Plane are kept in a bitmap that
+ * is only as long as the highest member requires, so membership of a BMP code point is a single bit test. Supplementary
+ * members are kept as sorted, merged ranges and found by binary search, so a set of whole supplementary blocks or planes
+ * stays small.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         CodePointSet allowed = CodePointSet.builder()
+ *                 .addRange('a', 'z')
+ *                 .addRange('0', '9')
+ *                 .add('_')
+ *                 .build();
+ *         String32 string32 = String32.valueOf("user_42!?");
+ *         System.out.println(string32.retainAll(allowed));
+ *         // Output: "user_42"
+ * </pre></blockquote>
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote This class is immutable and thread-safe.
+ * @see String32#removeAll(CodePointSet)
+ * @see String32#retainAll(CodePointSet)
+ * @see String32#indexOfAny(CodePointSet)
+ * @see String32#spanWhile(CodePointSet)
+ * @since 1.0.0
+ */
+public final class CodePointSet {
+
+    /**
+     * The empty <code>CodePointSet</code>.
+     */
+    private static final CodePointSet EMPTY = new CodePointSet(new long[0], new int[0]);
+
+    /**
+     * The first supplementary code point.
+     */
+    private static final int SUPPLEMENTARY = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+
+    /**
+     * The bitmap of the BMP members. Bit <code>cp &amp; 63</code> of word <code>cp &gt;&gt;&gt; 6</code> is set for each member.
+     * The last word is never zero.
+     */
+    private final long[] bmp;
+    /**
+     * The supplementary members as sorted, disjoint and non-adjacent ranges: the first member of each range followed by
+     * the first code point after it.
+     */
+    private final int[] ranges;
+
+    /**
+     * Constructs a new <code>CodePointSet</code> from its canonical representation.
+     *
+     * @param bmp    The bitmap of the BMP members.
+     * @param ranges The ranges of the supplementary members.
+     */
+    private CodePointSet(final long[] bmp, final int[] ranges) {
+        this.bmp = bmp;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Returns the empty <code>CodePointSet</code>.
+     *
+     * @return The empty <code>CodePointSet</code>.
+     */
+    public static CodePointSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a <code>CodePointSet</code> of the given code points.
+     *
+     * @param codePoints The code points.
+     * @return The <code>CodePointSet</code> of the code points.
+     * @throws NullPointerException     if the code points are null.
+     * @throws IllegalArgumentException if a code point is invalid.
+     */
+    public static CodePointSet of(final int... codePoints) {
+        Objects.requireNonNull(codePoints, "Code points cannot be null");
+        Builder builder = builder();
+        for (int codePoint : codePoints) {
+            builder.add(codePoint);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a <code>CodePointSet</code> of the code points of the given <code>String32</code> object.
+     *
+     * @param str The <code>String32</code> object.
+     * @return The <code>CodePointSet</code> of the code points of the <code>String32</code> object.
+     * @throws NullPointerException if the <code>String32</code> object is null.
+     */
+    public static CodePointSet of(final String32 str) {
+        return builder().addAll(str).build();
+    }
+
+    /**
+     * Returns a <code>CodePointSet</code> of the code points from <code>first</code> to <code>last</code>, both inclusive.
+     *
+     * @param first The first code point of the range.
+     * @param last  The last code point of the range.
+     * @return The <code>CodePointSet</code> of the range.
+     * @throws IllegalArgumentException if a code point is invalid or <code>first</code> is greater than <code>last</code>.
+     */
+    public static CodePointSet range(final int first, final int last) {
+        return builder().addRange(first, last).build();
+    }
+
+    /**
+     * Returns a new <code>Builder</code> for a <code>CodePointSet</code>.
+     *
+     * @return A new <code>Builder</code>.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is a member of this set.
+     *
+     * @param codePoint The code point.
+     * @return <code>true</code> if the code point is a member, <code>false</code> otherwise.
+     */
+    public boolean contains(final int codePoint) {
+        if ((codePoint >>> 6) < this.bmp.length) {
+            return (this.bmp[codePoint >>> 6] & (1L << codePoint)) != 0;
+        }
+        if (codePoint < SUPPLEMENTARY || this.ranges.length == 0) {
+            return false;
+        }
+        int low = 0;
+        int high = (this.ranges.length >>> 1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (this.ranges[mid << 1] > codePoint) {
+                high = mid - 1;
+            } else if (this.ranges[(mid << 1) + 1] <= codePoint) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns <code>true</code> if this set has no members.
+     *
+     * @return <code>true</code> if this set is empty, <code>false</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return this.bmp.length == 0 && this.ranges.length == 0;
+    }
+
+    /**
+     * Returns the number of members of this set.
+     *
+     * @return The number of code points in this set.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : this.bmp) {
+            count += Long.bitCount(word);
+        }
+        for (int i = 0; i < this.ranges.length; i += 2) {
+            count += this.ranges[i + 1] - this.ranges[i];
+        }
+        return count;
+    }
+
+    /**
+     * Returns a <code>CodePointSet</code> of the members of this set and of the given set.
+     *
+     * @param other The other set.
+     * @return The union of both sets.
+     * @throws NullPointerException if the other set is null.
+     */
+    public CodePointSet union(final CodePointSet other) {
+        Objects.requireNonNull(other, "CodePointSet cannot be null");
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        return builder().addAll(this).addAll(other).build();
+    }
+
+    /**
+     * Returns the members of this set as inclusive ranges: the first and last member of each range, in increasing order.
+     *
+     * @return The ranges of this set.
+     */
+    private int[] toRanges() {
+        int[] result = new int[16];
+        int size = 0;
+        int start = -1;
+        for (int word = 0; word < this.bmp.length; word++) {
+            long bits = this.bmp[word];
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                boolean member = (bits & (1L << bit)) != 0;
+                int cp = word << 6 | bit;
+                if (member && start < 0) {
+                    start = cp;
+                } else if (!member && start >= 0) {
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, size * 2);
+                    }
+                    result[size++] = start;
+                    result[size++] = cp - 1;
+                    start = -1;
+                }
+            }
+        }
+        if (start >= 0) {
+            if (size == result.length) {
+                result = Arrays.copyOf(result, size * 2);
+            }
+            result[size++] = start;
+            result[size++] = (this.bmp.length << 6) - 1;
+        }
+        result = Arrays.copyOf(result, size + this.ranges.length);
+        for (int i = 0; i < this.ranges.length; i += 2) {
+            result[size++] = this.ranges[i];
+            result[size++] = this.ranges[i + 1] - 1;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof CodePointSet other) {
+            return Arrays.equals(this.bmp, other.bmp) && Arrays.equals(this.ranges, other.ranges);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.bmp) + Arrays.hashCode(this.ranges);
+    }
+
+    /**
+     * Returns the ranges of this set in hexadecimal, for example <code>[U+0030-U+0039, U+005F]</code>.
+     *
+     * @return The string representation of this set.
+     */
+    @Override
+    public String toString() {
+        int[] members = toRanges();
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < members.length; i += 2) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(String.format("U+%04X", members[i]));
+            if (members[i + 1] != members[i]) {
+                builder.append(String.format("-U+%04X", members[i + 1]));
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * The <code>Builder</code> class collects code points and ranges for a <code>CodePointSet</code>.
+     * <p>
+     * Code points may be added in any order and may overlap. {@link #build()} sorts and merges them.
+     * </p>
+     */
+    public static final class Builder {
+
+        /**
+         * The collected ranges, each packed as the first member in the high and the last member in the low 32 bits.
+         */
+        private long[] ranges = new long[16];
+        /**
+         * The number of collected ranges.
+         */
+        private int size;
+
+        /**
+         * Constructs a new <code>Builder</code>.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Adds the given code point.
+         *
+         * @param codePoint The code point to add.
+         * @return This builder.
+         * @throws IllegalArgumentException if the code point is invalid.
+         */
+        public Builder add(final int codePoint) {
+            checkCodePoint(codePoint);
+            return add0(codePoint, codePoint);
+        }
+
+        /**
+         * Adds the code points from <code>first</code> to <code>last</code>, both inclusive.
+         *
+         * @param first The first code point of the range.
+         * @param last  The last code point of the range.
+         * @return This builder.
+         * @throws IllegalArgumentException if a code point is invalid or <code>first</code> is greater than <code>last</code>.
+         */
+        public Builder addRange(final int first, final int last) {
+            checkCodePoint(first);
+            checkCodePoint(last);
+            if (first > last) {
+                throw new IllegalArgumentException("Invalid code point range: " + first + " > " + last);
+            }
+            return add0(first, last);
+        }
+
+        /**
+         * Adds the code points of the given <code>String32</code> object.
+         *
+         * @param str The <code>String32</code> object.
+         * @return This builder.
+         * @throws NullPointerException if the <code>String32</code> object is null.
+         */
+        public Builder addAll(final String32 str) {
+            Objects.requireNonNull(str, "String32 cannot be null");
+            for (int i = 0; i < str.length(); i++) {
+                int cp = str.codePointAt0(i);
+                add0(cp, cp);
+            }
+            return this;
+        }
+
+        /**
+         * Adds the members of the given <code>CodePointSet</code>.
+         *
+         * @param set The <code>CodePointSet</code>.
+         * @return This builder.
+         * @throws NullPointerException if the <code>CodePointSet</code> is null.
+         */
+        public Builder addAll(final CodePointSet set) {
+            Objects.requireNonNull(set, "CodePointSet cannot be null");
+            int[] members = set.toRanges();
+            for (int i = 0; i < members.length; i += 2) {
+                add0(members[i], members[i + 1]);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the <code>CodePointSet</code> of the collected code points.
+         *
+         * @return The <code>CodePointSet</code>.
+         */
+        public CodePointSet build() {
+            if (this.size == 0) {
+                return EMPTY;
+            }
+            long[] sorted = Arrays.copyOf(this.ranges, this.size);
+            Arrays.sort(sorted);
+            int count = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                long range = sorted[i];
+                if (count > 0 && (int) (range >>> 32) <= (int) sorted[count - 1] + 1) {
+                    int last = Math.max((int) sorted[count - 1], (int) range);
+                    sorted[count - 1] = sorted[count - 1] & 0xFFFFFFFF00000000L | last;
+                } else {
+                    sorted[count++] = range;
+                }
+            }
+            int maxBmp = -1;
+            int supplementary = 0;
+            for (int i = 0; i < count; i++) {
+                int first = (int) (sorted[i] >>> 32);
+                int last = (int) sorted[i];
+                if (first < SUPPLEMENTARY) {
+                    maxBmp = Math.min(last, SUPPLEMENTARY - 1);
+                }
+                if (last >= SUPPLEMENTARY) {
+                    supplementary++;
+                }
+            }
+            long[] bmp = new long[maxBmp < 0 ? 0 : (maxBmp >>> 6) + 1];
+            int[] ranges = new int[supplementary * 2];
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                int first = (int) (sorted[i] >>> 32);
+                int last = (int) sorted[i];
+                if (first < SUPPLEMENTARY) {
+                    setBits(bmp, first, Math.min(last, SUPPLEMENTARY - 1));
+                }
+                if (last >= SUPPLEMENTARY) {
+                    ranges[position++] = Math.max(first, SUPPLEMENTARY);
+                    ranges[position++] = last + 1;
+                }
+            }
+            return new CodePointSet(bmp, ranges);
+        }
+
+        /**
+         * Collects a range of valid code points.
+         *
+         * @param first The first code point of the range.
+         * @param last  The last code point of the range.
+         * @return This builder.
+         */
+        private Builder add0(final int first, final int last) {
+            if (this.size == this.ranges.length) {
+                this.ranges = Arrays.copyOf(this.ranges, this.size * 2);
+            }
+            this.ranges[this.size++] = (long) first << 32 | last;
+            return this;
+        }
+
+        /**
+         * Sets the bits of the code points from <code>first</code> to <code>last</code>, both inclusive.
+         *
+         * @param bmp   The bitmap.
+         * @param first The first code point.
+         * @param last  The last code point.
+         */
+        private static void setBits(final long[] bmp, final int first, final int last) {
+            int firstWord = first >>> 6;
+            int lastWord = last >>> 6;
+            long firstMask = -1L << first;
+            long lastMask = -1L >>> (63 - (last & 63));
+            if (firstWord == lastWord) {
+                bmp[firstWord] |= firstMask & lastMask;
+                return;
+            }
+            bmp[firstWord] |= firstMask;
+            for (int word = firstWord + 1; word < lastWord; word++) {
+                bmp[word] = -1L;
+            }
+            bmp[lastWord] |= lastMask;
+        }
+
+        /**
+         * Checks that the given value is a valid code point.
+         *
+         * @param codePoint The value to check.
+         * @throws IllegalArgumentException if the value is not a valid code point.
+         */
+        private static void checkCodePoint(final int codePoint) {
+            if (!Character.isValidCodePoint(codePoint)) {
+                throw new IllegalArgumentException("Invalid code point: " + codePoint);
+            }
+        }
+    }
+}
@@ -0,0 +1,541 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * The <code>MappedString32Corpus</code> class is a read-only list of <code>String32</code> entries that lives in a memory-mapped file.
+ * <p>
+ * {@link #open(Path) Opening} a corpus only maps the file and checks its header, so it takes constant time and heap,
+ * regardless of the size of the file.
+ * The code points are read straight from the mapping when they are accessed, and the operating system shares the mapped pages
+ * between all processes that open the same file.
+ * {@link #length(int)}, {@link #codePointAt(int, int)}, {@link #equals(int, String32)}, {@link #compare(int, String32)} and
+ * {@link #binarySearch(String32)} work on the mapping without creating objects;
+ * {@link #get(int)} copies one entry into a compact <code>String32</code> object.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         MappedString32Corpus.write(path, List.of(String32.valueOf("apple"), String32.valueOf("banana"), String32.valueOf("cherry")));
+ *         try (MappedString32Corpus corpus = MappedString32Corpus.open(path)) {
+ *             System.out.println(corpus.size());
+ *             // Output: 3
+ *             System.out.println(corpus.get(1));
+ *             // Output: "banana"
+ *             System.out.println(corpus.binarySearch(String32.valueOf("cherry")));
+ *             // Output: 2
+ *         }
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * A corpus file is written by {@link #write(Path, Iterable)} and has three parts, all big-endian:
+ * <ul>
+ *     <li>A <code>32-byte</code> header: the magic number <code>"S32C"</code>, the format version, the number of entries,
+ *     the byte offset of the index and a reserved <code>long</code>.</li>
+ *     <li>The code points of all entries, one <code>32-bit</code> value each, padded to a multiple of eight bytes.</li>
+ *     <li>The index: one <code>64-bit</code> code point offset per entry, relative to the first code point, followed by the total number of code points.</li>
+ * </ul>
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote The file is mapped in chunks of <code>1 GiB</code>, so files larger than <code>2 GiB</code> can be mapped with
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)} as well.
+ * A corpus is safe to read from multiple threads, because it only uses absolute reads.
+ * Closing it releases the file, but the mapping itself is only released when it is garbage collected.
+ * @see String32
+ * @since 1.0.0
+ */
+public final class MappedString32Corpus implements Closeable, Iterable<String32> {
+
+    /**
+     * The magic number at the start of a corpus file, <code>"S32C"</code>.
+     */
+    private static final int MAGIC = 0x53333243;
+    /**
+     * The format version written by this class.
+     */
+    private static final int VERSION = 1;
+    /**
+     * The size of the header in bytes.
+     */
+    private static final int HEADER_SIZE = 32;
+    /**
+     * The binary logarithm of the size of one mapped chunk.
+     */
+    private static final int CHUNK_SHIFT = 30;
+    /**
+     * The mask of the position within one mapped chunk.
+     */
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    /**
+     * The size of the buffer used by {@link #write(Path, Iterable)}.
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    /**
+     * The maximum length of an entry that can be copied into a <code>String32</code> object.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The mapped chunks of the file, or <code>null</code> once the corpus is closed.
+     */
+    private MappedByteBuffer[] chunks;
+    /**
+     * The number of entries.
+     */
+    private final int size;
+    /**
+     * The byte offset of the index.
+     */
+    private final long indexOffset;
+    /**
+     * The total number of code points of all entries.
+     */
+    private final long codePoints;
+
+    /**
+     * Creates a new corpus over the given mapped chunks.
+     *
+     * @param chunks      The mapped chunks of the file.
+     * @param size        The number of entries.
+     * @param indexOffset The byte offset of the index.
+     * @param codePoints  The total number of code points of all entries.
+     */
+    private MappedString32Corpus(final MappedByteBuffer[] chunks, final int size, final long indexOffset, final long codePoints) {
+        this.chunks = chunks;
+        this.size = size;
+        this.indexOffset = indexOffset;
+        this.codePoints = codePoints;
+    }
+
+    /**
+     * Maps the given corpus file.
+     * <p>
+     * Only the header and the size of the file are checked, the code points are not validated until they are read.
+     * </p>
+     *
+     * @param path The path of the corpus file.
+     * @return The mapped corpus.
+     * @throws NullPointerException if the path is null.
+     * @throws IOException          if the file cannot be read or is not a valid corpus file.
+     */
+    public static MappedString32Corpus open(final Path path) throws IOException {
+        Objects.requireNonNull(path, "Path cannot be null");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Not a String32 corpus file, too short: " + path);
+            }
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((fileSize + CHUNK_MASK) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_MASK + 1, fileSize - position));
+            }
+            ByteBuffer header = chunks[0];
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a String32 corpus file, bad magic number: " + path);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported String32 corpus version " + header.getInt(4) + ": " + path);
+            }
+            long count = header.getLong(8);
+            long indexOffset = header.getLong(16);
+            if (count < 0 || count > MAX_ARRAY_LENGTH || indexOffset < HEADER_SIZE || (indexOffset & 7) != 0
+                    || indexOffset + (count + 1) * 8 != fileSize) {
+                throw new IOException("Corrupt String32 corpus file, inconsistent header: " + path);
+            }
+            long codePoints = longAt(chunks, indexOffset + count * Long.BYTES);
+            if (longAt(chunks, indexOffset) != 0 || codePoints < 0 || HEADER_SIZE + codePoints * Integer.BYTES > indexOffset) {
+                throw new IOException("Corrupt String32 corpus file, inconsistent index: " + path);
+            }
+            return new MappedString32Corpus(chunks, (int) count, indexOffset, codePoints);
+        }
+    }
+
+    /**
+     * Writes the given entries to a new corpus file, replacing the file if it exists.
+     * <p>
+     * The code points are written as they are, including unpaired surrogates, so every entry reads back equal to the written one.
+     * Write the entries in their natural order to be able to use {@link #binarySearch(String32)} on the corpus.
+     * </p>
+     *
+     * @param path    The path of the corpus file.
+     * @param entries The entries to write.
+     * @throws NullPointerException if the path, the entries or one of the entries is null.
+     * @throws IOException          if the file cannot be written.
+     */
+    public static void write(final Path path, final Iterable<? extends String32> entries) throws IOException {
+        Objects.requireNonNull(path, "Path cannot be null");
+        Objects.requireNonNull(entries, "Entries cannot be null");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            buffer.position(HEADER_SIZE);
+            long[] offsets = new long[16];
+            int count = 0;
+            long codePoints = 0;
+            for (String32 entry : entries) {
+                Objects.requireNonNull(entry, "Entry cannot be null");
+                if (count == MAX_ARRAY_LENGTH) {
+                    throw new IOException("Too many entries for a String32 corpus file");
+                }
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, (int) Math.min(MAX_ARRAY_LENGTH, (long) count * 2));
+                }
+                offsets[count++] = codePoints;
+                int length = entry.length();
+                for (int i = 0; i < length; i++) {
+                    if (buffer.remaining() < Integer.BYTES) {
+                        flush(buffer, channel);
+                    }
+                    buffer.putInt(entry.codePointAt0(i));
+                }
+                codePoints += length;
+            }
+            if ((codePoints & 1) != 0) {
+                buffer.putInt(0);
+            }
+            long indexOffset = HEADER_SIZE + ((codePoints + 1) & ~1L) * 4;
+            for (int i = 0; i <= count; i++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    flush(buffer, channel);
+                }
+                buffer.putLong(i < count ? offsets[i] : codePoints);
+            }
+            flush(buffer, channel);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(indexOffset).putLong(0L).flip();
+            long position = 0;
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+        }
+    }
+
+    /**
+     * Writes the contents of the buffer to the channel and clears the buffer.
+     *
+     * @param buffer  The buffer.
+     * @param channel The channel.
+     * @throws IOException if the channel fails.
+     */
+    private static void flush(final ByteBuffer buffer, final FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns <code>true</code> if the corpus has no entries.
+     *
+     * @return <code>true</code> if the corpus is empty, <code>false</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of code points of the entry at the given index.
+     *
+     * @param index The index of the entry.
+     * @return The length of the entry.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws IllegalStateException     if the corpus is closed.
+     */
+    public int length(final int index) {
+        Objects.checkIndex(index, this.size);
+        return entryLength(index, start(index));
+    }
+
+    /**
+     * Returns the code point at the given position of the entry at the given index.
+     *
+     * @param index    The index of the entry.
+     * @param position The position of the code point within the entry.
+     * @return The code point.
+     * @throws IndexOutOfBoundsException if the index or the position is out of range.
+     * @throws IllegalStateException     if the corpus is closed.
+     */
+    public int codePointAt(final int index, final int position) {
+        Objects.checkIndex(index, this.size);
+        long start = start(index);
+        Objects.checkIndex(position, entryLength(index, start));
+        return codePoint(start + position);
+    }
+
+    /**
+     * Copies the entry at the given index into a new <code>String32</code> object.
+     * <p>
+     * The <code>String32</code> object uses the narrowest storage for the code points of the entry.
+     * </p>
+     *
+     * @param index The index of the entry.
+     * @return The entry.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws IllegalStateException     if the corpus is closed, or if the entry contains an invalid code point.
+     */
+    public String32 get(final int index) {
+        Objects.checkIndex(index, this.size);
+        long start = start(index);
+        int length = entryLength(index, start);
+        if (length == 0) {
+            return String32.EMPTY;
+        }
+        byte coder = String32Coder.LATIN1;
+        boolean surrogates = false;
+        for (int i = 0; i < length; i++) {
+            int cp = codePoint(start + i);
+            if (!Character.isValidCodePoint(cp)) {
+                throw new IllegalStateException("Corrupt String32 corpus, invalid code point " + cp + " in entry " + index);
+            }
+            if ((cp >>> 8) != 0) {
+                if ((cp >>> 16) != 0) {
+                    coder = String32Coder.UTF32;
+                } else if (Character.isSurrogate((char) cp)) {
+                    coder = String32Coder.UTF32;
+                    surrogates = true;
+                } else if (coder == String32Coder.LATIN1) {
+                    coder = String32Coder.UTF16;
+                }
+            }
+        }
+        Object value = String32Coder.allocate(coder, length);
+        for (int i = 0; i < length; i++) {
+            String32Coder.put(value, coder, i, codePoint(start + i));
+        }
+        if (surrogates) {
+            int[] combined = String32Coder.combineSurrogatePairs((int[]) value, 0, length);
+            if (combined != null) {
+                return new String32(combined, String32Coder.UTF32);
+            }
+        }
+        return new String32(value, coder);
+    }
+
+    /**
+     * Returns <code>true</code> if the entry at the given index contains the same code points as the given <code>String32</code> object.
+     *
+     * @param index The index of the entry.
+     * @param str   The <code>String32</code> object to compare with.
+     * @return <code>true</code> if the entry equals the <code>String32</code> object, <code>false</code> otherwise.
+     * @throws NullPointerException      if the <code>String32</code> object is null.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws IllegalStateException     if the corpus is closed.
+     */
+    public boolean equals(final int index, final String32 str) {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        Objects.checkIndex(index, this.size);
+        long start = start(index);
+        int length = entryLength(index, start);
+        if (length != str.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (codePoint(start + i) != str.codePointAt0(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the entry at the given index with the given <code>String32</code> object lexicographically by code point,
+     * like {@link String32#compareTo(String32)}.
+     *
+     * @param index The index of the entry.
+     * @param str   The <code>String32</code> object to compare with.
+     * @return A negative integer, zero, or a positive integer as the entry is less than, equal to, or greater than the <code>String32</code> object.
+     * @throws NullPointerException      if the <code>String32</code> object is null.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws IllegalStateException     if the corpus is closed.
+     */
+    public int compare(final int index, final String32 str) {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        Objects.checkIndex(index, this.size);
+        long start = start(index);
+        int length = entryLength(index, start);
+        int minLength = Math.min(length, str.length());
+        for (int i = 0; i < minLength; i++) {
+            int x = codePoint(start + i);
+            int y = str.codePointAt0(i);
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+        }
+        return length - str.length();
+    }
+
+    /**
+     * Searches a corpus whose entries are sorted in their natural order for the given key.
+     * <p>
+     * The search compares the key with the mapped entries directly and does not create any objects.
+     * If the entries are not sorted, the result is undefined.
+     * </p>
+     *
+     * @param key The key to search for.
+     * @return The index of the key, if it is contained; otherwise, <code>(-(insertion point) - 1)</code>,
+     * like {@link Arrays#binarySearch(Object[], Object)}.
+     * @throws NullPointerException  if the key is null.
+     * @throws IllegalStateException if the corpus is closed.
+     */
+    public int binarySearch(final String32 key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        int low = 0;
+        int high = this.size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns an iterator that {@link #get(int) copies} the entries in order.
+     *
+     * @return An iterator over the entries.
+     */
+    @Override
+    public Iterator<String32> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < MappedString32Corpus.this.size;
+            }
+
+            @Override
+            public String32 next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(this.next++);
+            }
+        };
+    }
+
+    /**
+     * Closes the corpus.
+     * <p>
+     * Accessing the entries of a closed corpus throws an {@link IllegalStateException}.
+     * <code>String32</code> objects that were copied from the corpus remain valid.
+     * </p>
+     */
+    @Override
+    public void close() {
+        this.chunks = null;
+    }
+
+    /**
+     * Returns the code point offset of the entry at the given index, relative to the first code point.
+     *
+     * @param index The index of the entry, which may be {@link #size()} for the end of the last entry.
+     * @return The code point offset.
+     */
+    private long start(final int index) {
+        return longAt(chunks(), this.indexOffset + (long) index * Long.BYTES);
+    }
+
+    /**
+     * Reads the <code>long</code> at the given byte position of the mapped chunks.
+     *
+     * @param chunks   The mapped chunks.
+     * @param position The byte position, which must be a multiple of eight.
+     * @return The <code>long</code> value.
+     */
+    private static long longAt(final MappedByteBuffer[] chunks, final long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getLong((int) (position & CHUNK_MASK));
+    }
+
+    /**
+     * Returns the length of the entry at the given index.
+     *
+     * @param index The index of the entry.
+     * @param start The code point offset of the entry.
+     * @return The length of the entry.
+     * @throws IllegalStateException if the length is not valid.
+     */
+    private int entryLength(final int index, final long start) {
+        long end = start(index + 1);
+        long length = end - start;
+        if (start < 0 || end > this.codePoints || length < 0 || length > MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("Corrupt String32 corpus, invalid length " + length + " of entry " + index);
+        }
+        return (int) length;
+    }
+
+    /**
+     * Returns the code point at the given code point offset.
+     *
+     * @param offset The code point offset, relative to the first code point.
+     * @return The code point.
+     */
+    private int codePoint(final long offset) {
+        long position = HEADER_SIZE + offset * Integer.BYTES;
+        return chunks()[(int) (position >>> CHUNK_SHIFT)].getInt((int) (position & CHUNK_MASK));
+    }
+
+    /**
+     * Returns the mapped chunks of the file.
+     *
+     * @return The mapped chunks.
+     * @throws IllegalStateException if the corpus is closed.
+     */
+    private MappedByteBuffer[] chunks() {
+        MappedByteBuffer[] chunks = this.chunks;
+        if (chunks == null) {
+            throw new IllegalStateException("String32 corpus is closed");
+        }
+        return chunks;
+    }
+}
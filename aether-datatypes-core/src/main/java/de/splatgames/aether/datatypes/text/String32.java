@@ -2,35 +2,48 @@ package de.splatgames.aether.datatypes.text;
 
 import de.splatgames.aether.datatypes.utils.Streams;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 import java.util.function.IntUnaryOperator;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * The <code>String32</code> class represents a {@link String} of <code>32-bit</code> characters.
  * <p>
- * All characters are stored as <code>32-bit</code> {@link Integer Integers}, which allows for the representation of all Unicode characters.
- * </p>
- * <p>
  * Instead of using the Java {@link String} class, which uses <code>16-bit</code> characters, this class uses <code>32-bit</code> characters.
  * This allows for the representation of all Unicode characters, including emojis and other special characters.
- * They are stored as an array of integers, where each integer represents a single character.
+ * Every character is a single Unicode code point, so a supplementary code point counts as one character instead of two.
+ * </p>
+ * <p>
+ * The code points are stored in the narrowest backing array that holds all of them:
+ * a {@code byte[]} with one Latin-1 code point per byte if all code points are at most <code>U+00FF</code>,
+ * a {@code char[]} with one UCS-2 code point per char if all code points are in the Basic Multilingual Plane and none is a surrogate,
+ * and an {@code int[]} with one UTF-32 code point per element otherwise.
+ * Most text therefore takes one or two bytes per character instead of four.
  * </p>
  * <p>
- * The implementation is done by an array of {@link Integer} objects, which store the Unicode code points of the characters.
- * The normal Java {@link String} class uses an array of <code>char</code> objects, which store <code>16-bit</code> characters.
- * This allows the normal {@link String} class to store only characters <code>2^16 - 1</code>, which is <code>65535</code>.
- * Our <code>String32</code> class can store all characters up to <code>2^31 - 1</code>, which is <code>2147483647</code>.
+ * Substrings and similar methods return views that share the backing array of their parent with an offset and a length
+ * instead of copying it. {@link #detach()} and {@link #compact()} copy a view into its own array.
  * </p>
  * <p>
  * Other than the {@link String} class, this class must be called over the {@link String32#valueOf(String)} method.
@@ -80,6 +93,9 @@ import java.util.regex.Pattern;
  * @author Erik Pförtner
  * @implNote This class is <code>immutable</code>, which means that the characters cannot be changed after the object is created.
  * It is also possible to serialize this class because it uses the {@link Serializable} interface.
+ * Internally, the code points are stored in the narrowest array type that can hold all of them
+ * ({@code byte[]} for Latin-1, {@code char[]} for the BMP without surrogates, {@code int[]} otherwise),
+ * so ASCII-heavy text does not pay <code>4</code> bytes per code point.
  * @see String
  * @see Integer
  * @since 1.0.0
@@ -97,13 +113,86 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
     private static final long serialVersionUID = 2664782218035467567L;
 
     /**
-     * The characters of the <code>String32</code> object.
+     * The serializable fields of the <code>String32</code> class.
+     * <p>
+     * The serialized form is independent of the backing storage.
+     * Earlier versions wrote the <code>32-bit</code> code points to <code>characters</code>.
+     * The current version writes <code>null</code> there and appends the code points in a compact form as optional data,
+     * see {@link #writeObject(ObjectOutputStream)}. Both forms can be read.
+     * </p>
+     */
+    @Serial
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("characters", int[].class),
+            new ObjectStreamField("length", int.class)
+    };
+
+    /**
+     * The shared empty <code>String32</code> object.
+     * <p>
+     * It is returned by operations that produce an empty result from a view, so that empty views never keep a parent array reachable.
+     * </p>
+     */
+    static final String32 EMPTY = new String32(new byte[0], String32Coder.LATIN1);
+
+    /**
+     * The system property that disables the cache of the {@link #toString() String form} when set to <code>false</code>.
+     * <p>
+     * The cache is enabled by default. Disabling it saves the memory of one {@link String} per converted <code>String32</code> object,
+     * at the cost of encoding the code points again on every call of {@link #toString()}.
+     * </p>
+     */
+    public static final String STRING_CACHE_PROPERTY = "aether.datatypes.string32.stringCache";
+
+    /**
+     * Whether {@link #toString()} caches its result.
+     */
+    static final boolean STRING_CACHE = Boolean.parseBoolean(System.getProperty(STRING_CACHE_PROPERTY, "true"));
+
+    /**
+     * The predicate of the code points that {@link #strip()}, {@link #stripLeading()}, {@link #stripTrailing()} and
+     * {@link #removeWhitespace()} remove.
+     */
+    private static final IntPredicate BLANK = CodePointClass::isBlank;
+
+    /**
+     * A {@link Comparator} that orders <code>String32</code> objects as {@link #compareToIgnoreCase(String32)} does.
      * <p>
-     * The characters of the <code>String32</code> object are stored as <code>32-bit</code> {@link Integer Integers}.
-     * This allows for the representation of all Unicode characters.
+     * This comparator is serializable and allocates nothing while comparing.
+     * Note that it does not take locale into account, the same as {@link String#CASE_INSENSITIVE_ORDER}.
+     * </p>
+     *
+     * @see #compareToIgnoreCase(String32)
+     */
+    public static final Comparator<String32> CASE_INSENSITIVE_ORDER = new CaseInsensitiveComparator();
+
+    /**
+     * The backing array of the <code>String32</code> object.
+     * <p>
+     * The code points are stored in the narrowest array type that can hold all of them:
+     * a {@code byte[]} if every code point is at most <code>0xFF</code>,
+     * a {@code char[]} if every code point is in the BMP and is not a surrogate,
+     * and an {@code int[]} otherwise.
+     * The array type is identified by the {@link #coder}.
+     * </p>
+     */
+    private final Object value;
+    /**
+     * The coder of the {@link #value backing array}.
+     * <p>
+     * One of {@link String32Coder#LATIN1}, {@link String32Coder#UTF16} or {@link String32Coder#UTF32}.
+     * </p>
+     */
+    private final byte coder;
+    /**
+     * The index of the first code point in the {@link #value backing array}.
+     * <p>
+     * A <code>String32</code> created by {@link #substring(int, int)} or {@link #ngrams(int)} shares the backing array of its parent
+     * and only covers the range from <code>offset</code> to <code>offset + length</code>.
+     * Use {@link #detach()} or {@link #compact()} to release a large parent.
      * </p>
      */
-    private final int[] characters;
+    private final int offset;
     /**
      * The length of the <code>String32</code> object.
      * <p>
@@ -111,12 +200,164 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * </p>
      */
     private final int length;
+    /**
+     * The cached hash code of the <code>String32</code> object.
+     * <p>
+     * It is computed lazily by {@link #hashCode()} and published racily, the same as the hash of {@link String}:
+     * a thread that does not see the cached value simply computes the same value again.
+     * <code>0</code> means that the hash code has not been computed yet, or that it is <code>0</code>;
+     * the latter is recorded in {@link #hashIsZero}.
+     * </p>
+     */
+    private int hash;
+    /**
+     * Whether the hash code of the <code>String32</code> object has been computed and is <code>0</code>.
+     */
+    private boolean hashIsZero;
+    /**
+     * The cached {@link String} form of the <code>String32</code> object.
+     * <p>
+     * It is computed lazily by {@link #toString()} and published racily, the same as {@link #hash}:
+     * a {@link String} is immutable, so a thread that sees the reference also sees its contents,
+     * and a thread that does not see it simply encodes the same {@link String} again.
+     * It is never serialized and can be released with {@link #dropCache()}.
+     * </p>
+     */
+    private String utf16;
+    /**
+     * The <code>String32</code> object decoded by {@link #readObject(ObjectInputStream)}.
+     * <p>
+     * Deserialization cannot assign the <code>final</code> fields of the object it creates, so {@link #readObject(ObjectInputStream)}
+     * decodes into a new object and {@link #readResolve()} returns that one instead.
+     * It is only set on the object created by deserialization, which is then discarded.
+     * </p>
+     */
+    private transient String32 deserialized;
+
+    /**
+     * The <code>IndexedCodePointConsumer</code> interface receives the code points of a <code>String32</code> object together with their index.
+     *
+     * @see #forEachIndexed(IndexedCodePointConsumer)
+     */
+    @FunctionalInterface
+    public interface IndexedCodePointConsumer {
+
+        /**
+         * Called for every code point, in increasing order of the index.
+         *
+         * @param index     The index of the code point.
+         * @param codePoint The code point.
+         */
+        void accept(int index, int codePoint);
+    }
+
+    /**
+     * The <code>IndexedCodePointPredicate</code> interface tests the code points of a <code>String32</code> object together with their index.
+     *
+     * @see #filterIndexed(IndexedCodePointPredicate)
+     */
+    @FunctionalInterface
+    public interface IndexedCodePointPredicate {
+
+        /**
+         * Tests the given code point.
+         *
+         * @param index     The index of the code point.
+         * @param codePoint The code point.
+         * @return <code>true</code> if the code point matches, <code>false</code> otherwise.
+         */
+        boolean test(int index, int codePoint);
+    }
+
+    /**
+     * The <code>IndexedCodePointOperator</code> interface maps the code points of a <code>String32</code> object together with their index.
+     *
+     * @see #mapIndexed(IndexedCodePointOperator)
+     */
+    @FunctionalInterface
+    public interface IndexedCodePointOperator {
+
+        /**
+         * Maps the given code point.
+         *
+         * @param index     The index of the code point.
+         * @param codePoint The code point.
+         * @return The mapped code point.
+         */
+        int applyAsInt(int index, int codePoint);
+    }
+
+    /**
+     * The comparator behind {@link #CASE_INSENSITIVE_ORDER}.
+     */
+    private static final class CaseInsensitiveComparator implements Comparator<String32>, Serializable {
+
+        /**
+         * The <code>serialVersionUID</code> of the <code>CaseInsensitiveComparator</code> class.
+         */
+        @Serial
+        private static final long serialVersionUID = 6183640273905237180L;
+
+        @Override
+        public int compare(final String32 a, final String32 b) {
+            return String32Case.compareIgnoreCase(a, b);
+        }
+
+        /**
+         * Replaces a deserialized comparator with the shared instance.
+         *
+         * @return {@link #CASE_INSENSITIVE_ORDER}.
+         */
+        @Serial
+        private Object readResolve() {
+            return CASE_INSENSITIVE_ORDER;
+        }
+    }
+
+    /**
+     * The lazily filled cache of the <code>String32</code> objects of single BMP code points returned by {@link #valueOf(int)}.
+     * <p>
+     * The objects are published with release and acquire semantics. Two threads may create the same object concurrently, in which case either one is cached.
+     * </p>
+     */
+    private static final class SingleCodePointCache {
+
+        /**
+         * The cached objects, indexed by code point.
+         */
+        private static final AtomicReferenceArray<String32> CACHE = new AtomicReferenceArray<>(0x10000);
+
+        /**
+         * Prevent instantiation of this holder class.
+         */
+        private SingleCodePointCache() {
+            throw new UnsupportedOperationException("Utility class cannot be instantiated");
+        }
+
+        /**
+         * Returns the <code>String32</code> object of the given BMP code point.
+         *
+         * @param codePoint The code point, at most <code>0xFFFF</code>.
+         * @return The <code>String32</code> object that contains the code point.
+         */
+        static String32 get(final int codePoint) {
+            String32 cached = CACHE.getAcquire(codePoint);
+            if (cached == null) {
+                byte coder = String32Coder.coderOf(codePoint);
+                Object value = String32Coder.allocate(coder, 1);
+                String32Coder.put(value, coder, 0, codePoint);
+                cached = new String32(value, coder);
+                CACHE.setRelease(codePoint, cached);
+            }
+            return cached;
+        }
+    }
 
     /**
      * Constructs a new <code>String32</code> object that contains the characters of the given {@link String}.
      * <p>
      * This constructor constructs a new <code>String32</code> object that contains the characters of the given {@link String}.
-     * The characters are stored as <code>32-bit</code> {@link Integer Integers}, which allows for the representation of all Unicode characters.
+     * The characters are stored in the narrowest backing array that can hold all of them.
      * </p>
      *
      * @param input The {@link String} to convert to a <code>String32</code> object.
@@ -125,15 +366,47 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
     String32(final String input) {
         Objects.requireNonNull(input, "Input cannot be null");
 
-        this.characters = input.codePoints().toArray();
-        this.length = this.characters.length;
+        this.coder = String32Coder.coderOf(input);
+        this.value = String32Coder.encode(input, this.coder);
+        this.offset = 0;
+        this.length = String32Coder.capacity(this.value, this.coder);
+    }
+
+    /**
+     * Constructs a new <code>String32</code> object that takes ownership of the given backing array.
+     * <p>
+     * The backing array is not copied, so the caller must not modify it afterward.
+     * </p>
+     *
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     */
+    String32(final Object value, final byte coder) {
+        this(value, coder, 0, String32Coder.capacity(value, coder));
+    }
+
+    /**
+     * Constructs a new <code>String32</code> object that is a view of a range of the given backing array.
+     * <p>
+     * The backing array is shared, not copied, so it must never be modified afterward.
+     * </p>
+     *
+     * @param value  The backing array.
+     * @param coder  The coder of the backing array.
+     * @param offset The index of the first code point in the backing array.
+     * @param length The number of code points.
+     */
+    String32(final Object value, final byte coder, final int offset, final int length) {
+        this.value = value;
+        this.coder = coder;
+        this.offset = offset;
+        this.length = length;
     }
 
     /**
      * Returns a new <code>String32</code> object that contains the characters of the given {@link String}.
      * <p>
      * This method returns a new <code>String32</code> object that contains the characters of the given {@link String}.
-     * The characters are stored as <code>32-bit</code> {@link Integer Integers}, which allows for the representation of all Unicode characters.
      * </p>
      *
      * @param input The {@link String} to convert to a <code>String32</code> object.
@@ -148,42 +421,153 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * Returns a new <code>String32</code> object that contains the characters of the given {@code int[]}.
      * <p>
      * This method returns a new <code>String32</code> object that contains the characters of the given {@code int[]}.
-     * The characters are stored as <code>32-bit</code> {@link Integer Integers}, which allows for the representation of all Unicode characters.
+     * </p>
+     *
+     * <p>
+     * The code points are validated and copied in one pass into the narrowest backing array, without going through a {@link String}.
+     * A high surrogate that is immediately followed by a low surrogate is combined into one supplementary code point,
+     * the same as in the {@link String} form.
      * </p>
      *
      * @param input The {@code int[]} to convert to a <code>String32</code> object.
      * @return A new <code>String32</code> object that contains the characters of the given {@code int[]}.
-     * @throws NullPointerException If the input is <code>null</code>.
+     * @throws NullPointerException     If the input is <code>null</code>.
+     * @throws IllegalArgumentException If the input contains an invalid code point.
      */
     public static String32 valueOf(final int[] input) {
         Objects.requireNonNull(input, "Input cannot be null");
-        StringBuilder sb = new StringBuilder();
-        for (int i : input) {
-            sb.appendCodePoint(i);
+        return valueOf(input, 0, input.length);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object that contains the code points of a range of the given {@code int[]}.
+     * <p>
+     * This method returns a new <code>String32</code> object that contains <code>count</code> code points of the given {@code int[]},
+     * starting at <code>offset</code>. The code points are validated and copied the same as in {@link #valueOf(int[])}.
+     * </p>
+     *
+     * @param input  The {@code int[]} to copy the code points from.
+     * @param offset The index of the first code point to copy.
+     * @param count  The number of code points to copy.
+     * @return A new <code>String32</code> object that contains the code points of the range.
+     * @throws NullPointerException      If the input is <code>null</code>.
+     * @throws IndexOutOfBoundsException If the range is out of the bounds of the input.
+     * @throws IllegalArgumentException  If the range contains an invalid code point.
+     */
+    public static String32 valueOf(final int[] input, final int offset, final int count) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        Objects.checkFromIndexSize(offset, count, input.length);
+        if (count == 0) {
+            return EMPTY;
+        }
+        byte coder = checkCodePoints(input, offset, offset + count);
+        if (coder == String32Coder.UTF32) {
+            int[] combined = String32Coder.combineSurrogatePairs(input, offset, count);
+            return new String32(combined != null ? combined : Arrays.copyOfRange(input, offset, offset + count), coder);
+        }
+        return new String32(String32Coder.encode(input, offset, count, coder), coder);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object that takes ownership of the given {@code int[]} instead of copying it.
+     * <p>
+     * The code points are validated, but the array becomes the backing array of the new <code>String32</code> object
+     * as it is, so the caller must not modify it afterward. This avoids the copy of {@link #valueOf(int[])} for arrays
+     * that were built only to create a <code>String32</code> object, at the cost of always storing <code>32-bit</code> code points.
+     * Only if the array contains a high surrogate that is immediately followed by a low surrogate are the code points
+     * copied, to combine the pair into one supplementary code point the same as {@link #valueOf(int[])} does.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         int[] codePoints = new int[]{'H', 'i', 0x1F600};
+     *         String32 string32 = String32.wrap(codePoints);
+     *         // codePoints must not be modified from here on
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param codePoints The code points, which the new <code>String32</code> object takes ownership of.
+     * @return A new <code>String32</code> object backed by the given array.
+     * @throws NullPointerException     If the array is <code>null</code>.
+     * @throws IllegalArgumentException If the array contains an invalid code point.
+     */
+    public static String32 wrap(final int[] codePoints) {
+        Objects.requireNonNull(codePoints, "Code points cannot be null");
+        if (checkCodePoints(codePoints, 0, codePoints.length) == String32Coder.UTF32) {
+            int[] combined = String32Coder.combineSurrogatePairs(codePoints, 0, codePoints.length);
+            if (combined != null) {
+                return new String32(combined, String32Coder.UTF32);
+            }
         }
-        return new String32(sb.toString());
+        return new String32(codePoints, String32Coder.UTF32);
+    }
+
+    /**
+     * Validates a range of code points and returns the narrowest coder that can store them.
+     *
+     * @param cps  The code points.
+     * @param from The first index, inclusive.
+     * @param to   The last index, exclusive.
+     * @return The narrowest coder for the range.
+     * @throws IllegalArgumentException If the range contains an invalid code point.
+     */
+    private static byte checkCodePoints(final int[] cps, final int from, final int to) {
+        byte coder = String32Coder.LATIN1;
+        for (int i = from; i < to; i++) {
+            int cp = cps[i];
+            if ((cp >>> 8) != 0) {
+                if (!Character.isValidCodePoint(cp)) {
+                    throw invalidCodePoint(cp);
+                }
+                coder = String32Coder.widest(coder, String32Coder.coderOf(cp));
+            }
+        }
+        return coder;
+    }
+
+    /**
+     * Returns the exception for an invalid code point, with the message of {@link StringBuilder#appendCodePoint(int)}.
+     *
+     * @param codePoint The invalid code point.
+     * @return The exception to throw.
+     */
+    private static IllegalArgumentException invalidCodePoint(final int codePoint) {
+        return new IllegalArgumentException(String.format("Not a valid Unicode code point: 0x%X", codePoint));
     }
 
     /**
-     * Returns a new <code>String32</code> object that contains the character of the given {@link Integer}.
+     * Returns a <code>String32</code> object that contains the character of the given {@link Integer}.
+     * <p>
+     * This method returns a <code>String32</code> object that contains the character of the given {@link Integer}.
+     * </p>
      * <p>
-     * This method returns a new <code>String32</code> object that contains the character of the given {@link Integer}.
-     * The character are stored as <code>32-bit</code> {@link Integer Integer}, which allows for the representation of all Unicode characters.
+     * The objects for code points in the Basic Multilingual Plane are cached, so repeated calls for the same code point
+     * return the same object and allocate nothing.
      * </p>
      *
      * @param codePoint The {@link Integer} to convert to a <code>String32</code> object.
-     * @return A new <code>String32</code> object that contains the characters of the given {@link Integer} array.
-     * @throws NullPointerException If the input is <code>null</code>.
+     * @return A <code>String32</code> object that contains the given code point.
+     * @throws IllegalArgumentException If the code point is invalid.
      */
     public static String32 valueOf(final int codePoint) {
-        return valueOf(new int[]{codePoint});
+        if ((codePoint >>> 16) == 0) {
+            return SingleCodePointCache.get(codePoint);
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw invalidCodePoint(codePoint);
+        }
+        return new String32(new int[]{codePoint}, String32Coder.UTF32);
     }
 
     /**
      * Returns a new <code>String32</code> object that contains the characters of the given {@link Character char} array.
      * <p>
      * This method returns a new <code>String32</code> object that contains the characters of the given {@link Character char} array.
-     * The characters are stored as <code>32-bit</code> {@link Integer Integers}, which allows for the representation of all Unicode characters.
+     * </p>
+     *
+     * <p>
+     * The characters are decoded directly into the narrowest backing array, whose length is presized with
+     * {@link Character#codePointCount(char[], int, int)} if the array contains surrogates.
      * </p>
      *
      * @param input The {@link Character char} array to convert to a <code>String32</code> object.
@@ -192,11 +576,95 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     public static String32 valueOf(final char[] input) {
         Objects.requireNonNull(input, "Input cannot be null");
-        StringBuilder sb = new StringBuilder();
-        for (char c : input) {
-            sb.append(c);
+        return valueOf(input, 0, input.length);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object that contains the characters of a range of the given {@link Character char} array.
+     * <p>
+     * This method decodes <code>count</code> UTF-16 characters of the given array, starting at <code>offset</code>,
+     * the same as {@link #valueOf(char[])}. A surrogate pair is decoded as one supplementary code point,
+     * an unpaired surrogate is kept as it is.
+     * </p>
+     *
+     * @param input  The {@link Character char} array to decode.
+     * @param offset The index of the first character to decode.
+     * @param count  The number of characters to decode.
+     * @return A new <code>String32</code> object that contains the characters of the range.
+     * @throws NullPointerException      If the input is <code>null</code>.
+     * @throws IndexOutOfBoundsException If the range is out of the bounds of the input.
+     */
+    public static String32 valueOf(final char[] input, final int offset, final int count) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        Objects.checkFromIndexSize(offset, count, input.length);
+        int end = offset + count;
+        char max = 0;
+        for (int i = offset; i < end; i++) {
+            char c = input[i];
+            if (Character.isSurrogate(c)) {
+                int[] cps = new int[Character.codePointCount(input, offset, count)];
+                for (int j = offset, n = 0; j < end; n++) {
+                    int cp = Character.codePointAt(input, j, end);
+                    cps[n] = cp;
+                    j += Character.charCount(cp);
+                }
+                return new String32(cps, String32Coder.UTF32);
+            }
+            max |= c;
+        }
+        if (count == 0) {
+            return EMPTY;
         }
-        return new String32(sb.toString());
+        if (max <= 0xFF) {
+            byte[] bytes = new byte[count];
+            for (int i = 0; i < count; i++) {
+                bytes[i] = (byte) input[offset + i];
+            }
+            return new String32(bytes, String32Coder.LATIN1);
+        }
+        return new String32(Arrays.copyOfRange(input, offset, end), String32Coder.UTF16);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object that contains the characters of the given {@link CharSequence}.
+     * <p>
+     * The characters are decoded the same as in {@link #valueOf(char[])}, directly from the {@link CharSequence} and
+     * without converting it to a {@link String} first.
+     * </p>
+     *
+     * @param input The {@link CharSequence} to convert to a <code>String32</code> object.
+     * @return A new <code>String32</code> object that contains the characters of the given {@link CharSequence}.
+     * @throws NullPointerException If the input is <code>null</code>.
+     */
+    public static String32 valueOf(final CharSequence input) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        if (input instanceof String str) {
+            return new String32(str);
+        }
+        int length = input.length();
+        int max = 0;
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (Character.isSurrogate(c)) {
+                int[] cps = new int[Character.codePointCount(input, 0, length)];
+                for (int j = 0, n = 0; j < length; n++) {
+                    int cp = Character.codePointAt(input, j);
+                    cps[n] = cp;
+                    j += Character.charCount(cp);
+                }
+                return new String32(cps, String32Coder.UTF32);
+            }
+            max |= c;
+        }
+        if (length == 0) {
+            return EMPTY;
+        }
+        byte coder = max <= 0xFF ? String32Coder.LATIN1 : String32Coder.UTF16;
+        Object value = String32Coder.allocate(coder, length);
+        for (int i = 0; i < length; i++) {
+            String32Coder.put(value, coder, i, input.charAt(i));
+        }
+        return new String32(value, coder);
     }
 
     /**
@@ -281,7 +749,47 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (index < 0 || index >= this.length) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + this.length);
         }
-        return characters[index];
+        return String32Coder.get(this.value, this.coder, this.offset + index);
+    }
+
+    /**
+     * Returns the code point at the specified index without bounds checking.
+     *
+     * @param index The index of the code point, which must be between <code>0</code> and <code>length() - 1</code>.
+     * @return The code point at the specified index.
+     */
+    int codePointAt0(final int index) {
+        return String32Coder.get(this.value, this.coder, this.offset + index);
+    }
+
+    /**
+     * Returns the backing array of the <code>String32</code> object.
+     * <p>
+     * The array may be shared with other <code>String32</code> objects and must never be modified.
+     * </p>
+     *
+     * @return The backing array.
+     */
+    Object value() {
+        return this.value;
+    }
+
+    /**
+     * Returns the coder of the backing array.
+     *
+     * @return The coder of the backing array.
+     */
+    byte coder() {
+        return this.coder;
+    }
+
+    /**
+     * Returns the index of the first code point in the backing array.
+     *
+     * @return The offset into the backing array.
+     */
+    int offset() {
+        return this.offset;
     }
 
     /**
@@ -304,6 +812,11 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * The substring begins at the specified <code>beginIndex</code> and extends to the character at index <code>endIndex - 1</code>.
      * </p>
      * <p>
+     * The substring shares the backing array of this <code>String32</code> object, so no code points are copied.
+     * As long as the substring is reachable, the whole backing array stays reachable as well.
+     * Call {@link #detach()} on the substring if it outlives a much larger parent.
+     * </p>
+     * <p>
      * Example:
      * <blockquote><pre>
      *         String32 string32 = String32.valueOf("Hello, World!");
@@ -324,26 +837,119 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (beginIndex < 0 || endIndex > this.length || beginIndex > endIndex) {
             throw new IndexOutOfBoundsException("BeginIndex: " + beginIndex + ", EndIndex: " + endIndex + ", Length: " + this.length);
         }
-        return String32.valueOf(Arrays.copyOfRange(this.characters, beginIndex, endIndex));
+        if (beginIndex == 0 && endIndex == this.length) {
+            return this;
+        }
+        if (beginIndex == endIndex) {
+            return EMPTY;
+        }
+        return new String32(this.value, this.coder, this.offset + beginIndex, endIndex - beginIndex);
+    }
+
+    /**
+     * Returns a <code>String32</code> object that owns an exactly sized copy of its code points.
+     * <p>
+     * A <code>String32</code> created by {@link #substring(int, int)} or {@link #ngrams(int)} shares the backing array of its parent.
+     * This method copies the covered range into a new backing array, so that a large parent can be garbage collected.
+     * The backing storage type is kept; use {@link #compact()} to also narrow it.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 line = hugeDocument.substring(1000, 1080).detach();
+     *         // "line" no longer keeps "hugeDocument" reachable
+     * </pre></blockquote>
+     * </p>
+     *
+     * @return This <code>String32</code> object if it already owns its whole backing array, otherwise a detached copy.
+     */
+    public String32 detach() {
+        if (this.offset == 0 && this.length == String32Coder.capacity(this.value, this.coder)) {
+            return this;
+        }
+        return new String32(String32Coder.copyOfRange(this.value, this.coder, this.offset, this.offset + this.length), this.coder);
+    }
+
+    /**
+     * Returns a <code>String32</code> object that owns an exactly sized copy of its code points in the narrowest backing storage.
+     * <p>
+     * This method works like {@link #detach()}, but it also re-encodes the code points into the narrowest backing array.
+     * For example, an ASCII substring of a <code>String32</code> containing emojis is stored in a {@code byte[]} afterward.
+     * </p>
+     *
+     * @return This <code>String32</code> object if it is already compact, otherwise a compacted copy.
+     */
+    public String32 compact() {
+        int end = this.offset + this.length;
+        byte targetCoder = String32Coder.coderOf(this.value, this.coder, this.offset, end);
+        if (targetCoder == this.coder) {
+            return detach();
+        }
+        return new String32(String32Coder.narrow(this.value, this.coder, this.offset, end, targetCoder), targetCoder);
+    }
+
+    /**
+     * Returns the canonical <code>String32</code> object that is equal to this one.
+     * <p>
+     * This method interns the <code>String32</code> object in the {@link String32Pool#global() global pool},
+     * the same as {@link String#intern()} does for {@link String Strings}.
+     * For any two <code>String32</code> objects <code>a</code> and <code>b</code>,
+     * <code>a.intern() == b.intern()</code> is <code>true</code> if and only if <code>a.equals(b)</code> is <code>true</code>.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 a = String32.valueOf("tag").intern();
+     *         String32 b = String32.valueOf("tag").intern();
+     *         System.out.println(a == b);
+     *         // Output: true
+     * </pre></blockquote>
+     * </p>
+     * <p>
+     * The pool only references its values weakly, so values that are no longer used are garbage collected.
+     * Use a dedicated {@link String32Pool} to intern values with a separate lifetime or separate statistics.
+     * </p>
+     *
+     * @return The canonical <code>String32</code> object that is equal to this one.
+     */
+    public String32 intern() {
+        return String32Pool.global().intern(this);
     }
 
     /**
-     * Converts the <code>String32</code> object to a standard Java {@link String}.
+     * Encodes the <code>String32</code> object into big-endian UTF-32.
      * <p>
-     * This method converts the <code>String32</code> object to a standard Java {@link String}.
-     * The characters are converted from <code>32-bit</code> {@link Integer Integers} to <code>16-bit</code> {@link Character Characters}.
+     * This method writes every code point as a <code>32-bit</code> big-endian value, including unpaired surrogates.
+     * Use {@link String32Encoding#UTF_32BE} to replace unpaired surrogates, to encode into a {@link java.nio.ByteBuffer},
+     * or to use another encoding.
      * </p>
      *
-     * @return The standard Java {@link String} representation of the <code>String32</code> object.
+     * @return The code points of the <code>String32</code> object in big-endian UTF-32.
      */
     public byte[] toUtf32BE() {
         byte[] bytes = new byte[this.length * 4];
-        for (int i = 0; i < this.length; i++) {
-            int character = this.characters[i];
-            bytes[i * 4] = (byte) (character >> 24);
-            bytes[i * 4 + 1] = (byte) (character >> 16);
-            bytes[i * 4 + 2] = (byte) (character >> 8);
-            bytes[i * 4 + 3] = (byte) character;
+        switch (this.coder) {
+            case String32Coder.LATIN1: {
+                byte[] latin1 = (byte[]) this.value;
+                for (int i = 0; i < this.length; i++) {
+                    String32Encoder.INT_BE.set(bytes, i * 4, latin1[this.offset + i] & 0xFF);
+                }
+                break;
+            }
+            case String32Coder.UTF16: {
+                char[] chars = (char[]) this.value;
+                for (int i = 0; i < this.length; i++) {
+                    String32Encoder.INT_BE.set(bytes, i * 4, (int) chars[this.offset + i]);
+                }
+                break;
+            }
+            default: {
+                int[] ints = (int[]) this.value;
+                for (int i = 0; i < this.length; i++) {
+                    String32Encoder.INT_BE.set(bytes, i * 4, ints[this.offset + i]);
+                }
+                break;
+            }
         }
         return bytes;
     }
@@ -352,13 +958,15 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * Returns the characters of the <code>String32</code> object.
      * <p>
      * This method returns the characters of the <code>String32</code> object.
-     * The characters are stored as <code>32-bit</code> {@link Integer Integers}.
+     * The code points are copied into a new {@code int[]} with one code point per element, whatever the backing array is.
      * </p>
      *
      * @return The characters of the <code>String32</code> object.
      */
     public int[] getCharacters() {
-        return Arrays.copyOf(this.characters, this.length);
+        int[] characters = new int[this.length];
+        String32Coder.inflate(this.value, this.coder, this.offset, characters, 0, this.length);
+        return characters;
     }
 
     /**
@@ -381,6 +989,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      *
      * @param args The arguments to replace the placeholders in the <code>String32</code> object.
      * @return The new <code>String32</code> object that is formatted with the given arguments.
+     * @see String32Template
      */
     public String32 format(final Object... args) {
         return String32.valueOf(String.format(Locale.ROOT, toString(), args));
@@ -409,6 +1018,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @param args   The arguments to replace the placeholders in the <code>String32</code> object.
      * @return The new <code>String32</code> object that is formatted with the given arguments and locale.
      * @throws NullPointerException If the locale is <code>null</code>.
+     * @see String32Template
      */
     public String32 format(final Locale locale, final Object... args) {
         Objects.requireNonNull(locale, "Locale cannot be null");
@@ -470,7 +1080,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
     public String32 replaceAll(final String32 delimiter, final String32 replacement) {
         Objects.requireNonNull(delimiter, "Delimiter cannot be null");
         Objects.requireNonNull(replacement, "Replacement cannot be null");
-        return String32.valueOf(toString().replaceAll(delimiter.toString(), replacement.toString()));
+        return String32Pattern.cached(delimiter, 0).replaceAll(this, replacement);
     }
 
     /**
@@ -499,7 +1109,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
     public String32 replaceAll(final Pattern regex, final String32 replacement) {
         Objects.requireNonNull(regex, "Regex cannot be null");
         Objects.requireNonNull(replacement, "Replacement cannot be null");
-        return String32.valueOf(regex.matcher(toString()).replaceAll(replacement.toString()));
+        return String32Pattern.replaceAll(regex, this, replacement);
     }
 
     /**
@@ -528,7 +1138,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
     public String32 replaceFirst(final String32 regex, final String32 replacement) {
         Objects.requireNonNull(regex, "Regex cannot be null");
         Objects.requireNonNull(replacement, "Replacement cannot be null");
-        return String32.valueOf(toString().replaceFirst(regex.toString(), replacement.toString()));
+        return String32Pattern.cached(regex, 0).replaceFirst(this, replacement);
     }
 
     /**
@@ -546,11 +1156,17 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * This will return a new <code>String32</code> object that is converted to lower case.
      * The output will be <code>hello, world!</code>.
      * </p>
+     * <p>
+     * The result equals {@link String#toLowerCase()} in the default locale. Code points are mapped through precomputed case
+     * tables without converting to a <code>String</code>, unless the default locale or a code point such as <code>'İ'</code>
+     * needs context-sensitive or multi-code-point casing. If no code point changes, this object is returned.
+     * </p>
      *
      * @return The new <code>String32</code> object that is converted to lower case.
      */
     public String32 toLowerCase() {
-        return String32.valueOf(toString().toLowerCase());
+        String32 result = String32Case.isLocaleSensitive() ? null : String32Case.map(this, String32Case.LOWER);
+        return result != null ? result : String32.valueOf(toString().toLowerCase());
     }
 
     /**
@@ -568,11 +1184,17 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * This will return a new <code>String32</code> object that is converted to upper case.
      * The output will be <code>HELLO, WORLD!</code>.
      * </p>
+     * <p>
+     * The result equals {@link String#toUpperCase()} in the default locale. Code points are mapped through precomputed case
+     * tables without converting to a <code>String</code>, unless the default locale or a code point such as <code>'ß'</code>
+     * needs multi-code-point casing. If no code point changes, this object is returned.
+     * </p>
      *
      * @return The new <code>String32</code> object that is converted to upper case.
      */
     public String32 toUpperCase() {
-        return String32.valueOf(toString().toUpperCase());
+        String32 result = String32Case.isLocaleSensitive() ? null : String32Case.map(this, String32Case.UPPER);
+        return result != null ? result : String32.valueOf(toString().toUpperCase());
     }
 
     /**
@@ -592,9 +1214,18 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * </p>
      *
      * @return The new <code>String32</code> object that is trimmed.
+     * The result shares the backing array of this <code>String32</code> object, like {@link #substring(int, int)}.
      */
     public String32 trim() {
-        return String32.valueOf(toString().trim());
+        int begin = 0;
+        int end = this.length;
+        while (begin < end && codePointAt0(begin) <= ' ') {
+            begin++;
+        }
+        while (end > begin && codePointAt0(end - 1) <= ' ') {
+            end--;
+        }
+        return substring(begin, end);
     }
 
     /**
@@ -619,13 +1250,23 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     public String32 concat(final String32 str) {
         Objects.requireNonNull(str, "String32 to concatenate cannot be null");
-        return String32.valueOf(toString().concat(str.toString()));
+        if (str.length == 0) {
+            return this;
+        }
+        if (this.length == 0) {
+            return str;
+        }
+        return new String32Builder(this.length + str.length, String32Coder.widest(this.coder, str.coder))
+                .append(this)
+                .append(str)
+                .build();
     }
 
     /**
      * Returns <code>true</code> if the <code>String32</code> object contains the given <code>String32</code> object.
      * <p>
      * This method returns <code>true</code> if the <code>String32</code> object contains the given <code>String32</code> object.
+     * Whole code points are compared, so an unpaired surrogate does not match half of a surrogate pair, unlike in {@link String#contains(CharSequence)}.
      * </p>
      * <p>
      * Example:
@@ -643,13 +1284,14 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     public boolean contains(final String32 str) {
         Objects.requireNonNull(str, "String32 to check cannot be null");
-        return toString().contains(str.toString());
+        return String32Search.indexOf(this, str, 0) >= 0;
     }
 
     /**
      * Returns <code>true</code> if the <code>String32</code> object ends with the given <code>String32</code> object.
      * <p>
      * This method returns <code>true</code> if the <code>String32</code> object ends with the given <code>String32</code> object.
+     * Whole code points are compared, so an unpaired surrogate does not match half of a surrogate pair, unlike in {@link String#endsWith(String)}.
      * </p>
      * <p>
      * Example:
@@ -667,13 +1309,15 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     public boolean endsWith(final String32 suffix) {
         Objects.requireNonNull(suffix, "Suffix cannot be null");
-        return toString().endsWith(suffix.toString());
+        int start = this.length - suffix.length;
+        return start >= 0 && String32Search.regionMatches(this, start, suffix, 0, suffix.length);
     }
 
     /**
      * Returns <code>true</code> if the <code>String32</code> object starts with the given <code>String32</code> object.
      * <p>
      * This method returns <code>true</code> if the <code>String32</code> object starts with the given <code>String32</code> object.
+     * Whole code points are compared, so an unpaired surrogate does not match half of a surrogate pair, unlike in {@link String#startsWith(String)}.
      * </p>
      * <p>
      * Example:
@@ -691,7 +1335,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     public boolean startsWith(final String32 prefix) {
         Objects.requireNonNull(prefix, "Prefix cannot be null");
-        return toString().startsWith(prefix.toString());
+        return prefix.length <= this.length && String32Search.regionMatches(this, 0, prefix, 0, prefix.length);
     }
 
     /**
@@ -712,7 +1356,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @return <code>true</code> if the <code>String32</code> object is empty, <code>false</code> otherwise.
      */
     public boolean isEmpty() {
-        return toString().isEmpty();
+        return this.length == 0;
     }
 
     /**
@@ -736,7 +1380,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     public boolean matches(final String32 regex) {
         Objects.requireNonNull(regex, "Regex cannot be null");
-        return toString().matches(regex.toString());
+        return String32Pattern.cached(regex, 0).matches(this);
     }
 
     /**
@@ -751,74 +1395,275 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      *         System.out.println(string32.reverse());
      *         // Output: "!dlroW ,olleH"
      * </pre></blockquote>
-     * This will return a new <code>String32</code> object that is reversed.
-     * The output will be <code>!dlroW ,olleH</code>.
+     * This will return a new <code>String32</code> object that is reversed.
+     * The output will be <code>!dlroW ,olleH</code>.
+     * </p>
+     *
+     * @return The new <code>String32</code> object that is reversed.
+     */
+    public String32 reverse() {
+        if (this.coder != String32Coder.UTF32) {
+            Object reversed = String32Coder.allocate(this.coder, this.length);
+            for (int i = 0; i < this.length; i++) {
+                String32Coder.put(reversed, this.coder, i, codePointAt0(this.length - 1 - i));
+            }
+            return new String32(reversed, this.coder);
+        }
+        int[] characters = (int[]) this.value;
+        int[] reversedChars = new int[this.length];
+        for (int i = 0; i < this.length; i++) {
+            reversedChars[i] = characters[this.offset + length - 1 - i];
+        }
+        // A low surrogate followed by a high surrogate turns into a surrogate pair when reversed.
+        int[] combined = String32Coder.combineSurrogatePairs(reversedChars, 0, reversedChars.length);
+        if (combined != null) {
+            reversedChars = combined;
+        }
+        byte reversedCoder = String32Coder.coderOf(reversedChars, 0, reversedChars.length);
+        if (reversedCoder != String32Coder.UTF32) {
+            return new String32(String32Coder.encode(reversedChars, 0, reversedChars.length, reversedCoder), reversedCoder);
+        }
+        return new String32(reversedChars, String32Coder.UTF32);
+    }
+
+    /**
+     * Returns the index within this <code>String32</code> object of the first occurrence of the specified character.
+     * <p>
+     * This method returns the index within this <code>String32</code> object of the first occurrence of the specified character.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.indexOf('o'));
+     *         // Output: 4
+     * </pre></blockquote>
+     * This will return the index within this <code>String32</code> object of the first occurrence of the specified character.
+     * The character <code>o</code> is at the index <code>4</code>.
+     * </p>
+     *
+     * @param codePoint The character to search for.
+     * @return The index of the first occurrence of the specified character, or <code>-1</code> if the character is not found.
+     */
+    public int indexOf(final int codePoint) {
+        return String32Search.indexOf(this, codePoint, 0);
+    }
+
+    /**
+     * Returns the index within this <code>String32</code> object of the last occurrence of the specified character.
+     * <p>
+     * This method returns the index within this <code>String32</code> object of the last occurrence of the specified character.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.lastIndexOf('o'));
+     *         // Output: 8
+     * </pre></blockquote>
+     * This will return the index within this <code>String32</code> object of the last occurrence of the specified character.
+     * The character <code>o</code> is at the index <code>8</code>.
+     * </p>
+     *
+     * @param codePoint The character to search for.
+     * @return The index of the last occurrence of the specified character, or <code>-1</code> if the character is not found.
+     */
+    public int lastIndexOf(final int codePoint) {
+        return String32Search.lastIndexOf(this, codePoint, this.length - 1);
+    }
+
+    /**
+     * Returns the index within this <code>String32</code> object of the first occurrence of the specified <code>String32</code> object.
+     * <p>
+     * This method returns the index within this <code>String32</code> object of the first occurrence of the specified <code>String32</code> object.
+     * The search runs directly on the code points and does not allocate.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.indexOf(String32.valueOf("o")));
+     *         // Output: 4
+     * </pre></blockquote>
+     * This will return the index within this <code>String32</code> object of the first occurrence of <code>o</code>.
+     * </p>
+     *
+     * @param str The <code>String32</code> object to search for.
+     * @return The index of the first occurrence of the specified <code>String32</code> object, or <code>-1</code> if it is not found.
+     * @throws NullPointerException If the <code>String32</code> object is <code>null</code>.
+     */
+    public int indexOf(final String32 str) {
+        return indexOf(str, 0);
+    }
+
+    /**
+     * Returns the index within this <code>String32</code> object of the first occurrence of the specified <code>String32</code> object,
+     * starting at the specified index.
+     * <p>
+     * This method returns the index within this <code>String32</code> object of the first occurrence of the specified <code>String32</code> object,
+     * starting at the specified index.
+     * A negative <code>fromIndex</code> is treated as <code>0</code>, the same as in {@link String#indexOf(String, int)}.
+     * The search runs directly on the code points and does not allocate.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.indexOf(String32.valueOf("o"), 5));
+     *         // Output: 8
+     * </pre></blockquote>
+     * This will return the index within this <code>String32</code> object of the first occurrence of <code>o</code> at or after the index <code>5</code>.
+     * </p>
+     *
+     * @param str       The <code>String32</code> object to search for.
+     * @param fromIndex The index to start the search from.
+     * @return The index of the first occurrence of the specified <code>String32</code> object, or <code>-1</code> if it is not found.
+     * @throws NullPointerException If the <code>String32</code> object is <code>null</code>.
+     */
+    public int indexOf(final String32 str, final int fromIndex) {
+        Objects.requireNonNull(str, "String32 to search cannot be null");
+        return String32Search.indexOf(this, str, fromIndex);
+    }
+
+    /**
+     * Returns the index within this <code>String32</code> object of the first code point that is a member of the given set.
+     * <p>
+     * This method returns the index within this <code>String32</code> object of the first code point that is a member of the given set.
+     * Each code point is tested with a single {@link CodePointSet#contains(int)} lookup, however many members the set has.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.indexOfAny(CodePointSet.of(',', '!')));
+     *         // Output: 5
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param set The set of code points to search for.
+     * @return The index of the first code point in the set, or <code>-1</code> if there is none.
+     * @throws NullPointerException If the set is <code>null</code>.
+     */
+    public int indexOfAny(final CodePointSet set) {
+        return indexOfAny(set, 0);
+    }
+
+    /**
+     * Returns the index within this <code>String32</code> object of the first code point at or after the given index that is a member of the given set.
+     * <p>
+     * A negative <code>fromIndex</code> is treated as <code>0</code>, the same as in {@link #indexOf(String32, int)}.
+     * </p>
+     *
+     * @param set       The set of code points to search for.
+     * @param fromIndex The index to start the search from.
+     * @return The index of the first code point in the set at or after <code>fromIndex</code>, or <code>-1</code> if there is none.
+     * @throws NullPointerException If the set is <code>null</code>.
+     */
+    public int indexOfAny(final CodePointSet set, final int fromIndex) {
+        Objects.requireNonNull(set, "CodePointSet cannot be null");
+        for (int i = Math.max(fromIndex, 0); i < this.length; i++) {
+            if (set.contains(codePointAt0(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of leading code points of this <code>String32</code> object that are members of the given set.
+     * <p>
+     * This method returns the length of the longest prefix whose code points are all members of the given set,
+     * so <code>spanWhile(set) == length()</code> if every code point is a member.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("2024-06-01");
+     *         System.out.println(string32.spanWhile(CodePointSet.range('0', '9')));
+     *         // Output: 4
+     * </pre></blockquote>
      * </p>
      *
-     * @return The new <code>String32</code> object that is reversed.
+     * @param set The set of code points to span.
+     * @return The number of leading code points that are members of the set.
+     * @throws NullPointerException If the set is <code>null</code>.
      */
-    public String32 reverse() {
-        int[] reversedChars = new int[this.length];
-        for (int i = 0; i < this.length; i++) {
-            reversedChars[i] = this.characters[length - 1 - i];
+    public int spanWhile(final CodePointSet set) {
+        return spanWhile(set, 0);
+    }
+
+    /**
+     * Returns the index of the first code point at or after the given index that is not a member of the given set.
+     * <p>
+     * A negative <code>fromIndex</code> is treated as <code>0</code>. If every code point from <code>fromIndex</code> on is a member,
+     * or <code>fromIndex</code> is at least the length, the length is returned.
+     * </p>
+     *
+     * @param set       The set of code points to span.
+     * @param fromIndex The index to start from.
+     * @return The end of the span of members that starts at <code>fromIndex</code>.
+     * @throws NullPointerException If the set is <code>null</code>.
+     */
+    public int spanWhile(final CodePointSet set, final int fromIndex) {
+        Objects.requireNonNull(set, "CodePointSet cannot be null");
+        int i = Math.min(Math.max(fromIndex, 0), this.length);
+        while (i < this.length && set.contains(codePointAt0(i))) {
+            i++;
         }
-        return new String32(new String(reversedChars, 0, reversedChars.length));
+        return i;
     }
 
     /**
-     * Returns the index within this <code>String32</code> object of the first occurrence of the specified character.
+     * Returns the index within this <code>String32</code> object of the last occurrence of the specified <code>String32</code> object.
      * <p>
-     * This method returns the index within this <code>String32</code> object of the first occurrence of the specified character.
+     * This method returns the index within this <code>String32</code> object of the last occurrence of the specified <code>String32</code> object.
+     * The search runs directly on the code points and does not allocate.
      * </p>
      * <p>
      * Example:
      * <blockquote><pre>
      *         String32 string32 = String32.valueOf("Hello, World!");
-     *         System.out.println(string32.indexOf('o'));
-     *         // Output: 4
+     *         System.out.println(string32.lastIndexOf(String32.valueOf("o")));
+     *         // Output: 8
      * </pre></blockquote>
-     * This will return the index within this <code>String32</code> object of the first occurrence of the specified character.
-     * The character <code>o</code> is at the index <code>4</code>.
+     * This will return the index within this <code>String32</code> object of the last occurrence of <code>o</code>.
      * </p>
      *
-     * @param codePoint The character to search for.
-     * @return The index of the first occurrence of the specified character, or <code>-1</code> if the character is not found.
+     * @param str The <code>String32</code> object to search for.
+     * @return The index of the last occurrence of the specified <code>String32</code> object, or <code>-1</code> if it is not found.
+     * @throws NullPointerException If the <code>String32</code> object is <code>null</code>.
      */
-    public int indexOf(final int codePoint) {
-        for (int i = 0; i < this.length; i++) {
-            if (this.characters[i] == codePoint) {
-                return i;
-            }
-        }
-        return -1;
+    public int lastIndexOf(final String32 str) {
+        return lastIndexOf(str, this.length);
     }
 
     /**
-     * Returns the index within this <code>String32</code> object of the last occurrence of the specified character.
+     * Returns the index within this <code>String32</code> object of the last occurrence of the specified <code>String32</code> object,
+     * searching backward from the specified index.
      * <p>
-     * This method returns the index within this <code>String32</code> object of the last occurrence of the specified character.
+     * This method returns the index within this <code>String32</code> object of the last occurrence of the specified <code>String32</code> object,
+     * searching backward from the specified index.
+     * The same as in {@link String#lastIndexOf(String, int)}, only occurrences starting at or before <code>fromIndex</code> are found.
+     * The search runs directly on the code points and does not allocate.
      * </p>
      * <p>
      * Example:
      * <blockquote><pre>
      *         String32 string32 = String32.valueOf("Hello, World!");
-     *         System.out.println(string32.lastIndexOf('o'));
-     *         // Output: 8
+     *         System.out.println(string32.lastIndexOf(String32.valueOf("o"), 7));
+     *         // Output: 4
      * </pre></blockquote>
-     * This will return the index within this <code>String32</code> object of the last occurrence of the specified character.
-     * The character <code>o</code> is at the index <code>8</code>.
+     * This will return the index within this <code>String32</code> object of the last occurrence of <code>o</code> at or before the index <code>7</code>.
      * </p>
      *
-     * @param codePoint The character to search for.
-     * @return The index of the last occurrence of the specified character, or <code>-1</code> if the character is not found.
+     * @param str       The <code>String32</code> object to search for.
+     * @param fromIndex The index to start the search from.
+     * @return The index of the last occurrence of the specified <code>String32</code> object, or <code>-1</code> if it is not found.
+     * @throws NullPointerException If the <code>String32</code> object is <code>null</code>.
      */
-    public int lastIndexOf(final int codePoint) {
-        for (int i = this.length - 1; i >= 0; i--) {
-            if (this.characters[i] == codePoint) {
-                return i;
-            }
-        }
-        return -1;
+    public int lastIndexOf(final String32 str, final int fromIndex) {
+        Objects.requireNonNull(str, "String32 to search cannot be null");
+        return String32Search.lastIndexOf(this, str, fromIndex);
     }
 
     /**
@@ -844,12 +1689,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     public String32[] splitLiteral(final String32 delimiter) {
         Objects.requireNonNull(delimiter, "Delimiter cannot be null");
-        String[] splitStrings = toString().split(Pattern.quote(delimiter.toString()));
-        String32[] result = new String32[splitStrings.length];
-        for (int i = 0; i < splitStrings.length; i++) {
-            result[i] = new String32(splitStrings[i]);
-        }
-        return result;
+        return String32Pattern.cached(delimiter, Pattern.LITERAL).split(this);
     }
 
     /**
@@ -875,12 +1715,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     public String32[] split(final Pattern regex) {
         Objects.requireNonNull(regex, "Regex cannot be null");
-        String[] splitStrings = regex.split(toString());
-        String32[] result = new String32[splitStrings.length];
-        for (int i = 0; i < splitStrings.length; i++) {
-            result[i] = new String32(splitStrings[i]);
-        }
-        return result;
+        return String32Pattern.split(regex, this, 0);
     }
 
     /**
@@ -918,12 +1753,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
             return new String32[]{this};
         }
 
-        String[] splitStrings = toString().split(Pattern.quote(delimiter.toString()), limit);
-        String32[] result = new String32[splitStrings.length];
-        for (int i = 0; i < splitStrings.length; i++) {
-            result[i] = new String32(splitStrings[i]);
-        }
-        return result;
+        return String32Pattern.cached(delimiter, Pattern.LITERAL).split(this, limit);
     }
 
     /**
@@ -962,25 +1792,71 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
             return new String32[]{this};
         }
 
-        String[] splitStrings = toString().split(regex.toString(), limit);
-        String32[] result = new String32[splitStrings.length];
-        for (int i = 0; i < splitStrings.length; i++) {
-            result[i] = new String32(splitStrings[i]);
-        }
-        return result;
+        return String32Pattern.cached(regex, 0).split(this, limit);
     }
 
     /**
      * Returns <code>true</code> if the <code>String32</code> object is equal to the given <code>String32</code> object, ignoring case considerations.
      * <p>
      * This method returns <code>true</code> if the <code>String32</code> object is equal to the given <code>String32</code> object, ignoring case considerations.
+     * Two code points are equal ignoring case if they are equal, or if their upper case mappings or the lower case mappings
+     * of those are equal, as in {@link String#equalsIgnoreCase(String)}. The code points are compared through precomputed
+     * case tables without allocating.
      * </p>
      *
      * @param other The <code>String32</code> object to compare with.
      * @return <code>true</code> if the <code>String32</code> object is equal to the given <code>String32</code> object, ignoring case considerations, <code>false</code> otherwise.
      */
     public boolean equalsIgnoreCase(final String32 other) {
-        return other != null && toString().equalsIgnoreCase(other.toString());
+        return other != null && String32Case.equalsIgnoreCase(this, other);
+    }
+
+    /**
+     * Compares the <code>String32</code> object with the given <code>String32</code> object lexicographically, ignoring case considerations.
+     * <p>
+     * This method compares the code points after mapping each to the lower case mapping of its upper case mapping, as in
+     * {@link String#compareToIgnoreCase(String)}, and allocates nothing.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("apple");
+     *         System.out.println(string32.compareToIgnoreCase(String32.valueOf("BANANA")) &lt; 0);
+     *         // Output: "true"
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param other The <code>String32</code> object to compare with.
+     * @return A negative integer, zero, or a positive integer as this object is less than, equal to, or greater than the given object, ignoring case considerations.
+     * @throws NullPointerException if the <code>String32</code> object is null.
+     * @see #CASE_INSENSITIVE_ORDER
+     */
+    public int compareToIgnoreCase(final String32 other) {
+        Objects.requireNonNull(other, "String32 cannot be null");
+        return String32Case.compareIgnoreCase(this, other);
+    }
+
+    /**
+     * Returns a hash code of the <code>String32</code> object that ignores case considerations.
+     * <p>
+     * This method hashes the code points after mapping each to the lower case mapping of its upper case mapping, so
+     * <code>String32</code> objects that are {@link #equalsIgnoreCase(String32) equal ignoring case} have the same hash code.
+     * It allocates nothing and is not cached; {@link CaseInsensitiveString32} computes it once per key.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello");
+     *         System.out.println(string32.caseFoldedHashCode() == String32.valueOf("hELLO").caseFoldedHashCode());
+     *         // Output: "true"
+     * </pre></blockquote>
+     * </p>
+     *
+     * @return The hash code of the <code>String32</code> object, ignoring case considerations.
+     * @see CaseInsensitiveString32
+     */
+    public int caseFoldedHashCode() {
+        return String32Case.foldedHash(this);
     }
 
     /**
@@ -1009,7 +1885,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
     public String32 replaceIgnoreCase(final String32 target, final String32 replacement) {
         Objects.requireNonNull(target, "Target cannot be null");
         Objects.requireNonNull(replacement, "Replacement cannot be null");
-        return String32.valueOf(toString().replaceAll("(?i)" + Pattern.quote(target.toString()), replacement.toString()));
+        return String32Pattern.cached(target, Pattern.LITERAL | Pattern.CASE_INSENSITIVE).replaceAll(this, replacement);
     }
 
     /**
@@ -1036,9 +1912,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (totalLength <= this.length) {
             return this;
         }
-        char[] padding = new char[totalLength - this.length];
-        Arrays.fill(padding, padChar);
-        return new String32(new String(padding) + this);
+        return pad(totalLength - this.length, padChar, 0);
     }
 
     /**
@@ -1065,8 +1939,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (totalLength <= this.length) {
             return this;
         }
-        String padStr = new String(new int[]{padCodePoint}, 0, 1);
-        return new String32(padStr.repeat(Math.max(0, totalLength - this.length)) + this);
+        return pad(totalLength - this.length, padCodePoint, 0);
     }
 
     /**
@@ -1093,9 +1966,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (totalLength <= this.length) {
             return this;
         }
-        char[] padding = new char[totalLength - this.length];
-        Arrays.fill(padding, padChar);
-        return new String32(this + new String(padding));
+        return pad(0, padChar, totalLength - this.length);
     }
 
     /**
@@ -1122,8 +1993,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (totalLength <= this.length) {
             return this;
         }
-        String padStr = new String(new int[]{padCodePoint}, 0, 1);
-        return new String32(this + padStr.repeat(Math.max(0, totalLength - this.length)));
+        return pad(0, padCodePoint, totalLength - this.length);
     }
 
     /**
@@ -1153,11 +2023,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         int totalPadding = totalLength - this.length;
         int paddingLeft = totalPadding / 2;
         int paddingRight = totalPadding - paddingLeft;
-        char[] leftPadding = new char[paddingLeft];
-        char[] rightPadding = new char[paddingRight];
-        Arrays.fill(leftPadding, padChar);
-        Arrays.fill(rightPadding, padChar);
-        return new String32(new String(leftPadding) + this + new String(rightPadding));
+        return pad(paddingLeft, padChar, paddingRight);
     }
 
     /**
@@ -1187,14 +2053,32 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         int totalPadding = totalLength - this.length;
         int paddingLeft = totalPadding / 2;
         int paddingRight = totalPadding - paddingLeft;
-        String padStr = new String(new int[]{padCodePoint}, 0, 1);
-        return new String32(padStr.repeat(Math.max(0, paddingLeft)) + this + padStr.repeat(Math.max(0, paddingRight)));
+        return pad(paddingLeft, padCodePoint, paddingRight);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object that is padded on both sides with the given code point.
+     *
+     * @param left         The number of code points to pad on the left side.
+     * @param padCodePoint The code point to pad with.
+     * @param right        The number of code points to pad on the right side.
+     * @return The padded <code>String32</code> object.
+     * @throws IllegalArgumentException If the pad code point is not a valid Unicode code point.
+     */
+    private String32 pad(final int left, final int padCodePoint, final int right) {
+        byte padCoder = String32Coder.coderOf(padCodePoint);
+        return new String32Builder(left + this.length + right, String32Coder.widest(this.coder, padCoder))
+                .appendCodePoint(padCodePoint, left)
+                .append(this)
+                .appendCodePoint(padCodePoint, right)
+                .build();
     }
 
     /**
      * Returns a new <code>String32</code> object that is removed with the given code point.
      * <p>
      * This method returns a new <code>String32</code> object that is removed with the given code point.
+     * Whole code points are compared, so an unpaired surrogate does not remove half of a surrogate pair.
      * </p>
      * <p>
      * Example:
@@ -1208,10 +2092,27 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * </p>
      *
      * @param codePoint The code point to remove.
-     * @return The new <code>String32</code> object that is removed with the given code point.
+     * @return The new <code>String32</code> object that is removed with the given code point,
+     * or this object if it does not contain the code point.
+     * @throws IllegalArgumentException If the code point is not a valid Unicode code point.
      */
     public String32 remove(final int codePoint) {
-        return String32.valueOf(toString().replace(new String(new int[]{codePoint}, 0, 1), ""));
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw invalidCodePoint(codePoint);
+        }
+        int first = indexOf(codePoint);
+        if (first < 0) {
+            return this;
+        }
+        String32Builder builder = new String32Builder(this.length - 1, this.coder).append(this, 0, first);
+        int run = first + 1;
+        for (int i = run; i < this.length; i++) {
+            if (codePointAt0(i) == codePoint) {
+                builder.append(this, run, i);
+                run = i + 1;
+            }
+        }
+        return builder.append(this, run, this.length).build();
     }
 
     /**
@@ -1237,7 +2138,17 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (times <= 0) {
             return String32.valueOf("");
         }
-        return new String32(String.valueOf(this).repeat(times));
+        if (this.length == 0 || times == 1) {
+            return this;
+        }
+        if ((long) this.length * times > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Repeating " + this.length + " code points " + times + " times exceeds implementation limit");
+        }
+        String32Builder builder = new String32Builder(this.length * times, this.coder);
+        for (int i = 0; i < times; i++) {
+            builder.append(this);
+        }
+        return builder.build();
     }
 
     /**
@@ -1260,13 +2171,89 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @return The new <code>String32</code> object that is removed all occurrences of the given code point.
      */
     public String32 removeAll(final int codePoint) {
-        StringBuilder sb = new StringBuilder();
+        String32Builder builder = new String32Builder(this.length, this.coder);
         for (int i = 0; i < this.length; i++) {
-            if (this.characters[i] != codePoint) {
-                sb.appendCodePoint(this.characters[i]);
+            int cp = codePointAt0(i);
+            if (cp != codePoint) {
+                builder.appendCodePoint(cp);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a new <code>String32</code> object without the code points that are members of the given set.
+     * <p>
+     * This method returns a new <code>String32</code> object without the code points that are members of the given set.
+     * All members are removed in one pass with a single {@link CodePointSet#contains(int)} lookup per code point,
+     * so a large set costs no more than a single code point. If no code point is removed, this object is returned.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.removeAll(CodePointSet.of(',', '!', 'o')));
+     *         // Output: "Hell Wrld"
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param set The set of code points to remove.
+     * @return The new <code>String32</code> object without the members of the set.
+     * @throws NullPointerException If the set is <code>null</code>.
+     */
+    public String32 removeAll(final CodePointSet set) {
+        Objects.requireNonNull(set, "CodePointSet cannot be null");
+        return retain(set, false);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object with only the code points that are members of the given set.
+     * <p>
+     * This method returns a new <code>String32</code> object with only the code points that are members of the given set,
+     * for example to sanitize input against an allow-list. If every code point is kept, this object is returned.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("user_42!?");
+     *         System.out.println(string32.retainAll(CodePointSet.builder().addRange('a', 'z').addRange('0', '9').add('_').build()));
+     *         // Output: "user_42"
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param set The set of code points to keep.
+     * @return The new <code>String32</code> object with only the members of the set.
+     * @throws NullPointerException If the set is <code>null</code>.
+     */
+    public String32 retainAll(final CodePointSet set) {
+        Objects.requireNonNull(set, "CodePointSet cannot be null");
+        return retain(set, true);
+    }
+
+    /**
+     * Copies the runs of code points whose membership in the given set equals <code>members</code>.
+     *
+     * @param set     The set of code points.
+     * @param members <code>true</code> to keep the members of the set, <code>false</code> to keep the other code points.
+     * @return The new <code>String32</code> object, or this object if every code point is kept.
+     */
+    private String32 retain(final CodePointSet set, final boolean members) {
+        int first = 0;
+        while (first < this.length && set.contains(codePointAt0(first)) == members) {
+            first++;
+        }
+        if (first == this.length) {
+            return this;
+        }
+        String32Builder builder = new String32Builder(this.length - 1, this.coder).append(this, 0, first);
+        int run = first + 1;
+        for (int i = run; i < this.length; i++) {
+            if (set.contains(codePointAt0(i)) != members) {
+                builder.append(this, run, i);
+                run = i + 1;
             }
         }
-        return new String32(sb.toString());
+        return builder.append(this, run, this.length).build();
     }
 
     /**
@@ -1286,30 +2273,11 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * </p>
      *
      * @return The new <code>String32</code> object that is stripped by removing leading and trailing whitespace.
+     * The result shares the backing array of this <code>String32</code> object, like {@link #substring(int, int)}.
+     * @see CodePointClass#isBlank(int)
      */
     public String32 strip() {
-        return stripLeading().stripTrailing();
-    }
-
-    /**
-     * Checks if a code point is considered blank (whitespace).
-     * This includes standard whitespace characters and additional Unicode whitespace characters.
-     *
-     * @param codePoint The code point to check.
-     * @return true if the code point is considered blank, false otherwise.
-     */
-    private static boolean isBlankCp(final int codePoint) {
-        // Check for standard whitespace characters
-        if (Character.isWhitespace(codePoint)) {
-            return true;
-        }
-        // Check for additional Unicode whitespace characters
-        return codePoint == 0x00A0 || // NO-BREAK SPACE
-                codePoint == 0x1680 || // OGHAM SPACE MARK
-                (codePoint >= 0x2000 && codePoint <= 0x200A) || // EN QUAD to HAIR SPACE
-                codePoint == 0x202F || // NARROW NO-BREAK SPACE
-                codePoint == 0x205F || // MEDIUM MATHEMATICAL SPACE
-                codePoint == 0x3000;   // IDEOGRAPHIC SPACE
+        return trimWhile(BLANK);
     }
 
     /**
@@ -1329,13 +2297,11 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * </p>
      *
      * @return The new <code>String32</code> object that is stripped leading.
+     * The result shares the backing array of this <code>String32</code> object, like {@link #substring(int, int)}.
+     * @see CodePointClass#isBlank(int)
      */
     public String32 stripLeading() {
-        int start = 0;
-        while (start < this.length && (Character.isWhitespace(this.characters[start]) || isBlankCp(this.characters[start]))) {
-            start++;
-        }
-        return new String32(new String(this.characters, start, this.length - start));
+        return trimLeadingWhile(BLANK);
     }
 
     /**
@@ -1355,13 +2321,86 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * </p>
      *
      * @return The new <code>String32</code> object that is stripped trailing.
+     * The result shares the backing array of this <code>String32</code> object, like {@link #substring(int, int)}.
+     * @see CodePointClass#isBlank(int)
      */
     public String32 stripTrailing() {
+        return trimTrailingWhile(BLANK);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object without the leading and trailing code points that match the given predicate.
+     * <p>
+     * This method returns a new <code>String32</code> object without the leading and trailing code points that match the given predicate.
+     * The result shares the backing array of this <code>String32</code> object, like {@link #substring(int, int)}.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("--Hello, World!--");
+     *         System.out.println(string32.trimWhile(cp -&gt; cp == '-'));
+     *         // Output: "Hello, World!"
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param predicate The predicate that selects the code points to remove.
+     * @return The new <code>String32</code> object without the leading and trailing matching code points.
+     * @throws NullPointerException if the predicate is null.
+     * @see CodePointClass
+     */
+    public String32 trimWhile(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "Predicate cannot be null");
+        int begin = 0;
+        int end = this.length;
+        while (begin < end && predicate.test(codePointAt0(begin))) {
+            begin++;
+        }
+        while (end > begin && predicate.test(codePointAt0(end - 1))) {
+            end--;
+        }
+        return substring(begin, end);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object without the leading code points that match the given predicate.
+     * <p>
+     * This method returns a new <code>String32</code> object without the leading code points that match the given predicate.
+     * The result shares the backing array of this <code>String32</code> object, like {@link #substring(int, int)}.
+     * </p>
+     *
+     * @param predicate The predicate that selects the code points to remove.
+     * @return The new <code>String32</code> object without the leading matching code points.
+     * @throws NullPointerException if the predicate is null.
+     * @see #trimWhile(IntPredicate)
+     */
+    public String32 trimLeadingWhile(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "Predicate cannot be null");
+        int begin = 0;
+        while (begin < this.length && predicate.test(codePointAt0(begin))) {
+            begin++;
+        }
+        return substring(begin, this.length);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object without the trailing code points that match the given predicate.
+     * <p>
+     * This method returns a new <code>String32</code> object without the trailing code points that match the given predicate.
+     * The result shares the backing array of this <code>String32</code> object, like {@link #substring(int, int)}.
+     * </p>
+     *
+     * @param predicate The predicate that selects the code points to remove.
+     * @return The new <code>String32</code> object without the trailing matching code points.
+     * @throws NullPointerException if the predicate is null.
+     * @see #trimWhile(IntPredicate)
+     */
+    public String32 trimTrailingWhile(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "Predicate cannot be null");
         int end = this.length;
-        while (end > 0 && (Character.isWhitespace(this.characters[end - 1]) || isBlankCp(this.characters[end - 1]))) {
+        while (end > 0 && predicate.test(codePointAt0(end - 1))) {
             end--;
         }
-        return new String32(new String(this.characters, 0, end));
+        return substring(0, end);
     }
 
     /**
@@ -1381,15 +2420,25 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * </p>
      *
      * @return The new <code>String32</code> object that is removed all whitespace characters.
+     * @see CodePointClass#isBlank(int)
      */
     public String32 removeWhitespace() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < this.length; i++) {
-            if (!(Character.isWhitespace(this.characters[i]) || isBlankCp(this.characters[i]))) {
-                sb.appendCodePoint(this.characters[i]);
+        int first = 0;
+        while (first < this.length && !CodePointClass.isBlank(codePointAt0(first))) {
+            first++;
+        }
+        if (first == this.length) {
+            return this;
+        }
+        String32Builder builder = new String32Builder(this.length - 1, this.coder).append(this, 0, first);
+        int run = first + 1;
+        for (int i = run; i < this.length; i++) {
+            if (CodePointClass.isBlank(codePointAt0(i))) {
+                builder.append(this, run, i);
+                run = i + 1;
             }
         }
-        return new String32(sb.toString());
+        return builder.append(this, run, this.length).build();
     }
 
     /**
@@ -1414,13 +2463,11 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (this.length == 0) {
             return this;
         }
-        int firstCodePoint = Character.toUpperCase(this.characters[0]);
-        StringBuilder sb = new StringBuilder();
-        sb.appendCodePoint(firstCodePoint);
-        for (int i = 1; i < this.length; i++) {
-            sb.appendCodePoint(this.characters[i]);
-        }
-        return new String32(sb.toString());
+        int firstCodePoint = String32Case.toUpperCase(codePointAt0(0));
+        return new String32Builder(this.length, this.coder)
+                .appendCodePoint(firstCodePoint)
+                .append(this, 1, this.length)
+                .build();
     }
 
     /**
@@ -1445,13 +2492,11 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (this.length == 0) {
             return this;
         }
-        int firstCodePoint = Character.toLowerCase(this.characters[0]);
-        StringBuilder sb = new StringBuilder();
-        sb.appendCodePoint(firstCodePoint);
-        for (int i = 1; i < this.length; i++) {
-            sb.appendCodePoint(this.characters[i]);
-        }
-        return new String32(sb.toString());
+        int firstCodePoint = String32Case.toLowerCase(codePointAt0(0));
+        return new String32Builder(this.length, this.coder)
+                .appendCodePoint(firstCodePoint)
+                .append(this, 1, this.length)
+                .build();
     }
 
     /**
@@ -1481,77 +2526,86 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
     }
 
     /**
-     * Checks if the given code point is a surrogate.
-     * <p>
-     * A surrogate is a code point in the range 0xD800 to 0xDFFF.
-     * </p>
-     *
-     * @param cp The code point to check.
-     * @return <code>true</code> if the code point is a surrogate, <code>false</code> otherwise.
-     */
-    private static boolean isSurrogate(final int cp) {
-        return cp >= 0xD800 && cp <= 0xDFFF;
-    }
-
-    /**
-     * Sanitizes the given code point.
-     * <p>
-     * If the code point is less than 0 or greater than 0x10FFFF, or if it is a surrogate, it will be replaced with 0xFFFD.
-     * </p>
-     *
-     * @param cp The code point to sanitize.
-     * @return The sanitized code point.
-     */
-    private static int sanitizeCp(final int cp) {
-        if (cp < 0 || cp > 0x10FFFF || isSurrogate(cp)) {
-            return 0xFFFD;
-        }
-        return cp;
-    }
-
-    /**
-     * Maps a unary operation over the <code>String32</code> object.
+     * Maps a unary bitwise operation over the <code>String32</code> object.
      * <p>
      * This method applies the given unary operation to each code point in the <code>String32</code> object.
-     * The resulting code points are sanitized and used to create a new <code>String32</code> object.
+     * The resulting code points are sanitized and used to create a new <code>String32</code> object:
+     * if a result is less than 0 or greater than 0x10FFFF, or if it is a surrogate, it will be replaced with 0xFFFD.
      * </p>
      *
-     * @param op The unary operation to apply.
+     * @param op      The unary operation to apply, one of the {@link String32Kernels} operation constants.
+     * @param operand The shift distance, ignored for {@link String32Kernels#NOT}.
      * @return A new <code>String32</code> object resulting from the unary operation.
-     * @throws NullPointerException if the unary operation is null.
      */
-    private String32 mapUnary(final IntUnaryOperator op) {
-        Objects.requireNonNull(op, "op cannot be null");
+    private String32 mapUnary(final int op, final int operand) {
         int[] out = new int[this.length];
-        for (int i = 0; i < this.length; i++) {
-            out[i] = sanitizeCp(op.applyAsInt(this.characters[i]));
+        int max;
+        if (this.coder == String32Coder.UTF32) {
+            max = String32Kernels.INSTANCE.mapUnary(op, operand, (int[]) this.value, this.offset, out, 0, this.length);
+        } else {
+            String32Coder.inflate(this.value, this.coder, this.offset, out, 0, this.length);
+            max = String32Kernels.INSTANCE.mapUnary(op, operand, out, 0, out, 0, this.length);
         }
-        return String32.valueOf(out);
+        return ofSanitized(out, max);
     }
 
-
     /**
-     * Maps a binary operation over the <code>String32</code> object and another <code>String32</code> object.
+     * Maps a binary bitwise operation over the <code>String32</code> object and another <code>String32</code> object.
      * <p>
      * This method applies the given binary operation to each pair of code points from the two <code>String32</code> objects.
-     * The resulting code points are sanitized and used to create a new <code>String32</code> object.
+     * The resulting code points are sanitized like in {@link #mapUnary(int, int)} and used to create a new <code>String32</code> object.
      * The length of the resulting <code>String32</code> object is the minimum of the lengths of the two input <code>String32</code> objects.
      * </p>
      *
      * @param other The other <code>String32</code> object to use in the binary operation.
-     * @param op    The binary operation to apply.
+     * @param op    The binary operation to apply, one of the {@link String32Kernels} operation constants.
      * @return A new <code>String32</code> object resulting from the binary operation.
-     * @throws NullPointerException if the other <code>String32</code> object or the binary operation is null.
+     * @throws NullPointerException if the other <code>String32</code> object is null.
      */
-    private String32 mapBinary(final String32 other, final IntBinaryOperator op) {
+    private String32 mapBinary(final String32 other, final int op) {
         Objects.requireNonNull(other, "other");
-        Objects.requireNonNull(op, "op cannot be null");
         int len = Math.min(this.length, other.length);
         int[] out = new int[len];
-        for (int i = 0; i < len; i++) {
-            out[i] = sanitizeCp(op.applyAsInt(this.characters[i], other.characters[i]));
+        int[] a = out;
+        int aFrom = 0;
+        if (this.coder == String32Coder.UTF32) {
+            a = (int[]) this.value;
+            aFrom = this.offset;
+        } else {
+            String32Coder.inflate(this.value, this.coder, this.offset, out, 0, len);
         }
-        return String32.valueOf(out);
+        int[] b;
+        int bFrom = 0;
+        if (other.coder == String32Coder.UTF32) {
+            b = (int[]) other.value;
+            bFrom = other.offset;
+        } else {
+            b = new int[len];
+            String32Coder.inflate(other.value, other.coder, other.offset, b, 0, len);
+        }
+        int max = String32Kernels.INSTANCE.mapBinary(op, a, aFrom, b, bFrom, out, 0, len);
+        return ofSanitized(out, max);
+    }
+
+    /**
+     * Creates a new <code>String32</code> object from sanitized code points.
+     * <p>
+     * The code points contain no surrogates, so the coder follows from the largest code point alone.
+     * </p>
+     *
+     * @param cps The sanitized code points, which the new object takes ownership of.
+     * @param max The largest code point, or <code>-1</code> if there are none.
+     * @return The new <code>String32</code> object.
+     */
+    private static String32 ofSanitized(final int[] cps, final int max) {
+        if (max < 0) {
+            return EMPTY;
+        }
+        byte coder = String32Coder.coderOf(max);
+        if (coder == String32Coder.UTF32) {
+            return new String32(cps, coder);
+        }
+        return new String32(String32Coder.encode(cps, 0, cps.length, coder), coder);
     }
 
     /**
@@ -1573,7 +2627,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @throws NullPointerException if the other <code>String32</code> object is null.
      */
     public String32 bitwiseAnd(final String32 other) {
-        return mapBinary(other, (a, b) -> a & b);
+        return mapBinary(other, String32Kernels.AND);
     }
 
     /**
@@ -1595,7 +2649,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @throws NullPointerException if the other <code>String32</code> object is null.
      */
     public String32 bitwiseOr(final String32 other) {
-        return mapBinary(other, (a, b) -> a | b);
+        return mapBinary(other, String32Kernels.OR);
     }
 
     /**
@@ -1617,7 +2671,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @throws NullPointerException if the other <code>String32</code> object is null.
      */
     public String32 bitwiseXor(final String32 other) {
-        return mapBinary(other, (a, b) -> a ^ b);
+        return mapBinary(other, String32Kernels.XOR);
     }
 
     /**
@@ -1637,7 +2691,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @return The new <code>String32</code> object that is bitwise NOT.
      */
     public String32 bitwiseNot() {
-        return mapUnary(a -> ~a);
+        return mapUnary(String32Kernels.NOT, 0);
     }
 
     /**
@@ -1658,7 +2712,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @return The new <code>String32</code> object that is left shifted by the given number of bits.
      */
     public String32 leftShift(final int n) {
-        return mapUnary(a -> a << n);
+        return mapUnary(String32Kernels.SHIFT_LEFT, n);
     }
 
     /**
@@ -1679,7 +2733,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @return The new <code>String32</code> object that is right shifted by the given number of bits.
      */
     public String32 rightShift(final int n) {
-        return mapUnary(a -> a >> n);
+        return mapUnary(String32Kernels.SHIFT_RIGHT, n);
     }
 
     /**
@@ -1700,7 +2754,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @return The new <code>String32</code> object that is unsigned right shifted by the given number of bits.
      */
     public String32 rightShiftUnsigned(final int n) {
-        return mapUnary(a -> a >>> n);
+        return mapUnary(String32Kernels.SHIFT_RIGHT_UNSIGNED, n);
     }
 
     /**
@@ -1734,12 +2788,14 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @see <a href="https://en.wikipedia.org/wiki/Palindrome">Palindrome - Wikipedia</a>
      */
     public boolean isPalindrome() {
-        for (int i = 0; i < this.length / 2; i++) {
-            if (this.characters[i] != this.characters[this.length - 1 - i]) {
-                return false;
-            }
+        switch (this.coder) {
+            case String32Coder.LATIN1:
+                return String32Kernels.INSTANCE.isPalindrome((byte[]) this.value, this.offset, this.length);
+            case String32Coder.UTF16:
+                return String32Kernels.INSTANCE.isPalindrome((char[]) this.value, this.offset, this.length);
+            default:
+                return String32Kernels.INSTANCE.isPalindrome((int[]) this.value, this.offset, this.length);
         }
-        return true;
     }
 
     // shuffle, ngrams, invertCase, countOccurrences, distinct, replaceMultiple, sortCharacters
@@ -1763,7 +2819,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @return The new <code>String32</code> object that is shuffled.
      */
     public String32 shuffle() {
-        int[] shuffled = Arrays.copyOf(this.characters, this.length);
+        int[] shuffled = getCharacters();
         for (int i = this.length - 1; i > 0; i--) {
             int j = (int) (Math.random() * (i + 1));
             int temp = shuffled[i];
@@ -1780,6 +2836,9 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * An n-gram is a contiguous sequence of n items from a given sample of text or speech.
      * </p>
      * <p>
+     * Every n-gram is a view that shares the backing array of this <code>String32</code> object, so only the view objects are allocated.
+     * </p>
+     * <p>
      * Example:
      * <blockquote><pre>
      *         String32 string32 = String32.valueOf("Hello, World!");
@@ -1800,7 +2859,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         }
         String32[] ngrams = new String32[this.length - n + 1];
         for (int i = 0; i <= this.length - n; i++) {
-            ngrams[i] = substring(i, i + n);
+            ngrams[i] = new String32(this.value, this.coder, this.offset + i, n);
         }
         return ngrams;
     }
@@ -1820,28 +2879,22 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * This will return a new <code>String32</code> object that is inverted case.
      * The output will be <code>hELLO, wORLD!</code>.
      * </p>
+     * <p>
+     * Upper case code points are mapped with {@link Character#toLowerCase(int)} and lower case code points with
+     * {@link Character#toUpperCase(int)}, looked up in precomputed case tables. If no code point changes, this object is returned.
+     * </p>
      *
      * @return The new <code>String32</code> object that is inverted case.
      */
     public String32 invertCase() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < this.length; i++) {
-            int codePoint = this.characters[i];
-            if (Character.isUpperCase(codePoint)) {
-                sb.appendCodePoint(Character.toLowerCase(codePoint));
-            } else if (Character.isLowerCase(codePoint)) {
-                sb.appendCodePoint(Character.toUpperCase(codePoint));
-            } else {
-                sb.appendCodePoint(codePoint);
-            }
-        }
-        return new String32(sb.toString());
+        return String32Case.map(this, String32Case.INVERT);
     }
 
     /**
      * Returns the number of occurrences of the given <code>String32</code> object.
      * <p>
      * This method returns the number of occurrences of the given <code>String32</code> object.
+     * Whole code points are compared, so an unpaired surrogate does not match half of a surrogate pair.
      * </p>
      * <p>
      * Example:
@@ -1862,15 +2915,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         if (substring == null || substring.isEmpty()) {
             return 0;
         }
-        String str = toString();
-        String sub = substring.toString();
-        int count = 0;
-        int idx = 0;
-        while ((idx = str.indexOf(sub, idx)) != -1) {
-            count++;
-            idx += sub.length();
-        }
-        return count;
+        return String32Search.count(this, substring);
     }
 
     /**
@@ -1905,27 +2950,113 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * <blockquote><pre>
      *         String32 string32 = String32.valueOf("Hello, World!");
      *         System.out.println(string32.replaceMultiple(new String32[] {String32.valueOf("o"), String32.valueOf("l")}, String32.valueOf("x")));
-     *         // Output: "Hexxx, Worxd!"
+     *         // Output: "Hexxx, Wxrxd!"
      * </pre></blockquote>
      * This will return a new <code>String32</code> object that is replaced with the given targets and replacement.
-     * The output will be <code>Hexxx, Worxd!</code>.
+     * The output will be <code>Hexxx, Wxrxd!</code>.
+     * </p>
+     *
+     * <p>
+     * All targets are replaced in a single scan by a {@link String32Matcher}.
+     * Where targets overlap, the one that starts first wins, and of those the longest;
+     * the inserted replacements are not scanned again.
+     * To replace the same targets in many <code>String32</code> objects, compile a {@link String32Matcher} once
+     * and call {@link String32Matcher#replaceAll(String32, String32)} instead.
      * </p>
      *
      * @param targets     The <code>String32</code> objects to replace.
      * @param replacement The <code>String32</code> object to replace with.
      * @return The new <code>String32</code> object that is replaced with the given targets and replacement.
      * @apiNote If the given targets array is null or empty, or if the replacement is null, this method will return the original <code>String32</code> object.
+     * Targets that are null or empty are ignored.
      */
     public String32 replaceMultiple(final String32[] targets, final String32 replacement) {
         if (targets == null || targets.length == 0 || replacement == null) {
             return this;
         }
+        String32Matcher matcher = matcherOf(targets);
+        return matcher == null ? this : matcher.replaceAll(this, replacement);
+    }
+
+    /**
+     * Returns the total number of occurrences of the given <code>String32</code> objects.
+     * <p>
+     * All substrings are counted in a single scan by a {@link String32Matcher}.
+     * Occurrences do not overlap: where substrings overlap, the one that starts first is counted, and of those the longest.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.countOccurrencesOfAny(String32.valueOf("o"), String32.valueOf("l")));
+     *         // Output: 5
+     * </pre></blockquote>
+     * This will return the number of occurrences of <code>o</code> and <code>l</code> together.
+     * The output will be <code>5</code>.
+     * </p>
+     *
+     * @param substrings The <code>String32</code> objects to count the occurrences of.
+     * @return The total number of occurrences of the given <code>String32</code> objects.
+     * @apiNote Substrings that are empty or null are ignored. If no substring remains, this method will return 0.
+     */
+    public int countOccurrencesOfAny(final String32... substrings) {
+        if (substrings == null || substrings.length == 0) {
+            return 0;
+        }
+        String32Matcher matcher = matcherOf(substrings);
+        return matcher == null ? 0 : matcher.count(this);
+    }
+
+    /**
+     * Returns <code>true</code> if the <code>String32</code> object contains any of the given <code>String32</code> objects.
+     * <p>
+     * All substrings are searched for in a single scan by a {@link String32Matcher}, which stops at the first occurrence.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.containsAny(String32.valueOf("Moon"), String32.valueOf("World")));
+     *         // Output: true
+     * </pre></blockquote>
+     * This will return <code>true</code> because the <code>String32</code> object contains <code>World</code>.
+     * </p>
+     *
+     * @param substrings The <code>String32</code> objects to search for.
+     * @return <code>true</code> if the <code>String32</code> object contains any of the given <code>String32</code> objects, <code>false</code> otherwise.
+     * @apiNote Substrings that are null are ignored. An empty substring is contained in every <code>String32</code> object.
+     */
+    public boolean containsAny(final String32... substrings) {
+        if (substrings == null) {
+            return false;
+        }
+        for (String32 substring : substrings) {
+            if (substring != null && substring.isEmpty()) {
+                return true;
+            }
+        }
+        String32Matcher matcher = matcherOf(substrings);
+        return matcher != null && matcher.containsAny(this);
+    }
 
-        String result = toString();
+    /**
+     * Compiles the given targets into a {@link String32Matcher}, ignoring targets that are null or empty.
+     *
+     * @param targets The targets.
+     * @return The compiled {@link String32Matcher}, or <code>null</code> if no target remains.
+     */
+    private static String32Matcher matcherOf(final String32[] targets) {
+        int count = 0;
+        String32[] patterns = new String32[targets.length];
         for (String32 target : targets) {
-            result = result.replace(target.toString(), replacement.toString());
+            if (target != null && !target.isEmpty()) {
+                patterns[count++] = target;
+            }
         }
-        return new String32(result);
+        if (count == 0) {
+            return null;
+        }
+        return String32Matcher.compile(count == patterns.length ? patterns : Arrays.copyOf(patterns, count));
     }
 
     /**
@@ -1947,7 +3078,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @return The new <code>String32</code> object that is sorted characters.
      */
     public String32 sortCharacters() {
-        int[] sortedChars = Arrays.copyOf(this.characters, this.length);
+        int[] sortedChars = getCharacters();
         Arrays.sort(sortedChars);
         return String32.valueOf(sortedChars);
     }
@@ -2005,26 +3136,40 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @return The new <code>String32</code> object that is leet speak.
      */
     public String32 toLeetSpeak() {
-        Map<Character, String> leetMap = new HashMap<>();
-        leetMap.put('A', "4");
-        leetMap.put('E', "3");
-        leetMap.put('I', "1");
-        leetMap.put('O', "0");
-        leetMap.put('S', "5");
-        leetMap.put('T', "7");
-        leetMap.put('a', "4");
-        leetMap.put('e', "3");
-        leetMap.put('i', "1");
-        leetMap.put('o', "0");
-        leetMap.put('s', "5");
-        leetMap.put('t', "7");
-
-        StringBuilder sb = new StringBuilder();
+        String32Builder builder = new String32Builder(this.length, this.coder);
         for (int i = 0; i < this.length; i++) {
-            char c = (char) this.characters[i];
-            sb.append(leetMap.getOrDefault(c, String.valueOf(c)));
+            char c = (char) codePointAt0(i);
+            switch (c) {
+                case 'A':
+                case 'a':
+                    builder.appendCodePoint('4');
+                    break;
+                case 'E':
+                case 'e':
+                    builder.appendCodePoint('3');
+                    break;
+                case 'I':
+                case 'i':
+                    builder.appendCodePoint('1');
+                    break;
+                case 'O':
+                case 'o':
+                    builder.appendCodePoint('0');
+                    break;
+                case 'S':
+                case 's':
+                    builder.appendCodePoint('5');
+                    break;
+                case 'T':
+                case 't':
+                    builder.appendCodePoint('7');
+                    break;
+                default:
+                    builder.appendCodePoint(c);
+                    break;
+            }
         }
-        return new String32(sb.toString());
+        return builder.build();
     }
 
     /**
@@ -2088,7 +3233,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
     public void forEachCharacter(final Consumer<Integer> action) {
         Objects.requireNonNull(action, "action cannot be null");
         for (int i = 0; i < length; i++) {
-            action.accept(this.characters[i]);
+            action.accept(codePointAt0(i));
         }
     }
 
@@ -2144,8 +3289,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     public String32 mapCharacters(final Function<Integer, Integer> mapper) {
         Objects.requireNonNull(mapper, "mapper cannot be null");
-        int[] mappedChars = Arrays.stream(this.characters).map(mapper::apply).toArray();
-        return String32.valueOf(mappedChars);
+        return map(mapper::apply);
     }
 
     /**
@@ -2172,9 +3316,320 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * @apiNote The resulting <code>String32</code> object will contain a single character representing the result of the reduction.
      */
     public String32 reduceCharacters(final int identity, final IntBinaryOperator accumulator) {
+        return String32.valueOf(reduce(identity, accumulator));
+    }
+
+    /**
+     * Performs the given action for each code point of the <code>String32</code> object.
+     * <p>
+     * Unlike {@link #forEachCharacter(Consumer)}, the code points are passed as primitive <code>int</code> values without boxing.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         int[] letters = new int[1];
+     *         String32.valueOf("Hello, World!").forEachCodePoint(cp -&gt; {
+     *             if (Character.isLetter(cp)) {
+     *                 letters[0]++;
+     *             }
+     *         });
+     *         System.out.println(letters[0]);
+     *         // Output: 10
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param action The action to be performed for each code point.
+     * @throws NullPointerException if the action is <code>null</code>.
+     */
+    public void forEachCodePoint(final IntConsumer action) {
+        Objects.requireNonNull(action, "action cannot be null");
+        for (int i = 0; i < this.length; i++) {
+            action.accept(codePointAt0(i));
+        }
+    }
+
+    /**
+     * Returns a stream of the code points of the <code>String32</code> object.
+     * <p>
+     * The stream reads the backing array directly instead of copying it like {@link #getCharacters()}.
+     * Its spliterator is {@link Spliterator#SIZED sized} and splits evenly, so {@link IntStream#parallel() parallel} streams
+     * over large <code>String32</code> objects divide the work evenly between the threads.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.codePoints().filter(Character::isUpperCase).count());
+     *         // Output: 2
+     * </pre></blockquote>
+     * </p>
+     *
+     * @return A sequential stream of the code points.
+     */
+    public IntStream codePoints() {
+        return StreamSupport.intStream(new String32Spliterator(this.value, this.coder, this.offset, this.offset + this.length), false);
+    }
+
+    /**
+     * Performs the given action for each code point of the <code>String32</code> object and its index.
+     *
+     * @param action The action to be performed for each code point and its index.
+     * @throws NullPointerException if the action is <code>null</code>.
+     */
+    public void forEachIndexed(final IndexedCodePointConsumer action) {
+        Objects.requireNonNull(action, "action cannot be null");
+        for (int i = 0; i < this.length; i++) {
+            action.accept(i, codePointAt0(i));
+        }
+    }
+
+    /**
+     * Returns a new <code>String32</code> object with every code point mapped by the given mapper.
+     * <p>
+     * The code points are passed to the mapper as primitive <code>int</code> values,
+     * and the result is built directly without boxing or an intermediate {@link IntStream}.
+     * A mapped high surrogate followed by a mapped low surrogate is combined into one supplementary code point.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.map(Character::toUpperCase));
+     *         // Output: "HELLO, WORLD!"
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param mapper The mapper to apply to each code point.
+     * @return The new <code>String32</code> object with the mapped code points.
+     * @throws NullPointerException     if the mapper is <code>null</code>.
+     * @throws IllegalArgumentException if the mapper returns an invalid code point.
+     */
+    public String32 map(final IntUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper cannot be null");
+        String32Builder builder = new String32Builder(this.length, this.coder);
+        for (int i = 0; i < this.length; i++) {
+            builder.appendCodePoint(mapper.applyAsInt(codePointAt0(i)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a new <code>String32</code> object with every code point mapped by the given mapper, which also receives the index.
+     *
+     * @param mapper The mapper to apply to each code point and its index.
+     * @return The new <code>String32</code> object with the mapped code points.
+     * @throws NullPointerException     if the mapper is <code>null</code>.
+     * @throws IllegalArgumentException if the mapper returns an invalid code point.
+     * @see #map(IntUnaryOperator)
+     */
+    public String32 mapIndexed(final IndexedCodePointOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper cannot be null");
+        String32Builder builder = new String32Builder(this.length, this.coder);
+        for (int i = 0; i < this.length; i++) {
+            builder.appendCodePoint(mapper.applyAsInt(i, codePointAt0(i)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a new <code>String32</code> object with only the code points that match the given predicate.
+     * <p>
+     * A high surrogate and a low surrogate that become adjacent are combined into one supplementary code point.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.filter(Character::isLetter));
+     *         // Output: "HelloWorld"
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param predicate The predicate that the kept code points match.
+     * @return The new <code>String32</code> object with the matching code points.
+     * @throws NullPointerException if the predicate is <code>null</code>.
+     */
+    public String32 filter(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate cannot be null");
+        String32Builder builder = new String32Builder(this.length, this.coder);
+        for (int i = 0; i < this.length; i++) {
+            int cp = codePointAt0(i);
+            if (predicate.test(cp)) {
+                builder.appendCodePoint(cp);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a new <code>String32</code> object with only the code points that match the given predicate, which also receives the index.
+     *
+     * @param predicate The predicate that the kept code points and their index match.
+     * @return The new <code>String32</code> object with the matching code points.
+     * @throws NullPointerException if the predicate is <code>null</code>.
+     * @see #filter(IntPredicate)
+     */
+    public String32 filterIndexed(final IndexedCodePointPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate cannot be null");
+        String32Builder builder = new String32Builder(this.length, this.coder);
+        for (int i = 0; i < this.length; i++) {
+            int cp = codePointAt0(i);
+            if (predicate.test(i, cp)) {
+                builder.appendCodePoint(cp);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reduces the code points of the <code>String32</code> object with the given accumulator, from left to right.
+     * <p>
+     * Unlike {@link #reduceCharacters(int, IntBinaryOperator)}, the result is returned as a primitive <code>int</code>.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(string32.reduce(0, Integer::sum));
+     *         // Output: 1129
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param identity    The initial value.
+     * @param accumulator The accumulator to apply.
+     * @return The result of the reduction, or the initial value if the <code>String32</code> object is empty.
+     * @throws NullPointerException if the accumulator is <code>null</code>.
+     */
+    public int reduce(final int identity, final IntBinaryOperator accumulator) {
         Objects.requireNonNull(accumulator, "accumulator cannot be null");
-        int result = Arrays.stream(this.characters).reduce(identity, accumulator);
-        return String32.valueOf(new int[]{result});
+        int result = identity;
+        for (int i = 0; i < this.length; i++) {
+            result = accumulator.applyAsInt(result, codePointAt0(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns <code>true</code> if any code point of the <code>String32</code> object matches the given predicate.
+     * <p>
+     * The code points are tested from left to right, and the test stops at the first match.
+     * </p>
+     *
+     * @param predicate The predicate to test.
+     * @return <code>true</code> if any code point matches, <code>false</code> otherwise or if the <code>String32</code> object is empty.
+     * @throws NullPointerException if the predicate is <code>null</code>.
+     */
+    public boolean anyMatch(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate cannot be null");
+        for (int i = 0; i < this.length; i++) {
+            if (predicate.test(codePointAt0(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns <code>true</code> if every code point of the <code>String32</code> object matches the given predicate.
+     * <p>
+     * The code points are tested from left to right, and the test stops at the first code point that does not match.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello");
+     *         System.out.println(string32.allMatch(Character::isLetter));
+     *         // Output: true
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param predicate The predicate to test.
+     * @return <code>true</code> if every code point matches or the <code>String32</code> object is empty, <code>false</code> otherwise.
+     * @throws NullPointerException if the predicate is <code>null</code>.
+     */
+    public boolean allMatch(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate cannot be null");
+        for (int i = 0; i < this.length; i++) {
+            if (!predicate.test(codePointAt0(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns <code>true</code> if no code point of the <code>String32</code> object matches the given predicate.
+     *
+     * @param predicate The predicate to test.
+     * @return <code>true</code> if no code point matches or the <code>String32</code> object is empty, <code>false</code> otherwise.
+     * @throws NullPointerException if the predicate is <code>null</code>.
+     */
+    public boolean noneMatch(final IntPredicate predicate) {
+        return !anyMatch(predicate);
+    }
+
+    /**
+     * Returns a facet that runs the bulk operations of the <code>String32</code> object in parallel on the {@link ForkJoinPool#commonPool() common pool}.
+     * <p>
+     * The facet offers parallel versions of {@link #countOccurrences(String32)}, {@link #mapCharacters(Function)},
+     * {@link #reduceCharacters(int, IntBinaryOperator)}, {@link #removeAll(int)}, {@link #distinct()} and {@link #sortCharacters()}
+     * that return the same results, but split large <code>String32</code> objects into chunks processed by several threads.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World! ".repeat(100_000));
+     *         System.out.println(string32.parallel().countOccurrences(String32.valueOf("World")));
+     *         // Output: 100000
+     * </pre></blockquote>
+     * </p>
+     *
+     * @return The parallel facet of the <code>String32</code> object.
+     * @see String32Parallel
+     */
+    public String32Parallel parallel() {
+        return new String32Parallel(this, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a facet that runs the bulk operations of the <code>String32</code> object in parallel on the given {@link ForkJoinPool}.
+     *
+     * @param pool The pool to run the chunks on.
+     * @return The parallel facet of the <code>String32</code> object.
+     * @throws NullPointerException if the pool is <code>null</code>.
+     * @see #parallel()
+     */
+    public String32Parallel parallel(final ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "Pool cannot be null");
+        return new String32Parallel(this, pool);
+    }
+
+    /**
+     * Returns a read-only UTF-16 {@link CharSequence} view of the <code>String32</code> object.
+     * <p>
+     * The view can be passed to {@link Pattern#matcher(CharSequence)} and other {@link CharSequence} consumers
+     * without creating a {@link String} first.
+     * A <code>String32</code> object whose code points are all in the BMP is read directly from its backing array;
+     * a <code>String32</code> object with supplementary code points or surrogates is viewed through its {@link #toString() String form},
+     * which the view encodes at most once and shares with {@link #toString()} while the {@link String} cache is enabled.
+     * </p>
+     * <p>
+     * The indices of the view are UTF-16 char indices, which differ from the code point indices of the <code>String32</code> object
+     * after the first supplementary code point.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         System.out.println(Pattern.compile("W\\w+").matcher(string32.asCharSequence()).find());
+     *         // Output: true
+     * </pre></blockquote>
+     * </p>
+     *
+     * @return A UTF-16 {@link CharSequence} view of the <code>String32</code> object.
+     */
+    public CharSequence asCharSequence() {
+        return String32CharSequence.of(this);
     }
 
     /**
@@ -2183,16 +3638,46 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * This method returns the {@link String} representation of the <code>String32</code> object.
      * The {@link String} representation is the {@link String} that contains the characters of the <code>String32</code> object.
      * </p>
+     * <p>
+     * The {@link String} is encoded on the first call and cached, so later calls, including the ones made by methods of
+     * this class that delegate to {@link String}, return the same instance. The cache can be released per object with
+     * {@link #dropCache()} or disabled with the {@value #STRING_CACHE_PROPERTY} system property.
+     * </p>
      *
      * @return The {@link String} representation of the <code>String32</code> object.
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < this.length; i++) {
-            sb.appendCodePoint(this.characters[i]);
+        String str = this.utf16;
+        if (str == null) {
+            str = String32Coder.toString(this.value, this.coder, this.offset, this.length);
+            if (STRING_CACHE) {
+                this.utf16 = str;
+            }
         }
-        return sb.toString();
+        return str;
+    }
+
+    /**
+     * Releases the cached {@link String} form of the <code>String32</code> object.
+     * <p>
+     * The next call of {@link #toString()} encodes the {@link String} again and caches it, unless the cache is disabled
+     * with the {@value #STRING_CACHE_PROPERTY} system property. This object is returned for chaining.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         log.info(string32.toString());
+     *         string32.dropCache(); // keep only the code points while the object stays in a long-lived collection
+     * </pre></blockquote>
+     * </p>
+     *
+     * @return This <code>String32</code> object.
+     */
+    public String32 dropCache() {
+        this.utf16 = null;
+        return this;
     }
 
     /**
@@ -2209,15 +3694,18 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
     @Override
     public boolean equals(final Object obj) {
         if (obj instanceof String32 other) {
+            if (this == other) {
+                return true;
+            }
             if (this.length != other.length) {
                 return false;
             }
-            for (int i = 0; i < length; i++) {
-                if (this.characters[i] != other.characters[i]) {
-                    return false;
-                }
+            int h1 = this.hash;
+            int h2 = other.hash;
+            if (h1 != 0 && h2 != 0 && h1 != h2) {
+                return false;
             }
-            return true;
+            return String32Coder.equals(this.value, this.coder, this.offset, other.value, other.coder, other.offset, this.length);
         }
         return false;
     }
@@ -2227,17 +3715,65 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      * <p>
      * This method returns the hash code of the <code>String32</code> object.
      * The hash code is calculated by the hash code of the characters of the <code>String32</code> object.
+     * It is computed on the first call and cached afterward, so repeated lookups with the same key do not walk the characters again.
      * </p>
      *
      * @return The hash code of the <code>String32</code> object.
      */
     @Override
     public int hashCode() {
-        int result = 1;
-        for (int character : this.characters) {
-            result = 31 * result + character;
+        int h = this.hash;
+        if (h == 0 && !this.hashIsZero) {
+            h = String32Coder.hash(this.value, this.coder, this.offset, this.length);
+            if (h == 0) {
+                this.hashIsZero = true;
+            } else {
+                this.hash = h;
+            }
         }
-        return result;
+        return h;
+    }
+
+    /**
+     * Returns a <code>64-bit</code> hash code of the <code>String32</code> object.
+     * <p>
+     * This method is the same as {@link #longHash(long)} with the seed <code>0</code>.
+     * </p>
+     *
+     * @return The <code>64-bit</code> hash code of the <code>String32</code> object.
+     * @see #longHash(long)
+     */
+    public long longHash() {
+        return longHash(0L);
+    }
+
+    /**
+     * Returns a seeded <code>64-bit</code> hash code of the <code>String32</code> object.
+     * <p>
+     * Unlike {@link #hashCode()}, this hash is well distributed over all <code>64</code> bits and is hard to collide by accident,
+     * which makes it suitable for large deduplication tables and Bloom filters.
+     * Different seeds produce independent hash functions.
+     * </p>
+     * <p>
+     * The result is the xxHash64 of the code points encoded as UTF-32LE, so it is stable across JVMs and versions
+     * and can be reproduced by any xxHash64 implementation.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32 string32 = String32.valueOf("Hello, World!");
+     *         long h1 = string32.longHash(0x5EEDL);
+     *         long h2 = string32.longHash(0xC0FFEEL);
+     * </pre></blockquote>
+     * This will compute two independent <code>64-bit</code> hashes, for example for a Bloom filter with two hash functions.
+     * </p>
+     *
+     * @param seed The seed of the hash function.
+     * @return The seeded <code>64-bit</code> hash code of the <code>String32</code> object.
+     * @see <a href="https://github.com/Cyan4973/xxHash">xxHash</a>
+     */
+    public long longHash(final long seed) {
+        return String32Coder.xxHash64(this.value, this.coder, this.offset, this.length, seed);
     }
 
     /**
@@ -2274,13 +3810,7 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
      */
     @Override
     public int compareTo(final String32 o) {
-        int minLength = Math.min(this.length, o.length);
-        for (int i = 0; i < minLength; i++) {
-            if (this.characters[i] != o.characters[i]) {
-                return Integer.compare(this.characters[i], o.characters[i]);
-            }
-        }
-        return this.length - o.length;
+        return String32Coder.compare(this.value, this.coder, this.offset, this.length, o.value, o.coder, o.offset, o.length);
     }
 
     /**
@@ -2297,6 +3827,80 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
         return (String32) super.clone();
     }
 
+    /**
+     * Writes the <code>String32</code> object to the given stream.
+     * <p>
+     * The length is written to the <code>length</code> field and <code>characters</code> is <code>null</code>.
+     * The code points follow as optional data: one byte each if all of them are Latin-1,
+     * otherwise two bytes each or UTF-8, whichever is shorter, instead of four bytes each in earlier versions.
+     * </p>
+     *
+     * @param out The stream to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Serial
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("characters", null);
+        fields.put("length", this.length);
+        out.writeFields();
+        String32SerialForm.write(out, this.value, this.coder, this.offset, this.length);
+    }
+
+    /**
+     * Reads the <code>String32</code> object from the given stream.
+     * <p>
+     * Both the compact form of the current version and the {@code int[]} form of earlier versions are accepted.
+     * The code points are validated and decoded straight into the narrowest backing storage of a new <code>String32</code> object,
+     * which {@link #readResolve()} returns in place of this one, because the fields of this object are <code>final</code>.
+     * </p>
+     *
+     * @param in The stream to read from.
+     * @throws IOException            If an I/O error occurs.
+     * @throws ClassNotFoundException If a class of the serialized object cannot be found.
+     * @throws InvalidObjectException If the stream does not contain a valid <code>String32</code>.
+     */
+    @Serial
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        int[] characters = (int[]) fields.get("characters", null);
+        int streamLength = fields.get("length", 0);
+        if (characters == null) {
+            this.deserialized = String32SerialForm.read(in, streamLength);
+            return;
+        }
+        if (characters.length != streamLength) {
+            throw new InvalidObjectException("Corrupt String32 stream");
+        }
+        for (int cp : characters) {
+            if (!Character.isValidCodePoint(cp)) {
+                throw new InvalidObjectException("Corrupt String32 stream: invalid code point " + cp);
+            }
+        }
+        byte decodedCoder = String32Coder.coderOf(characters, 0, characters.length);
+        this.deserialized = new String32(String32Coder.encode(characters, 0, characters.length, decodedCoder), decodedCoder);
+    }
+
+    /**
+     * Replaces the deserialized <code>String32</code> object with the one decoded by {@link #readObject(ObjectInputStream)}.
+     * <p>
+     * If the system property {@value String32Pool#RESOLVE_DESERIALIZED_PROPERTY} is <code>true</code>,
+     * the deserialized object is interned in the {@link String32Pool#global() global pool},
+     * so that equal values read from a stream collapse into one instance.
+     * </p>
+     *
+     * @return The canonical <code>String32</code> object, or the decoded object.
+     * @throws InvalidObjectException If the object was not decoded by {@link #readObject(ObjectInputStream)}.
+     */
+    @Serial
+    private Object readResolve() throws InvalidObjectException {
+        String32 str = this.deserialized;
+        if (str == null) {
+            throw new InvalidObjectException("Corrupt String32 stream");
+        }
+        return String32Pool.isResolvingDeserialized() ? String32Pool.global().intern(str) : str;
+    }
+
     /**
      * The <code>Strings32ToJoin</code> class represents a <code>String32</code> object that is used to join multiple <code>String32</code> objects.
      * <p>
@@ -2391,20 +3995,27 @@ public final class String32 implements Serializable, Comparable<String32>, Clone
             if (this.strings == null || this.strings.length == 0) {
                 return String32.valueOf("");
             }
-            String32 escape = escapeString == null ? String32.valueOf("") : escapeString;
-            StringBuilder sb = new StringBuilder();
+            String32 escape = escapeString == null ? EMPTY : escapeString;
+            String32 separator = String32.valueOf(delimiter);
+            int capacity = separator.length() * (this.strings.length - 1);
+            for (String32 s : this.strings) {
+                if (s != null) {
+                    capacity += s.length() + 2 * escape.length();
+                }
+            }
+            String32Builder builder = new String32Builder(capacity);
             for (int i = 0; i < this.strings.length; i++) {
                 String32 s = this.strings[i];
                 if (s != null) {
-                    sb.append(escape);
-                    sb.append(s);
-                    sb.append(escape);
+                    builder.append(escape);
+                    builder.append(s);
+                    builder.append(escape);
                 }
                 if (i < this.strings.length - 1) {
-                    sb.append(delimiter);
+                    builder.append(separator);
                 }
             }
-            return String32.valueOf(sb.toString());
+            return builder.build();
         }
     }
 }
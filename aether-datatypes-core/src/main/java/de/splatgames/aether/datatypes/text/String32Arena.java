@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * The <code>String32Arena</code> class allocates short-lived <code>String32</code> objects in pooled slabs that are released together.
+ * <p>
+ * An arena stores the code points of the <code>String32</code> objects it creates in large {@code int[]} slabs
+ * instead of one backing array per object.
+ * {@link #close() Closing} the arena returns all slabs to a shared pool at once, where the next arena reuses them,
+ * so request-scoped temporaries stop producing garbage for their code points.
+ * </p>
+ * <p>
+ * A <code>String32</code> object created by an arena, or a {@link String32#substring(int, int) substring} of one,
+ * must not be used after the arena is closed, because its slab is reused and overwritten.
+ * Pass every object that must outlive the arena through {@link #escape(String32)}, which copies it into its own heap array.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32 key;
+ *         try (String32Arena arena = String32Arena.open()) {
+ *             String32 line = arena.copyOf(request.header("X-Tags"));
+ *             String32[] tags = arena.split(line, String32.valueOf(","));
+ *             String32 first = arena.toLowerCase(tags[0].trim());
+ *             key = arena.escape(first);
+ *         }
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * The slab size and the number of pooled slabs are configured with the system properties
+ * {@value #SLAB_SIZE_PROPERTY} (in code points, <code>16384</code> by default) and
+ * {@value #POOL_SIZE_PROPERTY} (<code>64</code> by default, <code>0</code> disables pooling).
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote An arena is confined to the thread that opened it; using it from another thread throws an {@link IllegalStateException}.
+ * Allocations of at least one slab size get a dedicated array that is not pooled.
+ * The <code>String32</code> objects use the UTF-32 storage of the slab regardless of their code points.
+ * @see String32
+ * @since 1.0.0
+ */
+public final class String32Arena implements AutoCloseable {
+
+    /**
+     * The system property that sets the size of one slab in code points.
+     */
+    public static final String SLAB_SIZE_PROPERTY = "aether.datatypes.string32.arena.slabSize";
+    /**
+     * The system property that sets the maximum number of slabs kept in the shared pool.
+     */
+    public static final String POOL_SIZE_PROPERTY = "aether.datatypes.string32.arena.poolSize";
+
+    /**
+     * The size of one slab in code points.
+     */
+    private static final int SLAB_SIZE = Math.max(16, Integer.getInteger(SLAB_SIZE_PROPERTY, 16384));
+    /**
+     * The shared pool of free slabs, or <code>null</code> if pooling is disabled.
+     */
+    private static final ArrayBlockingQueue<int[]> POOL = createPool(Integer.getInteger(POOL_SIZE_PROPERTY, 64));
+
+    /**
+     * The thread that opened the arena.
+     */
+    private final Thread owner;
+    /**
+     * All arrays allocated by the arena, pooled slabs and dedicated arrays, or <code>null</code> once the arena is closed.
+     */
+    private List<int[]> blocks;
+    /**
+     * The slab that allocations are taken from, or <code>null</code> before the first allocation.
+     */
+    private int[] slab;
+    /**
+     * The index of the first free code point in the current slab.
+     */
+    private int position;
+    /**
+     * The offset of the last allocation in the array returned by {@link #reserve(int)}.
+     */
+    private int reserved;
+    /**
+     * The number of code points allocated by the arena.
+     */
+    private long allocated;
+
+    /**
+     * Creates a new arena for the current thread.
+     */
+    private String32Arena() {
+        this.owner = Thread.currentThread();
+        this.blocks = new ArrayList<>();
+    }
+
+    /**
+     * Creates the shared pool of free slabs.
+     *
+     * @param capacity The maximum number of pooled slabs.
+     * @return The pool, or <code>null</code> if the capacity is not positive.
+     */
+    private static ArrayBlockingQueue<int[]> createPool(final int capacity) {
+        return capacity > 0 ? new ArrayBlockingQueue<>(capacity) : null;
+    }
+
+    /**
+     * Opens a new arena that is confined to the current thread.
+     *
+     * @return The new arena.
+     */
+    public static String32Arena open() {
+        return new String32Arena();
+    }
+
+    /**
+     * Copies the given <code>String32</code> object into the arena.
+     *
+     * @param str The <code>String32</code> object to copy.
+     * @return A <code>String32</code> object in the arena with the same code points.
+     * @throws NullPointerException  if the <code>String32</code> object is null.
+     * @throws IllegalStateException if the arena is closed or used from another thread.
+     */
+    public String32 copyOf(final String32 str) {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        checkAccess();
+        int length = str.length();
+        if (length == 0) {
+            return String32.EMPTY;
+        }
+        int[] block = reserve(length);
+        String32Coder.inflate(str.value(), str.coder(), str.offset(), block, this.reserved, length);
+        return new String32(block, String32Coder.UTF32, this.reserved, length);
+    }
+
+    /**
+     * Copies the code points of the given {@link CharSequence} into the arena.
+     * <p>
+     * Surrogate pairs are combined into supplementary code points, like {@link String32#valueOf(String)} does.
+     * </p>
+     *
+     * @param sequence The {@link CharSequence} to copy.
+     * @return A <code>String32</code> object in the arena with the code points of the {@link CharSequence}.
+     * @throws NullPointerException  if the {@link CharSequence} is null.
+     * @throws IllegalStateException if the arena is closed or used from another thread.
+     */
+    public String32 copyOf(final CharSequence sequence) {
+        Objects.requireNonNull(sequence, "Sequence cannot be null");
+        checkAccess();
+        int n = sequence.length();
+        if (n == 0) {
+            return String32.EMPTY;
+        }
+        int[] block = reserve(n);
+        int start = this.reserved;
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            char c = sequence.charAt(i);
+            int cp = c;
+            if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(sequence.charAt(i + 1))) {
+                cp = Character.toCodePoint(c, sequence.charAt(++i));
+            }
+            block[start + length++] = cp;
+        }
+        giveBack(block, start, n, length);
+        return new String32(block, String32Coder.UTF32, start, length);
+    }
+
+    /**
+     * Concatenates the given <code>String32</code> objects into the arena.
+     * <p>
+     * The result equals {@link String32#concat(String32)}: a high surrogate at the end of the first <code>String32</code> object
+     * and a low surrogate at the start of the second one are joined into a single supplementary code point.
+     * </p>
+     *
+     * @param first  The first <code>String32</code> object.
+     * @param second The second <code>String32</code> object.
+     * @return A <code>String32</code> object in the arena with the code points of both <code>String32</code> objects.
+     * @throws NullPointerException  if one of the <code>String32</code> objects is null.
+     * @throws IllegalStateException if the arena is closed or used from another thread.
+     */
+    public String32 concat(final String32 first, final String32 second) {
+        Objects.requireNonNull(first, "First String32 cannot be null");
+        Objects.requireNonNull(second, "Second String32 cannot be null");
+        checkAccess();
+        int length = first.length() + second.length();
+        if (length < 0) {
+            throw new OutOfMemoryError("Concatenated String32 exceeds the maximum array length");
+        }
+        if (length == 0) {
+            return String32.EMPTY;
+        }
+        int[] block = reserve(length);
+        int start = this.reserved;
+        int split = first.length();
+        String32Coder.inflate(first.value(), first.coder(), first.offset(), block, start, split);
+        String32Coder.inflate(second.value(), second.coder(), second.offset(), block, start + split, second.length());
+        int high = split > 0 ? block[start + split - 1] : 0;
+        int low = split < length ? block[start + split] : 0;
+        if (Character.isHighSurrogate((char) high) && (high >>> 16) == 0
+                && Character.isLowSurrogate((char) low) && (low >>> 16) == 0) {
+            block[start + split - 1] = Character.toCodePoint((char) high, (char) low);
+            System.arraycopy(block, start + split + 1, block, start + split, length - split - 1);
+            giveBack(block, start, length, length - 1);
+            return new String32(block, String32Coder.UTF32, start, length - 1);
+        }
+        return new String32(block, String32Coder.UTF32, start, length);
+    }
+
+    /**
+     * Converts the given <code>String32</code> object to lower case into the arena.
+     * <p>
+     * The result equals {@link String32#toLowerCase()}.
+     * Code points are mapped one by one in the arena, unless the default locale or a code point needs context-sensitive or
+     * multi-code-point casing, in which case the result of {@link String32#toLowerCase()} is copied into the arena.
+     * </p>
+     *
+     * @param str The <code>String32</code> object to convert.
+     * @return A <code>String32</code> object in the arena that is converted to lower case.
+     * @throws NullPointerException  if the <code>String32</code> object is null.
+     * @throws IllegalStateException if the arena is closed or used from another thread.
+     */
+    public String32 toLowerCase(final String32 str) {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        checkAccess();
+        int length = str.length();
+        if (String32Case.isLocaleSensitive()) {
+            return copyOf(str.toLowerCase());
+        }
+        for (int i = 0; i < length; i++) {
+            if (String32Case.hasSpecialCasing(str.codePointAt0(i), String32Case.LOWER)) {
+                return copyOf(str.toLowerCase());
+            }
+        }
+        if (length == 0) {
+            return String32.EMPTY;
+        }
+        int[] block = reserve(length);
+        for (int i = 0; i < length; i++) {
+            block[this.reserved + i] = String32Case.toLowerCase(str.codePointAt0(i));
+        }
+        return new String32(block, String32Coder.UTF32, this.reserved, length);
+    }
+
+    /**
+     * Converts the given <code>String32</code> object to upper case into the arena.
+     * <p>
+     * The result equals {@link String32#toUpperCase()}.
+     * Code points are mapped one by one in the arena, unless the default locale or a code point such as <code>'ß'</code>
+     * needs multi-code-point casing, in which case the result of {@link String32#toUpperCase()} is copied into the arena.
+     * </p>
+     *
+     * @param str The <code>String32</code> object to convert.
+     * @return A <code>String32</code> object in the arena that is converted to upper case.
+     * @throws NullPointerException  if the <code>String32</code> object is null.
+     * @throws IllegalStateException if the arena is closed or used from another thread.
+     */
+    public String32 toUpperCase(final String32 str) {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        checkAccess();
+        int length = str.length();
+        if (String32Case.isLocaleSensitive()) {
+            return copyOf(str.toUpperCase());
+        }
+        for (int i = 0; i < length; i++) {
+            if (String32Case.hasSpecialCasing(str.codePointAt0(i), String32Case.UPPER)) {
+                return copyOf(str.toUpperCase());
+            }
+        }
+        if (length == 0) {
+            return String32.EMPTY;
+        }
+        int[] block = reserve(length);
+        for (int i = 0; i < length; i++) {
+            block[this.reserved + i] = String32Case.toUpperCase(str.codePointAt0(i));
+        }
+        return new String32(block, String32Coder.UTF32, this.reserved, length);
+    }
+
+    /**
+     * Splits the given <code>String32</code> object around the occurrences of the given literal delimiter.
+     * <p>
+     * The result equals {@link String32#splitLiteral(String32)}, but the parts are {@link String32#substring(int, int) substrings}
+     * that share the backing array of the <code>String32</code> object instead of copies, so only the array and the part objects are allocated.
+     * </p>
+     *
+     * @param str       The <code>String32</code> object to split.
+     * @param delimiter The literal delimiter.
+     * @return The parts of the <code>String32</code> object.
+     * @throws NullPointerException  if the <code>String32</code> object or the delimiter is null.
+     * @throws IllegalStateException if the arena is closed or used from another thread.
+     */
+    public String32[] split(final String32 str, final String32 delimiter) {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        Objects.requireNonNull(delimiter, "Delimiter cannot be null");
+        checkAccess();
+        if (delimiter.isEmpty()) {
+            return str.splitLiteral(delimiter);
+        }
+        List<String32> parts = new ArrayList<>();
+        int start = 0;
+        int index;
+        while ((index = str.indexOf(delimiter, start)) >= 0) {
+            parts.add(str.substring(start, index));
+            start = index + delimiter.length();
+        }
+        if (start == 0) {
+            return new String32[]{str};
+        }
+        parts.add(str.substring(start, str.length()));
+        int size = parts.size();
+        while (size > 0 && parts.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return parts.subList(0, size).toArray(new String32[0]);
+    }
+
+    /**
+     * Returns <code>true</code> if the code points of the given <code>String32</code> object are stored in this arena.
+     *
+     * @param str The <code>String32</code> object.
+     * @return <code>true</code> if the <code>String32</code> object was created by this arena, or is a substring of one, <code>false</code> otherwise.
+     * @throws NullPointerException  if the <code>String32</code> object is null.
+     * @throws IllegalStateException if the arena is closed or used from another thread.
+     */
+    public boolean owns(final String32 str) {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        checkAccess();
+        Object value = str.value();
+        for (int[] block : this.blocks) {
+            if (block == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the given <code>String32</code> object out of the arena, so that it can be used after the arena is closed.
+     * <p>
+     * If the <code>String32</code> object is stored in this arena, the result is a compact copy on the heap,
+     * otherwise the <code>String32</code> object itself is returned.
+     * </p>
+     *
+     * @param str The <code>String32</code> object to escape.
+     * @return A <code>String32</code> object with the same code points that does not depend on the arena.
+     * @throws NullPointerException  if the <code>String32</code> object is null.
+     * @throws IllegalStateException if the arena is closed or used from another thread.
+     */
+    public String32 escape(final String32 str) {
+        if (!owns(str)) {
+            return str;
+        }
+        int from = str.offset();
+        int end = from + str.length();
+        byte coder = String32Coder.coderOf((int[]) str.value(), from, end);
+        return new String32(String32Coder.narrow(str.value(), String32Coder.UTF32, from, end, coder), coder);
+    }
+
+    /**
+     * Returns the number of code points allocated by this arena.
+     *
+     * @return The number of allocated code points.
+     */
+    public long allocated() {
+        return this.allocated;
+    }
+
+    /**
+     * Returns <code>true</code> if this arena is not closed.
+     *
+     * @return <code>true</code> if the arena is open, <code>false</code> otherwise.
+     */
+    public boolean isOpen() {
+        return this.blocks != null;
+    }
+
+    /**
+     * Closes the arena and returns its slabs to the shared pool.
+     * <p>
+     * Closing an arena that is already closed has no effect.
+     * </p>
+     *
+     * @throws IllegalStateException if the arena is used from another thread.
+     */
+    @Override
+    public void close() {
+        if (this.blocks == null) {
+            return;
+        }
+        checkThread();
+        if (POOL != null) {
+            for (int[] block : this.blocks) {
+                if (block.length == SLAB_SIZE && !POOL.offer(block)) {
+                    break;
+                }
+            }
+        }
+        this.blocks = null;
+        this.slab = null;
+    }
+
+    /**
+     * Reserves space for the given number of code points.
+     * <p>
+     * The space starts at the index stored in {@link #reserved} of the returned array.
+     * </p>
+     *
+     * @param length The number of code points, which must be positive.
+     * @return The array that holds the reserved space.
+     */
+    private int[] reserve(final int length) {
+        this.allocated += length;
+        if (length >= SLAB_SIZE) {
+            int[] block = new int[length];
+            this.blocks.add(block);
+            this.reserved = 0;
+            return block;
+        }
+        if (this.slab == null || SLAB_SIZE - this.position < length) {
+            int[] next = POOL != null ? POOL.poll() : null;
+            this.slab = next != null ? next : new int[SLAB_SIZE];
+            this.position = 0;
+            this.blocks.add(this.slab);
+        }
+        this.reserved = this.position;
+        this.position += length;
+        return this.slab;
+    }
+
+    /**
+     * Returns the unused end of the last reservation to the current slab.
+     *
+     * @param block    The array of the reservation.
+     * @param start    The start of the reservation.
+     * @param reserved The number of reserved code points.
+     * @param used     The number of used code points.
+     */
+    private void giveBack(final int[] block, final int start, final int reserved, final int used) {
+        this.allocated -= reserved - used;
+        if (block == this.slab && this.position == start + reserved) {
+            this.position = start + used;
+        }
+    }
+
+    /**
+     * Checks that the arena is open and used from its owner thread.
+     *
+     * @throws IllegalStateException if the arena is closed or used from another thread.
+     */
+    private void checkAccess() {
+        if (this.blocks == null) {
+            throw new IllegalStateException("String32Arena is closed");
+        }
+        checkThread();
+    }
+
+    /**
+     * Checks that the arena is used from its owner thread.
+     *
+     * @throws IllegalStateException if the arena is used from another thread.
+     */
+    private void checkThread() {
+        if (Thread.currentThread() != this.owner) {
+            throw new IllegalStateException("String32Arena is confined to thread " + this.owner.getName());
+        }
+    }
+}
@@ -0,0 +1,622 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.util.Objects;
+
+/**
+ * The <code>String32Builder</code> class is a mutable sequence of code points that builds <code>String32</code> objects.
+ * <p>
+ * It is the <code>String32</code> counterpart of {@link StringBuilder}: every index refers to a whole code point,
+ * and appending, inserting or deleting code points never goes through a UTF-16 {@link String}.
+ * </p>
+ * <p>
+ * The code points are stored in the same tiered backing array as in <code>String32</code>:
+ * the builder starts with a {@code byte[]} and widens to a {@code char[]} or an {@code int[]} only when a wider code point is stored.
+ * The backing array grows by doubling, so appending is amortized constant time.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32Builder builder = new String32Builder();
+ *         builder.append(String32.valueOf("Hello"))
+ *                 .appendCodePoint(',')
+ *                 .appendCodePoint(' ')
+ *                 .append("World!");
+ *         String32 string32 = builder.build();
+ *         System.out.println(string32);
+ *         // Output: "Hello, World!"
+ * </pre></blockquote>
+ * This will build the <code>String32</code> object <code>Hello, World!</code>.
+ * </p>
+ * <p>
+ * When the size of the backing array matches the length exactly, {@link #build()} hands the array over to the <code>String32</code> object without copying it.
+ * The builder stays usable afterward: its next modification copies the array first.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote This class is not thread-safe.
+ * A high surrogate that is immediately followed by a low surrogate is combined into one supplementary code point by {@link #build()},
+ * the same as when the code points are passed through a {@link String}.
+ * @see String32
+ * @see StringBuilder
+ * @since 1.0.0
+ */
+public final class String32Builder {
+
+    /**
+     * The default capacity of a new <code>String32Builder</code>.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * The largest array length that the JVM can allocate reliably.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The backing array holding the code points.
+     * <p>
+     * Its type is identified by the {@link #coder}.
+     * </p>
+     */
+    private Object value;
+    /**
+     * The coder of the {@link #value backing array}.
+     */
+    private byte coder;
+    /**
+     * The number of code points in the builder.
+     */
+    private int count;
+    /**
+     * Whether the {@link #value backing array} was handed over to a <code>String32</code> object by {@link #build()}.
+     * <p>
+     * A shared backing array is copied before the next modification.
+     * </p>
+     */
+    private boolean shared;
+    /**
+     * Whether a surrogate code point may have been stored.
+     * <p>
+     * Only then {@link #build()} has to look for surrogate pairs to combine.
+     * </p>
+     */
+    private boolean surrogates;
+
+    /**
+     * Constructs a new empty <code>String32Builder</code> object with the default capacity.
+     */
+    public String32Builder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty <code>String32Builder</code> object with the given capacity.
+     *
+     * @param capacity The initial number of code points that the builder can hold without growing.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public String32Builder(final int capacity) {
+        this(capacity, String32Coder.LATIN1);
+    }
+
+    /**
+     * Constructs a new <code>String32Builder</code> object that contains the code points of the given <code>String32</code> object.
+     *
+     * @param initial The <code>String32</code> object whose code points are copied into the builder.
+     * @throws NullPointerException If the <code>String32</code> object is <code>null</code>.
+     */
+    public String32Builder(final String32 initial) {
+        this(Objects.requireNonNull(initial, "Initial String32 cannot be null").length() + DEFAULT_CAPACITY, initial.coder());
+        append(initial);
+    }
+
+    /**
+     * Constructs a new empty <code>String32Builder</code> object with the given capacity and coder.
+     * <p>
+     * Starting with a wider coder avoids widening the backing array when the coder of the result is already known.
+     * </p>
+     *
+     * @param capacity The initial number of code points that the builder can hold without growing.
+     * @param coder    The initial coder.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    String32Builder(final int capacity, final byte coder) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        this.coder = coder;
+        this.value = String32Coder.allocate(coder, capacity);
+    }
+
+    /**
+     * Returns the number of code points in the builder.
+     *
+     * @return The number of code points.
+     */
+    public int length() {
+        return this.count;
+    }
+
+    /**
+     * Returns <code>true</code> if the builder contains no code points.
+     *
+     * @return <code>true</code> if the builder is empty, <code>false</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * Returns the number of code points that the builder can hold without growing.
+     *
+     * @return The current capacity.
+     */
+    public int capacity() {
+        return String32Coder.capacity(this.value, this.coder);
+    }
+
+    /**
+     * Ensures that the builder can hold at least the given number of code points without growing.
+     *
+     * @param minimumCapacity The minimum capacity.
+     * @return This builder.
+     */
+    public String32Builder ensureCapacity(final int minimumCapacity) {
+        if (minimumCapacity > capacity()) {
+            ensureWritable(minimumCapacity, this.coder);
+        }
+        return this;
+    }
+
+    /**
+     * Shrinks the backing array to the number of code points in the builder.
+     * <p>
+     * A following {@link #build()} can then hand over the backing array without copying it.
+     * </p>
+     *
+     * @return This builder.
+     */
+    public String32Builder trimToSize() {
+        if (this.count < capacity()) {
+            this.value = String32Coder.copyOfRange(this.value, this.coder, 0, this.count);
+            this.shared = false;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the code point at the given index.
+     *
+     * @param index The index of the code point.
+     * @return The code point at the index.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than {@link #length()}.
+     */
+    public int codePointAt(final int index) {
+        checkIndex(index);
+        return String32Coder.get(this.value, this.coder, index);
+    }
+
+    /**
+     * Replaces the code point at the given index.
+     *
+     * @param index     The index of the code point.
+     * @param codePoint The new code point.
+     * @return This builder.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than {@link #length()}.
+     * @throws IllegalArgumentException  If the code point is not a valid Unicode code point.
+     */
+    public String32Builder setCodePointAt(final int index, final int codePoint) {
+        checkIndex(index);
+        checkCodePoint(codePoint);
+        byte cpCoder = String32Coder.coderOf(codePoint);
+        ensureWritable(this.count, cpCoder);
+        store(index, codePoint, cpCoder);
+        return this;
+    }
+
+    /**
+     * Appends the given code point.
+     *
+     * @param codePoint The code point to append.
+     * @return This builder.
+     * @throws IllegalArgumentException If the code point is not a valid Unicode code point.
+     */
+    public String32Builder appendCodePoint(final int codePoint) {
+        checkCodePoint(codePoint);
+        byte cpCoder = String32Coder.coderOf(codePoint);
+        if (this.shared || cpCoder > this.coder || this.count == capacity()) {
+            ensureWritable(this.count + 1, cpCoder);
+        }
+        store(this.count++, codePoint, cpCoder);
+        return this;
+    }
+
+    /**
+     * Appends the given code point the given number of times.
+     *
+     * @param codePoint The code point to append.
+     * @param times     The number of times to append the code point.
+     * @return This builder.
+     * @throws IllegalArgumentException If the code point is not a valid Unicode code point, or if times is negative.
+     */
+    public String32Builder appendCodePoint(final int codePoint, final int times) {
+        checkCodePoint(codePoint);
+        if (times < 0) {
+            throw new IllegalArgumentException("Times cannot be negative: " + times);
+        }
+        byte cpCoder = String32Coder.coderOf(codePoint);
+        ensureWritable(this.count + times, cpCoder);
+        for (int i = 0; i < times; i++) {
+            store(this.count++, codePoint, cpCoder);
+        }
+        return this;
+    }
+
+    /**
+     * Appends the code points of the given <code>String32</code> object.
+     *
+     * @param str The <code>String32</code> object to append.
+     * @return This builder.
+     * @throws NullPointerException If the <code>String32</code> object is <code>null</code>.
+     */
+    public String32Builder append(final String32 str) {
+        Objects.requireNonNull(str, "String32 to append cannot be null");
+        return append0(str, 0, str.length());
+    }
+
+    /**
+     * Appends a range of the code points of the given <code>String32</code> object.
+     *
+     * @param str   The <code>String32</code> object to append.
+     * @param start The first index of the range, inclusive.
+     * @param end   The last index of the range, exclusive.
+     * @return This builder.
+     * @throws NullPointerException      If the <code>String32</code> object is <code>null</code>.
+     * @throws IndexOutOfBoundsException If the range is not within the <code>String32</code> object.
+     */
+    public String32Builder append(final String32 str, final int start, final int end) {
+        Objects.requireNonNull(str, "String32 to append cannot be null");
+        if (start < 0 || end > str.length() || start > end) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + str.length());
+        }
+        return append0(str, start, end);
+    }
+
+    /**
+     * Appends the code points of the given {@link CharSequence}.
+     * <p>
+     * A surrogate pair in the {@link CharSequence} is appended as one supplementary code point,
+     * an unpaired surrogate is appended as it is.
+     * </p>
+     *
+     * @param sequence The {@link CharSequence} to append.
+     * @return This builder.
+     * @throws NullPointerException If the {@link CharSequence} is <code>null</code>.
+     */
+    public String32Builder append(final CharSequence sequence) {
+        Objects.requireNonNull(sequence, "Sequence to append cannot be null");
+        int n = sequence.length();
+        ensureWritable(this.count + n, this.coder);
+        for (int i = 0; i < n; i++) {
+            char c = sequence.charAt(i);
+            int cp = c;
+            if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(sequence.charAt(i + 1))) {
+                cp = Character.toCodePoint(c, sequence.charAt(++i));
+            }
+            byte cpCoder = String32Coder.coderOf(cp);
+            if (cpCoder > this.coder) {
+                ensureWritable(this.count, cpCoder);
+            }
+            store(this.count++, cp, cpCoder);
+        }
+        return this;
+    }
+
+    /**
+     * Inserts the given code point at the given index.
+     *
+     * @param index     The index at which the code point is inserted.
+     * @param codePoint The code point to insert.
+     * @return This builder.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than {@link #length()}.
+     * @throws IllegalArgumentException  If the code point is not a valid Unicode code point.
+     */
+    public String32Builder insertCodePoint(final int index, final int codePoint) {
+        checkPosition(index);
+        checkCodePoint(codePoint);
+        byte cpCoder = String32Coder.coderOf(codePoint);
+        ensureWritable(this.count + 1, cpCoder);
+        System.arraycopy(this.value, index, this.value, index + 1, this.count - index);
+        store(index, codePoint, cpCoder);
+        this.count++;
+        return this;
+    }
+
+    /**
+     * Inserts the code points of the given <code>String32</code> object at the given index.
+     *
+     * @param index The index at which the code points are inserted.
+     * @param str   The <code>String32</code> object to insert.
+     * @return This builder.
+     * @throws NullPointerException      If the <code>String32</code> object is <code>null</code>.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than {@link #length()}.
+     */
+    public String32Builder insert(final int index, final String32 str) {
+        Objects.requireNonNull(str, "String32 to insert cannot be null");
+        checkPosition(index);
+        int len = str.length();
+        byte strCoder = narrowestCoder(str, 0, len);
+        ensureWritable(this.count + len, strCoder);
+        System.arraycopy(this.value, index, this.value, index + len, this.count - index);
+        String32Coder.copy(str.value(), str.coder(), str.offset(), this.value, this.coder, index, len);
+        this.count += len;
+        if (strCoder == String32Coder.UTF32) {
+            this.surrogates = true;
+        }
+        return this;
+    }
+
+    /**
+     * Removes the code points in the given range.
+     *
+     * @param start The first index of the range, inclusive.
+     * @param end   The last index of the range, exclusive.
+     * @return This builder.
+     * @throws IndexOutOfBoundsException If the range is not within the builder.
+     */
+    public String32Builder delete(final int start, final int end) {
+        if (start < 0 || end > this.count || start > end) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + this.count);
+        }
+        if (start == end) {
+            return this;
+        }
+        ensureWritable(this.count, this.coder);
+        System.arraycopy(this.value, end, this.value, start, this.count - end);
+        this.count -= end - start;
+        return this;
+    }
+
+    /**
+     * Removes the code point at the given index.
+     *
+     * @param index The index of the code point.
+     * @return This builder.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than {@link #length()}.
+     */
+    public String32Builder deleteCodePointAt(final int index) {
+        checkIndex(index);
+        return delete(index, index + 1);
+    }
+
+    /**
+     * Sets the number of code points in the builder.
+     * <p>
+     * If the new length is less than the current length, the builder is truncated.
+     * If it is greater, the builder is padded with the code point <code>0</code>.
+     * </p>
+     *
+     * @param newLength The new length.
+     * @return This builder.
+     * @throws IllegalArgumentException If the new length is negative.
+     */
+    public String32Builder setLength(final int newLength) {
+        if (newLength < 0) {
+            throw new IllegalArgumentException("Length cannot be negative: " + newLength);
+        }
+        ensureWritable(newLength, this.coder);
+        for (int i = this.count; i < newLength; i++) {
+            String32Coder.put(this.value, this.coder, i, 0);
+        }
+        this.count = newLength;
+        return this;
+    }
+
+    /**
+     * Reverses the order of the code points in the builder.
+     *
+     * @return This builder.
+     */
+    public String32Builder reverse() {
+        ensureWritable(this.count, this.coder);
+        for (int i = 0, j = this.count - 1; i < j; i++, j--) {
+            int tmp = String32Coder.get(this.value, this.coder, i);
+            String32Coder.put(this.value, this.coder, i, String32Coder.get(this.value, this.coder, j));
+            String32Coder.put(this.value, this.coder, j, tmp);
+        }
+        return this;
+    }
+
+    /**
+     * Returns a <code>String32</code> object that contains the code points of the builder.
+     * <p>
+     * If the size of the backing array matches the length exactly, the backing array is handed over without copying it,
+     * and the builder copies it before its next modification.
+     * Otherwise, the code points are copied into an exactly sized backing array of the narrowest coder.
+     * </p>
+     *
+     * @return The built <code>String32</code> object.
+     */
+    public String32 build() {
+        if (this.count == 0) {
+            return String32.EMPTY;
+        }
+        if (this.surrogates && this.coder == String32Coder.UTF32) {
+            int[] combined = String32Coder.combineSurrogatePairs((int[]) this.value, 0, this.count);
+            if (combined != null) {
+                return new String32(combined, String32Coder.UTF32);
+            }
+        }
+        if (this.count == capacity()) {
+            this.shared = true;
+            return new String32(this.value, this.coder);
+        }
+        byte narrowest = String32Coder.coderOf(this.value, this.coder, 0, this.count);
+        return new String32(String32Coder.narrow(this.value, this.coder, 0, this.count, narrowest), narrowest);
+    }
+
+    /**
+     * Returns the code points of the builder as a {@link String}.
+     *
+     * @return The {@link String} representation of the builder.
+     */
+    @Override
+    public String toString() {
+        return String32Coder.toString(this.value, this.coder, 0, this.count);
+    }
+
+    /**
+     * Appends a range of Latin-1 code points.
+     *
+     * @param src    The Latin-1 code points.
+     * @param from   The index of the first code point.
+     * @param length The number of code points.
+     * @return This builder.
+     */
+    String32Builder appendLatin1(final byte[] src, final int from, final int length) {
+        ensureWritable(this.count + length, String32Coder.LATIN1);
+        String32Coder.copy(src, String32Coder.LATIN1, from, this.value, this.coder, this.count, length);
+        this.count += length;
+        return this;
+    }
+
+    /**
+     * Appends a checked range of a <code>String32</code> object.
+     *
+     * @param str   The <code>String32</code> object.
+     * @param start The first index of the range, inclusive.
+     * @param end   The last index of the range, exclusive.
+     * @return This builder.
+     */
+    private String32Builder append0(final String32 str, final int start, final int end) {
+        int len = end - start;
+        byte strCoder = narrowestCoder(str, start, end);
+        ensureWritable(this.count + len, strCoder);
+        String32Coder.copy(str.value(), str.coder(), str.offset() + start, this.value, this.coder, this.count, len);
+        this.count += len;
+        if (strCoder == String32Coder.UTF32) {
+            this.surrogates = true;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the narrowest coder that the builder needs to store the given range of a <code>String32</code> object.
+     * <p>
+     * The range is only scanned if the <code>String32</code> object uses a wider coder than the builder,
+     * so that appending a narrow view of a wide parent does not widen the builder.
+     * </p>
+     *
+     * @param str   The <code>String32</code> object.
+     * @param start The first index of the range, inclusive.
+     * @param end   The last index of the range, exclusive.
+     * @return The coder needed for the range.
+     */
+    private byte narrowestCoder(final String32 str, final int start, final int end) {
+        if (str.coder() <= this.coder) {
+            return str.coder();
+        }
+        return String32Coder.coderOf(str.value(), str.coder(), str.offset() + start, str.offset() + end);
+    }
+
+    /**
+     * Stores a code point whose coder fits into the current coder.
+     *
+     * @param index     The index.
+     * @param codePoint The code point.
+     * @param cpCoder   The coder of the code point.
+     */
+    private void store(final int index, final int codePoint, final byte cpCoder) {
+        String32Coder.put(this.value, this.coder, index, codePoint);
+        if (cpCoder == String32Coder.UTF32 && (codePoint >>> 16) == 0) {
+            this.surrogates = true;
+        }
+    }
+
+    /**
+     * Makes sure that the backing array is owned by the builder, can hold the given number of code points and uses at least the given coder.
+     * <p>
+     * The backing array grows to at least twice its size, so that a sequence of appends runs in amortized constant time.
+     * </p>
+     *
+     * @param minCapacity The minimum capacity.
+     * @param minCoder    The minimum coder.
+     * @throws OutOfMemoryError If the minimum capacity exceeds the maximum array length.
+     */
+    private void ensureWritable(final int minCapacity, final byte minCoder) {
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_LENGTH) {
+            throw new OutOfMemoryError("Required String32Builder capacity exceeds implementation limit");
+        }
+        byte newCoder = String32Coder.widest(this.coder, minCoder);
+        int oldCapacity = capacity();
+        if (!this.shared && newCoder == this.coder && minCapacity <= oldCapacity) {
+            return;
+        }
+        int newCapacity = oldCapacity;
+        if (minCapacity > oldCapacity) {
+            newCapacity = (int) Math.min(MAX_ARRAY_LENGTH, Math.max((long) oldCapacity * 2 + 2, minCapacity));
+        }
+        Object newValue = String32Coder.allocate(newCoder, newCapacity);
+        String32Coder.copy(this.value, this.coder, 0, newValue, newCoder, 0, this.count);
+        this.value = newValue;
+        this.coder = newCoder;
+        this.shared = false;
+    }
+
+    /**
+     * Checks that the given index refers to a code point of the builder.
+     *
+     * @param index The index.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than {@link #length()}.
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + this.count);
+        }
+    }
+
+    /**
+     * Checks that the given index is a valid insertion position.
+     *
+     * @param index The index.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than {@link #length()}.
+     */
+    private void checkPosition(final int index) {
+        if (index < 0 || index > this.count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + this.count);
+        }
+    }
+
+    /**
+     * Checks that the given code point is a valid Unicode code point.
+     *
+     * @param codePoint The code point.
+     * @throws IllegalArgumentException If the code point is not a valid Unicode code point.
+     */
+    private static void checkCodePoint(final int codePoint) {
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw new IllegalArgumentException("Invalid code point: " + codePoint);
+        }
+    }
+}
@@ -0,0 +1,604 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.splatgames.aether.datatypes.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Internal table-driven case mapping for {@link String32}.
+ * <p>
+ * The simple case mappings and the upper/lower case properties of every code point below <code>0x20000</code> are
+ * precomputed from {@link Character} into a two-stage table: the first stage maps each block of 256 code points to a
+ * deduplicated block of record numbers, and each record holds the lower and upper case deltas and case flags that many
+ * code points share. Blocks without cased code points all share a single block, so the tables stay small.
+ * ASCII code points are mapped arithmetically and never load the tables, and code points above the tables, which have no
+ * case mappings, are delegated to {@link Character}.
+ * </p>
+ * <p>
+ * The mappings reproduce {@link String#toLowerCase()}, {@link String#toUpperCase()}, {@link String#equalsIgnoreCase(String)}
+ * and {@link String#compareToIgnoreCase(String)} exactly. Code points whose full case mapping differs from their simple
+ * mapping, such as <code>'ß'</code>, <code>'İ'</code> and the context-sensitive final sigma, are flagged so that callers can
+ * fall back to the <code>String</code> conversion, as they must for the Turkish, Azerbaijani and Lithuanian default locales.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @see String32#toLowerCase()
+ * @see String32#toUpperCase()
+ * @see String32#equalsIgnoreCase(String32)
+ * @since 1.0.0
+ */
+final class String32Case {
+
+    /**
+     * The operation that maps code points to lower case.
+     */
+    static final int LOWER = 0;
+    /**
+     * The operation that maps code points to upper case.
+     */
+    static final int UPPER = 1;
+    /**
+     * The operation that maps upper case code points to lower case and lower case code points to upper case.
+     */
+    static final int INVERT = 2;
+
+    /**
+     * The folded form of every Latin-1 code point, see {@link #fold(int)}.
+     */
+    private static final int[] LATIN1_FOLD = new int[0x100];
+    /**
+     * The lower case mapping of every Latin-1 code point, which is always a Latin-1 code point.
+     */
+    private static final byte[] LATIN1_LOWER = new byte[0x100];
+
+    static {
+        for (int cp = 0; cp < LATIN1_FOLD.length; cp++) {
+            LATIN1_FOLD[cp] = Character.toLowerCase(Character.toUpperCase(cp));
+            LATIN1_LOWER[cp] = (byte) Character.toLowerCase(cp);
+        }
+    }
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private String32Case() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Returns <code>true</code> if the default locale has context-sensitive case mappings that the tables do not cover.
+     *
+     * @return <code>true</code> if the default locale is Turkish, Azerbaijani or Lithuanian, <code>false</code> otherwise.
+     */
+    static boolean isLocaleSensitive() {
+        String language = Locale.getDefault().getLanguage();
+        return "tr".equals(language) || "az".equals(language) || "lt".equals(language);
+    }
+
+    /**
+     * Returns the simple lower case mapping of the given code point, like {@link Character#toLowerCase(int)}.
+     *
+     * @param cp The code point.
+     * @return The lower case code point.
+     */
+    static int toLowerCase(final int cp) {
+        if (cp < 0x80) {
+            return cp >= 'A' && cp <= 'Z' ? cp + 0x20 : cp;
+        }
+        return Tables.map(LOWER, cp);
+    }
+
+    /**
+     * Returns the simple upper case mapping of the given code point, like {@link Character#toUpperCase(int)}.
+     *
+     * @param cp The code point.
+     * @return The upper case code point.
+     */
+    static int toUpperCase(final int cp) {
+        if (cp < 0x80) {
+            return cp >= 'a' && cp <= 'z' ? cp - 0x20 : cp;
+        }
+        return Tables.map(UPPER, cp);
+    }
+
+    /**
+     * Returns the case-folded form of the given code point, the lower case mapping of its upper case mapping.
+     * <p>
+     * Two code points are equal ignoring case in the sense of {@link String#equalsIgnoreCase(String)} exactly when their
+     * folded forms are equal.
+     * </p>
+     *
+     * @param cp The code point.
+     * @return The folded code point.
+     */
+    static int fold(final int cp) {
+        if (cp < 0x100) {
+            return LATIN1_FOLD[cp];
+        }
+        return toLowerCase(Tables.map(UPPER, cp));
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is upper case, like {@link Character#isUpperCase(int)}.
+     *
+     * @param cp The code point.
+     * @return <code>true</code> if the code point is upper case, <code>false</code> otherwise.
+     */
+    static boolean isUpperCase(final int cp) {
+        if (cp < 0x80) {
+            return cp >= 'A' && cp <= 'Z';
+        }
+        return Tables.hasFlag(cp, Tables.UPPER_CASE);
+    }
+
+    /**
+     * Returns <code>true</code> if the given code point is lower case, like {@link Character#isLowerCase(int)}.
+     *
+     * @param cp The code point.
+     * @return <code>true</code> if the code point is lower case, <code>false</code> otherwise.
+     */
+    static boolean isLowerCase(final int cp) {
+        if (cp < 0x80) {
+            return cp >= 'a' && cp <= 'z';
+        }
+        return Tables.hasFlag(cp, Tables.LOWER_CASE);
+    }
+
+    /**
+     * Returns <code>true</code> if {@link String} maps the given code point differently from its simple case mapping for
+     * the given operation, because the mapping has several code points or depends on the surrounding code points.
+     *
+     * @param cp The code point.
+     * @param op {@link #LOWER} or {@link #UPPER}.
+     * @return <code>true</code> if the code point needs the <code>String</code> conversion, <code>false</code> otherwise.
+     */
+    static boolean hasSpecialCasing(final int cp, final int op) {
+        if (cp < 0x80) {
+            return false;
+        }
+        return Tables.hasFlag(cp, op == LOWER ? Tables.SPECIAL_LOWER : Tables.SPECIAL_UPPER);
+    }
+
+    /**
+     * Maps the code points of the given <code>String32</code> object with the given operation.
+     * <p>
+     * The result has the coder of the source, widened only if a mapped code point needs it, and the source itself is
+     * returned if no code point changes. <code>null</code> is returned if a code point has a special case mapping for
+     * {@link #LOWER} or {@link #UPPER}, in which case the caller must convert through {@link String}.
+     * </p>
+     *
+     * @param str The <code>String32</code> object to map.
+     * @param op  {@link #LOWER}, {@link #UPPER} or {@link #INVERT}.
+     * @return The mapped <code>String32</code> object, or <code>null</code> if the tables cannot map it.
+     */
+    static String32 map(final String32 str, final int op) {
+        Object value = str.value();
+        byte coder = str.coder();
+        int offset = str.offset();
+        int length = str.length();
+        if (coder == String32Coder.LATIN1 && op == LOWER) {
+            return toLowerCaseLatin1(str, (byte[]) value, offset, length);
+        }
+        Object result = null;
+        byte resultCoder = coder;
+        for (int i = 0; i < length; i++) {
+            int cp = String32Coder.get(value, coder, offset + i);
+            int mapped = apply(op, cp);
+            if (mapped < 0) {
+                return null;
+            }
+            if (result == null) {
+                if (mapped == cp) {
+                    continue;
+                }
+                result = String32Coder.allocate(coder, length);
+                String32Coder.copy(value, coder, offset, result, coder, 0, i);
+            }
+            if (mapped != cp) {
+                byte needed = String32Coder.coderOf(mapped);
+                if (needed > resultCoder) {
+                    Object wider = String32Coder.allocate(needed, length);
+                    String32Coder.copy(result, resultCoder, 0, wider, needed, 0, i);
+                    result = wider;
+                    resultCoder = needed;
+                }
+            }
+            String32Coder.put(result, resultCoder, i, mapped);
+        }
+        return result == null ? str : new String32(result, resultCoder);
+    }
+
+    /**
+     * Maps a Latin-1 <code>String32</code> object to lower case, which never leaves Latin-1 and has no special case mappings.
+     *
+     * @param str    The <code>String32</code> object to map.
+     * @param value  The backing array of the object.
+     * @param offset The first index of the object in the backing array.
+     * @param length The length of the object.
+     * @return The mapped <code>String32</code> object, or the object itself if no code point changes.
+     */
+    private static String32 toLowerCaseLatin1(final String32 str, final byte[] value, final int offset, final int length) {
+        int first = 0;
+        while (first < length && LATIN1_LOWER[value[offset + first] & 0xFF] == value[offset + first]) {
+            first++;
+        }
+        if (first == length) {
+            return str;
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(value, offset, result, 0, first);
+        for (int i = first; i < length; i++) {
+            result[i] = LATIN1_LOWER[value[offset + i] & 0xFF];
+        }
+        return new String32(result, String32Coder.LATIN1);
+    }
+
+    /**
+     * Returns <code>true</code> if the two <code>String32</code> objects are equal ignoring case, with the semantics of
+     * {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param a The first <code>String32</code> object.
+     * @param b The second <code>String32</code> object.
+     * @return <code>true</code> if both objects are equal ignoring case, <code>false</code> otherwise.
+     */
+    static boolean equalsIgnoreCase(final String32 a, final String32 b) {
+        if (a == b) {
+            return true;
+        }
+        int length = a.length();
+        if (length != b.length()) {
+            return false;
+        }
+        if (a.coder() == String32Coder.LATIN1 && b.coder() == String32Coder.LATIN1) {
+            byte[] x = (byte[]) a.value();
+            byte[] y = (byte[]) b.value();
+            int xOffset = a.offset();
+            int yOffset = b.offset();
+            for (int i = 0; i < length; i++) {
+                int p = x[xOffset + i] & 0xFF;
+                int q = y[yOffset + i] & 0xFF;
+                if (p != q && LATIN1_FOLD[p] != LATIN1_FOLD[q]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            int x = a.codePointAt0(i);
+            int y = b.codePointAt0(i);
+            if (x != y && fold(x) != fold(y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code of the folded code points of the given <code>String32</code> object.
+     * <p>
+     * Objects that are {@link #equalsIgnoreCase(String32, String32) equal ignoring case} have the same folded hash code.
+     * The hash combines the folded code points in the same way as {@link String32#hashCode()}.
+     * </p>
+     *
+     * @param str The <code>String32</code> object.
+     * @return The folded hash code.
+     */
+    static int foldedHash(final String32 str) {
+        int length = str.length();
+        int h = 0;
+        if (str.coder() == String32Coder.LATIN1) {
+            byte[] value = (byte[]) str.value();
+            int offset = str.offset();
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + LATIN1_FOLD[value[offset + i] & 0xFF];
+            }
+            return h;
+        }
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + fold(str.codePointAt0(i));
+        }
+        return h;
+    }
+
+    /**
+     * Compares the two <code>String32</code> objects ignoring case, with the semantics of
+     * {@link String#compareToIgnoreCase(String)}.
+     *
+     * @param a The first <code>String32</code> object.
+     * @param b The second <code>String32</code> object.
+     * @return A negative integer, zero, or a positive integer as the first object is less than, equal to, or greater than
+     * the second object, ignoring case.
+     */
+    static int compareIgnoreCase(final String32 a, final String32 b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            int x = a.codePointAt0(i);
+            int y = b.codePointAt0(i);
+            if (x != y) {
+                x = fold(x);
+                y = fold(y);
+                if (x != y) {
+                    return x - y;
+                }
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    /**
+     * Applies the given operation to a single code point.
+     *
+     * @param op {@link #LOWER}, {@link #UPPER} or {@link #INVERT}.
+     * @param cp The code point.
+     * @return The mapped code point, or <code>-1</code> if the code point has a special case mapping for the operation.
+     */
+    static int apply(final int op, final int cp) {
+        if (cp < 0x80) {
+            boolean upper = cp >= 'A' && cp <= 'Z';
+            boolean lower = cp >= 'a' && cp <= 'z';
+            switch (op) {
+                case LOWER:
+                    return upper ? cp + 0x20 : cp;
+                case UPPER:
+                    return lower ? cp - 0x20 : cp;
+                default:
+                    return upper ? cp + 0x20 : lower ? cp - 0x20 : cp;
+            }
+        }
+        return Tables.apply(op, cp);
+    }
+
+    /**
+     * Holder of the case tables, so that ASCII-only case mapping never builds them.
+     */
+    private static final class Tables {
+
+        /**
+         * The flag of upper case code points.
+         */
+        static final byte UPPER_CASE = 1;
+        /**
+         * The flag of lower case code points.
+         */
+        static final byte LOWER_CASE = 2;
+        /**
+         * The flag of code points whose lower case mapping in {@link String#toLowerCase(Locale)} is not their simple mapping.
+         */
+        static final byte SPECIAL_LOWER = 4;
+        /**
+         * The flag of code points whose upper case mapping in {@link String#toUpperCase(Locale)} is not their simple mapping.
+         */
+        static final byte SPECIAL_UPPER = 8;
+
+        /**
+         * The first code point that is not covered by the tables. No code point at or above it has a case mapping.
+         */
+        private static final int LIMIT = 0x20000;
+        /**
+         * The number of low code point bits that select an entry within a block.
+         */
+        private static final int BLOCK_SHIFT = 8;
+        /**
+         * The number of entries in a block.
+         */
+        private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+        /**
+         * The first stage: the start of the block of record numbers for each block of code points.
+         */
+        private static final int[] INDEX = new int[LIMIT >>> BLOCK_SHIFT];
+        /**
+         * The second stage: the deduplicated blocks of record numbers.
+         */
+        private static final char[] BLOCKS;
+        /**
+         * The lower case delta of each record.
+         */
+        private static final int[] LOWER_DELTA;
+        /**
+         * The upper case delta of each record.
+         */
+        private static final int[] UPPER_DELTA;
+        /**
+         * The case flags of each record.
+         */
+        private static final byte[] FLAGS;
+
+        static {
+            Map<Long, Integer> records = new HashMap<>();
+            Map<String, Integer> blocks = new HashMap<>();
+            int[] lowerDelta = new int[64];
+            int[] upperDelta = new int[64];
+            byte[] flags = new byte[64];
+            char[] data = new char[BLOCK_SIZE * 16];
+            char[] block = new char[BLOCK_SIZE];
+            long lastKey = -1;
+            int lastRecord = 0;
+            for (int b = 0; b < INDEX.length; b++) {
+                for (int j = 0; j < BLOCK_SIZE; j++) {
+                    int cp = b << BLOCK_SHIFT | j;
+                    int lower = Character.toLowerCase(cp) - cp;
+                    int upper = Character.toUpperCase(cp) - cp;
+                    byte flag = flagsOf(cp);
+                    long key = (lower & 0x3FFFFFL) << 30 | (upper & 0x3FFFFFL) << 8 | flag;
+                    if (key == lastKey) {
+                        block[j] = (char) lastRecord;
+                        continue;
+                    }
+                    Integer record = records.get(key);
+                    if (record == null) {
+                        record = records.size();
+                        if (record == flags.length) {
+                            lowerDelta = Arrays.copyOf(lowerDelta, record * 2);
+                            upperDelta = Arrays.copyOf(upperDelta, record * 2);
+                            flags = Arrays.copyOf(flags, record * 2);
+                        }
+                        lowerDelta[record] = lower;
+                        upperDelta[record] = upper;
+                        flags[record] = flag;
+                        records.put(key, record);
+                    }
+                    lastKey = key;
+                    lastRecord = record;
+                    block[j] = (char) lastRecord;
+                }
+                String content = new String(block);
+                Integer start = blocks.get(content);
+                if (start == null) {
+                    start = blocks.size() * BLOCK_SIZE;
+                    if (start == data.length) {
+                        data = Arrays.copyOf(data, start * 2);
+                    }
+                    System.arraycopy(block, 0, data, start, BLOCK_SIZE);
+                    blocks.put(content, start);
+                }
+                INDEX[b] = start;
+            }
+            BLOCKS = Arrays.copyOf(data, blocks.size() * BLOCK_SIZE);
+            LOWER_DELTA = Arrays.copyOf(lowerDelta, records.size());
+            UPPER_DELTA = Arrays.copyOf(upperDelta, records.size());
+            FLAGS = Arrays.copyOf(flags, records.size());
+        }
+
+        /**
+         * Prevent instantiation of this holder class.
+         */
+        private Tables() {
+            throw new UnsupportedOperationException("Utility class cannot be instantiated");
+        }
+
+        /**
+         * Computes the case flags of the given code point from {@link Character} and {@link String}.
+         *
+         * @param cp The code point.
+         * @return The case flags.
+         */
+        private static byte flagsOf(final int cp) {
+            boolean upper = Character.isUpperCase(cp);
+            boolean lower = Character.isLowerCase(cp);
+            byte flag = (byte) ((upper ? UPPER_CASE : 0) | (lower ? LOWER_CASE : 0));
+            if (upper || lower || Character.isTitleCase(cp)) {
+                String str = new String(Character.toChars(cp));
+                if (!isSingle(str.toLowerCase(Locale.ROOT), Character.toLowerCase(cp))) {
+                    flag |= SPECIAL_LOWER;
+                }
+                if (!isSingle(str.toUpperCase(Locale.ROOT), Character.toUpperCase(cp))) {
+                    flag |= SPECIAL_UPPER;
+                }
+            }
+            if (cp == '\u03A3') {
+                // The capital sigma lowers to the final sigma at the end of a word.
+                flag |= SPECIAL_LOWER;
+            }
+            return flag;
+        }
+
+        /**
+         * Returns <code>true</code> if the given string consists of exactly the given code point.
+         *
+         * @param str The string.
+         * @param cp  The code point.
+         * @return <code>true</code> if the string is the single code point, <code>false</code> otherwise.
+         */
+        private static boolean isSingle(final String str, final int cp) {
+            return str.length() == Character.charCount(cp) && str.codePointAt(0) == cp;
+        }
+
+        /**
+         * Returns the table record of the given code point, which must be below {@link #LIMIT}.
+         *
+         * @param cp The code point.
+         * @return The record number.
+         */
+        private static int record(final int cp) {
+            return BLOCKS[INDEX[cp >>> BLOCK_SHIFT] | cp & (BLOCK_SIZE - 1)];
+        }
+
+        /**
+         * Returns the simple lower or upper case mapping of the given code point.
+         *
+         * @param op {@link #LOWER} or {@link #UPPER}.
+         * @param cp The code point.
+         * @return The mapped code point.
+         */
+        static int map(final int op, final int cp) {
+            if ((cp >>> 17) != 0) {
+                return op == LOWER ? Character.toLowerCase(cp) : Character.toUpperCase(cp);
+            }
+            int record = record(cp);
+            return cp + (op == LOWER ? LOWER_DELTA[record] : UPPER_DELTA[record]);
+        }
+
+        /**
+         * Returns <code>true</code> if the given code point has the given flag.
+         *
+         * @param cp   The code point.
+         * @param flag The flag.
+         * @return <code>true</code> if the code point has the flag, <code>false</code> otherwise.
+         */
+        static boolean hasFlag(final int cp, final byte flag) {
+            if ((cp >>> 17) != 0) {
+                return flag == UPPER_CASE ? Character.isUpperCase(cp) : flag == LOWER_CASE && Character.isLowerCase(cp);
+            }
+            return (FLAGS[record(cp)] & flag) != 0;
+        }
+
+        /**
+         * Applies the given operation to a code point that is not ASCII.
+         *
+         * @param op {@link #LOWER}, {@link #UPPER} or {@link #INVERT}.
+         * @param cp The code point.
+         * @return The mapped code point, or <code>-1</code> if the code point has a special case mapping for the operation.
+         */
+        static int apply(final int op, final int cp) {
+            if ((cp >>> 17) != 0) {
+                switch (op) {
+                    case LOWER:
+                        return Character.toLowerCase(cp);
+                    case UPPER:
+                        return Character.toUpperCase(cp);
+                    default:
+                        return Character.isUpperCase(cp) ? Character.toLowerCase(cp)
+                                : Character.isLowerCase(cp) ? Character.toUpperCase(cp) : cp;
+                }
+            }
+            int record = record(cp);
+            byte flag = FLAGS[record];
+            switch (op) {
+                case LOWER:
+                    return (flag & SPECIAL_LOWER) != 0 ? -1 : cp + LOWER_DELTA[record];
+                case UPPER:
+                    return (flag & SPECIAL_UPPER) != 0 ? -1 : cp + UPPER_DELTA[record];
+                default:
+                    if ((flag & UPPER_CASE) != 0) {
+                        return cp + LOWER_DELTA[record];
+                    }
+                    return (flag & LOWER_CASE) != 0 ? cp + UPPER_DELTA[record] : cp;
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+/**
+ * A read-only UTF-16 {@link CharSequence} view of a <code>String32</code>.
+ * <p>
+ * A <code>String32</code> stored in a {@code byte[]} or a {@code char[]} contains no surrogates,
+ * so its code points already are its UTF-16 chars, and the view reads them straight from the backing array.
+ * A <code>String32</code> stored in an {@code int[]} is viewed through its {@link String32#toString() cached String}, or,
+ * if the cache is disabled, through a view that encodes it once, on its first access, and keeps the result.
+ * </p>
+ * <p>
+ * The view lets {@link java.util.regex.Pattern} and other {@link CharSequence} consumers read a <code>String32</code>
+ * without creating a {@link String} first.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote This class is immutable and thread-safe.
+ * @see String32#asCharSequence()
+ * @since 1.0.0
+ */
+final class String32CharSequence implements CharSequence {
+
+    /**
+     * The backing array, either a {@code byte[]} or a {@code char[]}.
+     */
+    private final Object value;
+    /**
+     * Whether the {@link #value backing array} is a {@code byte[]} of Latin-1 chars.
+     */
+    private final boolean latin1;
+    /**
+     * The index of the first char in the {@link #value backing array}.
+     */
+    private final int offset;
+    /**
+     * The number of chars.
+     */
+    private final int length;
+
+    /**
+     * Constructs a new view of a range of the given backing array.
+     *
+     * @param value  The backing array, either a {@code byte[]} or a {@code char[]}.
+     * @param latin1 Whether the backing array is a {@code byte[]}.
+     * @param offset The index of the first char.
+     * @param length The number of chars.
+     */
+    private String32CharSequence(final Object value, final boolean latin1, final int offset, final int length) {
+        this.value = value;
+        this.latin1 = latin1;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns a UTF-16 view of the given <code>String32</code>.
+     *
+     * @param str The <code>String32</code>.
+     * @return The view.
+     */
+    static CharSequence of(final String32 str) {
+        switch (str.coder()) {
+            case String32Coder.LATIN1:
+                return new String32CharSequence(str.value(), true, str.offset(), str.length());
+            case String32Coder.UTF16:
+                return new String32CharSequence(str.value(), false, str.offset(), str.length());
+            default:
+                return String32.STRING_CACHE ? str.toString() : new Deferred(str);
+        }
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + this.length);
+        }
+        if (this.latin1) {
+            return (char) (((byte[]) this.value)[this.offset + index] & 0xFF);
+        }
+        return ((char[]) this.value)[this.offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > this.length || start > end) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + this.length);
+        }
+        if (start == 0 && end == this.length) {
+            return this;
+        }
+        return new String32CharSequence(this.value, this.latin1, this.offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return String32Coder.toString(this.value, this.latin1 ? String32Coder.LATIN1 : String32Coder.UTF16, this.offset, this.length);
+    }
+
+    /**
+     * A UTF-16 view of a <code>String32</code> stored in an {@code int[]}, used when {@link String32#toString()} does not cache.
+     * <p>
+     * Only the length is computed when the view is created. The code points are encoded on the first access and the
+     * resulting {@link String}, which is safely published through its final fields, serves all later accesses.
+     * </p>
+     */
+    private static final class Deferred implements CharSequence {
+
+        /**
+         * The viewed <code>String32</code>.
+         */
+        private final String32 source;
+        /**
+         * The number of chars.
+         */
+        private final int length;
+        /**
+         * The encoded chars, or <code>null</code> before the first access.
+         */
+        private String encoded;
+
+        /**
+         * Constructs a new view of the given <code>String32</code>.
+         *
+         * @param source The <code>String32</code>, stored in an {@code int[]}.
+         */
+        Deferred(final String32 source) {
+            int[] cps = (int[]) source.value();
+            int from = source.offset();
+            int to = from + source.length();
+            int charCount = source.length();
+            for (int i = from; i < to; i++) {
+                if (Character.isSupplementaryCodePoint(cps[i])) {
+                    charCount++;
+                }
+            }
+            this.source = source;
+            this.length = charCount;
+        }
+
+        @Override
+        public int length() {
+            return this.length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return encoded().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return encoded().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return encoded();
+        }
+
+        /**
+         * Returns the encoded chars, encoding them on the first call.
+         *
+         * @return The encoded chars.
+         */
+        private String encoded() {
+            String str = this.encoded;
+            if (str == null) {
+                str = this.source.toString();
+                this.encoded = str;
+            }
+            return str;
+        }
+    }
+}
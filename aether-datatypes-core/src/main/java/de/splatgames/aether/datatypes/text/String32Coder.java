@@ -0,0 +1,693 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Internal helper for the tiered backing storage of {@link String32}.
+ * <p>
+ * A <code>String32</code> stores its code points in the narrowest array type that can hold all of them.
+ * The array type is identified by a <i>coder</i>:
+ * </p>
+ * <ul>
+ *     <li>{@link #LATIN1}: a {@code byte[]}, used when every code point is at most <code>0xFF</code>.</li>
+ *     <li>{@link #UTF16}: a {@code char[]}, used when every code point is in the BMP and no code point is a surrogate.</li>
+ *     <li>{@link #UTF32}: an {@code int[]}, used for everything else.</li>
+ * </ul>
+ * <p>
+ * All methods in this class are unchecked: callers are responsible for passing matching value/coder pairs and valid indices.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @see String32
+ * @since 1.0.0
+ */
+final class String32Coder {
+
+    /**
+     * The coder for a {@code byte[]} holding code points in the range <code>0x00</code> to <code>0xFF</code>.
+     */
+    static final byte LATIN1 = 0;
+    /**
+     * The coder for a {@code char[]} holding BMP code points that are not surrogates.
+     */
+    static final byte UTF16 = 1;
+    /**
+     * The coder for an {@code int[]} holding arbitrary code points.
+     */
+    static final byte UTF32 = 2;
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private String32Coder() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Returns the narrowest coder that can store the given code point.
+     *
+     * @param cp The code point.
+     * @return The narrowest coder for the code point.
+     */
+    static byte coderOf(final int cp) {
+        if ((cp >>> 8) == 0) {
+            return LATIN1;
+        }
+        if ((cp >>> 16) == 0 && !Character.isSurrogate((char) cp)) {
+            return UTF16;
+        }
+        return UTF32;
+    }
+
+    /**
+     * Returns the narrowest coder that can store all code points of the given range.
+     *
+     * @param cps  The code points.
+     * @param from The first index, inclusive.
+     * @param to   The last index, exclusive.
+     * @return The narrowest coder for the range.
+     */
+    static byte coderOf(final int[] cps, final int from, final int to) {
+        byte coder = LATIN1;
+        for (int i = from; i < to; i++) {
+            int cp = cps[i];
+            if ((cp >>> 8) != 0) {
+                if ((cp >>> 16) != 0 || Character.isSurrogate((char) cp)) {
+                    return UTF32;
+                }
+                coder = UTF16;
+            }
+        }
+        return coder;
+    }
+
+    /**
+     * Returns the narrowest coder that can store all code points of the given {@link String}.
+     * <p>
+     * A {@link String} containing any surrogate (paired or unpaired) always requires {@link #UTF32}.
+     * </p>
+     *
+     * @param input The {@link String}.
+     * @return The narrowest coder for the {@link String}.
+     */
+    static byte coderOf(final String input) {
+        byte coder = LATIN1;
+        for (int i = 0, n = input.length(); i < n; i++) {
+            char c = input.charAt(i);
+            if (c > 0xFF) {
+                if (Character.isSurrogate(c)) {
+                    return UTF32;
+                }
+                coder = UTF16;
+            }
+        }
+        return coder;
+    }
+
+    /**
+     * Returns the narrowest coder that can store all code points of the given stored range.
+     *
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param from  The first index, inclusive.
+     * @param to    The last index, exclusive.
+     * @return The narrowest coder for the range.
+     */
+    static byte coderOf(final Object value, final byte coder, final int from, final int to) {
+        switch (coder) {
+            case LATIN1:
+                return LATIN1;
+            case UTF16: {
+                char[] chars = (char[]) value;
+                for (int i = from; i < to; i++) {
+                    if (chars[i] > 0xFF) {
+                        return UTF16;
+                    }
+                }
+                return LATIN1;
+            }
+            default:
+                return coderOf((int[]) value, from, to);
+        }
+    }
+
+    /**
+     * Returns the wider of the two given coders.
+     *
+     * @param a The first coder.
+     * @param b The second coder.
+     * @return The wider coder.
+     */
+    static byte widest(final byte a, final byte b) {
+        return a > b ? a : b;
+    }
+
+    /**
+     * Allocates a new backing array for the given coder.
+     *
+     * @param coder  The coder.
+     * @param length The length of the array.
+     * @return The new backing array.
+     */
+    static Object allocate(final byte coder, final int length) {
+        switch (coder) {
+            case LATIN1:
+                return new byte[length];
+            case UTF16:
+                return new char[length];
+            default:
+                return new int[length];
+        }
+    }
+
+    /**
+     * Returns the number of elements of the given backing array.
+     *
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @return The number of elements.
+     */
+    static int capacity(final Object value, final byte coder) {
+        switch (coder) {
+            case LATIN1:
+                return ((byte[]) value).length;
+            case UTF16:
+                return ((char[]) value).length;
+            default:
+                return ((int[]) value).length;
+        }
+    }
+
+    /**
+     * Returns the code point stored at the given index.
+     *
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param index The index.
+     * @return The code point at the index.
+     */
+    static int get(final Object value, final byte coder, final int index) {
+        switch (coder) {
+            case LATIN1:
+                return ((byte[]) value)[index] & 0xFF;
+            case UTF16:
+                return ((char[]) value)[index];
+            default:
+                return ((int[]) value)[index];
+        }
+    }
+
+    /**
+     * Stores the code point at the given index.
+     * <p>
+     * The code point must fit into the given coder.
+     * </p>
+     *
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param index The index.
+     * @param cp    The code point to store.
+     */
+    static void put(final Object value, final byte coder, final int index, final int cp) {
+        switch (coder) {
+            case LATIN1:
+                ((byte[]) value)[index] = (byte) cp;
+                break;
+            case UTF16:
+                ((char[]) value)[index] = (char) cp;
+                break;
+            default:
+                ((int[]) value)[index] = cp;
+                break;
+        }
+    }
+
+    /**
+     * Encodes a range of code points into a new backing array of the given coder.
+     *
+     * @param cps    The code points.
+     * @param from   The first index, inclusive.
+     * @param length The number of code points.
+     * @param coder  The target coder, which must be able to store every code point of the range.
+     * @return The new backing array.
+     */
+    static Object encode(final int[] cps, final int from, final int length, final byte coder) {
+        switch (coder) {
+            case LATIN1: {
+                byte[] bytes = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    bytes[i] = (byte) cps[from + i];
+                }
+                return bytes;
+            }
+            case UTF16: {
+                char[] chars = new char[length];
+                for (int i = 0; i < length; i++) {
+                    chars[i] = (char) cps[from + i];
+                }
+                return chars;
+            }
+            default:
+                return Arrays.copyOfRange(cps, from, from + length);
+        }
+    }
+
+    /**
+     * Encodes the code points of the given {@link String} into a new backing array of the given coder.
+     *
+     * @param input The {@link String}.
+     * @param coder The target coder, as returned by {@link #coderOf(String)}.
+     * @return The new backing array.
+     */
+    static Object encode(final String input, final byte coder) {
+        switch (coder) {
+            case LATIN1: {
+                byte[] bytes = new byte[input.length()];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = (byte) input.charAt(i);
+                }
+                return bytes;
+            }
+            case UTF16:
+                return input.toCharArray();
+            default:
+                return input.codePoints().toArray();
+        }
+    }
+
+    /**
+     * Copies a stored range into a new backing array of the same coder.
+     *
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param from  The first index, inclusive.
+     * @param to    The last index, exclusive.
+     * @return The new backing array.
+     */
+    static Object copyOfRange(final Object value, final byte coder, final int from, final int to) {
+        switch (coder) {
+            case LATIN1:
+                return Arrays.copyOfRange((byte[]) value, from, to);
+            case UTF16:
+                return Arrays.copyOfRange((char[]) value, from, to);
+            default:
+                return Arrays.copyOfRange((int[]) value, from, to);
+        }
+    }
+
+    /**
+     * Copies a stored range into a new backing array of a coder that is at least as narrow as the source coder.
+     *
+     * @param value       The backing array.
+     * @param coder       The coder of the backing array.
+     * @param from        The first index, inclusive.
+     * @param to          The last index, exclusive.
+     * @param targetCoder The target coder, which must be able to store every code point of the range.
+     * @return The new backing array.
+     */
+    static Object narrow(final Object value, final byte coder, final int from, final int to, final byte targetCoder) {
+        if (coder == targetCoder) {
+            return copyOfRange(value, coder, from, to);
+        }
+        Object out = allocate(targetCoder, to - from);
+        for (int i = from; i < to; i++) {
+            put(out, targetCoder, i - from, get(value, coder, i));
+        }
+        return out;
+    }
+
+    /**
+     * Copies a stored range into the given {@code int[]}, widening every code point to <code>32-bit</code>.
+     *
+     * @param value  The backing array.
+     * @param coder  The coder of the backing array.
+     * @param from   The first index, inclusive.
+     * @param dst    The destination array.
+     * @param dstPos The first destination index.
+     * @param length The number of code points to copy.
+     */
+    static void inflate(final Object value, final byte coder, final int from, final int[] dst, final int dstPos, final int length) {
+        switch (coder) {
+            case LATIN1: {
+                byte[] bytes = (byte[]) value;
+                for (int i = 0; i < length; i++) {
+                    dst[dstPos + i] = bytes[from + i] & 0xFF;
+                }
+                break;
+            }
+            case UTF16: {
+                char[] chars = (char[]) value;
+                for (int i = 0; i < length; i++) {
+                    dst[dstPos + i] = chars[from + i];
+                }
+                break;
+            }
+            default:
+                System.arraycopy(value, from, dst, dstPos, length);
+                break;
+        }
+    }
+
+    /**
+     * Copies a stored range into another backing array whose coder is at least as wide as the source coder.
+     *
+     * @param src      The source backing array.
+     * @param srcCoder The coder of the source backing array.
+     * @param srcPos   The first source index.
+     * @param dst      The destination backing array.
+     * @param dstCoder The coder of the destination backing array.
+     * @param dstPos   The first destination index.
+     * @param length   The number of code points to copy.
+     */
+    static void copy(final Object src, final byte srcCoder, final int srcPos,
+                     final Object dst, final byte dstCoder, final int dstPos, final int length) {
+        if (srcCoder == dstCoder) {
+            System.arraycopy(src, srcPos, dst, dstPos, length);
+            return;
+        }
+        if (dstCoder == UTF32) {
+            inflate(src, srcCoder, srcPos, (int[]) dst, dstPos, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            put(dst, dstCoder, dstPos + i, get(src, srcCoder, srcPos + i));
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the two stored ranges contain the same code points.
+     * <p>
+     * Ranges of the same coder are compared with the vectorized {@link Arrays#equals(int[], int, int, int[], int, int)} family.
+     * Ranges of different coders are compared by the {@link String32Kernels} without widening either side.
+     * </p>
+     *
+     * @param a       The first backing array.
+     * @param aCoder  The coder of the first backing array.
+     * @param aFrom   The first index of the first range.
+     * @param b       The second backing array.
+     * @param bCoder  The coder of the second backing array.
+     * @param bFrom   The first index of the second range.
+     * @param length  The number of code points to compare.
+     * @return <code>true</code> if both ranges contain the same code points, <code>false</code> otherwise.
+     */
+    static boolean equals(final Object a, final byte aCoder, final int aFrom,
+                          final Object b, final byte bCoder, final int bFrom, final int length) {
+        if (aCoder == bCoder) {
+            switch (aCoder) {
+                case LATIN1:
+                    return Arrays.equals((byte[]) a, aFrom, aFrom + length, (byte[]) b, bFrom, bFrom + length);
+                case UTF16:
+                    return Arrays.equals((char[]) a, aFrom, aFrom + length, (char[]) b, bFrom, bFrom + length);
+                default:
+                    return Arrays.equals((int[]) a, aFrom, aFrom + length, (int[]) b, bFrom, bFrom + length);
+            }
+        }
+        return mismatch(a, aCoder, aFrom, b, bCoder, bFrom, length) < 0;
+    }
+
+    /**
+     * Compares the two stored ranges lexicographically by code point.
+     *
+     * @param a       The first backing array.
+     * @param aCoder  The coder of the first backing array.
+     * @param aFrom   The first index of the first range.
+     * @param aLength The length of the first range.
+     * @param b       The second backing array.
+     * @param bCoder  The coder of the second backing array.
+     * @param bFrom   The first index of the second range.
+     * @param bLength The length of the second range.
+     * @return A negative integer, zero, or a positive integer as the first range is less than, equal to, or greater than the second range.
+     */
+    static int compare(final Object a, final byte aCoder, final int aFrom, final int aLength,
+                       final Object b, final byte bCoder, final int bFrom, final int bLength) {
+        int minLength = Math.min(aLength, bLength);
+        if (aCoder == bCoder) {
+            int i;
+            switch (aCoder) {
+                case LATIN1:
+                    i = Arrays.mismatch((byte[]) a, aFrom, aFrom + minLength, (byte[]) b, bFrom, bFrom + minLength);
+                    break;
+                case UTF16:
+                    i = Arrays.mismatch((char[]) a, aFrom, aFrom + minLength, (char[]) b, bFrom, bFrom + minLength);
+                    break;
+                default:
+                    i = Arrays.mismatch((int[]) a, aFrom, aFrom + minLength, (int[]) b, bFrom, bFrom + minLength);
+                    break;
+            }
+            if (i >= 0) {
+                return Integer.compare(get(a, aCoder, aFrom + i), get(b, bCoder, bFrom + i));
+            }
+            return aLength - bLength;
+        }
+        int i = mismatch(a, aCoder, aFrom, b, bCoder, bFrom, minLength);
+        if (i >= 0) {
+            return Integer.compare(get(a, aCoder, aFrom + i), get(b, bCoder, bFrom + i));
+        }
+        return aLength - bLength;
+    }
+
+    /**
+     * Returns the relative index of the first code point that differs between two stored ranges of different coders.
+     *
+     * @param a      The first backing array.
+     * @param aCoder The coder of the first backing array.
+     * @param aFrom  The first index of the first range.
+     * @param b      The second backing array.
+     * @param bCoder The coder of the second backing array, different from <code>aCoder</code>.
+     * @param bFrom  The first index of the second range.
+     * @param length The number of code points to compare.
+     * @return The relative index of the first mismatch, or <code>-1</code> if both ranges are equal.
+     */
+    private static int mismatch(final Object a, final byte aCoder, final int aFrom,
+                                final Object b, final byte bCoder, final int bFrom, final int length) {
+        if (aCoder > bCoder) {
+            return mismatch(b, bCoder, bFrom, a, aCoder, aFrom, length);
+        }
+        String32Kernels kernels = String32Kernels.INSTANCE;
+        if (aCoder == LATIN1) {
+            return bCoder == UTF16
+                    ? kernels.mismatch((byte[]) a, aFrom, (char[]) b, bFrom, length)
+                    : kernels.mismatch((byte[]) a, aFrom, (int[]) b, bFrom, length);
+        }
+        return kernels.mismatch((char[]) a, aFrom, (int[]) b, bFrom, length);
+    }
+
+    /**
+     * Returns the polynomial hash code of the stored range.
+     * <p>
+     * The result is the same as {@link Arrays#hashCode(int[])} of the widened code points, independent of the coder.
+     * </p>
+     *
+     * @param value  The backing array.
+     * @param coder  The coder of the backing array.
+     * @param from   The first index, inclusive.
+     * @param length The number of code points.
+     * @return The hash code of the range.
+     */
+    static int hash(final Object value, final byte coder, final int from, final int length) {
+        switch (coder) {
+            case LATIN1:
+                return String32Kernels.INSTANCE.hash(1, (byte[]) value, from, length);
+            case UTF16:
+                return String32Kernels.INSTANCE.hash(1, (char[]) value, from, length);
+            default:
+                return String32Kernels.INSTANCE.hash(1, (int[]) value, from, length);
+        }
+    }
+
+    /**
+     * Decodes the stored range into a new UTF-16 {@link String}.
+     *
+     * @param value  The backing array.
+     * @param coder  The coder of the backing array.
+     * @param from   The first index, inclusive.
+     * @param length The number of code points.
+     * @return The decoded {@link String}.
+     */
+    static String toString(final Object value, final byte coder, final int from, final int length) {
+        switch (coder) {
+            case LATIN1:
+                return new String((byte[]) value, from, length, StandardCharsets.ISO_8859_1);
+            case UTF16:
+                return new String((char[]) value, from, length);
+            default:
+                return new String((int[]) value, from, length);
+        }
+    }
+
+    /**
+     * Combines every high surrogate that is immediately followed by a low surrogate into one supplementary code point.
+     * <p>
+     * The pairs are combined from left to right, the same as {@link String#codePoints()} decodes a {@link String}.
+     * This keeps the code points of a <code>String32</code> identical to the code points of its {@link String} form.
+     * </p>
+     *
+     * @param cps    The code points.
+     * @param from   The first index, inclusive.
+     * @param length The number of code points.
+     * @return A new {@code int[]} with the combined code points, or <code>null</code> if the range contains no surrogate pair.
+     */
+    static int[] combineSurrogatePairs(final int[] cps, final int from, final int length) {
+        int end = from + length;
+        int first = -1;
+        for (int i = from; i < end - 1; i++) {
+            if (Character.isHighSurrogate((char) cps[i]) && (cps[i] >>> 16) == 0
+                    && Character.isLowSurrogate((char) cps[i + 1]) && (cps[i + 1] >>> 16) == 0) {
+                first = i;
+                break;
+            }
+        }
+        if (first < 0) {
+            return null;
+        }
+        int[] out = new int[length - 1];
+        int n = first - from;
+        System.arraycopy(cps, from, out, 0, n);
+        for (int i = first; i < end; i++) {
+            int cp = cps[i];
+            if (i + 1 < end && Character.isHighSurrogate((char) cp) && (cp >>> 16) == 0
+                    && Character.isLowSurrogate((char) cps[i + 1]) && (cps[i + 1] >>> 16) == 0) {
+                cp = Character.toCodePoint((char) cp, (char) cps[i + 1]);
+                i++;
+            }
+            out[n++] = cp;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * The first prime of the xxHash64 algorithm.
+     */
+    private static final long XXH_PRIME64_1 = 0x9E3779B185EBCA87L;
+    /**
+     * The second prime of the xxHash64 algorithm.
+     */
+    private static final long XXH_PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    /**
+     * The third prime of the xxHash64 algorithm.
+     */
+    private static final long XXH_PRIME64_3 = 0x165667B19E3779F9L;
+    /**
+     * The fourth prime of the xxHash64 algorithm.
+     */
+    private static final long XXH_PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    /**
+     * The fifth prime of the xxHash64 algorithm.
+     */
+    private static final long XXH_PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    /**
+     * Returns the seeded xxHash64 of the stored range.
+     * <p>
+     * The code points are hashed as if they were encoded in UTF-32LE,
+     * so the result equals the xxHash64 of {@code utf32le(range)} and does not depend on the coder.
+     * Two consecutive code points form one <code>64-bit</code> little-endian lane.
+     * </p>
+     *
+     * @param value  The backing array.
+     * @param coder  The coder of the backing array.
+     * @param from   The first index, inclusive.
+     * @param length The number of code points.
+     * @param seed   The seed.
+     * @return The <code>64-bit</code> hash of the range.
+     */
+    static long xxHash64(final Object value, final byte coder, final int from, final int length, final long seed) {
+        int i = from;
+        int end = from + length;
+        long h;
+        if (length >= 8) {
+            long v1 = seed + XXH_PRIME64_1 + XXH_PRIME64_2;
+            long v2 = seed + XXH_PRIME64_2;
+            long v3 = seed;
+            long v4 = seed - XXH_PRIME64_1;
+            int limit = end - 8;
+            do {
+                v1 = xxRound(v1, lane(value, coder, i));
+                v2 = xxRound(v2, lane(value, coder, i + 2));
+                v3 = xxRound(v3, lane(value, coder, i + 4));
+                v4 = xxRound(v4, lane(value, coder, i + 6));
+                i += 8;
+            } while (i <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = xxMergeRound(h, v1);
+            h = xxMergeRound(h, v2);
+            h = xxMergeRound(h, v3);
+            h = xxMergeRound(h, v4);
+        } else {
+            h = seed + XXH_PRIME64_5;
+        }
+        h += (long) length * 4L;
+        while (i + 2 <= end) {
+            h ^= xxRound(0L, lane(value, coder, i));
+            h = Long.rotateLeft(h, 27) * XXH_PRIME64_1 + XXH_PRIME64_4;
+            i += 2;
+        }
+        if (i < end) {
+            h ^= (get(value, coder, i) & 0xFFFFFFFFL) * XXH_PRIME64_1;
+            h = Long.rotateLeft(h, 23) * XXH_PRIME64_2 + XXH_PRIME64_3;
+        }
+        h ^= h >>> 33;
+        h *= XXH_PRIME64_2;
+        h ^= h >>> 29;
+        h *= XXH_PRIME64_3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    /**
+     * Reads two consecutive code points as one little-endian <code>64-bit</code> lane.
+     *
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param index The index of the first code point.
+     * @return The lane.
+     */
+    private static long lane(final Object value, final byte coder, final int index) {
+        return (get(value, coder, index) & 0xFFFFFFFFL) | ((long) get(value, coder, index + 1) << 32);
+    }
+
+    /**
+     * Applies one xxHash64 accumulator round.
+     *
+     * @param acc   The accumulator.
+     * @param input The input lane.
+     * @return The new accumulator.
+     */
+    private static long xxRound(final long acc, final long input) {
+        return Long.rotateLeft(acc + input * XXH_PRIME64_2, 31) * XXH_PRIME64_1;
+    }
+
+    /**
+     * Merges one xxHash64 accumulator into the hash.
+     *
+     * @param acc The hash.
+     * @param val The accumulator to merge.
+     * @return The new hash.
+     */
+    private static long xxMergeRound(final long acc, final long val) {
+        return (acc ^ xxRound(0L, val)) * XXH_PRIME64_1 + XXH_PRIME64_4;
+    }
+}
@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+
+/**
+ * The <code>String32Decoder</code> class decodes bytes from one or more {@link ByteBuffer ByteBuffers} into a {@link String32Builder}.
+ * <p>
+ * A decoder is created by {@link String32Encoding#newDecoder()}.
+ * Every call to {@link #decode(ByteBuffer, String32Builder, boolean)} decodes all complete code points of the buffer.
+ * Like {@link java.nio.charset.CharsetDecoder}, it leaves an incomplete sequence at the end of the buffer unread
+ * and returns {@link CoderResult#UNDERFLOW}, so the caller can {@link ByteBuffer#compact() compact} the buffer,
+ * read more bytes into it and continue, until the last call passes <code>endOfInput</code> as <code>true</code>.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32Decoder decoder = String32Encoding.UTF_8.newDecoder();
+ *         String32Builder builder = new String32Builder();
+ *         ByteBuffer buffer = ByteBuffer.allocateDirect(8192);
+ *         while (channel.read(buffer) &gt;= 0) {
+ *             buffer.flip();
+ *             decoder.decode(buffer, builder, false);
+ *             buffer.compact();
+ *         }
+ *         buffer.flip();
+ *         decoder.decode(buffer, builder, true);
+ *         String32 string32 = builder.build();
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * Malformed input is replaced with U+FFFD by default, in the same places and with the same number of replacements
+ * as {@link java.nio.charset.CharsetDecoder} does.
+ * {@link #onMalformedInput(CodingErrorAction)} changes this to skipping it, or to stopping and reporting it.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote Instances of this class are not thread-safe.
+ * Buffers backed by an accessible array are read in place through {@link MethodHandles#byteArrayViewVarHandle byte array views},
+ * and ASCII runs in UTF-8 are detected eight bytes at a time.
+ * Other buffers are copied into a small scratch array with one bulk {@link ByteBuffer#get(int, byte[], int, int) get} per chunk.
+ * @see String32Encoding
+ * @see String32Encoder
+ * @since 1.0.0
+ */
+public final class String32Decoder {
+
+    /**
+     * Reads eight bytes of a byte array at once.
+     */
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    /**
+     * The mask of the high bits of eight bytes, which are all zero for ASCII.
+     */
+    private static final long NON_ASCII_MASK = 0x8080808080808080L;
+    /**
+     * The code point that replaces malformed input.
+     */
+    private static final int REPLACEMENT_CHARACTER = 0xFFFD;
+
+    /**
+     * The encoding.
+     */
+    private final String32Encoding encoding;
+    /**
+     * The action for malformed input.
+     */
+    private CodingErrorAction malformedInputAction;
+    /**
+     * The malformed input that stopped the current call, if it is {@link CodingErrorAction#REPORT reported}.
+     */
+    private CoderResult error;
+    /**
+     * The scratch array for buffers without an accessible array, allocated on first use.
+     */
+    private byte[] scratch;
+
+    /**
+     * Creates a new decoder that replaces malformed input.
+     *
+     * @param encoding The encoding.
+     */
+    String32Decoder(final String32Encoding encoding) {
+        this.encoding = encoding;
+        this.malformedInputAction = CodingErrorAction.REPLACE;
+    }
+
+    /**
+     * Returns the encoding of this decoder.
+     *
+     * @return The encoding.
+     */
+    public String32Encoding encoding() {
+        return this.encoding;
+    }
+
+    /**
+     * Returns the action of this decoder for malformed input.
+     *
+     * @return The action for malformed input.
+     */
+    public CodingErrorAction malformedInputAction() {
+        return this.malformedInputAction;
+    }
+
+    /**
+     * Changes the action of this decoder for malformed input.
+     * <p>
+     * {@link CodingErrorAction#REPLACE} appends U+FFFD, {@link CodingErrorAction#IGNORE} skips the malformed input,
+     * and {@link CodingErrorAction#REPORT} stops decoding at the malformed input and returns a
+     * {@link CoderResult#malformedForLength(int) malformed result} from {@link #decode(ByteBuffer, String32Builder, boolean)}.
+     * </p>
+     *
+     * @param action The new action.
+     * @return This decoder.
+     * @throws NullPointerException if the action is null.
+     */
+    public String32Decoder onMalformedInput(final CodingErrorAction action) {
+        this.malformedInputAction = Objects.requireNonNull(action, "Action cannot be null");
+        return this;
+    }
+
+    /**
+     * Decodes the remaining bytes of the given buffer and appends the code points to the given builder.
+     * <p>
+     * The position of the buffer is advanced past the decoded bytes.
+     * If <code>endOfInput</code> is <code>false</code>, an incomplete sequence at the end of the buffer is left unread.
+     * If it is <code>true</code>, such a sequence is malformed input.
+     * If malformed input is {@link CodingErrorAction#REPORT reported}, the position is left at its first byte.
+     * </p>
+     *
+     * @param in         The buffer to decode.
+     * @param out        The builder to append the code points to.
+     * @param endOfInput Whether the buffer holds the last bytes of the input.
+     * @return {@link CoderResult#UNDERFLOW} if all complete code points are decoded,
+     * or a {@link CoderResult#malformedForLength(int) malformed result} if malformed input is reported.
+     * @throws NullPointerException if the buffer or the builder is null.
+     */
+    public CoderResult decode(final ByteBuffer in, final String32Builder out, final boolean endOfInput) {
+        Objects.requireNonNull(in, "ByteBuffer cannot be null");
+        Objects.requireNonNull(out, "String32Builder cannot be null");
+        this.error = null;
+        if (in.hasArray()) {
+            int base = in.arrayOffset();
+            int end = decode(in.array(), base + in.position(), base + in.limit(), out, endOfInput);
+            in.position(end - base);
+        } else {
+            if (this.scratch == null) {
+                this.scratch = new byte[String32Encoder.SCRATCH_SIZE];
+            }
+            while (in.hasRemaining()) {
+                int position = in.position();
+                int n = Math.min(this.scratch.length, in.remaining());
+                boolean last = n == in.remaining();
+                in.get(position, this.scratch, 0, n);
+                int consumed = decode(this.scratch, 0, n, out, endOfInput && last);
+                in.position(position + consumed);
+                if (this.error != null || (last && consumed < n)) {
+                    break;
+                }
+            }
+        }
+        CoderResult result = this.error;
+        this.error = null;
+        return result != null ? result : CoderResult.UNDERFLOW;
+    }
+
+    /**
+     * Decodes the given bytes into a new <code>String32</code> object.
+     *
+     * @param in The buffer to decode, whose position is advanced past the decoded bytes.
+     * @return The decoded <code>String32</code> object.
+     * @throws NullPointerException     if the buffer is null.
+     * @throws CharacterCodingException if malformed input is {@link CodingErrorAction#REPORT reported}.
+     */
+    public String32 decode(final ByteBuffer in) throws CharacterCodingException {
+        Objects.requireNonNull(in, "ByteBuffer cannot be null");
+        String32Builder out = new String32Builder(in.remaining());
+        CoderResult result = decode(in, out, true);
+        if (result.isError()) {
+            result.throwException();
+        }
+        return out.build();
+    }
+
+    /**
+     * Decodes a range of a byte array.
+     *
+     * @param src        The byte array.
+     * @param sp         The first index to read.
+     * @param sl         The last index to read, exclusive.
+     * @param out        The builder to append the code points to.
+     * @param endOfInput Whether the range holds the last bytes of the input.
+     * @return The index after the last read byte.
+     */
+    private int decode(final byte[] src, final int sp, final int sl, final String32Builder out, final boolean endOfInput) {
+        switch (this.encoding) {
+            case UTF_8:
+                return decodeUtf8(src, sp, sl, out, endOfInput);
+            case UTF_16BE:
+                return decodeUtf16(src, sp, sl, out, endOfInput, String32Encoder.CHAR_BE);
+            case UTF_16LE:
+                return decodeUtf16(src, sp, sl, out, endOfInput, String32Encoder.CHAR_LE);
+            case UTF_32BE:
+                return decodeUtf32(src, sp, sl, out, endOfInput, String32Encoder.INT_BE);
+            default:
+                return decodeUtf32(src, sp, sl, out, endOfInput, String32Encoder.INT_LE);
+        }
+    }
+
+    /**
+     * Decodes UTF-8.
+     * <p>
+     * Malformed input is delimited like in {@link java.nio.charset.CharsetDecoder}:
+     * the longest prefix of a sequence that is still well-formed, but at least one byte, is replaced as a whole.
+     * </p>
+     *
+     * @param src        The byte array.
+     * @param sp         The first index to read.
+     * @param sl         The last index to read, exclusive.
+     * @param out        The builder to append the code points to.
+     * @param endOfInput Whether the range holds the last bytes of the input.
+     * @return The index after the last read byte.
+     */
+    private int decodeUtf8(final byte[] src, int sp, final int sl, final String32Builder out, final boolean endOfInput) {
+        while (sp < sl) {
+            int b1 = src[sp];
+            if (b1 >= 0) {
+                int start = sp;
+                while (sl - sp >= 8 && ((long) LONG.get(src, sp) & NON_ASCII_MASK) == 0) {
+                    sp += 8;
+                }
+                while (sp < sl && src[sp] >= 0) {
+                    sp++;
+                }
+                out.appendLatin1(src, start, sp - start);
+                continue;
+            }
+            b1 &= 0xFF;
+            int available = sl - sp;
+            int malformed;
+            if (b1 >= 0xC2 && b1 <= 0xDF) {
+                if (available < 2) {
+                    malformed = -1;
+                } else if (isContinuation(src[sp + 1])) {
+                    out.appendCodePoint(((b1 & 0x1F) << 6) | (src[sp + 1] & 0x3F));
+                    sp += 2;
+                    continue;
+                } else {
+                    malformed = 1;
+                }
+            } else if (b1 >= 0xE0 && b1 <= 0xEF) {
+                if (available < 2) {
+                    malformed = -1;
+                } else if (!isSecondOfThree(b1, src[sp + 1] & 0xFF)) {
+                    malformed = 1;
+                } else if (available < 3) {
+                    malformed = -1;
+                } else if (!isContinuation(src[sp + 2])) {
+                    malformed = 2;
+                } else {
+                    int cp = ((b1 & 0x0F) << 12) | ((src[sp + 1] & 0x3F) << 6) | (src[sp + 2] & 0x3F);
+                    if (!Character.isSurrogate((char) cp)) {
+                        out.appendCodePoint(cp);
+                        sp += 3;
+                        continue;
+                    }
+                    malformed = 3;
+                }
+            } else if (b1 >= 0xF0 && b1 <= 0xF4) {
+                if (available < 2) {
+                    malformed = -1;
+                } else if (!isSecondOfFour(b1, src[sp + 1] & 0xFF)) {
+                    malformed = 1;
+                } else if (available < 3) {
+                    malformed = -1;
+                } else if (!isContinuation(src[sp + 2])) {
+                    malformed = 2;
+                } else if (available < 4) {
+                    malformed = -1;
+                } else if (isContinuation(src[sp + 3])) {
+                    out.appendCodePoint(((b1 & 0x07) << 18) | ((src[sp + 1] & 0x3F) << 12)
+                            | ((src[sp + 2] & 0x3F) << 6) | (src[sp + 3] & 0x3F));
+                    sp += 4;
+                    continue;
+                } else {
+                    malformed = 3;
+                }
+            } else {
+                malformed = 1;
+            }
+            if (malformed < 0) {
+                if (!endOfInput) {
+                    return sp;
+                }
+                malformed = available;
+            }
+            if (malformed(malformed, out)) {
+                return sp;
+            }
+            sp += malformed;
+        }
+        return sp;
+    }
+
+    /**
+     * Decodes UTF-16.
+     *
+     * @param src        The byte array.
+     * @param sp         The first index to read.
+     * @param sl         The last index to read, exclusive.
+     * @param out        The builder to append the code points to.
+     * @param endOfInput Whether the range holds the last bytes of the input.
+     * @param units      The view that reads one code unit in the byte order of the encoding.
+     * @return The index after the last read byte.
+     */
+    private int decodeUtf16(final byte[] src, int sp, final int sl, final String32Builder out, final boolean endOfInput,
+                            final VarHandle units) {
+        while (sl - sp >= 2) {
+            char c = (char) units.get(src, sp);
+            if (!Character.isSurrogate(c)) {
+                out.appendCodePoint(c);
+                sp += 2;
+                continue;
+            }
+            int malformed = 2;
+            if (Character.isHighSurrogate(c)) {
+                if (sl - sp < 4) {
+                    if (!endOfInput) {
+                        return sp;
+                    }
+                    malformed = sl - sp;
+                } else {
+                    char d = (char) units.get(src, sp + 2);
+                    if (Character.isLowSurrogate(d)) {
+                        out.appendCodePoint(Character.toCodePoint(c, d));
+                        sp += 4;
+                        continue;
+                    }
+                    malformed = 4;
+                }
+            }
+            if (malformed(malformed, out)) {
+                return sp;
+            }
+            sp += malformed;
+        }
+        return trailing(sp, sl, out, endOfInput);
+    }
+
+    /**
+     * Decodes UTF-32.
+     *
+     * @param src        The byte array.
+     * @param sp         The first index to read.
+     * @param sl         The last index to read, exclusive.
+     * @param out        The builder to append the code points to.
+     * @param endOfInput Whether the range holds the last bytes of the input.
+     * @param units      The view that reads one code unit in the byte order of the encoding.
+     * @return The index after the last read byte.
+     */
+    private int decodeUtf32(final byte[] src, int sp, final int sl, final String32Builder out, final boolean endOfInput,
+                            final VarHandle units) {
+        while (sl - sp >= 4) {
+            int cp = (int) units.get(src, sp);
+            if (cp >= 0 && cp <= Character.MAX_CODE_POINT && (cp & 0xFFFFF800) != 0xD800) {
+                out.appendCodePoint(cp);
+            } else if (malformed(4, out)) {
+                return sp;
+            }
+            sp += 4;
+        }
+        return trailing(sp, sl, out, endOfInput);
+    }
+
+    /**
+     * Handles the bytes after the last complete code unit.
+     *
+     * @param sp         The index of the first byte after the last complete code unit.
+     * @param sl         The last index to read, exclusive.
+     * @param out        The builder to append the code points to.
+     * @param endOfInput Whether the range holds the last bytes of the input.
+     * @return The index after the last read byte.
+     */
+    private int trailing(final int sp, final int sl, final String32Builder out, final boolean endOfInput) {
+        if (sp == sl || !endOfInput || malformed(sl - sp, out)) {
+            return sp;
+        }
+        return sl;
+    }
+
+    /**
+     * Handles malformed input according to the {@link #malformedInputAction action for malformed input}.
+     *
+     * @param length The number of malformed bytes.
+     * @param out    The builder to append the replacement to.
+     * @return <code>true</code> if decoding stops because the malformed input is reported, <code>false</code> if it continues after it.
+     */
+    private boolean malformed(final int length, final String32Builder out) {
+        if (this.malformedInputAction == CodingErrorAction.REPORT) {
+            this.error = CoderResult.malformedForLength(length);
+            return true;
+        }
+        if (this.malformedInputAction == CodingErrorAction.REPLACE) {
+            out.appendCodePoint(REPLACEMENT_CHARACTER);
+        }
+        return false;
+    }
+
+    /**
+     * Returns <code>true</code> if the given byte is a UTF-8 continuation byte.
+     *
+     * @param b The byte.
+     * @return <code>true</code> if the byte is in the range <code>0x80</code> to <code>0xBF</code>, <code>false</code> otherwise.
+     */
+    private static boolean isContinuation(final byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    /**
+     * Returns <code>true</code> if the given byte may follow the given lead byte of a three-byte UTF-8 sequence.
+     * <p>
+     * This excludes overlong encodings.
+     * Encoded surrogates pass this check and are rejected as a whole three-byte sequence, like in {@link java.nio.charset.CharsetDecoder}.
+     * </p>
+     *
+     * @param b1 The lead byte.
+     * @param b2 The second byte.
+     * @return <code>true</code> if the second byte is valid, <code>false</code> otherwise.
+     */
+    private static boolean isSecondOfThree(final int b1, final int b2) {
+        if (b1 == 0xE0) {
+            return b2 >= 0xA0 && b2 <= 0xBF;
+        }
+        return b2 >= 0x80 && b2 <= 0xBF;
+    }
+
+    /**
+     * Returns <code>true</code> if the given byte may follow the given lead byte of a four-byte UTF-8 sequence.
+     * <p>
+     * This excludes overlong encodings and code points above U+10FFFF.
+     * </p>
+     *
+     * @param b1 The lead byte.
+     * @param b2 The second byte.
+     * @return <code>true</code> if the second byte is valid, <code>false</code> otherwise.
+     */
+    private static boolean isSecondOfFour(final int b1, final int b2) {
+        switch (b1) {
+            case 0xF0:
+                return b2 >= 0x90 && b2 <= 0xBF;
+            case 0xF4:
+                return b2 >= 0x80 && b2 <= 0x8F;
+            default:
+                return b2 >= 0x80 && b2 <= 0xBF;
+        }
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.CoderResult;
+import java.util.Objects;
+
+/**
+ * The <code>String32Encoder</code> class encodes a <code>String32</code> object into one or more {@link ByteBuffer ByteBuffers}.
+ * <p>
+ * An encoder is created by {@link String32Encoding#newEncoder()} and {@link #reset(String32) reset} to a source.
+ * Every call to {@link #encode(ByteBuffer)} writes as many whole code points as fit into the buffer and returns
+ * {@link CoderResult#OVERFLOW} if code points are left, or {@link CoderResult#UNDERFLOW} once the source is encoded completely.
+ * A code point is never split across buffers.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32Encoder encoder = String32Encoding.UTF_8.newEncoder().reset(String32.valueOf("Hello, World!"));
+ *         ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+ *         while (encoder.encode(buffer).isOverflow()) {
+ *             buffer.flip();
+ *             channel.write(buffer);
+ *             buffer.clear();
+ *         }
+ *         buffer.flip();
+ *         channel.write(buffer);
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * Unpaired surrogates are replaced the same way as {@link String#getBytes(java.nio.charset.Charset)} replaces them:
+ * with <code>'?'</code> in UTF-8 and with U+FFFD in UTF-16 and UTF-32.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote Instances of this class are not thread-safe.
+ * Buffers backed by an accessible array are written in place through {@link MethodHandles#byteArrayViewVarHandle byte array views},
+ * other buffers are filled from a small scratch array with one bulk {@link ByteBuffer#put(byte[], int, int) put} per chunk.
+ * @see String32Encoding
+ * @see String32Decoder
+ * @since 1.0.0
+ */
+public final class String32Encoder {
+
+    /**
+     * Writes a big-endian <code>int</code> into a byte array.
+     */
+    static final VarHandle INT_BE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    /**
+     * Writes a little-endian <code>int</code> into a byte array.
+     */
+    static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    /**
+     * Writes a big-endian <code>char</code> into a byte array.
+     */
+    static final VarHandle CHAR_BE = MethodHandles.byteArrayViewVarHandle(char[].class, ByteOrder.BIG_ENDIAN);
+    /**
+     * Writes a little-endian <code>char</code> into a byte array.
+     */
+    static final VarHandle CHAR_LE = MethodHandles.byteArrayViewVarHandle(char[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The size of the scratch array used for buffers without an accessible array.
+     */
+    static final int SCRATCH_SIZE = 8192;
+    /**
+     * The code point that replaces unpaired surrogates in UTF-16 and UTF-32.
+     */
+    private static final int REPLACEMENT_CHARACTER = 0xFFFD;
+    /**
+     * The byte that replaces unpaired surrogates in UTF-8.
+     */
+    private static final byte REPLACEMENT_BYTE = '?';
+
+    /**
+     * The encoding.
+     */
+    private final String32Encoding encoding;
+    /**
+     * The <code>String32</code> object being encoded.
+     */
+    private String32 source;
+    /**
+     * The index of the next code point to encode.
+     */
+    private int index;
+    /**
+     * The scratch array for buffers without an accessible array, allocated on first use.
+     */
+    private byte[] scratch;
+
+    /**
+     * Creates a new encoder without a source.
+     *
+     * @param encoding The encoding.
+     */
+    String32Encoder(final String32Encoding encoding) {
+        this.encoding = encoding;
+        this.source = String32.EMPTY;
+    }
+
+    /**
+     * Returns the encoding of this encoder.
+     *
+     * @return The encoding.
+     */
+    public String32Encoding encoding() {
+        return this.encoding;
+    }
+
+    /**
+     * Resets this encoder to encode the given <code>String32</code> object from its first code point.
+     *
+     * @param source The <code>String32</code> object to encode.
+     * @return This encoder.
+     * @throws NullPointerException if the <code>String32</code> object is null.
+     */
+    public String32Encoder reset(final String32 source) {
+        this.source = Objects.requireNonNull(source, "Source cannot be null");
+        this.index = 0;
+        return this;
+    }
+
+    /**
+     * Returns the index of the next code point of the source to encode.
+     *
+     * @return The index of the next code point, or the length of the source if it is encoded completely.
+     */
+    public int position() {
+        return this.index;
+    }
+
+    /**
+     * Returns <code>true</code> if code points of the source are left to encode.
+     *
+     * @return <code>true</code> if the source is not encoded completely, <code>false</code> otherwise.
+     */
+    public boolean hasRemaining() {
+        return this.index < this.source.length();
+    }
+
+    /**
+     * Encodes as many code points of the source as fit into the given buffer.
+     * <p>
+     * The bytes are written from the position of the buffer, which is advanced past the last written byte.
+     * </p>
+     *
+     * @param out The buffer to write to.
+     * @return {@link CoderResult#UNDERFLOW} if the source is encoded completely,
+     * or {@link CoderResult#OVERFLOW} if the buffer is full and code points are left.
+     * @throws NullPointerException    if the buffer is null.
+     * @throws ReadOnlyBufferException if the buffer is read-only.
+     */
+    public CoderResult encode(final ByteBuffer out) {
+        Objects.requireNonNull(out, "ByteBuffer cannot be null");
+        if (out.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if (out.hasArray()) {
+            int base = out.arrayOffset();
+            int end = encode(out.array(), base + out.position(), base + out.limit());
+            out.position(end - base);
+        } else {
+            if (this.scratch == null) {
+                this.scratch = new byte[SCRATCH_SIZE];
+            }
+            while (hasRemaining() && out.hasRemaining()) {
+                int n = encode(this.scratch, 0, Math.min(this.scratch.length, out.remaining()));
+                if (n == 0) {
+                    break;
+                }
+                out.put(this.scratch, 0, n);
+            }
+        }
+        return hasRemaining() ? CoderResult.OVERFLOW : CoderResult.UNDERFLOW;
+    }
+
+    /**
+     * Encodes as many code points of the source as fit into the given range of a byte array.
+     *
+     * @param dst The byte array.
+     * @param dp  The first index to write to.
+     * @param dl  The last index to write to, exclusive.
+     * @return The index after the last written byte.
+     */
+    private int encode(final byte[] dst, final int dp, final int dl) {
+        switch (this.encoding) {
+            case UTF_8:
+                return encodeUtf8(dst, dp, dl);
+            case UTF_16BE:
+                return encodeUtf16(dst, dp, dl, CHAR_BE);
+            case UTF_16LE:
+                return encodeUtf16(dst, dp, dl, CHAR_LE);
+            case UTF_32BE:
+                return encodeUtf32(dst, dp, dl, INT_BE);
+            default:
+                return encodeUtf32(dst, dp, dl, INT_LE);
+        }
+    }
+
+    /**
+     * Encodes code points of the source into UTF-8.
+     *
+     * @param dst The byte array.
+     * @param dp  The first index to write to.
+     * @param dl  The last index to write to, exclusive.
+     * @return The index after the last written byte.
+     */
+    private int encodeUtf8(final byte[] dst, int dp, final int dl) {
+        Object value = this.source.value();
+        byte coder = this.source.coder();
+        int offset = this.source.offset();
+        int end = this.source.length();
+        int i = this.index;
+        if (coder == String32Coder.LATIN1) {
+            byte[] latin1 = (byte[]) value;
+            for (; i < end; i++) {
+                byte b = latin1[offset + i];
+                if (b >= 0) {
+                    if (dp >= dl) {
+                        break;
+                    }
+                    dst[dp++] = b;
+                } else {
+                    if (dl - dp < 2) {
+                        break;
+                    }
+                    dst[dp++] = (byte) (0xC0 | ((b & 0xFF) >> 6));
+                    dst[dp++] = (byte) (0x80 | (b & 0x3F));
+                }
+            }
+            this.index = i;
+            return dp;
+        }
+        for (; i < end; i++) {
+            int cp = String32Coder.get(value, coder, offset + i);
+            if (cp < 0x80) {
+                if (dp >= dl) {
+                    break;
+                }
+                dst[dp++] = (byte) cp;
+            } else if (cp < 0x800) {
+                if (dl - dp < 2) {
+                    break;
+                }
+                dst[dp++] = (byte) (0xC0 | (cp >> 6));
+                dst[dp++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (cp < 0x10000) {
+                if (Character.isSurrogate((char) cp)) {
+                    if (dp >= dl) {
+                        break;
+                    }
+                    dst[dp++] = REPLACEMENT_BYTE;
+                    continue;
+                }
+                if (dl - dp < 3) {
+                    break;
+                }
+                dst[dp++] = (byte) (0xE0 | (cp >> 12));
+                dst[dp++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                dst[dp++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                if (dl - dp < 4) {
+                    break;
+                }
+                dst[dp++] = (byte) (0xF0 | (cp >> 18));
+                dst[dp++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                dst[dp++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                dst[dp++] = (byte) (0x80 | (cp & 0x3F));
+            }
+        }
+        this.index = i;
+        return dp;
+    }
+
+    /**
+     * Encodes code points of the source into UTF-16.
+     *
+     * @param dst   The byte array.
+     * @param dp    The first index to write to.
+     * @param dl    The last index to write to, exclusive.
+     * @param units The view that writes one code unit in the byte order of the encoding.
+     * @return The index after the last written byte.
+     */
+    private int encodeUtf16(final byte[] dst, int dp, final int dl, final VarHandle units) {
+        Object value = this.source.value();
+        byte coder = this.source.coder();
+        int offset = this.source.offset();
+        int end = this.source.length();
+        int i = this.index;
+        switch (coder) {
+            case String32Coder.LATIN1: {
+                byte[] latin1 = (byte[]) value;
+                for (; i < end && dl - dp >= 2; i++, dp += 2) {
+                    units.set(dst, dp, (char) (latin1[offset + i] & 0xFF));
+                }
+                break;
+            }
+            case String32Coder.UTF16: {
+                char[] chars = (char[]) value;
+                for (; i < end && dl - dp >= 2; i++, dp += 2) {
+                    units.set(dst, dp, chars[offset + i]);
+                }
+                break;
+            }
+            default: {
+                int[] ints = (int[]) value;
+                for (; i < end; i++) {
+                    int cp = ints[offset + i];
+                    if (Character.isBmpCodePoint(cp)) {
+                        if (dl - dp < 2) {
+                            break;
+                        }
+                        units.set(dst, dp, Character.isSurrogate((char) cp) ? (char) REPLACEMENT_CHARACTER : (char) cp);
+                        dp += 2;
+                    } else {
+                        if (dl - dp < 4) {
+                            break;
+                        }
+                        units.set(dst, dp, Character.highSurrogate(cp));
+                        units.set(dst, dp + 2, Character.lowSurrogate(cp));
+                        dp += 4;
+                    }
+                }
+                break;
+            }
+        }
+        this.index = i;
+        return dp;
+    }
+
+    /**
+     * Encodes code points of the source into UTF-32.
+     *
+     * @param dst   The byte array.
+     * @param dp    The first index to write to.
+     * @param dl    The last index to write to, exclusive.
+     * @param units The view that writes one code unit in the byte order of the encoding.
+     * @return The index after the last written byte.
+     */
+    private int encodeUtf32(final byte[] dst, int dp, final int dl, final VarHandle units) {
+        Object value = this.source.value();
+        byte coder = this.source.coder();
+        int offset = this.source.offset();
+        int end = Math.min(this.source.length(), this.index + (dl - dp) / 4);
+        int i = this.index;
+        switch (coder) {
+            case String32Coder.LATIN1: {
+                byte[] latin1 = (byte[]) value;
+                for (; i < end; i++, dp += 4) {
+                    units.set(dst, dp, latin1[offset + i] & 0xFF);
+                }
+                break;
+            }
+            case String32Coder.UTF16: {
+                char[] chars = (char[]) value;
+                for (; i < end; i++, dp += 4) {
+                    units.set(dst, dp, (int) chars[offset + i]);
+                }
+                break;
+            }
+            default: {
+                int[] ints = (int[]) value;
+                for (; i < end; i++, dp += 4) {
+                    int cp = ints[offset + i];
+                    units.set(dst, dp, (cp & 0xFFFFF800) == 0xD800 ? REPLACEMENT_CHARACTER : cp);
+                }
+                break;
+            }
+        }
+        this.index = i;
+        return dp;
+    }
+
+    /**
+     * Returns the number of bytes that the given <code>String32</code> object occupies in the given encoding.
+     *
+     * @param encoding The encoding.
+     * @param str      The <code>String32</code> object.
+     * @return The number of bytes.
+     */
+    static long encodedLength(final String32Encoding encoding, final String32 str) {
+        int length = str.length();
+        switch (encoding) {
+            case UTF_32BE:
+            case UTF_32LE:
+                return 4L * length;
+            case UTF_16BE:
+            case UTF_16LE: {
+                long bytes = 2L * length;
+                if (str.coder() == String32Coder.UTF32) {
+                    int[] ints = (int[]) str.value();
+                    for (int i = str.offset(), end = i + length; i < end; i++) {
+                        if (ints[i] >= 0x10000) {
+                            bytes += 2;
+                        }
+                    }
+                }
+                return bytes;
+            }
+            default: {
+                long bytes = length;
+                if (str.coder() == String32Coder.LATIN1) {
+                    byte[] latin1 = (byte[]) str.value();
+                    for (int i = str.offset(), end = i + length; i < end; i++) {
+                        bytes += latin1[i] >>> 31;
+                    }
+                    return bytes;
+                }
+                for (int i = 0; i < length; i++) {
+                    int cp = str.codePointAt0(i);
+                    if (cp >= 0x80) {
+                        bytes += cp < 0x800 ? 1 : cp < 0x10000 ? (Character.isSurrogate((char) cp) ? 0 : 2) : 3;
+                    }
+                }
+                return bytes;
+            }
+        }
+    }
+}
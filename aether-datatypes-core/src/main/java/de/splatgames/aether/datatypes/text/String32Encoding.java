@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The <code>String32Encoding</code> enum lists the Unicode encoding forms that <code>String32</code> objects can be encoded to and decoded from
+ * without an intermediate {@link String}.
+ * <p>
+ * Each constant creates {@link String32Encoder encoders} and {@link String32Decoder decoders} that work on caller-supplied,
+ * heap or direct {@link ByteBuffer ByteBuffers} and resume across buffer boundaries,
+ * and offers convenience methods for whole byte arrays and blocking channels.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32 string32 = String32.valueOf("Hëllo 🌍");
+ *         byte[] bytes = String32Encoding.UTF_8.encode(string32);
+ *         System.out.println(bytes.length);
+ *         // Output: 11
+ *         System.out.println(String32Encoding.UTF_8.decode(bytes).equals(string32));
+ *         // Output: true
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * Encoding and decoding produce the same bytes and code points as the corresponding {@link Charset} with the
+ * {@link java.nio.charset.CodingErrorAction#REPLACE REPLACE} action, with one exception:
+ * the UTF-32 decoders treat code units in the surrogate range as malformed, as the Unicode standard requires,
+ * while the JDK decoders pass them through.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @see String32Encoder
+ * @see String32Decoder
+ * @since 1.0.0
+ */
+public enum String32Encoding {
+
+    /**
+     * The UTF-8 encoding form, one to four bytes per code point.
+     */
+    UTF_8(StandardCharsets.UTF_8, 1),
+    /**
+     * The big-endian UTF-16 encoding form without a byte order mark, two or four bytes per code point.
+     */
+    UTF_16BE(StandardCharsets.UTF_16BE, 2),
+    /**
+     * The little-endian UTF-16 encoding form without a byte order mark, two or four bytes per code point.
+     */
+    UTF_16LE(StandardCharsets.UTF_16LE, 2),
+    /**
+     * The big-endian UTF-32 encoding form without a byte order mark, four bytes per code point.
+     */
+    UTF_32BE(Charset.forName("UTF-32BE"), 4),
+    /**
+     * The little-endian UTF-32 encoding form without a byte order mark, four bytes per code point.
+     */
+    UTF_32LE(Charset.forName("UTF-32LE"), 4);
+
+    /**
+     * The size of the buffers used by {@link #write(String32, WritableByteChannel)} and {@link #read(ReadableByteChannel)}.
+     */
+    private static final int CHANNEL_BUFFER_SIZE = 8192;
+
+    /**
+     * The equivalent {@link Charset}.
+     */
+    private final Charset charset;
+    /**
+     * The number of bytes of one code unit.
+     */
+    private final int codeUnitSize;
+
+    /**
+     * Creates a new encoding.
+     *
+     * @param charset      The equivalent {@link Charset}.
+     * @param codeUnitSize The number of bytes of one code unit.
+     */
+    String32Encoding(final Charset charset, final int codeUnitSize) {
+        this.charset = charset;
+        this.codeUnitSize = codeUnitSize;
+    }
+
+    /**
+     * Returns the {@link Charset} that is equivalent to this encoding.
+     *
+     * @return The equivalent {@link Charset}.
+     */
+    public Charset charset() {
+        return this.charset;
+    }
+
+    /**
+     * Creates a new encoder for this encoding.
+     *
+     * @return A new encoder without a source.
+     */
+    public String32Encoder newEncoder() {
+        return new String32Encoder(this);
+    }
+
+    /**
+     * Creates a new decoder for this encoding that replaces malformed input with U+FFFD.
+     *
+     * @return A new decoder.
+     */
+    public String32Decoder newDecoder() {
+        return new String32Decoder(this);
+    }
+
+    /**
+     * Returns the number of bytes that the given <code>String32</code> object occupies in this encoding.
+     *
+     * @param str The <code>String32</code> object.
+     * @return The number of bytes.
+     * @throws NullPointerException if the <code>String32</code> object is null.
+     */
+    public long encodedLength(final String32 str) {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        return String32Encoder.encodedLength(this, str);
+    }
+
+    /**
+     * Encodes the given <code>String32</code> object into a new, exactly sized byte array.
+     *
+     * @param str The <code>String32</code> object to encode.
+     * @return The encoded bytes.
+     * @throws NullPointerException if the <code>String32</code> object is null.
+     * @throws OutOfMemoryError     if the encoded form does not fit into a byte array.
+     */
+    public byte[] encode(final String32 str) {
+        long length = encodedLength(str);
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Encoded String32 exceeds the maximum array length");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        newEncoder().reset(str).encode(buffer);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes the given bytes into a new <code>String32</code> object, replacing malformed input with U+FFFD.
+     *
+     * @param bytes The bytes to decode.
+     * @return The decoded <code>String32</code> object.
+     * @throws NullPointerException if the bytes are null.
+     */
+    public String32 decode(final byte[] bytes) {
+        Objects.requireNonNull(bytes, "Bytes cannot be null");
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decodes a range of the given bytes into a new <code>String32</code> object, replacing malformed input with U+FFFD.
+     *
+     * @param bytes  The bytes to decode.
+     * @param offset The index of the first byte to decode.
+     * @param length The number of bytes to decode.
+     * @return The decoded <code>String32</code> object.
+     * @throws NullPointerException      if the bytes are null.
+     * @throws IndexOutOfBoundsException if the range is not within the bytes.
+     */
+    public String32 decode(final byte[] bytes, final int offset, final int length) {
+        Objects.requireNonNull(bytes, "Bytes cannot be null");
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return decode(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Decodes the remaining bytes of the given buffer into a new <code>String32</code> object, replacing malformed input with U+FFFD.
+     * <p>
+     * The position of the buffer is advanced to its limit.
+     * </p>
+     *
+     * @param in The buffer to decode.
+     * @return The decoded <code>String32</code> object.
+     * @throws NullPointerException if the buffer is null.
+     */
+    public String32 decode(final ByteBuffer in) {
+        Objects.requireNonNull(in, "ByteBuffer cannot be null");
+        String32Builder out = new String32Builder(in.remaining() / this.codeUnitSize);
+        newDecoder().decode(in, out, true);
+        return out.build();
+    }
+
+    /**
+     * Encodes the given <code>String32</code> object and writes all bytes to the given blocking channel.
+     *
+     * @param str     The <code>String32</code> object to write.
+     * @param channel The channel to write to.
+     * @return The number of bytes written.
+     * @throws NullPointerException if the <code>String32</code> object or the channel is null.
+     * @throws IOException          if the channel fails.
+     */
+    public long write(final String32 str, final WritableByteChannel channel) throws IOException {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        Objects.requireNonNull(channel, "Channel cannot be null");
+        String32Encoder encoder = newEncoder().reset(str);
+        ByteBuffer buffer = ByteBuffer.allocate(CHANNEL_BUFFER_SIZE);
+        long written = 0;
+        CoderResult result;
+        do {
+            result = encoder.encode(buffer);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            buffer.clear();
+        } while (result.isOverflow());
+        return written;
+    }
+
+    /**
+     * Reads the given blocking channel to its end and decodes the bytes into a new <code>String32</code> object,
+     * replacing malformed input with U+FFFD.
+     *
+     * @param channel The channel to read from.
+     * @return The decoded <code>String32</code> object.
+     * @throws NullPointerException if the channel is null.
+     * @throws IOException          if the channel fails.
+     */
+    public String32 read(final ReadableByteChannel channel) throws IOException {
+        Objects.requireNonNull(channel, "Channel cannot be null");
+        String32Decoder decoder = newDecoder();
+        String32Builder out = new String32Builder();
+        ByteBuffer buffer = ByteBuffer.allocate(CHANNEL_BUFFER_SIZE);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            decoder.decode(buffer, out, false);
+            buffer.compact();
+        }
+        buffer.flip();
+        decoder.decode(buffer, out, true);
+        return out.build();
+    }
+}
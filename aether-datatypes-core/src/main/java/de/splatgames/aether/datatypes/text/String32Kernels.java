@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+/**
+ * Internal bulk kernels over the backing arrays of {@link String32}.
+ * <p>
+ * This class is the scalar implementation, which works on every JVM.
+ * If the incubating <code>jdk.incubator.vector</code> module is resolved at runtime
+ * (for example with <code>--add-modules jdk.incubator.vector</code>) and the CPU offers at least <code>256-bit</code> vectors,
+ * {@link #INSTANCE} is a <code>VectorString32Kernels</code> instead, which processes <code>8</code> or <code>16</code> code points at a time.
+ * That class is compiled from a separate source root, so this module builds and runs without the vector module.
+ * </p>
+ * <p>
+ * The vector kernels can be disabled with the system property {@value #VECTOR_PROPERTY}<code>=false</code>.
+ * </p>
+ * <p>
+ * All methods are unchecked: callers are responsible for passing valid ranges.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @see String32
+ * @since 1.0.0
+ */
+class String32Kernels {
+
+    /**
+     * The system property that enables or disables the vector kernels, <code>true</code> by default.
+     */
+    static final String VECTOR_PROPERTY = "aether.datatypes.string32.vector";
+
+    /**
+     * The bitwise NOT operation for {@link #mapUnary(int, int, int[], int, int[], int, int)}.
+     */
+    static final int NOT = 0;
+    /**
+     * The signed left shift operation for {@link #mapUnary(int, int, int[], int, int[], int, int)}.
+     */
+    static final int SHIFT_LEFT = 1;
+    /**
+     * The signed right shift operation for {@link #mapUnary(int, int, int[], int, int[], int, int)}.
+     */
+    static final int SHIFT_RIGHT = 2;
+    /**
+     * The unsigned right shift operation for {@link #mapUnary(int, int, int[], int, int[], int, int)}.
+     */
+    static final int SHIFT_RIGHT_UNSIGNED = 3;
+    /**
+     * The bitwise AND operation for {@link #mapBinary(int, int[], int, int[], int, int[], int, int)}.
+     */
+    static final int AND = 4;
+    /**
+     * The bitwise OR operation for {@link #mapBinary(int, int[], int, int[], int, int[], int, int)}.
+     */
+    static final int OR = 5;
+    /**
+     * The bitwise XOR operation for {@link #mapBinary(int, int[], int, int[], int, int[], int, int)}.
+     */
+    static final int XOR = 6;
+
+    /**
+     * The code point that replaces invalid code points and surrogates produced by a bitwise operation.
+     */
+    static final int REPLACEMENT_CHARACTER = 0xFFFD;
+
+    /**
+     * The kernels used by {@link String32}, either this scalar implementation or the vector implementation.
+     */
+    static final String32Kernels INSTANCE = load();
+
+    /**
+     * Constructs the scalar kernels.
+     */
+    String32Kernels() {
+    }
+
+    /**
+     * Loads the vector kernels if they are enabled and available, otherwise the scalar kernels.
+     *
+     * @return The kernels.
+     */
+    private static String32Kernels load() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return new String32Kernels();
+        }
+        try {
+            Class<?> type = Class.forName(String32Kernels.class.getPackageName() + ".VectorString32Kernels");
+            return (String32Kernels) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return new String32Kernels();
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if these kernels process several code points at a time.
+     *
+     * @return <code>true</code> for the vector kernels, <code>false</code> for the scalar kernels.
+     */
+    boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Returns the index of the first element equal to the given value.
+     *
+     * @param a     The array.
+     * @param from  The first index, inclusive.
+     * @param to    The last index, exclusive.
+     * @param value The value to search for.
+     * @return The index of the first match, or <code>-1</code> if there is none.
+     */
+    int indexOf(final byte[] a, final int from, final int to, final byte value) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first element equal to the given value.
+     *
+     * @param a     The array.
+     * @param from  The first index, inclusive.
+     * @param to    The last index, exclusive.
+     * @param value The value to search for.
+     * @return The index of the first match, or <code>-1</code> if there is none.
+     */
+    int indexOf(final char[] a, final int from, final int to, final char value) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first element equal to the given value.
+     *
+     * @param a     The array.
+     * @param from  The first index, inclusive.
+     * @param to    The last index, exclusive.
+     * @param value The value to search for.
+     * @return The index of the first match, or <code>-1</code> if there is none.
+     */
+    int indexOf(final int[] a, final int from, final int to, final int value) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the relative index of the first code point that differs between a Latin-1 and a UCS-2 range.
+     *
+     * @param a      The Latin-1 array.
+     * @param aFrom  The first index of the Latin-1 range.
+     * @param b      The UCS-2 array.
+     * @param bFrom  The first index of the UCS-2 range.
+     * @param length The number of code points to compare.
+     * @return The relative index of the first mismatch, or <code>-1</code> if both ranges are equal.
+     */
+    int mismatch(final byte[] a, final int aFrom, final char[] b, final int bFrom, final int length) {
+        for (int i = 0; i < length; i++) {
+            if ((a[aFrom + i] & 0xFF) != b[bFrom + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the relative index of the first code point that differs between a Latin-1 and a UTF-32 range.
+     *
+     * @param a      The Latin-1 array.
+     * @param aFrom  The first index of the Latin-1 range.
+     * @param b      The UTF-32 array.
+     * @param bFrom  The first index of the UTF-32 range.
+     * @param length The number of code points to compare.
+     * @return The relative index of the first mismatch, or <code>-1</code> if both ranges are equal.
+     */
+    int mismatch(final byte[] a, final int aFrom, final int[] b, final int bFrom, final int length) {
+        for (int i = 0; i < length; i++) {
+            if ((a[aFrom + i] & 0xFF) != b[bFrom + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the relative index of the first code point that differs between a UCS-2 and a UTF-32 range.
+     *
+     * @param a      The UCS-2 array.
+     * @param aFrom  The first index of the UCS-2 range.
+     * @param b      The UTF-32 array.
+     * @param bFrom  The first index of the UTF-32 range.
+     * @param length The number of code points to compare.
+     * @return The relative index of the first mismatch, or <code>-1</code> if both ranges are equal.
+     */
+    int mismatch(final char[] a, final int aFrom, final int[] b, final int bFrom, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[aFrom + i] != b[bFrom + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns <code>true</code> if the range reads the same forward and backward.
+     *
+     * @param a      The array.
+     * @param from   The first index.
+     * @param length The number of elements.
+     * @return <code>true</code> if the range is a palindrome, <code>false</code> otherwise.
+     */
+    boolean isPalindrome(final byte[] a, final int from, final int length) {
+        for (int i = from, j = from + length - 1; i < j; i++, j--) {
+            if (a[i] != a[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns <code>true</code> if the range reads the same forward and backward.
+     *
+     * @param a      The array.
+     * @param from   The first index.
+     * @param length The number of elements.
+     * @return <code>true</code> if the range is a palindrome, <code>false</code> otherwise.
+     */
+    boolean isPalindrome(final char[] a, final int from, final int length) {
+        for (int i = from, j = from + length - 1; i < j; i++, j--) {
+            if (a[i] != a[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns <code>true</code> if the range reads the same forward and backward.
+     *
+     * @param a      The array.
+     * @param from   The first index.
+     * @param length The number of elements.
+     * @return <code>true</code> if the range is a palindrome, <code>false</code> otherwise.
+     */
+    boolean isPalindrome(final int[] a, final int from, final int length) {
+        for (int i = from, j = from + length - 1; i < j; i++, j--) {
+            if (a[i] != a[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Continues the polynomial hash <code>result = 31 * result + cp</code> over a Latin-1 range.
+     *
+     * @param result The hash of the preceding code points.
+     * @param a      The array.
+     * @param from   The first index.
+     * @param length The number of code points.
+     * @return The hash including the range.
+     */
+    int hash(final int result, final byte[] a, final int from, final int length) {
+        int h = result;
+        for (int i = from, end = from + length; i < end; i++) {
+            h = 31 * h + (a[i] & 0xFF);
+        }
+        return h;
+    }
+
+    /**
+     * Continues the polynomial hash <code>result = 31 * result + cp</code> over a UCS-2 range.
+     *
+     * @param result The hash of the preceding code points.
+     * @param a      The array.
+     * @param from   The first index.
+     * @param length The number of code points.
+     * @return The hash including the range.
+     */
+    int hash(final int result, final char[] a, final int from, final int length) {
+        int h = result;
+        for (int i = from, end = from + length; i < end; i++) {
+            h = 31 * h + a[i];
+        }
+        return h;
+    }
+
+    /**
+     * Continues the polynomial hash <code>result = 31 * result + cp</code> over a UTF-32 range.
+     *
+     * @param result The hash of the preceding code points.
+     * @param a      The array.
+     * @param from   The first index.
+     * @param length The number of code points.
+     * @return The hash including the range.
+     */
+    int hash(final int result, final int[] a, final int from, final int length) {
+        int h = result;
+        for (int i = from, end = from + length; i < end; i++) {
+            h = 31 * h + a[i];
+        }
+        return h;
+    }
+
+    /**
+     * Applies a unary bitwise operation to every code point of a range and {@link #sanitize(int) sanitizes} the results.
+     * <p>
+     * The source and destination ranges may be the same.
+     * </p>
+     *
+     * @param op      One of {@link #NOT}, {@link #SHIFT_LEFT}, {@link #SHIFT_RIGHT} or {@link #SHIFT_RIGHT_UNSIGNED}.
+     * @param operand The shift distance, ignored for {@link #NOT}.
+     * @param src     The source array.
+     * @param srcFrom The first source index.
+     * @param dst     The destination array.
+     * @param dstFrom The first destination index.
+     * @param length  The number of code points.
+     * @return The largest code point written, or <code>-1</code> if the range is empty.
+     */
+    int mapUnary(final int op, final int operand, final int[] src, final int srcFrom, final int[] dst, final int dstFrom, final int length) {
+        int max = -1;
+        for (int i = 0; i < length; i++) {
+            int cp = sanitize(applyUnary(op, operand, src[srcFrom + i]));
+            dst[dstFrom + i] = cp;
+            max = Math.max(max, cp);
+        }
+        return max;
+    }
+
+    /**
+     * Applies a binary bitwise operation to every pair of code points of two ranges and {@link #sanitize(int) sanitizes} the results.
+     *
+     * @param op      One of {@link #AND}, {@link #OR} or {@link #XOR}.
+     * @param a       The first source array.
+     * @param aFrom   The first index of the first source range.
+     * @param b       The second source array.
+     * @param bFrom   The first index of the second source range.
+     * @param dst     The destination array.
+     * @param dstFrom The first destination index.
+     * @param length  The number of code points.
+     * @return The largest code point written, or <code>-1</code> if the ranges are empty.
+     */
+    int mapBinary(final int op, final int[] a, final int aFrom, final int[] b, final int bFrom,
+                  final int[] dst, final int dstFrom, final int length) {
+        int max = -1;
+        for (int i = 0; i < length; i++) {
+            int cp = sanitize(applyBinary(op, a[aFrom + i], b[bFrom + i]));
+            dst[dstFrom + i] = cp;
+            max = Math.max(max, cp);
+        }
+        return max;
+    }
+
+    /**
+     * Applies a unary bitwise operation to a single code point.
+     *
+     * @param op      The operation.
+     * @param operand The shift distance.
+     * @param cp      The code point.
+     * @return The result of the operation.
+     */
+    static int applyUnary(final int op, final int operand, final int cp) {
+        switch (op) {
+            case NOT:
+                return ~cp;
+            case SHIFT_LEFT:
+                return cp << operand;
+            case SHIFT_RIGHT:
+                return cp >> operand;
+            case SHIFT_RIGHT_UNSIGNED:
+                return cp >>> operand;
+            default:
+                throw new IllegalArgumentException("Unknown unary operation: " + op);
+        }
+    }
+
+    /**
+     * Applies a binary bitwise operation to a pair of code points.
+     *
+     * @param op The operation.
+     * @param a  The first code point.
+     * @param b  The second code point.
+     * @return The result of the operation.
+     */
+    static int applyBinary(final int op, final int a, final int b) {
+        switch (op) {
+            case AND:
+                return a & b;
+            case OR:
+                return a | b;
+            case XOR:
+                return a ^ b;
+            default:
+                throw new IllegalArgumentException("Unknown binary operation: " + op);
+        }
+    }
+
+    /**
+     * Replaces a value that is not a valid code point, or that is a surrogate, with {@link #REPLACEMENT_CHARACTER}.
+     *
+     * @param cp The value.
+     * @return The value, or {@link #REPLACEMENT_CHARACTER}.
+     */
+    static int sanitize(final int cp) {
+        if (cp < 0 || cp > Character.MAX_CODE_POINT || (cp & 0xFFFFF800) == 0xD800) {
+            return REPLACEMENT_CHARACTER;
+        }
+        return cp;
+    }
+}
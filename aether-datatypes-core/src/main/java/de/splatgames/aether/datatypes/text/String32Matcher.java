@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The <code>String32Matcher</code> class is a compiled set of <code>String32</code> patterns that are searched for in a single scan.
+ * <p>
+ * The patterns are compiled into an Aho-Corasick automaton over code points.
+ * Searching a text visits every code point of the text once, regardless of the number of patterns,
+ * so scrubbing hundreds of terms from a text costs about as much as searching for one.
+ * </p>
+ * <p>
+ * Matches are reported leftmost-longest and non-overlapping:
+ * the match that starts first wins, a longer match wins over a shorter one with the same start,
+ * and the scan continues after the end of the reported match.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32Matcher matcher = String32Matcher.compile(String32.valueOf("he"), String32.valueOf("hers"), String32.valueOf("she"));
+ *         String32 text = String32.valueOf("ushers");
+ *         System.out.println(matcher.containsAny(text));
+ *         // Output: true
+ *         System.out.println(matcher.count(text));
+ *         // Output: 1
+ *         System.out.println(matcher.replaceAll(text, String32.valueOf("*")));
+ *         // Output: "u*rs"
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * Compiling is linear in the total length of the patterns.
+ * Compile a matcher once and reuse it, instead of calling {@link String32#replaceMultiple(String32[], String32)} with the same targets repeatedly.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote This class is immutable and thread-safe.
+ * A state with many children in a narrow code point range uses a dense transition table, other states use a sorted sparse one.
+ * The root state additionally has a dense table for the Latin-1 range, because most failure transitions end there.
+ * @see String32#replaceMultiple(String32[], String32)
+ * @see String32#countOccurrencesOfAny(String32...)
+ * @see String32#containsAny(String32...)
+ * @since 1.0.0
+ */
+public final class String32Matcher {
+
+    /**
+     * The minimum number of children of a state to use a dense transition table.
+     */
+    private static final int DENSE_MIN_CHILDREN = 8;
+    /**
+     * The maximum ratio between the code point range and the number of children of a state to use a dense transition table.
+     */
+    private static final int DENSE_MAX_SPREAD = 4;
+    /**
+     * The size of the dense transition table of the root state.
+     */
+    private static final int ROOT_TABLE_SIZE = 256;
+
+    /**
+     * The compiled patterns, in the order in which they were given.
+     */
+    private final String32[] patterns;
+    /**
+     * The first index of the sparse children of each state in {@link #childKeys} and {@link #childTargets}.
+     */
+    private final int[] childStart;
+    /**
+     * The number of sparse children of each state.
+     */
+    private final int[] childCount;
+    /**
+     * The code points of the sparse children, sorted per state.
+     */
+    private final int[] childKeys;
+    /**
+     * The target states of the sparse children.
+     */
+    private final int[] childTargets;
+    /**
+     * The first index of the dense transition table of each state in {@link #denseTargets}, or <code>-1</code> if the state has none.
+     */
+    private final int[] denseStart;
+    /**
+     * The code point that corresponds to the first entry of the dense transition table of each state.
+     */
+    private final int[] denseMin;
+    /**
+     * The length of the dense transition table of each state.
+     */
+    private final int[] denseLength;
+    /**
+     * The dense transition tables; <code>0</code> marks a missing transition, because the root is never a child.
+     */
+    private final int[] denseTargets;
+    /**
+     * The transitions of the root state for the code points <code>0</code> to <code>255</code>; <code>0</code> means no child.
+     */
+    private final int[] rootTable;
+    /**
+     * The failure link of each state: the state of the longest proper suffix that is also a prefix of a pattern.
+     */
+    private final int[] fail;
+    /**
+     * The number of code points from the root to each state.
+     */
+    private final int[] depth;
+    /**
+     * The index of the pattern that ends at each state, or <code>-1</code> if no pattern ends there.
+     */
+    private final int[] terminal;
+    /**
+     * The nearest state in the failure chain of each state at which a pattern ends, or <code>-1</code> if there is none.
+     */
+    private final int[] dictionaryLink;
+
+    /**
+     * The <code>MatchHandler</code> interface receives the matches of a {@link #forEachMatch(String32, MatchHandler) scan}.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+
+        /**
+         * Called for every match, in increasing order of the start index.
+         *
+         * @param patternIndex The index of the matched pattern, in the order given to {@link #compile(String32...)}.
+         * @param start        The index of the first code point of the match, inclusive.
+         * @param end          The index after the last code point of the match, exclusive.
+         */
+        void onMatch(int patternIndex, int start, int end);
+    }
+
+    /**
+     * Constructs a new <code>String32Matcher</code> object from the given patterns.
+     *
+     * @param patterns The patterns, which have already been checked.
+     */
+    private String32Matcher(final String32[] patterns) {
+        this.patterns = patterns;
+
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        List<Integer> terminals = new ArrayList<>();
+        children.add(new HashMap<>());
+        depths.add(0);
+        terminals.add(-1);
+        for (int p = 0; p < patterns.length; p++) {
+            String32 pattern = patterns[p];
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int cp = pattern.codePointAt0(i);
+                Integer next = children.get(state).get(cp);
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(cp, next);
+                    children.add(new HashMap<>());
+                    depths.add(i + 1);
+                    terminals.add(-1);
+                }
+                state = next;
+            }
+            if (terminals.get(state) < 0) {
+                terminals.set(state, p);
+            }
+        }
+
+        int states = children.size();
+        this.childStart = new int[states];
+        this.childCount = new int[states];
+        this.denseStart = new int[states];
+        this.denseMin = new int[states];
+        this.denseLength = new int[states];
+        this.depth = new int[states];
+        this.terminal = new int[states];
+        this.rootTable = new int[ROOT_TABLE_SIZE];
+        int sparseTotal = 0;
+        int denseTotal = 0;
+        for (int s = 0; s < states; s++) {
+            this.depth[s] = depths.get(s);
+            this.terminal[s] = terminals.get(s);
+            Map<Integer, Integer> map = children.get(s);
+            if (isDense(map)) {
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int key : map.keySet()) {
+                    min = Math.min(min, key);
+                    max = Math.max(max, key);
+                }
+                this.denseStart[s] = denseTotal;
+                this.denseMin[s] = min;
+                this.denseLength[s] = max - min + 1;
+                denseTotal += max - min + 1;
+            } else {
+                this.denseStart[s] = -1;
+                this.childStart[s] = sparseTotal;
+                this.childCount[s] = map.size();
+                sparseTotal += map.size();
+            }
+        }
+        this.childKeys = new int[sparseTotal];
+        this.childTargets = new int[sparseTotal];
+        this.denseTargets = new int[denseTotal];
+        for (int s = 0; s < states; s++) {
+            Map<Integer, Integer> map = children.get(s);
+            if (this.denseStart[s] >= 0) {
+                for (Map.Entry<Integer, Integer> e : map.entrySet()) {
+                    this.denseTargets[this.denseStart[s] + e.getKey() - this.denseMin[s]] = e.getValue();
+                }
+            } else {
+                int[] keys = new int[map.size()];
+                int k = 0;
+                for (int key : map.keySet()) {
+                    keys[k++] = key;
+                }
+                Arrays.sort(keys);
+                for (int i = 0; i < keys.length; i++) {
+                    this.childKeys[this.childStart[s] + i] = keys[i];
+                    this.childTargets[this.childStart[s] + i] = map.get(keys[i]);
+                }
+            }
+        }
+        for (Map.Entry<Integer, Integer> e : children.get(0).entrySet()) {
+            if (e.getKey() >= 0 && e.getKey() < ROOT_TABLE_SIZE) {
+                this.rootTable[e.getKey()] = e.getValue();
+            }
+        }
+
+        this.fail = new int[states];
+        this.dictionaryLink = new int[states];
+        this.dictionaryLink[0] = -1;
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int child : children.get(0).values()) {
+            this.dictionaryLink[child] = -1;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int u = queue[head++];
+            for (Map.Entry<Integer, Integer> e : children.get(u).entrySet()) {
+                int cp = e.getKey();
+                int v = e.getValue();
+                int f = this.fail[u];
+                int next = child(f, cp);
+                while (next < 0 && f != 0) {
+                    f = this.fail[f];
+                    next = child(f, cp);
+                }
+                this.fail[v] = next < 0 ? 0 : next;
+                int link = this.fail[v];
+                this.dictionaryLink[v] = this.terminal[link] >= 0 ? link : this.dictionaryLink[link];
+                queue[tail++] = v;
+            }
+        }
+    }
+
+    /**
+     * Compiles the given patterns into a new <code>String32Matcher</code> object.
+     *
+     * @param patterns The patterns to search for.
+     * @return The compiled <code>String32Matcher</code> object.
+     * @throws NullPointerException     If the array or any pattern is <code>null</code>.
+     * @throws IllegalArgumentException If any pattern is empty.
+     */
+    public static String32Matcher compile(final String32... patterns) {
+        Objects.requireNonNull(patterns, "Patterns cannot be null");
+        String32[] copy = patterns.clone();
+        for (String32 pattern : copy) {
+            Objects.requireNonNull(pattern, "Pattern cannot be null");
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Pattern cannot be empty");
+            }
+        }
+        return new String32Matcher(copy);
+    }
+
+    /**
+     * Compiles the given patterns into a new <code>String32Matcher</code> object.
+     *
+     * @param patterns The patterns to search for.
+     * @return The compiled <code>String32Matcher</code> object.
+     * @throws NullPointerException     If the collection or any pattern is <code>null</code>.
+     * @throws IllegalArgumentException If any pattern is empty.
+     */
+    public static String32Matcher compile(final Collection<String32> patterns) {
+        Objects.requireNonNull(patterns, "Patterns cannot be null");
+        return compile(patterns.toArray(new String32[0]));
+    }
+
+    /**
+     * Returns the number of compiled patterns.
+     *
+     * @return The number of patterns.
+     */
+    public int patternCount() {
+        return this.patterns.length;
+    }
+
+    /**
+     * Returns the pattern with the given index.
+     *
+     * @param patternIndex The index of the pattern, in the order given to {@link #compile(String32...)}.
+     * @return The pattern.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     */
+    public String32 pattern(final int patternIndex) {
+        if (patternIndex < 0 || patternIndex >= this.patterns.length) {
+            throw new IndexOutOfBoundsException("Index: " + patternIndex + ", Length: " + this.patterns.length);
+        }
+        return this.patterns[patternIndex];
+    }
+
+    /**
+     * Returns <code>true</code> if the given text contains any of the patterns.
+     * <p>
+     * The scan stops at the first code point at which a pattern ends.
+     * </p>
+     *
+     * @param text The text to search in.
+     * @return <code>true</code> if the text contains any pattern, <code>false</code> otherwise.
+     * @throws NullPointerException If the text is <code>null</code>.
+     */
+    public boolean containsAny(final String32 text) {
+        Objects.requireNonNull(text, "Text cannot be null");
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, text.codePointAt0(i));
+            if (this.terminal[state] >= 0 || this.dictionaryLink[state] >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of leftmost-longest, non-overlapping matches in the given text.
+     *
+     * @param text The text to search in.
+     * @return The number of matches.
+     * @throws NullPointerException If the text is <code>null</code>.
+     */
+    public int count(final String32 text) {
+        Objects.requireNonNull(text, "Text cannot be null");
+        return scan(text, null);
+    }
+
+    /**
+     * Reports every leftmost-longest, non-overlapping match in the given text to the given handler.
+     *
+     * @param text    The text to search in.
+     * @param handler The handler that receives the matches.
+     * @return The number of matches.
+     * @throws NullPointerException If the text or the handler is <code>null</code>.
+     */
+    public int forEachMatch(final String32 text, final MatchHandler handler) {
+        Objects.requireNonNull(text, "Text cannot be null");
+        Objects.requireNonNull(handler, "Handler cannot be null");
+        return scan(text, handler);
+    }
+
+    /**
+     * Replaces every leftmost-longest, non-overlapping match in the given text with the given replacement.
+     * <p>
+     * The text is scanned once, and the replacements are not scanned again.
+     * </p>
+     *
+     * @param text        The text to search in.
+     * @param replacement The replacement for every match.
+     * @return The text with all matches replaced, or the text itself if it contains no match.
+     * @throws NullPointerException If the text or the replacement is <code>null</code>.
+     */
+    public String32 replaceAll(final String32 text, final String32 replacement) {
+        Objects.requireNonNull(text, "Text cannot be null");
+        Objects.requireNonNull(replacement, "Replacement cannot be null");
+        String32Builder builder = new String32Builder(text.length(), String32Coder.widest(text.coder(), replacement.coder()));
+        int[] last = {0};
+        int matches = scan(text, (patternIndex, start, end) -> {
+            builder.append(text, last[0], start).append(replacement);
+            last[0] = end;
+        });
+        if (matches == 0) {
+            return text;
+        }
+        return builder.append(text, last[0], text.length()).build();
+    }
+
+    /**
+     * Finds the leftmost-longest, non-overlapping matches in the given text.
+     * <p>
+     * After every code point, the longest pattern ending there starts at the leftmost position of all patterns ending there,
+     * so it is the only candidate that can improve the pending match.
+     * The pending match is final as soon as no prefix of a pattern that starts at or before it is still open,
+     * which is the case when the depth of the current state does not reach back to its start.
+     * The scan then restarts from the root after the end of the match.
+     * </p>
+     *
+     * @param text    The text to search in.
+     * @param handler The handler that receives the matches, or <code>null</code> to only count them.
+     * @return The number of matches.
+     */
+    private int scan(final String32 text, final MatchHandler handler) {
+        int n = text.length();
+        int matches = 0;
+        int state = 0;
+        int pendingPattern = -1;
+        int pendingStart = 0;
+        int pendingEnd = 0;
+        int i = 0;
+        while (i < n || pendingPattern >= 0) {
+            if (i < n) {
+                state = next(state, text.codePointAt0(i));
+                i++;
+                int out = this.terminal[state] >= 0 ? state : this.dictionaryLink[state];
+                if (out >= 0) {
+                    int start = i - this.depth[out];
+                    if (pendingPattern < 0 || start < pendingStart || (start == pendingStart && i > pendingEnd)) {
+                        pendingPattern = this.terminal[out];
+                        pendingStart = start;
+                        pendingEnd = i;
+                    }
+                }
+                if (pendingPattern < 0 || i - this.depth[state] <= pendingStart) {
+                    continue;
+                }
+            }
+            matches++;
+            if (handler != null) {
+                handler.onMatch(pendingPattern, pendingStart, pendingEnd);
+            }
+            pendingPattern = -1;
+            i = pendingEnd;
+            state = 0;
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the state reached from the given state by the given code point, following failure links as needed.
+     *
+     * @param state The current state.
+     * @param cp    The code point.
+     * @return The next state.
+     */
+    private int next(final int state, final int cp) {
+        int s = state;
+        while (true) {
+            int t = child(s, cp);
+            if (t >= 0) {
+                return t;
+            }
+            if (s == 0) {
+                return 0;
+            }
+            s = this.fail[s];
+        }
+    }
+
+    /**
+     * Returns the child of the given state for the given code point.
+     *
+     * @param state The state.
+     * @param cp    The code point.
+     * @return The child state, or <code>-1</code> if there is none.
+     */
+    private int child(final int state, final int cp) {
+        if (state == 0 && cp >= 0 && cp < ROOT_TABLE_SIZE) {
+            int t = this.rootTable[cp];
+            return t == 0 ? -1 : t;
+        }
+        int dense = this.denseStart[state];
+        if (dense >= 0) {
+            int index = cp - this.denseMin[state];
+            if (index < 0 || index >= this.denseLength[state]) {
+                return -1;
+            }
+            int t = this.denseTargets[dense + index];
+            return t == 0 ? -1 : t;
+        }
+        int from = this.childStart[state];
+        int index = Arrays.binarySearch(this.childKeys, from, from + this.childCount[state], cp);
+        return index >= 0 ? this.childTargets[index] : -1;
+    }
+
+    /**
+     * Returns <code>true</code> if the given children should be stored in a dense transition table.
+     *
+     * @param map The children of a state.
+     * @return <code>true</code> if the children are many and close together.
+     */
+    private static boolean isDense(final Map<Integer, Integer> map) {
+        if (map.size() < DENSE_MIN_CHILDREN) {
+            return false;
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int key : map.keySet()) {
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+        return (long) max - min + 1 <= (long) map.size() * DENSE_MAX_SPREAD;
+    }
+}
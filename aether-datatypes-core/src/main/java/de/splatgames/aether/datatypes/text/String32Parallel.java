@@ -0,0 +1,617 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+
+/**
+ * The <code>String32Parallel</code> class runs bulk operations of a large <code>String32</code> object on a {@link ForkJoinPool}.
+ * <p>
+ * An instance is obtained from {@link String32#parallel()} or {@link String32#parallel(ForkJoinPool)}.
+ * Its methods return the same results as the <code>String32</code> methods of the same name,
+ * but split the code points into chunks that are processed by the threads of the pool and combine the partial results.
+ * A <code>String32</code> object that is shorter than the {@link #threshold() threshold} is processed sequentially by the <code>String32</code> method.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32 payload = String32Encoding.UTF_8.read(channel);
+ *         int sentences = payload.parallel().countOccurrences(String32.valueOf(". "));
+ *         String32 alphabet = payload.parallel().distinct().sortCharacters();
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * The default threshold is <code>65536</code> code points and can be changed with the system property {@value #THRESHOLD_PROPERTY}
+ * or per instance with {@link #withThreshold(int)}.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote This class is immutable and thread-safe.
+ * Functions passed to {@link #mapCharacters(Function)} and {@link #reduceCharacters(int, IntBinaryOperator)} are called from several threads
+ * at once and must be stateless, like the functions of a parallel {@link java.util.stream.IntStream}.
+ * @see String32#parallel()
+ * @since 1.0.0
+ */
+public final class String32Parallel {
+
+    /**
+     * The system property that sets the default threshold in code points.
+     */
+    public static final String THRESHOLD_PROPERTY = "aether.datatypes.string32.parallel.threshold";
+
+    /**
+     * The default threshold in code points.
+     */
+    private static final int DEFAULT_THRESHOLD = Math.max(1, Integer.getInteger(THRESHOLD_PROPERTY, 65536));
+    /**
+     * The minimum number of code points of one chunk.
+     */
+    private static final int MIN_CHUNK_SIZE = 4096;
+    /**
+     * The number of chunks per thread of the pool, so that threads that finish early can take over work.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * The <code>String32</code> object to process.
+     */
+    private final String32 str;
+    /**
+     * The pool that runs the chunks.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * The minimum length of a <code>String32</code> object that is processed in parallel.
+     */
+    private final int threshold;
+
+    /**
+     * Creates a new instance with the default threshold.
+     *
+     * @param str  The <code>String32</code> object to process.
+     * @param pool The pool that runs the chunks.
+     */
+    String32Parallel(final String32 str, final ForkJoinPool pool) {
+        this(str, pool, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param str       The <code>String32</code> object to process.
+     * @param pool      The pool that runs the chunks.
+     * @param threshold The minimum length of a <code>String32</code> object that is processed in parallel.
+     */
+    private String32Parallel(final String32 str, final ForkJoinPool pool, final int threshold) {
+        this.str = str;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns the minimum length of a <code>String32</code> object that is processed in parallel.
+     *
+     * @return The threshold in code points.
+     */
+    public int threshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Returns an instance with the given threshold for the same <code>String32</code> object and pool.
+     *
+     * @param threshold The minimum length of a <code>String32</code> object that is processed in parallel.
+     * @return The instance with the given threshold.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     */
+    public String32Parallel withThreshold(final int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        return new String32Parallel(this.str, this.pool, threshold);
+    }
+
+    /**
+     * Returns the number of non-overlapping occurrences of the given <code>String32</code> object, like {@link String32#countOccurrences(String32)}.
+     * <p>
+     * Every chunk counts the occurrences that start in it, reading up to the length of the substring past its end,
+     * so that occurrences spanning a chunk boundary are found.
+     * A chunk whose first occurrence overlaps the last occurrence of the previous chunk is counted again after that occurrence,
+     * so the result is the same as that of the sequential left-to-right count.
+     * </p>
+     *
+     * @param substring The <code>String32</code> object to count the occurrences of.
+     * @return The number of occurrences of the given <code>String32</code> object.
+     * @apiNote If the given <code>String32</code> object is empty or null, this method will return 0.
+     */
+    public int countOccurrences(final String32 substring) {
+        if (substring == null || substring.isEmpty()) {
+            return 0;
+        }
+        int n = this.str.length();
+        int chunks = chunks(n);
+        if (chunks == 1 || substring.length() > n) {
+            return this.str.countOccurrences(substring);
+        }
+        int[] counts = new int[chunks];
+        int[] firsts = new int[chunks];
+        int[] ends = new int[chunks];
+        forEachChunk(chunks, c -> count(substring, c, start(n, chunks, c), start(n, chunks, c + 1), counts, firsts, ends));
+        int total = 0;
+        int frontier = 0;
+        for (int c = 0; c < chunks; c++) {
+            if (firsts[c] >= 0 && firsts[c] < frontier) {
+                count(substring, c, frontier, start(n, chunks, c + 1), counts, firsts, ends);
+            }
+            total += counts[c];
+            if (counts[c] > 0) {
+                frontier = ends[c];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns a new <code>String32</code> object that is mapped by the given mapper, like {@link String32#mapCharacters(Function)}.
+     *
+     * @param mapper The stateless mapper to apply.
+     * @return The new <code>String32</code> object that is mapped by the given mapper.
+     * @throws NullPointerException     if the mapper is <code>null</code>.
+     * @throws IllegalArgumentException if the mapper returns an invalid code point.
+     */
+    public String32 mapCharacters(final Function<Integer, Integer> mapper) {
+        Objects.requireNonNull(mapper, "mapper cannot be null");
+        int n = this.str.length();
+        int chunks = chunks(n);
+        if (chunks == 1) {
+            return this.str.mapCharacters(mapper);
+        }
+        int[] cps = new int[n];
+        byte[] coders = new byte[chunks];
+        forEachChunk(chunks, c -> {
+            byte coder = String32Coder.LATIN1;
+            for (int i = start(n, chunks, c), end = start(n, chunks, c + 1); i < end; i++) {
+                int cp = mapper.apply(this.str.codePointAt0(i));
+                if (!Character.isValidCodePoint(cp)) {
+                    throw new IllegalArgumentException(String.format("Not a valid Unicode code point: 0x%X", cp));
+                }
+                cps[i] = cp;
+                coder = String32Coder.widest(coder, String32Coder.coderOf(cp));
+            }
+            coders[c] = coder;
+        });
+        byte coder = String32Coder.LATIN1;
+        for (byte chunkCoder : coders) {
+            coder = String32Coder.widest(coder, chunkCoder);
+        }
+        if (coder == String32Coder.UTF32) {
+            int[] combined = String32Coder.combineSurrogatePairs(cps, 0, n);
+            return new String32(combined != null ? combined : cps, String32Coder.UTF32);
+        }
+        Object value = String32Coder.allocate(coder, n);
+        byte target = coder;
+        forEachChunk(chunks, c -> {
+            for (int i = start(n, chunks, c), end = start(n, chunks, c + 1); i < end; i++) {
+                String32Coder.put(value, target, i, cps[i]);
+            }
+        });
+        return new String32(value, coder);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object that is reduced by the given accumulator, like {@link String32#reduceCharacters(int, IntBinaryOperator)}.
+     * <p>
+     * Every chunk is reduced starting from the identity value, and the partial results are combined from left to right with the accumulator.
+     * As for {@link java.util.stream.IntStream#reduce(int, IntBinaryOperator)}, the accumulator must be associative
+     * and the identity value must be an identity for it, otherwise the result differs from the sequential one.
+     * </p>
+     *
+     * @param identity    The identity value.
+     * @param accumulator The associative, stateless accumulator to apply.
+     * @return The new <code>String32</code> object that is reduced by the given accumulator.
+     * @throws NullPointerException if the accumulator is <code>null</code>.
+     */
+    public String32 reduceCharacters(final int identity, final IntBinaryOperator accumulator) {
+        Objects.requireNonNull(accumulator, "accumulator cannot be null");
+        int n = this.str.length();
+        int chunks = chunks(n);
+        if (chunks == 1) {
+            return this.str.reduceCharacters(identity, accumulator);
+        }
+        int[] partials = new int[chunks];
+        forEachChunk(chunks, c -> {
+            int result = identity;
+            for (int i = start(n, chunks, c), end = start(n, chunks, c + 1); i < end; i++) {
+                result = accumulator.applyAsInt(result, this.str.codePointAt0(i));
+            }
+            partials[c] = result;
+        });
+        int result = partials[0];
+        for (int c = 1; c < chunks; c++) {
+            result = accumulator.applyAsInt(result, partials[c]);
+        }
+        return String32.valueOf(result);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object without the given code point, like {@link String32#removeAll(int)}.
+     * <p>
+     * Every chunk first counts the code points it keeps, and then copies its runs of kept code points to their final position.
+     * </p>
+     *
+     * @param codePoint The code point to remove all occurrences of.
+     * @return The new <code>String32</code> object without the given code point.
+     */
+    public String32 removeAll(final int codePoint) {
+        int n = this.str.length();
+        int chunks = chunks(n);
+        if (chunks == 1) {
+            return this.str.removeAll(codePoint);
+        }
+        int[] offsets = new int[chunks + 1];
+        forEachChunk(chunks, c -> {
+            int kept = 0;
+            for (int i = start(n, chunks, c), end = start(n, chunks, c + 1); i < end; i++) {
+                if (this.str.codePointAt0(i) != codePoint) {
+                    kept++;
+                }
+            }
+            offsets[c + 1] = kept;
+        });
+        for (int c = 0; c < chunks; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int total = offsets[chunks];
+        Object src = this.str.value();
+        byte coder = this.str.coder();
+        int offset = this.str.offset();
+        Object value = String32Coder.allocate(coder, total);
+        forEachChunk(chunks, c -> {
+            int pos = offsets[c];
+            int end = start(n, chunks, c + 1);
+            int run = start(n, chunks, c);
+            for (int i = run; i < end; i++) {
+                if (this.str.codePointAt0(i) == codePoint) {
+                    System.arraycopy(src, offset + run, value, pos, i - run);
+                    pos += i - run;
+                    run = i + 1;
+                }
+            }
+            System.arraycopy(src, offset + run, value, pos, end - run);
+        });
+        if (coder == String32Coder.UTF32) {
+            int[] combined = String32Coder.combineSurrogatePairs((int[]) value, 0, total);
+            if (combined != null) {
+                return new String32(combined, String32Coder.UTF32);
+            }
+        }
+        return new String32(value, coder);
+    }
+
+    /**
+     * Returns a new <code>String32</code> object with the distinct characters in the order of their first occurrence,
+     * like {@link String32#distinct()}.
+     * <p>
+     * Every chunk collects its distinct UTF-16 characters, and the lists are merged from left to right.
+     * </p>
+     *
+     * @return The new <code>String32</code> object that is distinct.
+     */
+    public String32 distinct() {
+        int n = this.str.length();
+        int chunks = chunks(n);
+        if (chunks == 1) {
+            return this.str.distinct();
+        }
+        int[][] units = new int[chunks][];
+        forEachChunk(chunks, c -> {
+            long[] seen = new long[1 << 10];
+            int[] list = new int[16];
+            int size = 0;
+            for (int i = start(n, chunks, c), end = start(n, chunks, c + 1); i < end; i++) {
+                int cp = this.str.codePointAt0(i);
+                if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    size = addUnit(seen, list = ensureCapacity(list, size), size, cp);
+                } else {
+                    size = addUnit(seen, list = ensureCapacity(list, size), size, Character.highSurrogate(cp));
+                    size = addUnit(seen, list = ensureCapacity(list, size), size, Character.lowSurrogate(cp));
+                }
+            }
+            units[c] = Arrays.copyOf(list, size);
+        });
+        long[] seen = new long[1 << 10];
+        int[] result = new int[16];
+        int size = 0;
+        for (int[] list : units) {
+            for (int unit : list) {
+                size = addUnit(seen, result = ensureCapacity(result, size), size, unit);
+            }
+        }
+        return String32.valueOf(Arrays.copyOf(result, size));
+    }
+
+    /**
+     * Returns a new <code>String32</code> object with the code points in ascending order, like {@link String32#sortCharacters()}.
+     * <p>
+     * Latin-1 and BMP storage is sorted by counting the code points of every chunk.
+     * Other storage is sorted chunk by chunk, and the sorted chunks are merged pairwise in parallel.
+     * </p>
+     *
+     * @return The new <code>String32</code> object with sorted code points.
+     */
+    public String32 sortCharacters() {
+        int n = this.str.length();
+        int chunks = chunks(n);
+        if (chunks == 1) {
+            return this.str.sortCharacters();
+        }
+        byte coder = this.str.coder();
+        if (coder == String32Coder.UTF32) {
+            return sortCodePoints(n, chunks);
+        }
+        int buckets = coder == String32Coder.LATIN1 ? 1 << 8 : 1 << 16;
+        int histograms = Math.min(chunks, Math.max(1, this.pool.getParallelism()));
+        int[][] counts = new int[histograms][];
+        forEachChunk(histograms, c -> {
+            int[] count = new int[buckets];
+            for (int i = start(n, histograms, c), end = start(n, histograms, c + 1); i < end; i++) {
+                count[this.str.codePointAt0(i)]++;
+            }
+            counts[c] = count;
+        });
+        int[] total = counts[0];
+        for (int c = 1; c < histograms; c++) {
+            for (int b = 0; b < buckets; b++) {
+                total[b] += counts[c][b];
+            }
+        }
+        int max = buckets - 1;
+        while (total[max] == 0) {
+            max--;
+        }
+        if (max <= 0xFF) {
+            byte[] bytes = new byte[n];
+            for (int b = 0, pos = 0; b <= max; pos += total[b], b++) {
+                Arrays.fill(bytes, pos, pos + total[b], (byte) b);
+            }
+            return new String32(bytes, String32Coder.LATIN1);
+        }
+        char[] chars = new char[n];
+        for (int b = 0, pos = 0; b <= max; pos += total[b], b++) {
+            Arrays.fill(chars, pos, pos + total[b], (char) b);
+        }
+        return new String32(chars, String32Coder.UTF16);
+    }
+
+    /**
+     * Sorts code points stored in an {@code int[]} by sorting every chunk and merging the sorted chunks pairwise.
+     *
+     * @param n      The number of code points.
+     * @param chunks The number of chunks.
+     * @return The new <code>String32</code> object with sorted code points.
+     */
+    private String32 sortCodePoints(final int n, final int chunks) {
+        int[] a = new int[n];
+        Object value = this.str.value();
+        int offset = this.str.offset();
+        forEachChunk(chunks, c -> {
+            int from = start(n, chunks, c);
+            int to = start(n, chunks, c + 1);
+            System.arraycopy(value, offset + from, a, from, to - from);
+            Arrays.sort(a, from, to);
+        });
+        int[] src = a;
+        int[] dst = new int[n];
+        for (int width = 1; width < chunks; width <<= 1) {
+            int step = width;
+            int[] in = src;
+            int[] out = dst;
+            forEachChunk((chunks + 2 * step - 1) / (2 * step), p -> {
+                int lo = start(n, chunks, p * 2 * step);
+                int mid = start(n, chunks, Math.min(p * 2 * step + step, chunks));
+                int hi = start(n, chunks, Math.min(p * 2 * step + 2 * step, chunks));
+                merge(in, lo, mid, hi, out);
+            });
+            src = out;
+            dst = in;
+        }
+        int[] combined = String32Coder.combineSurrogatePairs(src, 0, n);
+        if (combined != null) {
+            return new String32(combined, String32Coder.UTF32);
+        }
+        byte coder = String32Coder.coderOf(src, 0, n);
+        return new String32(coder == String32Coder.UTF32 ? src : String32Coder.encode(src, 0, n, coder), coder);
+    }
+
+    /**
+     * Counts the non-overlapping occurrences of the given substring that start in the given range, from left to right.
+     *
+     * @param substring The substring.
+     * @param c         The index of the chunk to store the result for.
+     * @param from      The first index an occurrence may start at, inclusive.
+     * @param to        The last index an occurrence may start at, exclusive.
+     * @param counts    The number of occurrences of every chunk.
+     * @param firsts    The index of the first occurrence of every chunk, or <code>-1</code>.
+     * @param ends      The index after the last occurrence of every chunk.
+     */
+    private void count(final String32 substring, final int c, final int from, final int to,
+                       final int[] counts, final int[] firsts, final int[] ends) {
+        int m = substring.length();
+        int count = 0;
+        int first = -1;
+        int end = from;
+        if (from < to) {
+            String32 window = this.str.substring(from, Math.min(this.str.length(), to + m - 1));
+            int index = 0;
+            while ((index = String32Search.indexOf(window, substring, index)) != -1) {
+                if (first < 0) {
+                    first = from + index;
+                }
+                count++;
+                index += m;
+                end = from + index;
+            }
+        }
+        counts[c] = count;
+        firsts[c] = first;
+        ends[c] = end;
+    }
+
+    /**
+     * Returns the number of chunks to split the given number of code points into.
+     *
+     * @param n The number of code points.
+     * @return The number of chunks, <code>1</code> if the code points are processed sequentially.
+     */
+    private int chunks(final int n) {
+        int parallelism = this.pool.getParallelism();
+        if (n < this.threshold || parallelism <= 1) {
+            return 1;
+        }
+        return Math.max(1, Math.min(parallelism * CHUNKS_PER_THREAD, n / MIN_CHUNK_SIZE));
+    }
+
+    /**
+     * Runs the given action for every chunk index on the pool and waits until all of them are done.
+     *
+     * @param chunks The number of chunks.
+     * @param action The action that processes one chunk.
+     */
+    private void forEachChunk(final int chunks, final IntConsumer action) {
+        this.pool.invoke(new ChunkTask(action, 0, chunks));
+    }
+
+    /**
+     * Returns the index of the first code point of the given chunk.
+     *
+     * @param n      The number of code points.
+     * @param chunks The number of chunks.
+     * @param c      The index of the chunk, or the number of chunks for the end.
+     * @return The index of the first code point of the chunk.
+     */
+    private static int start(final int n, final int chunks, final int c) {
+        return (int) ((long) n * c / chunks);
+    }
+
+    /**
+     * Merges two adjacent sorted ranges into the same range of another array.
+     *
+     * @param src The array with the sorted ranges.
+     * @param lo  The first index of the first range, inclusive.
+     * @param mid The first index of the second range, inclusive.
+     * @param hi  The last index of the second range, exclusive.
+     * @param dst The array to merge into.
+     */
+    private static void merge(final int[] src, final int lo, final int mid, final int hi, final int[] dst) {
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    /**
+     * Appends the given UTF-16 character to the list if it was not seen before.
+     *
+     * @param seen The bit set of the characters seen before.
+     * @param list The list, which has room for one more character.
+     * @param size The size of the list.
+     * @param unit The character.
+     * @return The new size of the list.
+     */
+    private static int addUnit(final long[] seen, final int[] list, final int size, final int unit) {
+        long bit = 1L << unit;
+        if ((seen[unit >>> 6] & bit) != 0) {
+            return size;
+        }
+        seen[unit >>> 6] |= bit;
+        list[size] = unit;
+        return size + 1;
+    }
+
+    /**
+     * Returns the given list, or a larger copy of it if it is full.
+     *
+     * @param list The list.
+     * @param size The size of the list.
+     * @return A list with room for one more element.
+     */
+    private static int[] ensureCapacity(final int[] list, final int size) {
+        return size < list.length ? list : Arrays.copyOf(list, list.length << 1);
+    }
+
+    /**
+     * A task that runs an action for a range of chunk indices, splitting the range in halves until one chunk remains.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The action that processes one chunk.
+         */
+        private final transient IntConsumer action;
+        /**
+         * The first chunk index, inclusive.
+         */
+        private final int from;
+        /**
+         * The last chunk index, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Creates a new task.
+         *
+         * @param action The action that processes one chunk.
+         * @param from   The first chunk index, inclusive.
+         * @param to     The last chunk index, exclusive.
+         */
+        ChunkTask(final IntConsumer action, final int from, final int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                this.action.accept(this.from);
+                return;
+            }
+            int mid = (this.from + this.to) >>> 1;
+            invokeAll(new ChunkTask(this.action, this.from, mid), new ChunkTask(this.action, mid, this.to));
+        }
+    }
+}
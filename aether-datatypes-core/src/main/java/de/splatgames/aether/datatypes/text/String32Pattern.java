@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The <code>String32Pattern</code> class is a compiled regular expression that is applied to <code>String32</code> objects.
+ * <p>
+ * It wraps a {@link Pattern} and matches it against the {@link String32#asCharSequence() UTF-16 view} of a <code>String32</code>,
+ * so neither the regular expression nor the input is converted to a {@link String} on every call.
+ * Callers that apply the same regular expressions repeatedly should compile them once into <code>String32Pattern</code> objects.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32Pattern route = String32Pattern.compile(String32.valueOf("/users/\\d+"));
+ *         System.out.println(route.matches(String32.valueOf("/users/42")));
+ *         // Output: true
+ *         System.out.println(route.replaceAll(String32.valueOf("GET /users/42"), String32.valueOf("/users/{id}")));
+ *         // Output: "GET /users/{id}"
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * The regular expression methods of <code>String32</code> that take the regular expression as a <code>String32</code>,
+ * such as {@link String32#matches(String32)} and {@link String32#replaceAll(String32, String32)},
+ * look their <code>String32Pattern</code> up in a bounded least-recently-used cache instead of recompiling it.
+ * The size of the cache is set by the system property {@value #CACHE_SIZE_PROPERTY}, <code>64</code> by default;
+ * <code>0</code> disables the cache.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote This class is immutable and thread-safe, the same as {@link Pattern}.
+ * @see Pattern
+ * @see String32#asCharSequence()
+ * @since 1.0.0
+ */
+public final class String32Pattern {
+
+    /**
+     * The system property that sets the number of compiled regular expressions cached for the regular expression methods of <code>String32</code>.
+     */
+    public static final String CACHE_SIZE_PROPERTY = "aether.datatypes.string32.regex.cacheSize";
+
+    /**
+     * The default number of cached regular expressions.
+     */
+    private static final int DEFAULT_CACHE_SIZE = 64;
+
+    /**
+     * The regular expression as a <code>String32</code>.
+     */
+    private final String32 regex;
+    /**
+     * The compiled regular expression.
+     */
+    private final Pattern pattern;
+
+    /**
+     * Constructs a new <code>String32Pattern</code> object.
+     *
+     * @param regex   The regular expression as a <code>String32</code>.
+     * @param pattern The compiled regular expression.
+     */
+    private String32Pattern(final String32 regex, final Pattern pattern) {
+        this.regex = regex;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Compiles the given regular expression into a new <code>String32Pattern</code> object.
+     *
+     * @param regex The regular expression.
+     * @return The compiled <code>String32Pattern</code> object.
+     * @throws NullPointerException                   If the regular expression is <code>null</code>.
+     * @throws java.util.regex.PatternSyntaxException If the regular expression is invalid.
+     */
+    public static String32Pattern compile(final String32 regex) {
+        return compile(regex, 0);
+    }
+
+    /**
+     * Compiles the given regular expression with the given flags into a new <code>String32Pattern</code> object.
+     *
+     * @param regex The regular expression.
+     * @param flags The match flags, a bit mask of the flags defined by {@link Pattern}.
+     * @return The compiled <code>String32Pattern</code> object.
+     * @throws NullPointerException                   If the regular expression is <code>null</code>.
+     * @throws IllegalArgumentException               If the flags contain undefined bits.
+     * @throws java.util.regex.PatternSyntaxException If the regular expression is invalid.
+     */
+    public static String32Pattern compile(final String32 regex, final int flags) {
+        Objects.requireNonNull(regex, "Regex cannot be null");
+        return new String32Pattern(regex, Pattern.compile(regex.toString(), flags));
+    }
+
+    /**
+     * Wraps the given compiled {@link Pattern} into a new <code>String32Pattern</code> object.
+     *
+     * @param pattern The compiled {@link Pattern}.
+     * @return The <code>String32Pattern</code> object.
+     * @throws NullPointerException If the {@link Pattern} is <code>null</code>.
+     */
+    public static String32Pattern of(final Pattern pattern) {
+        Objects.requireNonNull(pattern, "Pattern cannot be null");
+        return new String32Pattern(String32.valueOf(pattern.pattern()), pattern);
+    }
+
+    /**
+     * Returns the compiled <code>String32Pattern</code> for the given regular expression and flags from the cache,
+     * compiling and caching it if necessary.
+     *
+     * @param regex The regular expression.
+     * @param flags The match flags.
+     * @return The compiled <code>String32Pattern</code> object.
+     * @throws java.util.regex.PatternSyntaxException If the regular expression is invalid.
+     */
+    static String32Pattern cached(final String32 regex, final int flags) {
+        return Cache.INSTANCE.get(regex, flags);
+    }
+
+    /**
+     * Returns the regular expression of this pattern.
+     *
+     * @return The regular expression.
+     */
+    public String32 regex() {
+        return this.regex;
+    }
+
+    /**
+     * Returns the match flags of this pattern.
+     *
+     * @return The match flags.
+     */
+    public int flags() {
+        return this.pattern.flags();
+    }
+
+    /**
+     * Returns the compiled {@link Pattern} of this pattern.
+     *
+     * @return The compiled {@link Pattern}.
+     */
+    public Pattern toPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Creates a {@link Matcher} that matches the given input against this pattern.
+     * <p>
+     * The {@link Matcher} reads the {@link String32#asCharSequence() UTF-16 view} of the input,
+     * so its indices are UTF-16 char indices, not code point indices.
+     * </p>
+     *
+     * @param input The input to match.
+     * @return A new {@link Matcher}.
+     * @throws NullPointerException If the input is <code>null</code>.
+     */
+    public Matcher matcher(final String32 input) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        return this.pattern.matcher(input.asCharSequence());
+    }
+
+    /**
+     * Returns <code>true</code> if the entire input matches this pattern.
+     *
+     * @param input The input to match.
+     * @return <code>true</code> if the input matches, <code>false</code> otherwise.
+     * @throws NullPointerException If the input is <code>null</code>.
+     */
+    public boolean matches(final String32 input) {
+        return matcher(input).matches();
+    }
+
+    /**
+     * Returns <code>true</code> if any part of the input matches this pattern.
+     *
+     * @param input The input to search in.
+     * @return <code>true</code> if a match is found, <code>false</code> otherwise.
+     * @throws NullPointerException If the input is <code>null</code>.
+     */
+    public boolean find(final String32 input) {
+        return matcher(input).find();
+    }
+
+    /**
+     * Replaces every match in the input with the given replacement.
+     * <p>
+     * The replacement may refer to groups as described by {@link Matcher#replaceAll(String)}.
+     * </p>
+     *
+     * @param input       The input.
+     * @param replacement The replacement.
+     * @return The input with every match replaced.
+     * @throws NullPointerException If the input or the replacement is <code>null</code>.
+     */
+    public String32 replaceAll(final String32 input, final String32 replacement) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        Objects.requireNonNull(replacement, "Replacement cannot be null");
+        return replaceAll(this.pattern, input, replacement);
+    }
+
+    /**
+     * Replaces the first match in the input with the given replacement.
+     * <p>
+     * The replacement may refer to groups as described by {@link Matcher#replaceFirst(String)}.
+     * </p>
+     *
+     * @param input       The input.
+     * @param replacement The replacement.
+     * @return The input with the first match replaced.
+     * @throws NullPointerException If the input or the replacement is <code>null</code>.
+     */
+    public String32 replaceFirst(final String32 input, final String32 replacement) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        Objects.requireNonNull(replacement, "Replacement cannot be null");
+        Matcher matcher = this.pattern.matcher(input.asCharSequence());
+        if (!matcher.find()) {
+            return input;
+        }
+        return String32.valueOf(matcher.replaceFirst(replacement.toString()));
+    }
+
+    /**
+     * Splits the input around the matches of this pattern.
+     *
+     * @param input The input to split.
+     * @return The parts of the input, as described by {@link Pattern#split(CharSequence)}.
+     * @throws NullPointerException If the input is <code>null</code>.
+     */
+    public String32[] split(final String32 input) {
+        return split(input, 0);
+    }
+
+    /**
+     * Splits the input around the matches of this pattern.
+     *
+     * @param input The input to split.
+     * @param limit The maximum number of parts, as described by {@link Pattern#split(CharSequence, int)}.
+     * @return The parts of the input.
+     * @throws NullPointerException If the input is <code>null</code>.
+     */
+    public String32[] split(final String32 input, final int limit) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        return split(this.pattern, input, limit);
+    }
+
+    /**
+     * Replaces every match of the given {@link Pattern} in the input with the given replacement.
+     *
+     * @param pattern     The {@link Pattern}.
+     * @param input       The input.
+     * @param replacement The replacement.
+     * @return The input with every match replaced, or the input itself if there is no match.
+     */
+    static String32 replaceAll(final Pattern pattern, final String32 input, final String32 replacement) {
+        Matcher matcher = pattern.matcher(input.asCharSequence());
+        if (!matcher.find()) {
+            return input;
+        }
+        return String32.valueOf(matcher.replaceAll(replacement.toString()));
+    }
+
+    /**
+     * Splits the input around the matches of the given {@link Pattern}.
+     *
+     * @param pattern The {@link Pattern}.
+     * @param input   The input to split.
+     * @param limit   The maximum number of parts, as described by {@link Pattern#split(CharSequence, int)}.
+     * @return The parts of the input.
+     */
+    static String32[] split(final Pattern pattern, final String32 input, final int limit) {
+        String[] parts = pattern.split(input.asCharSequence(), limit);
+        String32[] result = new String32[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = String32.valueOf(parts[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the regular expression of this pattern as a {@link String}.
+     *
+     * @return The regular expression.
+     */
+    @Override
+    public String toString() {
+        return this.pattern.pattern();
+    }
+
+    /**
+     * The bounded least-recently-used cache of compiled regular expressions.
+     */
+    private static final class Cache {
+
+        /**
+         * The shared cache, sized by the system property {@value String32Pattern#CACHE_SIZE_PROPERTY}.
+         */
+        private static final Cache INSTANCE = new Cache(Math.max(0, Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE)));
+
+        /**
+         * The maximum number of cached patterns.
+         */
+        private final int capacity;
+        /**
+         * The cached patterns in access order.
+         */
+        private final LinkedHashMap<Key, String32Pattern> map;
+
+        /**
+         * Constructs a new empty cache.
+         *
+         * @param capacity The maximum number of cached patterns.
+         */
+        private Cache(final int capacity) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Key, String32Pattern> eldest) {
+                    return size() > Cache.this.capacity;
+                }
+            };
+        }
+
+        /**
+         * Returns the cached pattern for the given regular expression and flags, compiling it if necessary.
+         * <p>
+         * The pattern is compiled outside the lock, so a slow compilation does not block other lookups.
+         * </p>
+         *
+         * @param regex The regular expression.
+         * @param flags The match flags.
+         * @return The compiled pattern.
+         */
+        private String32Pattern get(final String32 regex, final int flags) {
+            if (this.capacity == 0) {
+                return compile(regex, flags);
+            }
+            Key key = new Key(regex, flags);
+            String32Pattern pattern;
+            synchronized (this.map) {
+                pattern = this.map.get(key);
+            }
+            if (pattern == null) {
+                pattern = compile(regex.compact(), flags);
+                synchronized (this.map) {
+                    this.map.put(new Key(pattern.regex(), flags), pattern);
+                }
+            }
+            return pattern;
+        }
+    }
+
+    /**
+     * The key of a cached pattern.
+     */
+    private static final class Key {
+
+        /**
+         * The regular expression.
+         */
+        private final String32 regex;
+        /**
+         * The match flags.
+         */
+        private final int flags;
+
+        /**
+         * Constructs a new key.
+         *
+         * @param regex The regular expression.
+         * @param flags The match flags.
+         */
+        private Key(final String32 regex, final int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.flags == other.flags && this.regex.equals(other.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.regex.hashCode() + this.flags;
+        }
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The <code>String32Pool</code> class is a concurrent pool of canonical <code>String32</code> objects.
+ * <p>
+ * Interning a <code>String32</code> returns the one pooled instance that is equal to it,
+ * so that many equal values share a single backing array and can be compared by identity.
+ * This is the <code>String32</code> counterpart of {@link String#intern()}.
+ * </p>
+ * <p>
+ * The pool is a hash table split into independently locked segments, so that threads interning different values rarely contend.
+ * Entries are weakly referenced: a pooled <code>String32</code> that is no longer used anywhere else is garbage collected,
+ * and its entry is removed the next time its segment is accessed.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32Pool pool = new String32Pool(4096, 16);
+ *         String32 a = pool.intern(String32.valueOf("tag"));
+ *         String32 b = pool.intern(String32.valueOf("tag"));
+ *         System.out.println(a == b);
+ *         // Output: true
+ *         System.out.println(pool.hitCount() + " / " + pool.missCount());
+ *         // Output: "1 / 1"
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * {@link String32#intern()} uses the {@link #global() global pool}, which is configured by the following system properties:
+ * </p>
+ * <ul>
+ *     <li>{@value #CAPACITY_PROPERTY}: the initial capacity, <code>1024</code> by default.</li>
+ *     <li>{@value #CONCURRENCY_LEVEL_PROPERTY}: the number of segments, <code>16</code> by default.</li>
+ *     <li>{@value #RESOLVE_DESERIALIZED_PROPERTY}: if <code>true</code>, every deserialized <code>String32</code> is interned in the global pool,
+ *     so that equal deserialized values collapse into one instance. <code>false</code> by default.</li>
+ * </ul>
+ *
+ * @author Erik Pförtner
+ * @implNote This class is thread-safe.
+ * Pooled values are stored {@link String32#compact() compacted}, so that an interned substring never keeps its parent's backing array reachable.
+ * @see String32#intern()
+ * @since 1.0.0
+ */
+public final class String32Pool {
+
+    /**
+     * The system property that sets the initial capacity of the {@link #global() global pool}.
+     */
+    public static final String CAPACITY_PROPERTY = "aether.datatypes.string32.pool.capacity";
+    /**
+     * The system property that sets the number of segments of the {@link #global() global pool}.
+     */
+    public static final String CONCURRENCY_LEVEL_PROPERTY = "aether.datatypes.string32.pool.concurrencyLevel";
+    /**
+     * The system property that makes deserialization intern every <code>String32</code> in the {@link #global() global pool}.
+     */
+    public static final String RESOLVE_DESERIALIZED_PROPERTY = "aether.datatypes.string32.pool.resolveDeserialized";
+
+    /**
+     * The default initial capacity of a pool.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+    /**
+     * The default number of segments of a pool.
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    /**
+     * The maximum number of segments of a pool.
+     */
+    private static final int MAX_SEGMENTS = 1 << 16;
+    /**
+     * The maximum table size of a segment.
+     */
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+    /**
+     * Whether deserialized <code>String32</code> objects are interned in the global pool.
+     */
+    private static final boolean RESOLVE_DESERIALIZED = Boolean.getBoolean(RESOLVE_DESERIALIZED_PROPERTY);
+
+    /**
+     * The segments of the pool.
+     */
+    private final Segment[] segments;
+    /**
+     * The shift that selects the segment from the upper bits of a mixed hash.
+     */
+    private final int segmentShift;
+    /**
+     * The number of {@link #intern(String32)} calls that returned an already pooled value.
+     */
+    private final LongAdder hits = new LongAdder();
+    /**
+     * The number of {@link #intern(String32)} calls that added a new value.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new empty <code>String32Pool</code> object with the default capacity and concurrency level.
+     */
+    public String32Pool() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a new empty <code>String32Pool</code> object.
+     *
+     * @param initialCapacity  The number of values that the pool can hold before it has to grow.
+     * @param concurrencyLevel The expected number of threads interning concurrently, which is rounded up to a power of two and used as the number of segments.
+     * @throws IllegalArgumentException If the initial capacity is negative or the concurrency level is not positive.
+     */
+    public String32Pool(final int initialCapacity, final int concurrencyLevel) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+        }
+        int segmentCount = powerOfTwo(Math.min(concurrencyLevel, MAX_SEGMENTS));
+        int perSegment = (int) Math.min(MAX_TABLE_SIZE, ((long) initialCapacity + segmentCount - 1) / segmentCount);
+        int tableSize = powerOfTwo(Math.max(2, (int) Math.min(MAX_TABLE_SIZE, perSegment * 4L / 3 + 1)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(tableSize);
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    /**
+     * Returns the global pool used by {@link String32#intern()}.
+     * <p>
+     * The global pool is created on first use, with the capacity and concurrency level given by
+     * the system properties {@value #CAPACITY_PROPERTY} and {@value #CONCURRENCY_LEVEL_PROPERTY}.
+     * </p>
+     *
+     * @return The global pool.
+     */
+    public static String32Pool global() {
+        return GlobalHolder.GLOBAL;
+    }
+
+    /**
+     * Returns <code>true</code> if deserialized <code>String32</code> objects are interned in the {@link #global() global pool}.
+     *
+     * @return The value of the system property {@value #RESOLVE_DESERIALIZED_PROPERTY} when this class was initialized.
+     */
+    public static boolean isResolvingDeserialized() {
+        return RESOLVE_DESERIALIZED;
+    }
+
+    /**
+     * Returns the canonical <code>String32</code> object that is equal to the given one.
+     * <p>
+     * If the pool already contains an equal value, that value is returned.
+     * Otherwise, a {@link String32#compact() compacted} form of the given value is added to the pool and returned.
+     * </p>
+     *
+     * @param str The <code>String32</code> object to intern.
+     * @return The canonical <code>String32</code> object that is equal to the given one.
+     * @throws NullPointerException If the <code>String32</code> object is <code>null</code>.
+     */
+    public String32 intern(final String32 str) {
+        Objects.requireNonNull(str, "String32 to intern cannot be null");
+        int hash = mix(str.hashCode());
+        Segment segment = this.segments[(hash >>> this.segmentShift) & (this.segments.length - 1)];
+        return segment.intern(str, hash, this.hits, this.misses);
+    }
+
+    /**
+     * Returns the number of live values in the pool.
+     * <p>
+     * Values that were garbage collected but whose entries have not been removed yet are removed first.
+     * The result is only a snapshot while other threads are interning.
+     * </p>
+     *
+     * @return The number of values in the pool.
+     */
+    public int size() {
+        long size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    /**
+     * Removes all values from the pool.
+     * <p>
+     * Values that are still referenced elsewhere stay valid, but they are no longer canonical.
+     * </p>
+     */
+    public void clear() {
+        for (Segment segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Returns the number of {@link #intern(String32)} calls that returned an already pooled value.
+     *
+     * @return The number of hits.
+     */
+    public long hitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of {@link #intern(String32)} calls that added a new value to the pool.
+     *
+     * @return The number of misses.
+     */
+    public long missCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Resets the {@link #hitCount() hit} and {@link #missCount() miss} counters to <code>0</code>.
+     */
+    public void resetStatistics() {
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    /**
+     * Spreads the bits of a hash code, so that both the segment (upper bits) and the bucket (lower bits) depend on all of them.
+     *
+     * @param hash The hash code.
+     * @return The mixed hash code.
+     */
+    private static int mix(final int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the smallest power of two that is greater than or equal to the given value.
+     *
+     * @param value The value, which must be positive and at most <code>2^30</code>.
+     * @return The power of two.
+     */
+    private static int powerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * Holds the lazily created global pool.
+     */
+    private static final class GlobalHolder {
+
+        /**
+         * The global pool.
+         */
+        private static final String32Pool GLOBAL = new String32Pool(
+                Math.max(0, Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY)),
+                Math.max(1, Integer.getInteger(CONCURRENCY_LEVEL_PROPERTY, DEFAULT_CONCURRENCY_LEVEL)));
+    }
+
+    /**
+     * A weakly referenced pooled value in the chain of a bucket.
+     */
+    private static final class Entry extends WeakReference<String32> {
+
+        /**
+         * The mixed hash code of the value.
+         */
+        private final int hash;
+        /**
+         * The next entry in the same bucket.
+         */
+        private Entry next;
+
+        /**
+         * Constructs a new entry.
+         *
+         * @param value The pooled value.
+         * @param hash  The mixed hash code of the value.
+         * @param next  The next entry in the same bucket.
+         * @param queue The queue that is notified when the value is garbage collected.
+         */
+        private Entry(final String32 value, final int hash, final Entry next, final ReferenceQueue<String32> queue) {
+            super(value, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
+    /**
+     * An independently locked hash table holding a part of the pool.
+     */
+    private static final class Segment {
+
+        /**
+         * The queue of entries whose values were garbage collected.
+         */
+        private final ReferenceQueue<String32> queue = new ReferenceQueue<>();
+        /**
+         * The buckets of the segment.
+         */
+        private Entry[] table;
+        /**
+         * The number of entries in the segment, including entries whose values were garbage collected.
+         */
+        private int count;
+
+        /**
+         * Constructs a new empty segment.
+         *
+         * @param tableSize The number of buckets, which must be a power of two.
+         */
+        private Segment(final int tableSize) {
+            this.table = new Entry[tableSize];
+        }
+
+        /**
+         * Returns the pooled value that is equal to the given one, adding it if necessary.
+         *
+         * @param str    The value to intern.
+         * @param hash   The mixed hash code of the value.
+         * @param hits   The counter of hits.
+         * @param misses The counter of misses.
+         * @return The pooled value.
+         */
+        private synchronized String32 intern(final String32 str, final int hash, final LongAdder hits, final LongAdder misses) {
+            expungeStaleEntries();
+            Entry[] tab = this.table;
+            int index = hash & (tab.length - 1);
+            for (Entry e = tab[index]; e != null; e = e.next) {
+                if (e.hash == hash) {
+                    String32 pooled = e.get();
+                    if (pooled != null && pooled.equals(str)) {
+                        hits.increment();
+                        return pooled;
+                    }
+                }
+            }
+            String32 canonical = str.compact();
+            tab[index] = new Entry(canonical, hash, tab[index], this.queue);
+            if (++this.count > tab.length - (tab.length >>> 2)) {
+                resize();
+            }
+            misses.increment();
+            return canonical;
+        }
+
+        /**
+         * Returns the number of live entries in the segment.
+         *
+         * @return The number of entries.
+         */
+        private synchronized int size() {
+            expungeStaleEntries();
+            return this.count;
+        }
+
+        /**
+         * Removes all entries from the segment.
+         */
+        private synchronized void clear() {
+            while (this.queue.poll() != null) {
+                // Drop references queued for the old entries.
+            }
+            this.table = new Entry[this.table.length];
+            this.count = 0;
+        }
+
+        /**
+         * Doubles the number of buckets and redistributes the entries, dropping entries whose values were garbage collected.
+         */
+        private void resize() {
+            Entry[] oldTable = this.table;
+            if (oldTable.length >= MAX_TABLE_SIZE) {
+                return;
+            }
+            Entry[] newTable = new Entry[oldTable.length << 1];
+            int mask = newTable.length - 1;
+            int live = 0;
+            for (Entry head : oldTable) {
+                Entry e = head;
+                while (e != null) {
+                    Entry next = e.next;
+                    if (e.get() == null) {
+                        e.next = null;
+                    } else {
+                        int index = e.hash & mask;
+                        e.next = newTable[index];
+                        newTable[index] = e;
+                        live++;
+                    }
+                    e = next;
+                }
+            }
+            this.table = newTable;
+            this.count = live;
+        }
+
+        /**
+         * Removes the entries whose values were garbage collected.
+         */
+        private void expungeStaleEntries() {
+            Reference<? extends String32> ref;
+            while ((ref = this.queue.poll()) != null) {
+                Entry stale = (Entry) ref;
+                Entry[] tab = this.table;
+                int index = stale.hash & (tab.length - 1);
+                Entry prev = null;
+                for (Entry e = tab[index]; e != null; prev = e, e = e.next) {
+                    if (e == stale) {
+                        if (prev == null) {
+                            tab[index] = e.next;
+                        } else {
+                            prev.next = e.next;
+                        }
+                        e.next = null;
+                        this.count--;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
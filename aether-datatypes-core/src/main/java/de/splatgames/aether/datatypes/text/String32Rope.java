@@ -0,0 +1,530 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.util.Objects;
+
+/**
+ * The <code>String32Rope</code> class is an immutable sequence of code points that is stored as a balanced tree of <code>String32</code> leaves.
+ * <p>
+ * Concatenating, inserting, deleting and taking a substring of a rope create a new rope that shares almost all of its nodes
+ * with the original ropes, so each of these operations touches only a logarithmic number of nodes instead of copying the code points.
+ * Assembling a large text from many fragments with a rope is therefore linear overall, while repeated {@link String32#concat(String32)}
+ * copies the growing result every time.
+ * </p>
+ * <p>
+ * The rope is flattened into a regular <code>String32</code> object only when {@link #toString32()} is called.
+ * The flattened <code>String32</code> object is cached.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32Rope rope = String32Rope.empty();
+ *         for (String32 fragment : fragments) {
+ *             rope = rope.append(fragment);
+ *         }
+ *         rope = rope.insert(0, String32.valueOf("&lt;html&gt;"));
+ *         String32 document = rope.toString32();
+ * </pre></blockquote>
+ * </p>
+ * <p>
+ * A rope holds the same code points as the <code>String32</code> object it flattens to.
+ * Like {@link String32#concat(String32)}, concatenating a rope that ends with a high surrogate and one that starts with a low surrogate
+ * combines both into one supplementary code point.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote This class is immutable and thread-safe.
+ * The tree is kept height-balanced like an AVL tree, and adjacent short leaves are merged into leaves of up to {@value #LEAF_SIZE} code points,
+ * so appending many short fragments does not produce a deep tree of tiny leaves.
+ * Substrings of a leaf share the backing array of the leaf, like {@link String32#substring(int, int)}.
+ * @see String32
+ * @see String32Builder
+ * @since 1.0.0
+ */
+public final class String32Rope {
+
+    /**
+     * The maximum length of a leaf that is created by merging two adjacent leaves.
+     */
+    private static final int LEAF_SIZE = 512;
+
+    /**
+     * The rope without code points.
+     */
+    private static final String32Rope EMPTY = new String32Rope(Node.leaf(String32.EMPTY));
+
+    /**
+     * The root of the tree.
+     */
+    private final Node root;
+    /**
+     * The flattened <code>String32</code> object, or <code>null</code> if the rope was not flattened yet.
+     */
+    private volatile String32 flat;
+
+    /**
+     * Creates a new rope with the given root.
+     *
+     * @param root The root of the tree.
+     */
+    private String32Rope(final Node root) {
+        this.root = root;
+        if (root.leaf != null) {
+            this.flat = root.leaf;
+        }
+    }
+
+    /**
+     * Returns the rope without code points.
+     *
+     * @return The empty rope.
+     */
+    public static String32Rope empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a rope with the code points of the given <code>String32</code> object.
+     * <p>
+     * The <code>String32</code> object becomes the only leaf of the rope and is not copied.
+     * </p>
+     *
+     * @param str The <code>String32</code> object.
+     * @return A rope with the code points of the <code>String32</code> object.
+     * @throws NullPointerException if the <code>String32</code> object is null.
+     */
+    public static String32Rope of(final String32 str) {
+        Objects.requireNonNull(str, "String32 cannot be null");
+        return str.isEmpty() ? EMPTY : new String32Rope(Node.leaf(str));
+    }
+
+    /**
+     * Returns the number of code points in this rope.
+     *
+     * @return The number of code points.
+     */
+    public int length() {
+        return this.root.length;
+    }
+
+    /**
+     * Returns <code>true</code> if this rope has no code points.
+     *
+     * @return <code>true</code> if the rope is empty, <code>false</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return this.root.length == 0;
+    }
+
+    /**
+     * Returns the code point at the given index.
+     *
+     * @param index The index of the code point.
+     * @return The code point at the index.
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the length of the rope.
+     */
+    public int charAt(final int index) {
+        Objects.checkIndex(index, this.root.length);
+        return codePointAt(this.root, index);
+    }
+
+    /**
+     * Returns a rope with the code points of this rope followed by the code points of the given rope.
+     *
+     * @param other The rope to append.
+     * @return The concatenated rope.
+     * @throws NullPointerException if the rope is null.
+     */
+    public String32Rope concat(final String32Rope other) {
+        Objects.requireNonNull(other, "String32Rope cannot be null");
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        return new String32Rope(concat(this.root, other.root));
+    }
+
+    /**
+     * Returns a rope with the code points of this rope followed by the code points of the given <code>String32</code> object.
+     *
+     * @param str The <code>String32</code> object to append.
+     * @return The concatenated rope.
+     * @throws NullPointerException if the <code>String32</code> object is null.
+     */
+    public String32Rope append(final String32 str) {
+        return concat(of(str));
+    }
+
+    /**
+     * Returns a rope with the code points of the given <code>String32</code> object inserted at the given index.
+     *
+     * @param index The index to insert at.
+     * @param str   The <code>String32</code> object to insert.
+     * @return The rope with the inserted code points.
+     * @throws NullPointerException      if the <code>String32</code> object is null.
+     * @throws IndexOutOfBoundsException if the index is negative or greater than the length of the rope.
+     */
+    public String32Rope insert(final int index, final String32 str) {
+        return insert(index, of(str));
+    }
+
+    /**
+     * Returns a rope with the code points of the given rope inserted at the given index.
+     *
+     * @param index The index to insert at.
+     * @param other The rope to insert.
+     * @return The rope with the inserted code points.
+     * @throws NullPointerException      if the rope is null.
+     * @throws IndexOutOfBoundsException if the index is negative or greater than the length of the rope.
+     */
+    public String32Rope insert(final int index, final String32Rope other) {
+        Objects.requireNonNull(other, "String32Rope cannot be null");
+        int length = this.root.length;
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        if (other.isEmpty()) {
+            return this;
+        }
+        Node head = slice(this.root, 0, index);
+        Node tail = slice(this.root, index, length);
+        return new String32Rope(concat(concat(head, other.root), tail));
+    }
+
+    /**
+     * Returns a rope without the code points in the given range.
+     *
+     * @param start The index of the first code point to delete, inclusive.
+     * @param end   The index of the last code point to delete, exclusive.
+     * @return The rope without the code points in the range.
+     * @throws IndexOutOfBoundsException if the range is not within the rope.
+     */
+    public String32Rope delete(final int start, final int end) {
+        int length = this.root.length;
+        Objects.checkFromToIndex(start, end, length);
+        if (start == end) {
+            return this;
+        }
+        return new String32Rope(concat(slice(this.root, 0, start), slice(this.root, end, length)));
+    }
+
+    /**
+     * Returns a rope with the code points in the given range.
+     *
+     * @param start The index of the first code point, inclusive.
+     * @param end   The index of the last code point, exclusive.
+     * @return The rope with the code points in the range.
+     * @throws IndexOutOfBoundsException if the range is not within the rope.
+     */
+    public String32Rope substring(final int start, final int end) {
+        Objects.checkFromToIndex(start, end, this.root.length);
+        if (start == 0 && end == this.root.length) {
+            return this;
+        }
+        return start == end ? EMPTY : new String32Rope(slice(this.root, start, end));
+    }
+
+    /**
+     * Returns the code points of this rope as a regular <code>String32</code> object.
+     * <p>
+     * The first call copies all leaves into one exactly sized backing array. The result is cached for later calls.
+     * </p>
+     *
+     * @return The flattened <code>String32</code> object.
+     */
+    public String32 toString32() {
+        String32 result = this.flat;
+        if (result == null) {
+            String32Builder builder = new String32Builder(this.root.length, this.root.coder);
+            appendTo(this.root, builder);
+            result = builder.build();
+            this.flat = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns <code>true</code> if the given object is a rope with the same code points.
+     *
+     * @param obj The object to compare with.
+     * @return <code>true</code> if the object is a rope with the same code points, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof String32Rope)) {
+            return false;
+        }
+        String32Rope other = (String32Rope) obj;
+        return this.root.length == other.root.length && toString32().equals(other.toString32());
+    }
+
+    /**
+     * Returns the hash code of the flattened <code>String32</code> object.
+     *
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+        return toString32().hashCode();
+    }
+
+    /**
+     * Returns the code points of this rope as a {@link String}.
+     *
+     * @return The {@link String}.
+     */
+    @Override
+    public String toString() {
+        return toString32().toString();
+    }
+
+    /**
+     * Returns the code point at the given index of the given subtree.
+     *
+     * @param node  The subtree.
+     * @param index The index, which must be within the subtree.
+     * @return The code point at the index.
+     */
+    private static int codePointAt(final Node node, final int index) {
+        Node current = node;
+        int i = index;
+        while (current.leaf == null) {
+            int leftLength = current.left.length;
+            if (i < leftLength) {
+                current = current.left;
+            } else {
+                current = current.right;
+                i -= leftLength;
+            }
+        }
+        return current.leaf.codePointAt0(i);
+    }
+
+    /**
+     * Appends the leaves of the given subtree to the given builder, from left to right.
+     *
+     * @param node    The subtree.
+     * @param builder The builder.
+     */
+    private static void appendTo(final Node node, final String32Builder builder) {
+        Node current = node;
+        while (current.leaf == null) {
+            appendTo(current.left, builder);
+            current = current.right;
+        }
+        builder.append(current.leaf);
+    }
+
+    /**
+     * Returns the code points in the given range of the given subtree as a balanced subtree.
+     *
+     * @param node  The subtree.
+     * @param start The index of the first code point, inclusive.
+     * @param end   The index of the last code point, exclusive.
+     * @return The subtree with the code points in the range.
+     */
+    private static Node slice(final Node node, final int start, final int end) {
+        if (start == 0 && end == node.length) {
+            return node;
+        }
+        if (node.leaf != null) {
+            return Node.leaf(node.leaf.substring(start, end));
+        }
+        int leftLength = node.left.length;
+        if (end <= leftLength) {
+            return slice(node.left, start, end);
+        }
+        if (start >= leftLength) {
+            return slice(node.right, start - leftLength, end - leftLength);
+        }
+        return join(slice(node.left, start, leftLength), slice(node.right, 0, end - leftLength));
+    }
+
+    /**
+     * Concatenates two subtrees and combines a high surrogate at the end of the first one with a low surrogate at the start of the second one.
+     *
+     * @param left  The first subtree.
+     * @param right The second subtree.
+     * @return The concatenated subtree.
+     */
+    private static Node concat(final Node left, final Node right) {
+        if (left.length == 0) {
+            return right;
+        }
+        if (right.length == 0) {
+            return left;
+        }
+        int last = codePointAt(left, left.length - 1);
+        int first = codePointAt(right, 0);
+        if (last >= Character.MIN_HIGH_SURROGATE && last <= Character.MAX_HIGH_SURROGATE
+                && first >= Character.MIN_LOW_SURROGATE && first <= Character.MAX_LOW_SURROGATE) {
+            Node pair = Node.leaf(String32.valueOf(Character.toCodePoint((char) last, (char) first)));
+            Node head = join(slice(left, 0, left.length - 1), pair);
+            return join(head, slice(right, 1, right.length));
+        }
+        return join(left, right);
+    }
+
+    /**
+     * Concatenates two balanced subtrees into a balanced subtree.
+     * <p>
+     * The shorter subtree is joined into the matching level of the taller one, which is then rebalanced on the way up.
+     * </p>
+     *
+     * @param left  The first subtree.
+     * @param right The second subtree.
+     * @return The concatenated subtree.
+     */
+    private static Node join(final Node left, final Node right) {
+        if (left.length == 0) {
+            return right;
+        }
+        if (right.length == 0) {
+            return left;
+        }
+        if (left.leaf != null && right.leaf != null) {
+            if (left.length + right.length <= LEAF_SIZE) {
+                return Node.leaf(left.leaf.concat(right.leaf));
+            }
+            return Node.branch(left, right);
+        }
+        if (right.leaf != null && left.right.leaf != null && left.right.length + right.length <= LEAF_SIZE) {
+            return Node.branch(left.left, Node.leaf(left.right.leaf.concat(right.leaf)));
+        }
+        if (left.leaf != null && right.left.leaf != null && left.length + right.left.length <= LEAF_SIZE) {
+            return Node.branch(Node.leaf(left.leaf.concat(right.left.leaf)), right.right);
+        }
+        if (left.height > right.height + 1) {
+            return balance(left.left, join(left.right, right));
+        }
+        if (right.height > left.height + 1) {
+            return balance(join(left, right.left), right.right);
+        }
+        return Node.branch(left, right);
+    }
+
+    /**
+     * Creates a branch of two balanced subtrees whose heights differ by at most two, rotating it if they differ by two.
+     *
+     * @param left  The left subtree.
+     * @param right The right subtree.
+     * @return The balanced subtree.
+     */
+    private static Node balance(final Node left, final Node right) {
+        if (left.height > right.height + 1) {
+            if (left.left.height >= left.right.height) {
+                return Node.branch(left.left, Node.branch(left.right, right));
+            }
+            return Node.branch(Node.branch(left.left, left.right.left), Node.branch(left.right.right, right));
+        }
+        if (right.height > left.height + 1) {
+            if (right.right.height >= right.left.height) {
+                return Node.branch(Node.branch(left, right.left), right.right);
+            }
+            return Node.branch(Node.branch(left, right.left.left), Node.branch(right.left.right, right.right));
+        }
+        return Node.branch(left, right);
+    }
+
+    /**
+     * A node of the tree, either a leaf with a <code>String32</code> object or a branch with two children.
+     */
+    private static final class Node {
+
+        /**
+         * The code points of a leaf, or <code>null</code> for a branch.
+         */
+        final String32 leaf;
+        /**
+         * The left child of a branch, or <code>null</code> for a leaf.
+         */
+        final Node left;
+        /**
+         * The right child of a branch, or <code>null</code> for a leaf.
+         */
+        final Node right;
+        /**
+         * The number of code points in the subtree.
+         */
+        final int length;
+        /**
+         * The height of the subtree, <code>0</code> for a leaf.
+         */
+        final int height;
+        /**
+         * The widest coder of the leaves in the subtree.
+         */
+        final byte coder;
+
+        /**
+         * Creates a new node.
+         *
+         * @param leaf   The code points of a leaf, or <code>null</code> for a branch.
+         * @param left   The left child of a branch, or <code>null</code> for a leaf.
+         * @param right  The right child of a branch, or <code>null</code> for a leaf.
+         * @param length The number of code points in the subtree.
+         * @param height The height of the subtree.
+         * @param coder  The widest coder of the leaves in the subtree.
+         */
+        private Node(final String32 leaf, final Node left, final Node right, final int length, final int height, final byte coder) {
+            this.leaf = leaf;
+            this.left = left;
+            this.right = right;
+            this.length = length;
+            this.height = height;
+            this.coder = coder;
+        }
+
+        /**
+         * Creates a leaf.
+         *
+         * @param str The code points of the leaf.
+         * @return The leaf.
+         */
+        static Node leaf(final String32 str) {
+            return new Node(str, null, null, str.length(), 0, str.coder());
+        }
+
+        /**
+         * Creates a branch.
+         *
+         * @param left  The left child.
+         * @param right The right child.
+         * @return The branch.
+         * @throws OutOfMemoryError if the branch would have more than {@link Integer#MAX_VALUE} code points.
+         */
+        static Node branch(final Node left, final Node right) {
+            int length = left.length + right.length;
+            if (length < 0) {
+                throw new OutOfMemoryError("String32Rope exceeds the maximum length");
+            }
+            return new Node(null, left, right, length, Math.max(left.height, right.height) + 1, String32Coder.widest(left.coder, right.coder));
+        }
+    }
+}
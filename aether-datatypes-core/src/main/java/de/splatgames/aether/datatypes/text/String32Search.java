@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+/**
+ * Internal code point search engine for {@link String32}.
+ * <p>
+ * All searches operate directly on the backing arrays of the operands and never allocate.
+ * </p>
+ * <ul>
+ *     <li>Short patterns are matched with a plain scan for the first code point.</li>
+ *     <li>Other patterns use a Boyer-Moore-Horspool/Sunday hybrid whose shift table for the large code point alphabet
+ *     is hashed into a single <code>64-bit</code> bloom mask.</li>
+ *     <li>Long patterns over long texts switch to the Two-Way algorithm of Crochemore and Perrin,
+ *     which guarantees linear time with constant extra space.</li>
+ * </ul>
+ *
+ * @author Erik Pförtner
+ * @see String32#indexOf(String32, int)
+ * @see String32#lastIndexOf(String32, int)
+ * @since 1.0.0
+ */
+final class String32Search {
+
+    /**
+     * Patterns shorter than this are matched with a plain scan.
+     */
+    private static final int HORSPOOL_MIN_PATTERN = 3;
+    /**
+     * Patterns at least this long use the Two-Way algorithm, if the text is long enough as well.
+     */
+    private static final int TWO_WAY_MIN_PATTERN = 32;
+    /**
+     * Texts at least this long use the Two-Way algorithm, if the pattern is long enough as well.
+     */
+    private static final int TWO_WAY_MIN_TEXT = 2048;
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private String32Search() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given code point, starting at the given index.
+     *
+     * @param source    The <code>String32</code> to search in.
+     * @param codePoint The code point to search for.
+     * @param fromIndex The index to start the search from, which must not be negative.
+     * @return The index of the first occurrence, or <code>-1</code> if there is none.
+     */
+    static int indexOf(final String32 source, final int codePoint, final int fromIndex) {
+        Object value = source.value();
+        byte coder = source.coder();
+        int offset = source.offset();
+        int length = source.length();
+        if (String32Coder.coderOf(codePoint) > coder || fromIndex >= length) {
+            return -1;
+        }
+        int i;
+        switch (coder) {
+            case String32Coder.LATIN1:
+                i = String32Kernels.INSTANCE.indexOf((byte[]) value, offset + fromIndex, offset + length, (byte) codePoint);
+                break;
+            case String32Coder.UTF16:
+                i = String32Kernels.INSTANCE.indexOf((char[]) value, offset + fromIndex, offset + length, (char) codePoint);
+                break;
+            default:
+                i = String32Kernels.INSTANCE.indexOf((int[]) value, offset + fromIndex, offset + length, codePoint);
+                break;
+        }
+        return i < 0 ? -1 : i - offset;
+    }
+
+    /**
+     * Returns the index of the last occurrence of the given code point, searching backward from the given index.
+     *
+     * @param source    The <code>String32</code> to search in.
+     * @param codePoint The code point to search for.
+     * @param fromIndex The index to start the search from, which must be less than the length of the source.
+     * @return The index of the last occurrence, or <code>-1</code> if there is none.
+     */
+    static int lastIndexOf(final String32 source, final int codePoint, final int fromIndex) {
+        Object value = source.value();
+        byte coder = source.coder();
+        int offset = source.offset();
+        if (String32Coder.coderOf(codePoint) > coder) {
+            return -1;
+        }
+        for (int i = fromIndex; i >= 0; i--) {
+            if (String32Coder.get(value, coder, offset + i) == codePoint) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns <code>true</code> if the given regions of the two <code>String32</code> objects are equal.
+     *
+     * @param a      The first <code>String32</code>.
+     * @param aFrom  The first index in the first <code>String32</code>.
+     * @param b      The second <code>String32</code>.
+     * @param bFrom  The first index in the second <code>String32</code>.
+     * @param length The number of code points to compare.
+     * @return <code>true</code> if both regions are equal, <code>false</code> otherwise.
+     */
+    static boolean regionMatches(final String32 a, final int aFrom, final String32 b, final int bFrom, final int length) {
+        return String32Coder.equals(a.value(), a.coder(), a.offset() + aFrom, b.value(), b.coder(), b.offset() + bFrom, length);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the target, starting at the given index.
+     *
+     * @param source    The <code>String32</code> to search in.
+     * @param target    The <code>String32</code> to search for.
+     * @param fromIndex The index to start the search from.
+     * @return The index of the first occurrence, or <code>-1</code> if there is none.
+     */
+    static int indexOf(final String32 source, final String32 target, final int fromIndex) {
+        int n = source.length();
+        int m = target.length();
+        int from = Math.max(fromIndex, 0);
+        if (from >= n) {
+            return m == 0 ? n : -1;
+        }
+        if (m == 0) {
+            return from;
+        }
+        if (m > n - from) {
+            return -1;
+        }
+        if (m == 1) {
+            return indexOf(source, target.codePointAt0(0), from);
+        }
+        if (m < HORSPOOL_MIN_PATTERN) {
+            return naiveIndexOf(source, target, from);
+        }
+        if (m >= TWO_WAY_MIN_PATTERN && n - from >= TWO_WAY_MIN_TEXT) {
+            return twoWayIndexOf(source, target, from);
+        }
+        return horspoolIndexOf(source, target, from);
+    }
+
+    /**
+     * Returns the index of the last occurrence of the target, searching backward from the given index.
+     *
+     * @param source    The <code>String32</code> to search in.
+     * @param target    The <code>String32</code> to search for.
+     * @param fromIndex The index to start the search from.
+     * @return The index of the last occurrence, or <code>-1</code> if there is none.
+     */
+    static int lastIndexOf(final String32 source, final String32 target, final int fromIndex) {
+        int n = source.length();
+        int m = target.length();
+        int from = Math.min(fromIndex, n - m);
+        if (from < 0) {
+            return -1;
+        }
+        if (m == 0) {
+            return from;
+        }
+        if (m == 1) {
+            return lastIndexOf(source, target.codePointAt0(0), from);
+        }
+        if (m < HORSPOOL_MIN_PATTERN) {
+            for (int i = from; i >= 0; i--) {
+                if (regionMatches(source, i, target, 0, m)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        return horspoolLastIndexOf(source, target, from);
+    }
+
+    /**
+     * Counts the non-overlapping occurrences of the target.
+     *
+     * @param source The <code>String32</code> to search in.
+     * @param target The <code>String32</code> to search for, which must not be empty.
+     * @return The number of non-overlapping occurrences.
+     */
+    static int count(final String32 source, final String32 target) {
+        int m = target.length();
+        int count = 0;
+        int idx = 0;
+        while ((idx = indexOf(source, target, idx)) != -1) {
+            count++;
+            idx += m;
+        }
+        return count;
+    }
+
+    /**
+     * Searches by scanning for the first code point of the target and comparing the rest.
+     *
+     * @param source The <code>String32</code> to search in.
+     * @param target The <code>String32</code> to search for.
+     * @param from   The index to start the search from.
+     * @return The index of the first occurrence, or <code>-1</code> if there is none.
+     */
+    private static int naiveIndexOf(final String32 source, final String32 target, final int from) {
+        int first = target.codePointAt0(0);
+        int m = target.length();
+        int max = source.length() - m;
+        for (int i = from; i <= max; i++) {
+            i = indexOf(source, first, i);
+            if (i < 0 || i > max) {
+                return -1;
+            }
+            if (regionMatches(source, i + 1, target, 1, m - 1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Searches with a Boyer-Moore-Horspool/Sunday hybrid.
+     * <p>
+     * The bad character table of Horspool is replaced by a <code>64-bit</code> bloom mask of the pattern's code points,
+     * which works for the full code point alphabet without allocating a table.
+     * A window whose following code point is definitely not in the pattern is skipped entirely (Sunday's rule),
+     * otherwise the window is shifted by the distance between the last code point and its previous occurrence (Horspool's rule).
+     * </p>
+     *
+     * @param source The <code>String32</code> to search in.
+     * @param target The <code>String32</code> to search for.
+     * @param from   The index to start the search from.
+     * @return The index of the first occurrence, or <code>-1</code> if there is none.
+     */
+    private static int horspoolIndexOf(final String32 source, final String32 target, final int from) {
+        Object sv = source.value();
+        byte sc = source.coder();
+        int so = source.offset();
+        int n = source.length();
+        Object pv = target.value();
+        byte pc = target.coder();
+        int po = target.offset();
+        int m = target.length();
+
+        int mlast = m - 1;
+        int last = String32Coder.get(pv, pc, po + mlast);
+        int skip = mlast;
+        long mask = 0L;
+        for (int i = 0; i < mlast; i++) {
+            int cp = String32Coder.get(pv, pc, po + i);
+            mask |= 1L << cp;
+            if (cp == last) {
+                skip = mlast - i - 1;
+            }
+        }
+        mask |= 1L << last;
+
+        int max = n - m;
+        for (int i = from; i <= max; i++) {
+            if (String32Coder.get(sv, sc, so + i + mlast) == last) {
+                if (String32Coder.equals(sv, sc, so + i, pv, pc, po, mlast)) {
+                    return i;
+                }
+                if (i + m < n && (mask & (1L << String32Coder.get(sv, sc, so + i + m))) == 0) {
+                    i += m;
+                } else {
+                    i += skip;
+                }
+            } else if (i + m < n && (mask & (1L << String32Coder.get(sv, sc, so + i + m))) == 0) {
+                i += m;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Searches backward with the mirrored Boyer-Moore-Horspool/Sunday hybrid of {@link #horspoolIndexOf(String32, String32, int)}.
+     *
+     * @param source The <code>String32</code> to search in.
+     * @param target The <code>String32</code> to search for.
+     * @param from   The highest index at which an occurrence may start.
+     * @return The index of the last occurrence, or <code>-1</code> if there is none.
+     */
+    private static int horspoolLastIndexOf(final String32 source, final String32 target, final int from) {
+        Object sv = source.value();
+        byte sc = source.coder();
+        int so = source.offset();
+        Object pv = target.value();
+        byte pc = target.coder();
+        int po = target.offset();
+        int m = target.length();
+
+        int first = String32Coder.get(pv, pc, po);
+        int skip = m - 1;
+        long mask = 1L << first;
+        for (int i = m - 1; i > 0; i--) {
+            int cp = String32Coder.get(pv, pc, po + i);
+            mask |= 1L << cp;
+            if (cp == first) {
+                skip = i - 1;
+            }
+        }
+
+        for (int i = from; i >= 0; i--) {
+            if (String32Coder.get(sv, sc, so + i) == first) {
+                if (String32Coder.equals(sv, sc, so + i + 1, pv, pc, po + 1, m - 1)) {
+                    return i;
+                }
+                if (i > 0 && (mask & (1L << String32Coder.get(sv, sc, so + i - 1))) == 0) {
+                    i -= m;
+                } else {
+                    i -= skip;
+                }
+            } else if (i > 0 && (mask & (1L << String32Coder.get(sv, sc, so + i - 1))) == 0) {
+                i -= m;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Searches with the Two-Way algorithm of Crochemore and Perrin.
+     * <p>
+     * The pattern is split at a critical factorization into a left and a right part.
+     * The right part is matched left to right, then the left part right to left,
+     * and the window is shifted by the period of the pattern or by the length of the mismatching prefix.
+     * This runs in linear time and uses no memory besides a few local variables.
+     * </p>
+     *
+     * @param source The <code>String32</code> to search in.
+     * @param target The <code>String32</code> to search for.
+     * @param from   The index to start the search from.
+     * @return The index of the first occurrence, or <code>-1</code> if there is none.
+     */
+    private static int twoWayIndexOf(final String32 source, final String32 target, final int from) {
+        Object sv = source.value();
+        byte sc = source.coder();
+        int so = source.offset();
+        int n = source.length();
+        Object pv = target.value();
+        byte pc = target.coder();
+        int po = target.offset();
+        int m = target.length();
+
+        long forward = maximalSuffix(pv, pc, po, m, false);
+        long reverse = maximalSuffix(pv, pc, po, m, true);
+        int ell;
+        int period;
+        if ((int) (forward >> 32) > (int) (reverse >> 32)) {
+            ell = (int) (forward >> 32);
+            period = (int) forward;
+        } else {
+            ell = (int) (reverse >> 32);
+            period = (int) reverse;
+        }
+
+        int max = n - m;
+        if (String32Coder.equals(pv, pc, po, pv, pc, po + period, ell + 1)) {
+            int j = from;
+            int memory = -1;
+            while (j <= max) {
+                int i = Math.max(ell, memory) + 1;
+                while (i < m && String32Coder.get(pv, pc, po + i) == String32Coder.get(sv, sc, so + i + j)) {
+                    i++;
+                }
+                if (i >= m) {
+                    i = ell;
+                    while (i > memory && String32Coder.get(pv, pc, po + i) == String32Coder.get(sv, sc, so + i + j)) {
+                        i--;
+                    }
+                    if (i <= memory) {
+                        return j;
+                    }
+                    j += period;
+                    memory = m - period - 1;
+                } else {
+                    j += i - ell;
+                    memory = -1;
+                }
+            }
+        } else {
+            period = Math.max(ell + 1, m - ell - 1) + 1;
+            int j = from;
+            while (j <= max) {
+                int i = ell + 1;
+                while (i < m && String32Coder.get(pv, pc, po + i) == String32Coder.get(sv, sc, so + i + j)) {
+                    i++;
+                }
+                if (i >= m) {
+                    i = ell;
+                    while (i >= 0 && String32Coder.get(pv, pc, po + i) == String32Coder.get(sv, sc, so + i + j)) {
+                        i--;
+                    }
+                    if (i < 0) {
+                        return j;
+                    }
+                    j += period;
+                } else {
+                    j += i - ell;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the maximal suffix of the pattern for the natural or the reversed code point order.
+     *
+     * @param pv      The backing array of the pattern.
+     * @param pc      The coder of the pattern.
+     * @param po      The offset of the pattern.
+     * @param m       The length of the pattern.
+     * @param reverse <code>true</code> to use the reversed order.
+     * @return The start index of the maximal suffix minus one in the upper <code>32</code> bits and its period in the lower <code>32</code> bits.
+     */
+    private static long maximalSuffix(final Object pv, final byte pc, final int po, final int m, final boolean reverse) {
+        int ms = -1;
+        int j = 0;
+        int k = 1;
+        int p = 1;
+        while (j + k < m) {
+            int a = String32Coder.get(pv, pc, po + j + k);
+            int b = String32Coder.get(pv, pc, po + ms + k);
+            if (reverse ? a > b : a < b) {
+                j += k;
+                k = 1;
+                p = j - ms;
+            } else if (a == b) {
+                if (k != p) {
+                    k++;
+                } else {
+                    j += p;
+                    k = 1;
+                }
+            } else {
+                ms = j;
+                j = ms + 1;
+                k = 1;
+                p = 1;
+            }
+        }
+        return ((long) ms << 32) | (p & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+/**
+ * The <code>String32SerialForm</code> class writes and reads the compact serialized form of <code>String32</code> objects.
+ * <p>
+ * The compact form follows the serializable fields of a <code>String32</code> object as optional data.
+ * It starts with one form byte and stores the code points in the smallest of three encodings:
+ * </p>
+ * <ul>
+ *     <li>{@link #LATIN1}: one byte per code point, if every code point is at most <code>0xFF</code>.</li>
+ *     <li>{@link #UTF16}: two big-endian bytes per code point, if every code point is in the BMP and is not a surrogate
+ *     and this is shorter than UTF-8.</li>
+ *     <li>{@link #UTF8}: the number of bytes as an unsigned varint, followed by the UTF-8 bytes.
+ *     Unpaired surrogates are encoded like other BMP code points, so that every <code>String32</code> object can be written without loss.</li>
+ * </ul>
+ * <p>
+ * Reading validates the encoding and the code points and throws an {@link InvalidObjectException} for a corrupt stream.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote Code points are copied through a fixed-size scratch buffer, so writing never materializes the whole encoded form.
+ * @see String32
+ * @since 1.0.0
+ */
+final class String32SerialForm {
+
+    /**
+     * The form of Latin-1 code points stored as one byte each.
+     */
+    static final int LATIN1 = 0;
+    /**
+     * The form of BMP code points stored as two big-endian bytes each.
+     */
+    static final int UTF16 = 1;
+    /**
+     * The form of code points stored as generalized UTF-8 bytes.
+     */
+    static final int UTF8 = 2;
+
+    /**
+     * The size of the scratch buffers in bytes.
+     */
+    private static final int SCRATCH_SIZE = 8192;
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private String32SerialForm() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Writes the code points in the given range of the given backing array in the compact form.
+     *
+     * @param out    The stream to write to.
+     * @param value  The backing array.
+     * @param coder  The coder of the backing array.
+     * @param from   The index of the first code point.
+     * @param length The number of code points.
+     * @throws IOException If an I/O error occurs.
+     */
+    static void write(final ObjectOutputStream out, final Object value, final byte coder, final int from, final int length) throws IOException {
+        int to = from + length;
+        byte narrowest = String32Coder.coderOf(value, coder, from, to);
+        if (narrowest == String32Coder.LATIN1) {
+            out.writeByte(LATIN1);
+            if (coder == String32Coder.LATIN1) {
+                out.write((byte[]) value, from, length);
+            } else {
+                writeLatin1(out, value, coder, from, to);
+            }
+            return;
+        }
+        long utf8Length = utf8Length(value, coder, from, to);
+        if (narrowest == String32Coder.UTF16 && 2L * length <= utf8Length) {
+            out.writeByte(UTF16);
+            writeUtf16(out, value, coder, from, to);
+            return;
+        }
+        out.writeByte(UTF8);
+        writeVarint(out, utf8Length);
+        writeUtf8(out, value, coder, from, to);
+    }
+
+    /**
+     * Reads the given number of code points in the compact form.
+     *
+     * @param in     The stream to read from.
+     * @param length The number of code points.
+     * @return The code points in a new <code>String32</code> object with the narrowest coder.
+     * @throws IOException            If an I/O error occurs.
+     * @throws InvalidObjectException If the stream does not contain a valid compact form.
+     */
+    static String32 read(final ObjectInputStream in, final int length) throws IOException {
+        if (length < 0) {
+            throw new InvalidObjectException("Corrupt String32 stream: negative length");
+        }
+        int form = in.readUnsignedByte();
+        switch (form) {
+            case LATIN1:
+                return readLatin1(in, length);
+            case UTF16:
+                return readUtf16(in, length);
+            case UTF8:
+                return readUtf8(in, length);
+            default:
+                throw new InvalidObjectException("Corrupt String32 stream: unknown form " + form);
+        }
+    }
+
+    /**
+     * Writes code points that are all at most <code>0xFF</code> as one byte each.
+     *
+     * @param out   The stream to write to.
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param from  The index of the first code point.
+     * @param to    The index after the last code point.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeLatin1(final ObjectOutputStream out, final Object value, final byte coder, final int from, final int to) throws IOException {
+        byte[] scratch = new byte[Math.min(SCRATCH_SIZE, to - from)];
+        int pos = 0;
+        for (int i = from; i < to; i++) {
+            if (pos == scratch.length) {
+                out.write(scratch, 0, pos);
+                pos = 0;
+            }
+            scratch[pos++] = (byte) String32Coder.get(value, coder, i);
+        }
+        out.write(scratch, 0, pos);
+    }
+
+    /**
+     * Writes BMP code points as two big-endian bytes each.
+     *
+     * @param out   The stream to write to.
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param from  The index of the first code point.
+     * @param to    The index after the last code point.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeUtf16(final ObjectOutputStream out, final Object value, final byte coder, final int from, final int to) throws IOException {
+        byte[] scratch = new byte[(int) Math.min(SCRATCH_SIZE, 2L * (to - from))];
+        int pos = 0;
+        for (int i = from; i < to; i++) {
+            if (pos == scratch.length) {
+                out.write(scratch, 0, pos);
+                pos = 0;
+            }
+            String32Encoder.CHAR_BE.set(scratch, pos, (char) String32Coder.get(value, coder, i));
+            pos += 2;
+        }
+        out.write(scratch, 0, pos);
+    }
+
+    /**
+     * Writes code points as generalized UTF-8 bytes.
+     *
+     * @param out   The stream to write to.
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param from  The index of the first code point.
+     * @param to    The index after the last code point.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeUtf8(final ObjectOutputStream out, final Object value, final byte coder, final int from, final int to) throws IOException {
+        byte[] scratch = new byte[SCRATCH_SIZE];
+        int pos = 0;
+        for (int i = from; i < to; i++) {
+            if (pos > SCRATCH_SIZE - 4) {
+                out.write(scratch, 0, pos);
+                pos = 0;
+            }
+            int cp = String32Coder.get(value, coder, i);
+            if (cp < 0x80) {
+                scratch[pos++] = (byte) cp;
+            } else if (cp < 0x800) {
+                scratch[pos++] = (byte) (0xC0 | cp >> 6);
+                scratch[pos++] = (byte) (0x80 | cp & 0x3F);
+            } else if (cp < 0x10000) {
+                scratch[pos++] = (byte) (0xE0 | cp >> 12);
+                scratch[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                scratch[pos++] = (byte) (0x80 | cp & 0x3F);
+            } else {
+                scratch[pos++] = (byte) (0xF0 | cp >> 18);
+                scratch[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                scratch[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                scratch[pos++] = (byte) (0x80 | cp & 0x3F);
+            }
+        }
+        out.write(scratch, 0, pos);
+    }
+
+    /**
+     * Reads the given number of code points stored as one byte each.
+     *
+     * @param in     The stream to read from.
+     * @param length The number of code points.
+     * @return The code points in a new <code>String32</code> object.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static String32 readLatin1(final ObjectInputStream in, final int length) throws IOException {
+        byte[] bytes = new byte[Math.min(length, SCRATCH_SIZE)];
+        int i = 0;
+        while (i < length) {
+            if (i == bytes.length) {
+                bytes = Arrays.copyOf(bytes, grow(bytes.length, length));
+            }
+            int n = bytes.length - i;
+            in.readFully(bytes, i, n);
+            i += n;
+        }
+        return new String32(bytes, String32Coder.LATIN1);
+    }
+
+    /**
+     * Reads the given number of BMP code points stored as two big-endian bytes each.
+     *
+     * @param in     The stream to read from.
+     * @param length The number of code points.
+     * @return The code points in a new <code>String32</code> object.
+     * @throws IOException            If an I/O error occurs.
+     * @throws InvalidObjectException If a code point is a surrogate.
+     */
+    private static String32 readUtf16(final ObjectInputStream in, final int length) throws IOException {
+        char[] chars = new char[Math.min(length, SCRATCH_SIZE)];
+        byte[] scratch = new byte[(int) Math.min(SCRATCH_SIZE, 2L * length)];
+        int i = 0;
+        while (i < length) {
+            int n = Math.min(scratch.length, 2 * (length - i));
+            in.readFully(scratch, 0, n);
+            if (i + n / 2 > chars.length) {
+                chars = Arrays.copyOf(chars, grow(chars.length, length));
+            }
+            for (int pos = 0; pos < n; pos += 2) {
+                char c = (char) String32Encoder.CHAR_BE.get(scratch, pos);
+                if (Character.isSurrogate(c)) {
+                    throw new InvalidObjectException("Corrupt String32 stream: surrogate in UTF-16 form");
+                }
+                chars[i++] = c;
+            }
+        }
+        return new String32(chars, String32Coder.UTF16);
+    }
+
+    /**
+     * Reads the given number of code points stored as generalized UTF-8 bytes.
+     *
+     * @param in     The stream to read from.
+     * @param length The number of code points.
+     * @return The code points in a new <code>String32</code> object with the narrowest coder.
+     * @throws IOException            If an I/O error occurs.
+     * @throws InvalidObjectException If the bytes are malformed, do not hold exactly the given number of code points
+     *                                or hold a surrogate pair.
+     */
+    private static String32 readUtf8(final ObjectInputStream in, final int length) throws IOException {
+        long remaining = readVarint(in);
+        if (remaining < length || remaining > 4L * length) {
+            throw new InvalidObjectException("Corrupt String32 stream: " + remaining + " UTF-8 bytes for " + length + " code points");
+        }
+        int[] cps = new int[Math.min(length, SCRATCH_SIZE)];
+        byte[] scratch = new byte[(int) Math.min(SCRATCH_SIZE, remaining)];
+        int pos = 0;
+        int limit = 0;
+        int previous = 0;
+        for (int i = 0; i < length; i++) {
+            if (limit - pos < 4 && remaining > 0) {
+                int kept = limit - pos;
+                System.arraycopy(scratch, pos, scratch, 0, kept);
+                int n = (int) Math.min(scratch.length - kept, remaining);
+                in.readFully(scratch, kept, n);
+                remaining -= n;
+                pos = 0;
+                limit = kept + n;
+            }
+            if (pos == limit) {
+                throw new InvalidObjectException("Corrupt String32 stream: truncated UTF-8");
+            }
+            int b0 = scratch[pos] & 0xFF;
+            int cp;
+            int size;
+            if (b0 < 0x80) {
+                cp = b0;
+                size = 1;
+            } else if (b0 >= 0xC2 && b0 <= 0xDF) {
+                cp = b0 & 0x1F;
+                size = 2;
+            } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+                cp = b0 & 0x0F;
+                size = 3;
+            } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+                cp = b0 & 0x07;
+                size = 4;
+            } else {
+                throw new InvalidObjectException("Corrupt String32 stream: malformed UTF-8");
+            }
+            if (pos + size > limit) {
+                throw new InvalidObjectException("Corrupt String32 stream: truncated UTF-8");
+            }
+            for (int k = 1; k < size; k++) {
+                int b = scratch[pos + k] & 0xFF;
+                if ((b & 0xC0) != 0x80) {
+                    throw new InvalidObjectException("Corrupt String32 stream: malformed UTF-8");
+                }
+                cp = cp << 6 | b & 0x3F;
+            }
+            if (size == 3 && cp < 0x800 || size == 4 && (cp < 0x10000 || cp > Character.MAX_CODE_POINT)) {
+                throw new InvalidObjectException("Corrupt String32 stream: malformed UTF-8");
+            }
+            if (cp <= 0xFFFF && Character.isLowSurrogate((char) cp) && previous <= 0xFFFF && Character.isHighSurrogate((char) previous)) {
+                throw new InvalidObjectException("Corrupt String32 stream: unpaired surrogates form a pair");
+            }
+            if (i == cps.length) {
+                cps = Arrays.copyOf(cps, grow(cps.length, length));
+            }
+            cps[i] = cp;
+            previous = cp;
+            pos += size;
+        }
+        if (pos != limit || remaining != 0) {
+            throw new InvalidObjectException("Corrupt String32 stream: trailing UTF-8 bytes");
+        }
+        byte coder = String32Coder.coderOf(cps, 0, length);
+        return new String32(String32Coder.encode(cps, 0, length, coder), coder);
+    }
+
+    /**
+     * Returns the capacity of an array that is grown while its content is read.
+     * <p>
+     * Arrays are grown step by step, so that a corrupt length does not allocate more memory than the stream actually holds.
+     * </p>
+     *
+     * @param capacity The current capacity.
+     * @param length   The final length.
+     * @return The new capacity.
+     */
+    private static int grow(final int capacity, final int length) {
+        return (int) Math.min(2L * capacity, length);
+    }
+
+    /**
+     * Returns the number of generalized UTF-8 bytes of the code points in the given range.
+     *
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param from  The index of the first code point.
+     * @param to    The index after the last code point.
+     * @return The number of bytes.
+     */
+    private static long utf8Length(final Object value, final byte coder, final int from, final int to) {
+        long bytes = 0;
+        for (int i = from; i < to; i++) {
+            int cp = String32Coder.get(value, coder, i);
+            bytes += cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the given non-negative value as an unsigned varint, seven bits per byte, least significant group first.
+     *
+     * @param out   The stream to write to.
+     * @param value The value.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeVarint(final ObjectOutputStream out, final long value) throws IOException {
+        long v = value;
+        while (v >= 0x80) {
+            out.writeByte((int) (v & 0x7F | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    /**
+     * Reads an unsigned varint of at most five bytes.
+     *
+     * @param in The stream to read from.
+     * @return The value.
+     * @throws IOException            If an I/O error occurs.
+     * @throws InvalidObjectException If the varint is longer than five bytes.
+     */
+    private static long readVarint(final ObjectInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+        throw new InvalidObjectException("Corrupt String32 stream: varint too long");
+    }
+}
@@ -0,0 +1,542 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The <code>String32Sorts</code> class sorts arrays and lists of <code>String32</code> objects by their code points.
+ * <p>
+ * The sorts use a multikey quicksort (three-way radix quicksort) that partitions by one code point at a time
+ * and only moves on to the next code point inside the group of keys that share the current one.
+ * Unlike a comparison sort, it never compares a common prefix twice, which makes it much faster for many keys with long shared prefixes,
+ * such as paths, URLs or generated identifiers.
+ * </p>
+ * <p>
+ * The order is the same as {@link String32#compareTo(String32)}: code points are compared numerically, and a prefix sorts before the longer key.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32[] keys = { String32.valueOf("b"), String32.valueOf("ab"), String32.valueOf("a") };
+ *         String32Sorts.parallelSort(keys);
+ *         System.out.println(Arrays.toString(keys));
+ *         // Output: [a, ab, b]
+ * </pre></blockquote>
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote Groups of fewer than {@value #INSERTION_SORT_THRESHOLD} keys are finished with an insertion sort
+ * that compares the remaining suffixes with the mismatch kernels of <code>String32</code>.
+ * The parallel variants split groups of at least {@value #PARALLEL_THRESHOLD} keys into {@link ForkJoinPool#commonPool() common pool} tasks.
+ * The recursion always continues in the largest group and only recurses into the smaller ones,
+ * so the stack depth is logarithmic in the number of keys, however long their common prefixes are.
+ * The sorts are not stable, which makes no difference for equal <code>String32</code> objects.
+ * @see String32#compareTo(String32)
+ * @see Arrays#sort(Object[])
+ * @since 1.0.0
+ */
+public final class String32Sorts {
+
+    /**
+     * The group size below which an insertion sort is used.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    /**
+     * The group size from which the parallel sorts fork a task.
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private String32Sorts() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Sorts the given array in ascending order.
+     *
+     * @param a The array to sort.
+     * @throws NullPointerException if the array or one of its elements is null.
+     */
+    public static void sort(final String32[] a) {
+        Objects.requireNonNull(a, "Array cannot be null");
+        sort(a, null, 0, a.length - 1, 0);
+    }
+
+    /**
+     * Sorts the given range of the given array in ascending order.
+     *
+     * @param a         The array to sort.
+     * @param fromIndex The index of the first element to sort, inclusive.
+     * @param toIndex   The index of the last element to sort, exclusive.
+     * @throws NullPointerException      if the array or one of the elements in the range is null.
+     * @throws IndexOutOfBoundsException if the range is not within the array.
+     */
+    public static void sort(final String32[] a, final int fromIndex, final int toIndex) {
+        Objects.requireNonNull(a, "Array cannot be null");
+        Objects.checkFromToIndex(fromIndex, toIndex, a.length);
+        sort(a, null, fromIndex, toIndex - 1, 0);
+    }
+
+    /**
+     * Sorts the given list in ascending order.
+     * <p>
+     * The elements are copied into an array, sorted and written back through a {@link ListIterator}, like {@link List#sort(java.util.Comparator)}.
+     * </p>
+     *
+     * @param list The list to sort.
+     * @throws NullPointerException          if the list or one of its elements is null.
+     * @throws UnsupportedOperationException if the list does not support {@link ListIterator#set(Object)}.
+     */
+    public static void sort(final List<String32> list) {
+        Objects.requireNonNull(list, "List cannot be null");
+        String32[] a = list.toArray(new String32[0]);
+        sort(a);
+        writeBack(list, a);
+    }
+
+    /**
+     * Sorts the given array in ascending order, using the {@link ForkJoinPool#commonPool() common pool} for large arrays.
+     *
+     * @param a The array to sort.
+     * @throws NullPointerException if the array or one of its elements is null.
+     */
+    public static void parallelSort(final String32[] a) {
+        Objects.requireNonNull(a, "Array cannot be null");
+        parallelSort(a, null, 0, a.length);
+    }
+
+    /**
+     * Sorts the given range of the given array in ascending order, using the {@link ForkJoinPool#commonPool() common pool} for large ranges.
+     *
+     * @param a         The array to sort.
+     * @param fromIndex The index of the first element to sort, inclusive.
+     * @param toIndex   The index of the last element to sort, exclusive.
+     * @throws NullPointerException      if the array or one of the elements in the range is null.
+     * @throws IndexOutOfBoundsException if the range is not within the array.
+     */
+    public static void parallelSort(final String32[] a, final int fromIndex, final int toIndex) {
+        Objects.requireNonNull(a, "Array cannot be null");
+        Objects.checkFromToIndex(fromIndex, toIndex, a.length);
+        parallelSort(a, null, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorts the given list in ascending order, using the {@link ForkJoinPool#commonPool() common pool} for large lists.
+     *
+     * @param list The list to sort.
+     * @throws NullPointerException          if the list or one of its elements is null.
+     * @throws UnsupportedOperationException if the list does not support {@link ListIterator#set(Object)}.
+     */
+    public static void parallelSort(final List<String32> list) {
+        Objects.requireNonNull(list, "List cannot be null");
+        String32[] a = list.toArray(new String32[0]);
+        parallelSort(a);
+        writeBack(list, a);
+    }
+
+    /**
+     * Returns the permutation that sorts the given array, without changing the array.
+     * <p>
+     * Element <code>i</code> of the result is the index in the array of the <code>i</code>-th smallest key.
+     * Equal keys keep the order of their indices, so the permutation is the same as that of a stable sort.
+     * </p>
+     * <p>
+     * Example:
+     * <blockquote><pre>
+     *         String32[] keys = { String32.valueOf("b"), String32.valueOf("a"), String32.valueOf("b") };
+     *         System.out.println(Arrays.toString(String32Sorts.sortedIndices(keys)));
+     *         // Output: [1, 0, 2]
+     * </pre></blockquote>
+     * </p>
+     *
+     * @param a The keys.
+     * @return The sorting permutation.
+     * @throws NullPointerException if the array or one of its elements is null.
+     */
+    public static int[] sortedIndices(final String32[] a) {
+        Objects.requireNonNull(a, "Array cannot be null");
+        String32[] keys = a.clone();
+        int[] perm = identity(keys.length);
+        sort(keys, perm, 0, keys.length - 1, 0);
+        return perm;
+    }
+
+    /**
+     * Returns the permutation that sorts the given array, without changing the array,
+     * using the {@link ForkJoinPool#commonPool() common pool} for large arrays.
+     *
+     * @param a The keys.
+     * @return The sorting permutation, see {@link #sortedIndices(String32[])}.
+     * @throws NullPointerException if the array or one of its elements is null.
+     */
+    public static int[] parallelSortedIndices(final String32[] a) {
+        Objects.requireNonNull(a, "Array cannot be null");
+        String32[] keys = a.clone();
+        int[] perm = identity(keys.length);
+        parallelSort(keys, perm, 0, keys.length);
+        return perm;
+    }
+
+    /**
+     * Sorts a range in parallel, or sequentially if it is small or the common pool has no parallelism.
+     *
+     * @param a         The keys.
+     * @param perm      The permutation that is moved with the keys, or <code>null</code>.
+     * @param fromIndex The index of the first key, inclusive.
+     * @param toIndex   The index of the last key, exclusive.
+     */
+    private static void parallelSort(final String32[] a, final int[] perm, final int fromIndex, final int toIndex) {
+        if (toIndex - fromIndex < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            sort(a, perm, fromIndex, toIndex - 1, 0);
+        } else {
+            ForkJoinPool.commonPool().invoke(new SortTask(a, perm, fromIndex, toIndex - 1, 0));
+        }
+    }
+
+    /**
+     * Sorts the keys in the given range that share their first code points up to the given depth.
+     *
+     * @param a     The keys.
+     * @param perm  The permutation that is moved with the keys, or <code>null</code>.
+     * @param lo    The index of the first key, inclusive.
+     * @param hi    The index of the last key, inclusive.
+     * @param depth The number of code points that all keys in the range share.
+     */
+    private static void sort(final String32[] a, final int[] perm, final int lo, final int hi, final int depth) {
+        int l = lo;
+        int h = hi;
+        int d = depth;
+        while (h - l + 1 >= INSERTION_SORT_THRESHOLD) {
+            long bounds = partition(a, perm, l, h, d);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+            if (key(a[lt], d) < 0) {
+                sortEqual(perm, lt, gt);
+                l = gt + 1;
+                continue;
+            }
+            int lowerSize = lt - l;
+            int middleSize = gt - lt + 1;
+            int upperSize = h - gt;
+            if (middleSize >= lowerSize && middleSize >= upperSize) {
+                sort(a, perm, l, lt - 1, d);
+                sort(a, perm, gt + 1, h, d);
+                l = lt;
+                h = gt;
+                d++;
+            } else if (lowerSize >= upperSize) {
+                sort(a, perm, lt, gt, d + 1);
+                sort(a, perm, gt + 1, h, d);
+                h = lt - 1;
+            } else {
+                sort(a, perm, l, lt - 1, d);
+                sort(a, perm, lt, gt, d + 1);
+                l = gt + 1;
+            }
+        }
+        insertionSort(a, perm, l, h, d);
+    }
+
+    /**
+     * Partitions the given range into keys whose code point at the given depth is less than, equal to and greater than that of a pivot key.
+     * <p>
+     * A key that ends before the given depth has the code point <code>-1</code>, so it sorts before all longer keys.
+     * </p>
+     *
+     * @param a    The keys.
+     * @param perm The permutation that is moved with the keys, or <code>null</code>.
+     * @param lo   The index of the first key, inclusive.
+     * @param hi   The index of the last key, inclusive.
+     * @param d    The depth of the code points to partition by.
+     * @return The index of the first key of the equal group in the upper <code>32</code> bits and that of the last one in the lower <code>32</code> bits.
+     */
+    private static long partition(final String32[] a, final int[] perm, final int lo, final int hi, final int d) {
+        int mid = (lo + hi) >>> 1;
+        int pivot;
+        if (hi - lo > 1024) {
+            int step = (hi - lo) >>> 3;
+            pivot = median(median(key(a[lo], d), key(a[lo + step], d), key(a[lo + 2 * step], d)),
+                    median(key(a[mid - step], d), key(a[mid], d), key(a[mid + step], d)),
+                    median(key(a[hi - 2 * step], d), key(a[hi - step], d), key(a[hi], d)));
+        } else {
+            pivot = median(key(a[lo], d), key(a[mid], d), key(a[hi], d));
+        }
+        int lt = lo;
+        int gt = hi;
+        int i = lo;
+        while (i <= gt) {
+            int c = key(a[i], d);
+            if (c < pivot) {
+                swap(a, perm, lt++, i++);
+            } else if (c > pivot) {
+                swap(a, perm, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        return (long) lt << 32 | gt & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Sorts a small range by inserting each key into the sorted keys before it, comparing the suffixes from the given depth on.
+     *
+     * @param a    The keys.
+     * @param perm The permutation that is moved with the keys, or <code>null</code>.
+     * @param lo   The index of the first key, inclusive.
+     * @param hi   The index of the last key, inclusive.
+     * @param d    The number of code points that all keys in the range share.
+     */
+    private static void insertionSort(final String32[] a, final int[] perm, final int lo, final int hi, final int d) {
+        for (int i = lo + 1; i <= hi; i++) {
+            String32 key = a[i];
+            int index = perm == null ? 0 : perm[i];
+            int j = i;
+            while (j > lo) {
+                int cmp = compareFrom(a[j - 1], key, d);
+                if (cmp < 0 || cmp == 0 && (perm == null || perm[j - 1] < index)) {
+                    break;
+                }
+                a[j] = a[j - 1];
+                if (perm != null) {
+                    perm[j] = perm[j - 1];
+                }
+                j--;
+            }
+            a[j] = key;
+            if (perm != null) {
+                perm[j] = index;
+            }
+        }
+    }
+
+    /**
+     * Sorts the indices of a group of equal keys, so that equal keys keep the order of their indices.
+     *
+     * @param perm The permutation, or <code>null</code>.
+     * @param lo   The index of the first key, inclusive.
+     * @param hi   The index of the last key, inclusive.
+     */
+    private static void sortEqual(final int[] perm, final int lo, final int hi) {
+        if (perm != null) {
+            Arrays.sort(perm, lo, hi + 1);
+        }
+    }
+
+    /**
+     * Compares the suffixes of two keys from the given depth on.
+     *
+     * @param a The first key.
+     * @param b The second key.
+     * @param d The number of code points that both keys share.
+     * @return A negative value, zero or a positive value if the first key is less than, equal to or greater than the second key.
+     */
+    private static int compareFrom(final String32 a, final String32 b, final int d) {
+        return String32Coder.compare(a.value(), a.coder(), a.offset() + d, a.length() - d,
+                b.value(), b.coder(), b.offset() + d, b.length() - d);
+    }
+
+    /**
+     * Returns the code point of the given key at the given depth.
+     *
+     * @param s The key.
+     * @param d The depth.
+     * @return The code point, or <code>-1</code> if the key is not longer than the depth.
+     */
+    private static int key(final String32 s, final int d) {
+        return d < s.length() ? s.codePointAt0(d) : -1;
+    }
+
+    /**
+     * Returns the median of three values.
+     *
+     * @param a The first value.
+     * @param b The second value.
+     * @param c The third value.
+     * @return The median.
+     */
+    private static int median(final int a, final int b, final int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Swaps two keys and their permutation entries.
+     *
+     * @param a    The keys.
+     * @param perm The permutation, or <code>null</code>.
+     * @param i    The index of the first key.
+     * @param j    The index of the second key.
+     */
+    private static void swap(final String32[] a, final int[] perm, final int i, final int j) {
+        String32 t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+        if (perm != null) {
+            int p = perm[i];
+            perm[i] = perm[j];
+            perm[j] = p;
+        }
+    }
+
+    /**
+     * Returns the identity permutation.
+     *
+     * @param length The length of the permutation.
+     * @return The array <code>[0, 1, ..., length - 1]</code>.
+     */
+    private static int[] identity(final int length) {
+        int[] perm = new int[length];
+        for (int i = 0; i < length; i++) {
+            perm[i] = i;
+        }
+        return perm;
+    }
+
+    /**
+     * Writes the sorted elements back into the given list.
+     *
+     * @param list The list.
+     * @param a    The sorted elements.
+     */
+    private static void writeBack(final List<String32> list, final String32[] a) {
+        ListIterator<String32> iterator = list.listIterator();
+        for (String32 element : a) {
+            iterator.next();
+            iterator.set(element);
+        }
+    }
+
+    /**
+     * A task that sorts a range like {@link #sort(String32[], int[], int, int, int)},
+     * but forks the smaller groups as tasks of their own while they are large enough.
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The keys.
+         */
+        private final String32[] a;
+        /**
+         * The permutation that is moved with the keys, or <code>null</code>.
+         */
+        private final int[] perm;
+        /**
+         * The index of the first key, inclusive.
+         */
+        private final int lo;
+        /**
+         * The index of the last key, inclusive.
+         */
+        private final int hi;
+        /**
+         * The number of code points that all keys in the range share.
+         */
+        private final int depth;
+
+        /**
+         * Creates a new task.
+         *
+         * @param a     The keys.
+         * @param perm  The permutation that is moved with the keys, or <code>null</code>.
+         * @param lo    The index of the first key, inclusive.
+         * @param hi    The index of the last key, inclusive.
+         * @param depth The number of code points that all keys in the range share.
+         */
+        SortTask(final String32[] a, final int[] perm, final int lo, final int hi, final int depth) {
+            this.a = a;
+            this.perm = perm;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForkJoinTask<Void>> forked = new ArrayList<>();
+            int l = this.lo;
+            int h = this.hi;
+            int d = this.depth;
+            while (h - l + 1 >= PARALLEL_THRESHOLD) {
+                long bounds = partition(this.a, this.perm, l, h, d);
+                int lt = (int) (bounds >>> 32);
+                int gt = (int) bounds;
+                if (key(this.a[lt], d) < 0) {
+                    sortEqual(this.perm, lt, gt);
+                    l = gt + 1;
+                    continue;
+                }
+                int lowerSize = lt - l;
+                int middleSize = gt - lt + 1;
+                int upperSize = h - gt;
+                if (middleSize >= lowerSize && middleSize >= upperSize) {
+                    fork(forked, l, lt - 1, d);
+                    fork(forked, gt + 1, h, d);
+                    l = lt;
+                    h = gt;
+                    d++;
+                } else if (lowerSize >= upperSize) {
+                    fork(forked, lt, gt, d + 1);
+                    fork(forked, gt + 1, h, d);
+                    h = lt - 1;
+                } else {
+                    fork(forked, l, lt - 1, d);
+                    fork(forked, lt, gt, d + 1);
+                    l = gt + 1;
+                }
+            }
+            sort(this.a, this.perm, l, h, d);
+            for (ForkJoinTask<Void> task : forked) {
+                task.join();
+            }
+        }
+
+        /**
+         * Sorts a group in a forked task if it is large enough, or directly otherwise.
+         *
+         * @param forked The forked tasks to join.
+         * @param l      The index of the first key, inclusive.
+         * @param h      The index of the last key, inclusive.
+         * @param d      The number of code points that all keys in the group share.
+         */
+        private void fork(final List<ForkJoinTask<Void>> forked, final int l, final int h, final int d) {
+            if (h - l + 1 >= PARALLEL_THRESHOLD) {
+                forked.add(new SortTask(this.a, this.perm, l, h, d).fork());
+            } else {
+                sort(this.a, this.perm, l, h, d);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.splatgames.aether.datatypes.text;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * The <code>String32Spliterator</code> class is a {@link Spliterator.OfInt} over the code points of a <code>String32</code> object.
+ * <p>
+ * It reads the backing array of the <code>String32</code> object directly, without copying it,
+ * and splits its range in halves, so that parallel streams divide the work evenly.
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote The spliterator reports {@link #ORDERED}, {@link #SIZED}, {@link #SUBSIZED}, {@link #IMMUTABLE} and {@link #NONNULL},
+ * because the backing array of a <code>String32</code> object never changes.
+ * @see String32#codePoints()
+ * @since 1.0.0
+ */
+final class String32Spliterator implements Spliterator.OfInt {
+
+    /**
+     * The characteristics of every <code>String32Spliterator</code>.
+     */
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+
+    /**
+     * The backing array.
+     */
+    private final Object value;
+    /**
+     * The coder of the backing array.
+     */
+    private final byte coder;
+    /**
+     * The index of the next code point in the backing array.
+     */
+    private int index;
+    /**
+     * The index after the last code point in the backing array.
+     */
+    private final int fence;
+
+    /**
+     * Creates a new spliterator over a range of the given backing array.
+     *
+     * @param value The backing array.
+     * @param coder The coder of the backing array.
+     * @param index The index of the first code point, inclusive.
+     * @param fence The index after the last code point, exclusive.
+     */
+    String32Spliterator(final Object value, final byte coder, final int index, final int fence) {
+        this.value = value;
+        this.coder = coder;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        int lo = this.index;
+        int mid = (lo + this.fence) >>> 1;
+        if (lo >= mid) {
+            return null;
+        }
+        this.index = mid;
+        return new String32Spliterator(this.value, this.coder, lo, mid);
+    }
+
+    @Override
+    public boolean tryAdvance(final IntConsumer action) {
+        Objects.requireNonNull(action, "action cannot be null");
+        if (this.index >= this.fence) {
+            return false;
+        }
+        action.accept(String32Coder.get(this.value, this.coder, this.index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+        Objects.requireNonNull(action, "action cannot be null");
+        int i = this.index;
+        int end = this.fence;
+        this.index = end;
+        switch (this.coder) {
+            case String32Coder.LATIN1: {
+                byte[] bytes = (byte[]) this.value;
+                for (; i < end; i++) {
+                    action.accept(bytes[i] & 0xFF);
+                }
+                break;
+            }
+            case String32Coder.UTF16: {
+                char[] chars = (char[]) this.value;
+                for (; i < end; i++) {
+                    action.accept(chars[i]);
+                }
+                break;
+            }
+            default: {
+                int[] cps = (int[]) this.value;
+                for (; i < end; i++) {
+                    action.accept(cps[i]);
+                }
+                break;
+            }
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.fence - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
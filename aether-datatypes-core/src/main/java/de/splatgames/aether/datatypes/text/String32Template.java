@@ -0,0 +1,493 @@
+/*
+ * Copyright (c) 2025 Splatgames.de Software and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.splatgames.aether.datatypes.text;
+
+import java.io.IOException;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+import java.util.Objects;
+import java.util.UnknownFormatConversionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The <code>String32Template</code> class is a compiled format string for {@link String32} objects.
+ * <p>
+ * {@link String32#format(Object...)} hands the format string to {@link String#format(Locale, String, Object...)}, which parses it
+ * again on every call. A <code>String32Template</code> parses the format specifiers of the {@link Formatter} syntax once into a
+ * list of segments: literal text, plain <code>%s</code> and <code>%d</code> specifiers, and all other specifiers.
+ * Rendering appends the literal text as it is, renders plain <code>%s</code> and <code>%d</code> specifiers without a
+ * {@link Formatter}, and formats only the remaining specifiers with a {@link Formatter}.
+ * </p>
+ * <p>
+ * The result equals {@link String#format(Locale, String, Object...)} with the same locale, format string and arguments.
+ * {@link #compile(String32)} rejects malformed specifiers with the exceptions of {@link Formatter}, and missing or
+ * mismatched arguments fail when rendering.
+ * </p>
+ * <p>
+ * Example:
+ * <blockquote><pre>
+ *         String32Template template = String32Template.compile(String32.valueOf("%s logged in from %s (%d attempts)"));
+ *         System.out.println(template.format("alice", "10.0.0.1", 3));
+ *         // Output: "alice logged in from 10.0.0.1 (3 attempts)"
+ * </pre></blockquote>
+ * </p>
+ *
+ * @author Erik Pförtner
+ * @implNote This class is immutable and thread-safe. The zero digits of the locales a template is rendered with are cached
+ * per template, so plain <code>%d</code> specifiers are localized without a {@link DecimalFormatSymbols} lookup.
+ * @see String32#format(Object...)
+ * @see Formatter
+ * @since 1.0.0
+ */
+public final class String32Template {
+
+    /**
+     * The format specifier syntax of {@link Formatter}.
+     */
+    private static final Pattern SPECIFIER = Pattern.compile("%(\\d+\\$)?([-#+ 0,(<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])");
+
+    /**
+     * The segment kind of literal text.
+     */
+    private static final int LITERAL = 0;
+    /**
+     * The segment kind of a <code>%s</code> specifier without flags, width and precision.
+     */
+    private static final int STRING = 1;
+    /**
+     * The segment kind of a <code>%d</code> specifier without flags, width and precision.
+     */
+    private static final int DECIMAL = 2;
+    /**
+     * The segment kind of any other specifier that takes an argument.
+     */
+    private static final int GENERAL = 3;
+
+    /**
+     * The format string.
+     */
+    private final String format;
+    /**
+     * The segments of the format string, in order.
+     */
+    private final Segment[] segments;
+    /**
+     * The zero digits of the locales this template has been rendered with.
+     */
+    private final ConcurrentHashMap<Locale, Character> zeroDigits = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new <code>String32Template</code>.
+     *
+     * @param format   The format string.
+     * @param segments The segments of the format string.
+     */
+    private String32Template(final String format, final Segment[] segments) {
+        this.format = format;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles the given format string.
+     *
+     * @param format The format string, in the syntax of {@link Formatter}.
+     * @return The compiled <code>String32Template</code>.
+     * @throws NullPointerException             if the format string is null.
+     * @throws java.util.IllegalFormatException if the format string contains an unknown or malformed specifier.
+     */
+    public static String32Template compile(final String32 format) {
+        Objects.requireNonNull(format, "Format cannot be null");
+        return compile(format.toString());
+    }
+
+    /**
+     * Compiles the given format string.
+     *
+     * @param format The format string, in the syntax of {@link Formatter}.
+     * @return The compiled <code>String32Template</code>.
+     * @throws NullPointerException             if the format string is null.
+     * @throws java.util.IllegalFormatException if the format string contains an unknown or malformed specifier.
+     */
+    public static String32Template compile(final String format) {
+        Objects.requireNonNull(format, "Format cannot be null");
+        validate(format);
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        Matcher matcher = SPECIFIER.matcher(format);
+        int ordinary = -1;
+        int last = -1;
+        int i = 0;
+        while (i < format.length()) {
+            int percent = format.indexOf('%', i);
+            if (percent < 0) {
+                text.append(format, i, format.length());
+                break;
+            }
+            text.append(format, i, percent);
+            if (!matcher.region(percent, format.length()).lookingAt()) {
+                throw new UnknownFormatConversionException(percent + 1 < format.length()
+                        ? String.valueOf(format.charAt(percent + 1)) : "%");
+            }
+            i = matcher.end();
+            String flags = matcher.group(2) != null ? matcher.group(2) : "";
+            boolean plain = flags.isEmpty() && matcher.group(1) == null && matcher.group(3) == null
+                    && matcher.group(4) == null && matcher.group(5) == null;
+            char conversion = matcher.group(6).charAt(0);
+            if (conversion == '%' || conversion == 'n') {
+                // Fixed text takes no argument; anything but the plain forms is validated and rendered once by Formatter.
+                text.append(plain ? (conversion == '%' ? "%" : System.lineSeparator())
+                        : String.format(Locale.ROOT, matcher.group()));
+                continue;
+            }
+            int index;
+            if (flags.indexOf('<') >= 0) {
+                index = last;
+            } else if (matcher.group(1) != null) {
+                String explicit = matcher.group(1);
+                index = Integer.parseInt(explicit, 0, explicit.length() - 1, 10) - 1;
+            } else {
+                index = ++ordinary;
+            }
+            last = index;
+            if (text.length() > 0) {
+                segments.add(Segment.literal(text.toString()));
+                text.setLength(0);
+            }
+            int kind = !plain ? GENERAL : conversion == 's' ? STRING : conversion == 'd' ? DECIMAL : GENERAL;
+            String spec = "%" + flags.replace("<", "")
+                    + (matcher.group(3) != null ? matcher.group(3) : "")
+                    + (matcher.group(4) != null ? matcher.group(4) : "")
+                    + (matcher.group(5) != null ? matcher.group(5) : "")
+                    + conversion;
+            segments.add(new Segment(kind, null, null, index, matcher.group(), spec));
+        }
+        if (text.length() > 0) {
+            segments.add(Segment.literal(text.toString()));
+        }
+        return new String32Template(format, segments.toArray(new Segment[0]));
+    }
+
+    /**
+     * Renders this template with the given arguments, formatted in {@link Locale#ROOT}, the same as {@link String32#format(Object...)}.
+     *
+     * @param args The arguments referenced by the format specifiers.
+     * @return The formatted <code>String32</code> object.
+     * @throws java.util.IllegalFormatException if an argument is missing or does not match its specifier.
+     */
+    public String32 format(final Object... args) {
+        return format(Locale.ROOT, args);
+    }
+
+    /**
+     * Renders this template with the given arguments, formatted in the given locale.
+     *
+     * @param locale The locale to format the arguments.
+     * @param args   The arguments referenced by the format specifiers.
+     * @return The formatted <code>String32</code> object.
+     * @throws NullPointerException             if the locale is null.
+     * @throws java.util.IllegalFormatException if an argument is missing or does not match its specifier.
+     */
+    public String32 format(final Locale locale, final Object... args) {
+        return appendTo(new String32Builder(), locale, args).build();
+    }
+
+    /**
+     * Renders this template into the given builder, formatted in {@link Locale#ROOT}.
+     *
+     * @param builder The builder to append to.
+     * @param args    The arguments referenced by the format specifiers.
+     * @return The builder.
+     * @throws NullPointerException             if the builder is null.
+     * @throws java.util.IllegalFormatException if an argument is missing or does not match its specifier.
+     */
+    public String32Builder appendTo(final String32Builder builder, final Object... args) {
+        return appendTo(builder, Locale.ROOT, args);
+    }
+
+    /**
+     * Renders this template into the given builder, formatted in the given locale.
+     * <p>
+     * Literal text and <code>String32</code> arguments of plain <code>%s</code> specifiers are appended as code points,
+     * without converting them to a {@link String}.
+     * </p>
+     *
+     * @param builder The builder to append to.
+     * @param locale  The locale to format the arguments.
+     * @param args    The arguments referenced by the format specifiers.
+     * @return The builder.
+     * @throws NullPointerException             if the builder or the locale is null.
+     * @throws java.util.IllegalFormatException if an argument is missing or does not match its specifier.
+     */
+    public String32Builder appendTo(final String32Builder builder, final Locale locale, final Object... args) {
+        Objects.requireNonNull(builder, "Builder cannot be null");
+        Objects.requireNonNull(locale, "Locale cannot be null");
+        for (Segment segment : this.segments) {
+            if (segment.kind == LITERAL) {
+                builder.append(segment.literal);
+                continue;
+            }
+            Object arg = segment.argument(args);
+            switch (segment.kind) {
+                case STRING:
+                    if (arg instanceof String32 str) {
+                        builder.append(str);
+                    } else if (!(arg instanceof Formattable)) {
+                        builder.append(String.valueOf(arg));
+                    } else {
+                        builder.append(String.format(locale, segment.spec, arg));
+                    }
+                    break;
+                case DECIMAL:
+                    if (isIntegral(arg)) {
+                        builder.append(decimal(((Number) arg).longValue(), locale));
+                    } else {
+                        builder.append(String.format(locale, segment.spec, arg));
+                    }
+                    break;
+                default:
+                    builder.append(String.format(locale, segment.spec, arg));
+                    break;
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Renders this template into the given {@link Appendable}, formatted in {@link Locale#ROOT}.
+     *
+     * @param appendable The {@link Appendable} to append to.
+     * @param args       The arguments referenced by the format specifiers.
+     * @param <A>        The type of the {@link Appendable}.
+     * @return The {@link Appendable}.
+     * @throws NullPointerException             if the {@link Appendable} is null.
+     * @throws IOException                      if the {@link Appendable} throws an I/O exception.
+     * @throws java.util.IllegalFormatException if an argument is missing or does not match its specifier.
+     */
+    public <A extends Appendable> A appendTo(final A appendable, final Object... args) throws IOException {
+        return appendTo(appendable, Locale.ROOT, args);
+    }
+
+    /**
+     * Renders this template into the given {@link Appendable}, formatted in the given locale.
+     * <p>
+     * Appending to a {@link StringBuilder} assembles a message without any intermediate <code>String32</code> object.
+     * </p>
+     *
+     * @param appendable The {@link Appendable} to append to.
+     * @param locale     The locale to format the arguments.
+     * @param args       The arguments referenced by the format specifiers.
+     * @param <A>        The type of the {@link Appendable}.
+     * @return The {@link Appendable}.
+     * @throws NullPointerException             if the {@link Appendable} or the locale is null.
+     * @throws IOException                      if the {@link Appendable} throws an I/O exception.
+     * @throws java.util.IllegalFormatException if an argument is missing or does not match its specifier.
+     */
+    public <A extends Appendable> A appendTo(final A appendable, final Locale locale, final Object... args) throws IOException {
+        Objects.requireNonNull(appendable, "Appendable cannot be null");
+        Objects.requireNonNull(locale, "Locale cannot be null");
+        for (Segment segment : this.segments) {
+            if (segment.kind == LITERAL) {
+                appendable.append(segment.text);
+                continue;
+            }
+            Object arg = segment.argument(args);
+            switch (segment.kind) {
+                case STRING:
+                    if (!(arg instanceof Formattable)) {
+                        appendable.append(String.valueOf(arg));
+                    } else {
+                        formatTo(appendable, locale, segment.spec, arg);
+                    }
+                    break;
+                case DECIMAL:
+                    if (isIntegral(arg)) {
+                        appendable.append(decimal(((Number) arg).longValue(), locale));
+                    } else {
+                        formatTo(appendable, locale, segment.spec, arg);
+                    }
+                    break;
+                default:
+                    formatTo(appendable, locale, segment.spec, arg);
+                    break;
+            }
+        }
+        return appendable;
+    }
+
+    /**
+     * Returns the format string of this template.
+     *
+     * @return The format string.
+     */
+    @Override
+    public String toString() {
+        return this.format;
+    }
+
+    /**
+     * Lets {@link Formatter} parse the given format string, so malformed specifiers fail with its exceptions.
+     *
+     * @param format The format string.
+     * @throws java.util.IllegalFormatException if the format string contains an unknown or malformed specifier.
+     */
+    private static void validate(final String format) {
+        try {
+            // Without an argument array every argument is null and prints as "null", whatever its conversion.
+            new Formatter(new StringBuilder(), Locale.ROOT).format(format, (Object[]) null);
+        } catch (MissingFormatArgumentException e) {
+            // A relative specifier without a previous argument fails when rendering, the same as with Formatter.
+        }
+    }
+
+    /**
+     * Formats a single argument with a {@link Formatter} into the given {@link Appendable}.
+     *
+     * @param appendable The {@link Appendable} to append to.
+     * @param locale     The locale to format the argument.
+     * @param spec       The specifier, without argument index.
+     * @param arg        The argument.
+     * @throws IOException if the {@link Appendable} throws an I/O exception.
+     */
+    private static void formatTo(final Appendable appendable, final Locale locale, final String spec, final Object arg) throws IOException {
+        Formatter formatter = new Formatter(appendable, locale);
+        formatter.format(spec, arg);
+        IOException exception = formatter.ioException();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the given argument is a {@link Byte}, {@link Short}, {@link Integer} or {@link Long}.
+     *
+     * @param arg The argument.
+     * @return <code>true</code> if <code>%d</code> prints the argument as its decimal value, <code>false</code> otherwise.
+     */
+    private static boolean isIntegral(final Object arg) {
+        return arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte;
+    }
+
+    /**
+     * Returns the decimal representation of the given value with the digits of the given locale, as <code>%d</code> prints it.
+     *
+     * @param value  The value.
+     * @param locale The locale.
+     * @return The localized decimal representation.
+     */
+    private String decimal(final long value, final Locale locale) {
+        String digits = Long.toString(value);
+        char zero = this.zeroDigits.computeIfAbsent(locale, l -> DecimalFormatSymbols.getInstance(l).getZeroDigit());
+        if (zero == '0') {
+            return digits;
+        }
+        char[] chars = digits.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= '0' && chars[i] <= '9') {
+                chars[i] = (char) (chars[i] - '0' + zero);
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * A segment of a compiled format string.
+     */
+    private static final class Segment {
+
+        /**
+         * The kind of the segment.
+         */
+        final int kind;
+        /**
+         * The literal text, or <code>null</code> for a specifier.
+         */
+        final String text;
+        /**
+         * The literal text as a <code>String32</code> object, or <code>null</code> for a specifier.
+         */
+        final String32 literal;
+        /**
+         * The index of the argument of the specifier, or <code>-1</code> if a relative specifier has no previous argument.
+         */
+        final int index;
+        /**
+         * The specifier as it appears in the format string.
+         */
+        final String source;
+        /**
+         * The specifier without argument index, which formats a single argument.
+         */
+        final String spec;
+
+        /**
+         * Constructs a new <code>Segment</code>.
+         *
+         * @param kind    The kind of the segment.
+         * @param text    The literal text.
+         * @param literal The literal text as a <code>String32</code> object.
+         * @param index   The index of the argument.
+         * @param source  The specifier as it appears in the format string.
+         * @param spec    The specifier without argument index.
+         */
+        Segment(final int kind, final String text, final String32 literal, final int index, final String source, final String spec) {
+            this.kind = kind;
+            this.text = text;
+            this.literal = literal;
+            this.index = index;
+            this.source = source;
+            this.spec = spec;
+        }
+
+        /**
+         * Returns a literal segment.
+         *
+         * @param text The literal text.
+         * @return The literal segment.
+         */
+        static Segment literal(final String text) {
+            return new Segment(LITERAL, text, String32.valueOf(text), -1, null, null);
+        }
+
+        /**
+         * Returns the argument of this specifier, the same as {@link Formatter} selects it.
+         *
+         * @param args The arguments, or <code>null</code>, in which case every argument is <code>null</code>.
+         * @return The argument.
+         * @throws MissingFormatArgumentException if the argument does not exist.
+         */
+        Object argument(final Object[] args) {
+            if (this.index < 0 || args != null && this.index >= args.length) {
+                throw new MissingFormatArgumentException(this.source);
+            }
+            return args == null ? null : args[this.index];
+        }
+    }
+}
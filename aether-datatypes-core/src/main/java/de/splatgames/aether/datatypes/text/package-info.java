@@ -13,6 +13,59 @@
  * for text manipulation.
  * </p>
  *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.String32Builder String32Builder} is the mutable counterpart to {@link de.splatgames.aether.datatypes.text.String32 String32},
+ * providing efficient concatenation and modification of code points without converting them to a {@link java.lang.String String}.
+ * </p>
+ *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.String32Encoding String32Encoding} encodes {@link de.splatgames.aether.datatypes.text.String32 String32} objects
+ * to UTF-8, UTF-16 and UTF-32 and decodes them back, directly from and into {@link java.nio.ByteBuffer ByteBuffers} and channels,
+ * through streaming {@link de.splatgames.aether.datatypes.text.String32Encoder String32Encoder} and
+ * {@link de.splatgames.aether.datatypes.text.String32Decoder String32Decoder} instances.
+ * </p>
+ *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.MappedString32Corpus MappedString32Corpus} serves large, read-only lists of
+ * {@link de.splatgames.aether.datatypes.text.String32 String32} entries from a memory-mapped file instead of the heap.
+ * </p>
+ *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.String32Arena String32Arena} allocates short-lived
+ * {@link de.splatgames.aether.datatypes.text.String32 String32} objects in pooled slabs that are released together when the arena is closed.
+ * </p>
+ *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.String32Rope String32Rope} assembles large texts from many fragments with logarithmic
+ * concatenation, insertion, deletion and substring operations and flattens them into a single
+ * {@link de.splatgames.aether.datatypes.text.String32 String32} object on demand.
+ * </p>
+ *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.String32Sorts String32Sorts} sorts arrays and lists of
+ * {@link de.splatgames.aether.datatypes.text.String32 String32} objects with a sequential or fork-join parallel multikey quicksort.
+ * </p>
+ *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.CaseInsensitiveString32 CaseInsensitiveString32} wraps a
+ * {@link de.splatgames.aether.datatypes.text.String32 String32} object as a hash or sorted map key that ignores case.
+ * </p>
+ *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.CodePointClass CodePointClass} classifies code points as whitespace, blanks,
+ * letters, digits and upper or lower case with a single table lookup.
+ * </p>
+ *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.CodePointSet CodePointSet} is an immutable set of code points for removing,
+ * retaining and finding many different code points of a {@link de.splatgames.aether.datatypes.text.String32 String32} object in one pass.
+ * </p>
+ *
+ * <p>
+ * {@link de.splatgames.aether.datatypes.text.String32Template String32Template} compiles a format string once and renders it into
+ * {@link de.splatgames.aether.datatypes.text.String32 String32} objects, builders and {@link java.lang.Appendable Appendables}.
+ * </p>
+ *
  * <h2>Usage Example:</h2>
  * <pre>{@code
  * public class ExampleClass {
@@ -26,7 +79,6 @@
  * <p>
  * Future additions to this package might include:
  * <ul>
- *     <li>{@code String32Builder}: A mutable counterpart to {@link de.splatgames.aether.datatypes.text.String32 String32}, providing efficient text concatenation and modification.</li>
  *     <li>{@code String32Utils}: Utility methods for common string operations like trimming, padding, and splitting with enhanced capabilities.</li>
  *     <li>{@code String32Formatter}: Advanced formatting options for {@link de.splatgames.aether.datatypes.text.String32 String32} objects, similar to {@link java.util.Formatter}.</li>
  * </ul>